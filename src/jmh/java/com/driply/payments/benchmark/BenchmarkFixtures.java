@@ -0,0 +1,36 @@
+package com.driply.payments.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 벤치마크에서 사용하는 요청/응답 샘플입니다. 응답은 카드 결제 승인 시 토스페이먼츠가 반환하는 Payment 객체와 같은 구성입니다.
+ */
+final class BenchmarkFixtures {
+    static final String SECRET_KEY = "test_sk_zXLkKEypNArWmo50nX3lmeaxYG5R";
+
+    static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString((SECRET_KEY + ":").getBytes(StandardCharsets.UTF_8));
+
+    static final String CONFIRM_REQUEST = """
+            {"paymentKey":"tgen_20240101000000abcDE","orderId":"MC4wNjE2NjE4MjUx","amount":"50000"}""";
+
+    static final String PAYMENT_RESPONSE = """
+            {"mId":"tosspayments","lastTransactionKey":"9C62B18EEF0DE3EB7F4422EB6D14BC6E","paymentKey":"tgen_20240101000000abcDE",\
+            "orderId":"MC4wNjE2NjE4MjUx","orderName":"토스 티셔츠 외 2건","taxExemptionAmount":0,"status":"DONE",\
+            "requestedAt":"2024-01-01T00:00:00+09:00","approvedAt":"2024-01-01T00:00:05+09:00","useEscrow":false,\
+            "cultureExpense":false,"card":{"issuerCode":"71","acquirerCode":"71","number":"12345678****000*",\
+            "installmentPlanMonths":0,"isInterestFree":false,"interestPayer":null,"approveNo":"00000000",\
+            "useCardPoint":false,"cardType":"신용","ownerType":"개인","acquireStatus":"READY","amount":50000},\
+            "virtualAccount":null,"transfer":null,"mobilePhone":null,"giftCertificate":null,"cashReceipt":null,\
+            "cashReceipts":null,"discount":null,"cancels":null,"secret":null,"type":"NORMAL",\
+            "easyPay":{"provider":"토스페이","amount":0,"discountAmount":0},"country":"KR","failure":null,\
+            "isPartialCancelable":true,"receipt":{"url":"https://dashboard.tosspayments.com/receipt/redirection?transactionId=tviva20240101000000abcDE"},\
+            "checkout":{"url":"https://api.tosspayments.com/v1/payments/tgen_20240101000000abcDE/checkout"},\
+            "currency":"KRW","totalAmount":50000,"balanceAmount":50000,"suppliedAmount":45455,"vat":4545,\
+            "taxFreeAmount":0,"method":"카드","version":"2022-11-16"}""";
+
+    static final byte[] PAYMENT_RESPONSE_BYTES = PAYMENT_RESPONSE.getBytes(StandardCharsets.UTF_8);
+
+    private BenchmarkFixtures() {
+    }
+}
@@ -0,0 +1,168 @@
+package com.driply.payments.benchmark;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.BillingBatchProperties;
+import com.driply.payments.config.PaymentRoutingProperties;
+import com.driply.payments.config.PgClientConfig;
+import com.driply.payments.config.PgClientProperties;
+import com.driply.payments.config.WriteBehindProperties;
+import com.driply.payments.loadtest.LatencyDistribution;
+import com.driply.payments.loadtest.TossSimulator;
+import com.driply.payments.payment.batch.BillingBatchEngine;
+import com.driply.payments.payment.client.HttpPgClient;
+import com.driply.payments.payment.dto.BillingJobProgress;
+import com.driply.payments.payment.dto.BillingJobRequest;
+import com.driply.payments.payment.entity.BillingKey;
+import com.driply.payments.payment.entity.Payment;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.repository.BillingKeyRepository;
+import com.driply.payments.payment.repository.PaymentRepository;
+import com.driply.payments.payment.service.PaymentWriteBehind;
+import com.driply.payments.payment.service.TossPaymentService;
+import com.driply.payments.payment.strategy.PaymentRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장된 빌링키 100,000건에 대한 정기결제 일괄 작업 한 번의 소요 시간을 동시 결제 수별로 측정합니다.
+ * 결제는 운영 코드의 TossPaymentService, HttpPgClient를 거쳐 고정 지연 시간으로 응답하는 토스페이먼츠 api 시뮬레이터로 보내며,
+ * 초당 결제 수는 100,000 / 소요 시간입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class BillingBatchBenchmark {
+    private static final int CUSTOMERS = 100_000;
+
+    @Param({"16", "64", "256"})
+    public int concurrency;
+
+    @Param({"5"})
+    public int latencyMillis;
+
+    private final ConcurrentSkipListMap<String, BillingKey> billingKeys = new ConcurrentSkipListMap<>();
+    private final Map<String, Payment> payments = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = JsonUtil.objectMapper();
+    private TossSimulator simulator;
+    private Path dataDir;
+    private PaymentWriteBehind writeBehind;
+    private BillingBatchEngine engine;
+    private int run;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String customerKey = String.format("customer-%06d", i);
+            billingKeys.put(customerKey, BillingKey.builder()
+                    .paymentProvider("TOSS").merchant("default").customerKey(customerKey).billingKey("billing-" + i).build());
+        }
+        simulator = new TossSimulator(new TossSimulator.Behavior(LatencyDistribution.fixed(Duration.ofMillis(latencyMillis)), 0, 0));
+        dataDir = Files.createTempDirectory("billing-batch-benchmark");
+
+        PgClientProperties clientProperties = new PgClientProperties();
+        clientProperties.setMaxConcurrentRequests(concurrency);
+        clientProperties.setBaseUrl(simulator.baseUrl());
+        HttpPgClient pgClient = new HttpPgClient(new PgClientConfig().pgHttpClient(clientProperties), clientProperties);
+        PaymentMetrics paymentMetrics = new PaymentMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry());
+
+        PaymentRoutingProperties.SecretKeys keys = new PaymentRoutingProperties.SecretKeys();
+        keys.setApiSecretKey(BenchmarkFixtures.SECRET_KEY);
+        PaymentRoutingProperties routingProperties = new PaymentRoutingProperties();
+        routingProperties.setMerchants(Map.of("default", Map.of("TOSS", keys)));
+        PaymentRouter router = new PaymentRouter(List.of(new TossPaymentService(objectMapper, pgClient, paymentMetrics, clientProperties)), routingProperties);
+
+        WriteBehindProperties writeBehindProperties = new WriteBehindProperties();
+        writeBehindProperties.setJournalDir(dataDir.resolve("journal").toString());
+        writeBehind = new PaymentWriteBehind(paymentRepository(), writeBehindProperties, objectMapper);
+        writeBehind.start();
+
+        BillingBatchProperties batchProperties = new BillingBatchProperties();
+        batchProperties.setMaxConcurrent(concurrency);
+        batchProperties.setMaxConcurrentPerProvider(concurrency);
+        batchProperties.setJobDir(dataDir.resolve("jobs").toString());
+        engine = new BillingBatchEngine(router, billingKeyRepository(), paymentRepository(), writeBehind,
+                paymentMetrics, batchProperties, objectMapper);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        engine.shutdown();
+        writeBehind.stop();
+        simulator.close();
+    }
+
+    @Benchmark
+    public BillingJobProgress chargeAll() throws Exception {
+        BillingJobProgress progress = engine.submit(BillingJobRequest.builder()
+                .concurrency(concurrency)
+                .query(new BillingJobRequest.BillingKeyQuery(9_900L, "subscription", "run-" + run++))
+                .build());
+        while (progress.state() == BillingJobProgress.State.RUNNING) {
+            Thread.sleep(10);
+            progress = engine.progress(progress.jobId());
+        }
+        if (progress.succeeded() != CUSTOMERS) {
+            throw new IllegalStateException("Unexpected result " + progress);
+        }
+        return progress;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BillingKeyRepository billingKeyRepository() {
+        return (BillingKeyRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{BillingKeyRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByPaymentProviderAndMerchantAndCustomerKeyGreaterThanOrderByCustomerKeyAsc" -> billingKeys
+                            .tailMap((String) args[2], false).values().stream()
+                            .limit(((Limit) args[3]).max())
+                            .toList();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private PaymentRepository paymentRepository() {
+        return (PaymentRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PaymentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findExistingOrderIds" -> ((Collection<String>) args[0]).stream()
+                            .filter(payments::containsKey)
+                            .collect(java.util.stream.Collectors.toSet());
+                    case "findExistingPaymentKeys" -> Set.of();
+                    case "saveAll" -> {
+                        for (Payment payment : (Iterable<Payment>) args[0]) {
+                            payments.put(payment.getOrderId(), payment);
+                        }
+                        yield args[0];
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
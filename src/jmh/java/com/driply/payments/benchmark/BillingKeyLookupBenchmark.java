@@ -0,0 +1,88 @@
+package com.driply.payments.benchmark;
+
+import com.driply.payments.config.PaymentCacheProperties;
+import com.driply.payments.payment.entity.BillingKey;
+import com.driply.payments.payment.entity.BillingKeyId;
+import com.driply.payments.payment.repository.BillingKeyRepository;
+import com.driply.payments.payment.service.BillingKeyStore;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.driply.payments.payment.strategy.PaymentRoute;
+import com.driply.payments.payment.strategy.PaymentStrategy;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정기결제 시 customerKey로 빌링키를 찾는 비용을 측정합니다. 여러 스레드에서 동시에 조회합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class BillingKeyLookupBenchmark {
+    private static final int CUSTOMERS = 100_000;
+    private final Map<BillingKeyId, BillingKey> rows = new ConcurrentHashMap<>();
+    private final PaymentTarget target = new PaymentTarget(PaymentRoute.BILLING, tossStrategy(),
+            new PaymentCredentials("default", BenchmarkFixtures.AUTHORIZATION));
+    private BillingKeyStore billingKeyStore;
+
+    @Setup
+    public void setUp() {
+        billingKeyStore = new BillingKeyStore(inMemoryRepository(), new PaymentCacheProperties());
+        for (int i = 0; i < CUSTOMERS; i++) {
+            billingKeyStore.save(BillingKey.builder()
+                    .paymentProvider("TOSS")
+                    .merchant("default")
+                    .customerKey("customer-" + i)
+                    .billingKey("billing-" + i)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String find() {
+        return billingKeyStore.find(target, "customer-" + ThreadLocalRandom.current().nextInt(CUSTOMERS));
+    }
+
+    /**
+     * findById, save만 지원하는 메모리 저장소입니다.
+     */
+    private BillingKeyRepository inMemoryRepository() {
+        return (BillingKeyRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BillingKeyRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(rows.get((BillingKeyId) args[0]));
+                    case "save" -> {
+                        BillingKey billingKey = (BillingKey) args[0];
+                        rows.put(billingKey.id(), billingKey);
+                        yield billingKey;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * 빌링키 조회에는 PG사 구분값만 사용하므로 provider만 응답하는 구현체입니다.
+     */
+    private static PaymentStrategy tossStrategy() {
+        return (PaymentStrategy) Proxy.newProxyInstance(BillingKeyLookupBenchmark.class.getClassLoader(),
+                new Class<?>[]{PaymentStrategy.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "provider" -> "TOSS";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
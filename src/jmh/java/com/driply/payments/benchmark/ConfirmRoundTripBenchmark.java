@@ -0,0 +1,101 @@
+package com.driply.payments.benchmark;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.PgClientConfig;
+import com.driply.payments.config.PgClientProperties;
+import com.driply.payments.loadtest.TossSimulator;
+import com.driply.payments.payment.client.HttpPgClient;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.service.TossPaymentService;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토스페이먼츠 api 시뮬레이터를 상대로 결제 승인 한 건의 왕복 비용을 비교합니다.
+ * perRequestConnection은 요청마다 HttpURLConnection과 인증 헤더를 새로 만들던 기존 경로이고,
+ * tossPaymentService는 운영 코드의 TossPaymentService, HttpPgClient를 그대로 거치는 현재 경로입니다. SampleTime 결과로 p50/p99를 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+public class ConfirmRoundTripBenchmark {
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private final ObjectMapper legacyObjectMapper = new ObjectMapper();
+    private final paymentDTO request = paymentDTO.builder()
+            .paymentKey("tgen_20240101000000abcDE")
+            .orderId("MC4wNjE2NjE4MjUx")
+            .amount(50_000L)
+            .build();
+    private TossSimulator simulator;
+    private TossPaymentService tossPaymentService;
+    private PaymentCredentials credentials;
+    private String confirmUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        simulator = new TossSimulator(TossSimulator.Behavior.IMMEDIATE);
+        confirmUrl = simulator.baseUrl() + "/v1/payments/confirm";
+        PgClientProperties properties = new PgClientProperties();
+        properties.setBaseUrl(simulator.baseUrl());
+        HttpPgClient pgClient = new HttpPgClient(new PgClientConfig().pgHttpClient(properties), properties);
+        tossPaymentService = new TossPaymentService(JsonUtil.objectMapper(), pgClient,
+                new PaymentMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()), properties);
+        credentials = tossPaymentService.credentials("default", BenchmarkFixtures.SECRET_KEY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulator.close();
+    }
+
+    @Benchmark
+    public PgResponse<PaymentResponse> tossPaymentService() throws IOException {
+        return tossPaymentService.confirm(credentials, request);
+    }
+
+    @Benchmark
+    public Map<String, Object> perRequestConnection() throws IOException {
+        ObjectNode requestData = JsonUtil.parseStringToObjectNode(BenchmarkFixtures.CONFIRM_REQUEST);
+        HttpURLConnection connection = (HttpURLConnection) URI.create(confirmUrl).toURL().openConnection();
+        connection.setRequestProperty("Authorization", "Basic " + Base64.getEncoder().encodeToString((BenchmarkFixtures.SECRET_KEY + ":").getBytes(StandardCharsets.UTF_8)));
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream os = connection.getOutputStream()) {
+            os.write(requestData.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        try (InputStream responseStream = connection.getResponseCode() == 200 ? connection.getInputStream() : connection.getErrorStream();
+             Reader reader = new InputStreamReader(responseStream, StandardCharsets.UTF_8)) {
+            return legacyObjectMapper.readValue(reader, MAP_TYPE);
+        }
+    }
+}
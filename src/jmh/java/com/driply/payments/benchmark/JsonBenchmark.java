@@ -0,0 +1,56 @@
+package com.driply.payments.benchmark;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 승인 요청/응답의 JSON 처리 비용을 비교합니다.
+ * legacy* 는 String -> ObjectNode -> String, 응답 -> Map -> 재직렬화 경로이고,
+ * typed* 는 DTO 바인딩과 응답 원문 전달 경로입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private final ObjectMapper legacyObjectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper = JsonUtil.objectMapper();
+    private final byte[] confirmRequest = BenchmarkFixtures.CONFIRM_REQUEST.getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public byte[] legacyRequest() throws IOException {
+        String jsonBody = new String(confirmRequest, StandardCharsets.UTF_8);
+        return JsonUtil.parseStringToObjectNode(jsonBody).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] typedRequest() throws IOException {
+        paymentDTO request = objectMapper.readValue(confirmRequest, paymentDTO.class);
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] legacyResponse() throws IOException {
+        Map<String, Object> response = legacyObjectMapper.readValue(BenchmarkFixtures.PAYMENT_RESPONSE_BYTES, MAP_TYPE);
+        return legacyObjectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public PaymentResponse typedResponse() throws IOException {
+        return objectMapper.readValue(BenchmarkFixtures.PAYMENT_RESPONSE_BYTES, PaymentResponse.class);
+    }
+}
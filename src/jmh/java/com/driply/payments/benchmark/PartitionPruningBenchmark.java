@@ -0,0 +1,175 @@
+package com.driply.payments.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 최근 데이터만 조회할 때 월별 파티션 테이블과 단일 테이블의 비용을 비교합니다.
+ * 같은 결제 데이터(24개월)를 두 테이블에 넣고, 최근 7일 목록 조회와 이번 달 집계를 실행합니다.
+ * 로컬 PostgreSQL이 필요합니다. 접속 정보는 BENCHMARK_DB_URL, BENCHMARK_DB_USERNAME, BENCHMARK_DB_PASSWORD 환경 변수로 지정하며,
+ * 벤치마크용 스키마(partition_bench)를 만들고 종료 시 삭제합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartitionPruningBenchmark {
+    private static final String SCHEMA = "partition_bench";
+    private static final int MONTHS = 24;
+
+    @Param({"1000000"})
+    private int rows;
+
+    private Connection connection;
+    private PreparedStatement recentFlat;
+    private PreparedStatement recentPartitioned;
+    private PreparedStatement monthFlat;
+    private PreparedStatement monthPartitioned;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_DB_URL", "jdbc:postgresql://localhost:5432/postgres"),
+                env("BENCHMARK_DB_USERNAME", "postgres"),
+                env("BENCHMARK_DB_PASSWORD", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop schema if exists " + SCHEMA + " cascade");
+            statement.execute("create schema " + SCHEMA);
+            statement.execute("set search_path = " + SCHEMA);
+            statement.execute(table("payments_flat", ""));
+            statement.execute(table("payments_partitioned", "partition by range (requested_at)"));
+            statement.execute("""
+                    do $$
+                    declare
+                        month timestamptz := date_trunc('month', now()) - interval '%d months';
+                    begin
+                        while month <= date_trunc('month', now()) + interval '1 month' loop
+                            execute format('create table %%I partition of payments_partitioned for values from (%%L) to (%%L)',
+                                           'payments_p' || to_char(month, 'YYYYMM'), month, month + interval '1 month');
+                            month := month + interval '1 month';
+                        end loop;
+                    end $$
+                    """.formatted(MONTHS));
+            // 24개월에 고르게 퍼진 결제를 만듭니다.
+            statement.execute("""
+                    insert into payments_flat
+                    select id, 'order-' || id, 'key-' || id, 'TOSS', 10000, 0, 'KRW', (id %% 8)::smallint, 0,
+                           now() - (random() * interval '%d days'), now()
+                    from generate_series(1, %d) id
+                    """.formatted(MONTHS * 30, rows));
+            statement.execute("insert into payments_partitioned select * from payments_flat");
+            for (String table : new String[]{"payments_flat", "payments_partitioned"}) {
+                statement.execute("create index on %s (requested_at, payment_id)".formatted(table));
+                statement.execute("create index on %s (status, requested_at, payment_id)".formatted(table));
+                statement.execute("vacuum analyze " + table);
+            }
+        }
+        recentFlat = connection.prepareStatement(recent("payments_flat"));
+        recentPartitioned = connection.prepareStatement(recent("payments_partitioned"));
+        monthFlat = connection.prepareStatement(month("payments_flat"));
+        monthPartitioned = connection.prepareStatement(month("payments_partitioned"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop schema if exists " + SCHEMA + " cascade");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public long recentPageFlat() throws SQLException {
+        return consume(recentFlat);
+    }
+
+    @Benchmark
+    public long recentPagePartitioned() throws SQLException {
+        return consume(recentPartitioned);
+    }
+
+    @Benchmark
+    public long currentMonthSummaryFlat() throws SQLException {
+        return consume(monthFlat);
+    }
+
+    @Benchmark
+    public long currentMonthSummaryPartitioned() throws SQLException {
+        return consume(monthPartitioned);
+    }
+
+    private static String table(String name, String partitionBy) {
+        return """
+                create table %s (
+                    payment_id bigint not null,
+                    order_id varchar(255) not null,
+                    payment_key varchar(255) not null,
+                    payment_provider varchar(255) not null,
+                    total_amount bigint not null,
+                    canceled_amount bigint not null,
+                    currency varchar(3) not null,
+                    status smallint not null,
+                    method smallint,
+                    requested_at timestamp(6) with time zone not null,
+                    approved_at timestamp(6) with time zone,
+                    primary key (payment_id, requested_at)
+                ) %s
+                """.formatted(name, partitionBy);
+    }
+
+    /**
+     * PaymentQueryRepositoryImpl의 목록 조회와 같은 형태입니다.
+     */
+    private static String recent(String table) {
+        return """
+                select payment_id, order_id, payment_key, total_amount, status, requested_at
+                from %s
+                where status = 3 and requested_at >= now() - interval '7 days'
+                order by requested_at desc, payment_id desc
+                limit 51
+                """.formatted(table);
+    }
+
+    /**
+     * 이번 달 결제의 상태별 합계입니다. 단일 테이블은 인덱스 범위를, 파티션 테이블은 이번 달 파티션만 읽습니다.
+     */
+    private static String month(String table) {
+        return """
+                select status, count(*), sum(total_amount - canceled_amount)
+                from %s
+                where requested_at >= date_trunc('month', now())
+                group by status
+                """.formatted(table);
+    }
+
+    private static long consume(PreparedStatement statement) throws SQLException {
+        long count = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                count += resultSet.getLong(1);
+            }
+        }
+        return count;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
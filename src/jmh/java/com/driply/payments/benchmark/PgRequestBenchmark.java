@@ -0,0 +1,50 @@
+package com.driply.payments.benchmark;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PG사 요청을 만드는 비용(인증 헤더, 요청 본문 직렬화)을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PgRequestBenchmark {
+    private final ObjectMapper objectMapper = JsonUtil.objectMapper();
+    private final Map<String, String> authorizationHeaders = new ConcurrentHashMap<>();
+    private final paymentDTO request = paymentDTO.builder()
+            .paymentKey("tgen_20240101000000abcDE")
+            .orderId("MC4wNjE2NjE4MjUx")
+            .amount(50_000L)
+            .build();
+
+    @Benchmark
+    public String authorizationHeaderPerRequest() {
+        return "Basic " + Base64.getEncoder().encodeToString((BenchmarkFixtures.SECRET_KEY + ":").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String authorizationHeaderCached() {
+        return authorizationHeaders.computeIfAbsent(BenchmarkFixtures.SECRET_KEY, key ->
+                "Basic " + Base64.getEncoder().encodeToString((key + ":").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public byte[] requestBody() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+}
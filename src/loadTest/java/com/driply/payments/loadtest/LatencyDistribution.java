@@ -0,0 +1,76 @@
+package com.driply.payments.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 시뮬레이터가 응답 전에 기다리는 시간의 분포입니다.
+ * none, fixed:5ms, uniform:20ms,80ms, lognormal:80ms,400ms 형식으로 지정합니다.
+ * lognormal은 중앙값과 p99를 지정하며, PG사 응답 시간처럼 대부분은 빠르고 일부가 길게 늘어지는 분포를 만듭니다.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+    LatencyDistribution NONE = () -> 0;
+
+    /**
+     * 표준정규분포의 99번째 백분위수입니다.
+     */
+    double Z_99 = 2.3263478740408408;
+
+    /**
+     * 한 번의 응답에 적용할 지연 시간(ns)을 뽑습니다.
+     */
+    long nextNanos();
+
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return nanos == 0 ? NONE : () -> nanos;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long from = min.toNanos();
+        long to = max.toNanos();
+        if (to < from) {
+            throw new IllegalArgumentException("uniform max must not be less than min");
+        }
+        return from == to ? fixed(min) : () -> ThreadLocalRandom.current().nextLong(from, to + 1);
+    }
+
+    static LatencyDistribution lognormal(Duration median, Duration p99) {
+        if (median.isZero() || median.isNegative() || p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("lognormal requires 0 < median <= p99");
+        }
+        double mu = Math.log(median.toNanos());
+        double sigma = (Math.log(p99.toNanos()) - mu) / Z_99;
+        return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":", 2);
+        String[] durations = parts.length == 2 ? parts[1].split(",") : new String[0];
+        return switch (parts[0]) {
+            case "none" -> NONE;
+            case "fixed" -> {
+                require(spec, durations, 1);
+                yield fixed(DurationStyle.detectAndParse(durations[0]));
+            }
+            case "uniform" -> {
+                require(spec, durations, 2);
+                yield uniform(DurationStyle.detectAndParse(durations[0]), DurationStyle.detectAndParse(durations[1]));
+            }
+            case "lognormal" -> {
+                require(spec, durations, 2);
+                yield lognormal(DurationStyle.detectAndParse(durations[0]), DurationStyle.detectAndParse(durations[1]));
+            }
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        };
+    }
+
+    private static void require(String spec, String[] durations, int count) {
+        if (durations.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " duration(s) in " + spec);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.driply.payments.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 지연 시간(μs)을 로그 구간별로 세는 히스토그램입니다. 동시에 기록할 수 있고, 기록 수와 관계없이 크기가 고정입니다.
+ * 2의 거듭제곱 구간마다 64개의 하위 구간을 두므로 백분위수의 오차는 1/64(약 1.6%) 이내입니다.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS + 1));
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(index(micros));
+        count.incrementAndGet();
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    /**
+     * @param quantile 0과 1 사이의 값입니다. 0.99라면 p99를 반환합니다.
+     * @return 해당 백분위수가 속한 구간의 상한(ms)입니다. 기록이 없다면 0을 반환합니다.
+     */
+    double percentileMillis(double quantile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get()) / 1000.0;
+            }
+        }
+        return max.get() / 1000.0;
+    }
+
+    double maxMillis() {
+        return max.get() / 1000.0;
+    }
+
+    /**
+     * 64 미만은 값 그대로, 그 이상은 최상위 비트 위치와 그 아래 6비트로 구간을 정합니다.
+     */
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * (shift + 1) + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,367 @@
+package com.driply.payments.loadtest;
+
+import com.driply.payments.common.JsonUtil;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PaymentController 엔드포인트에 목표 초당 요청 수(rps)만큼 요청을 보내고 처리량, 지연 시간 백분위수, 오류율을 보고합니다.
+ * 응답을 기다리지 않고 정해진 시각마다 요청을 보내는 open-loop 방식이며, 지연 시간은 요청을 보냈어야 할 시각부터 측정합니다.
+ * 서버가 느려져도 요청 간격이 벌어지지 않으므로 대기열에서 기다린 시간까지 지연 시간에 포함됩니다.
+ * 애플리케이션은 bootRunLoadTest로 시뮬레이터(tossSimulator)를 PG사로 사용하도록 실행해 둡니다.
+ *
+ * <pre>
+ * ./gradlew loadTest -PloadTestArgs="--rps=300 --duration=2m --max-error-rate=0.01 --max-p99=500ms"
+ * </pre>
+ * 결과는 build/results/load-test/results.json에도 저장되며, 임계값을 넘으면 0이 아닌 코드로 종료해 빌드를 실패시킵니다.
+ */
+public final class LoadTest {
+    private static final String TOTAL = "total";
+    private static final String DROPPED = "dropped";
+
+    private final URI target;
+    private final double rps;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration timeout;
+    private final int maxInFlight;
+    private final String merchant;
+    private final long amount;
+    private final Map<LoadTestScenario, Double> mix;
+    private final double mixTotal;
+    private final HttpClient httpClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private List<String> billingCustomers = List.of();
+
+    LoadTest(Options options) {
+        this.target = URI.create(options.get("target", "http://localhost:8080"));
+        this.rps = options.getDouble("rps", 100);
+        this.warmup = options.getDuration("warmup", Duration.ofSeconds(10));
+        this.duration = options.getDuration("duration", Duration.ofSeconds(60));
+        this.timeout = options.getDuration("timeout", Duration.ofSeconds(30));
+        this.maxInFlight = options.getInt("max-in-flight", 5_000);
+        this.merchant = options.get("merchant", null);
+        this.amount = options.getInt("amount", 50_000);
+        this.mix = mix(options.get("mix", null));
+        this.mixTotal = mix.values().stream().mapToDouble(Double::doubleValue).sum();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(3))
+                .executor(executor)
+                .build();
+        if (rps <= 0) {
+            throw new IllegalArgumentException("rps must be positive");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadTest loadTest = new LoadTest(options);
+        Map<String, Object> report;
+        try {
+            loadTest.prepare(options.getInt("billing-customers", 1_000));
+            report = loadTest.run();
+        } finally {
+            loadTest.executor.shutdownNow();
+        }
+
+        if (options.has("report")) {
+            Path path = Path.of(options.get("report", null));
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            JsonUtil.objectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+            System.out.println("Report written to " + path);
+        }
+
+        List<String> violations = loadTest.violations(report, options);
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.err.println("Threshold exceeded: " + violation));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 정기결제 시나리오가 사용할 고객의 빌링키를 미리 발급합니다. 측정에는 포함되지 않습니다.
+     * 발급에 실패한 고객은 제외하며, 한 명도 발급받지 못했다면 정기결제 시나리오를 수행할 수 없으므로 중단합니다.
+     */
+    private void prepare(int customers) throws InterruptedException {
+        if (!mix.containsKey(LoadTestScenario.CONFIRM_BILLING) || customers <= 0) {
+            return;
+        }
+        List<String> issued = Collections.synchronizedList(new ArrayList<>());
+        Semaphore concurrency = new Semaphore(64);
+        for (int i = 0; i < customers; i++) {
+            String customerKey = "lt-" + runId + "-billing-" + i;
+            concurrency.acquire();
+            executor.execute(() -> {
+                try {
+                    HttpRequest request = build(LoadTestScenario.ISSUE_BILLING_KEY.request(target, ids(sequence.incrementAndGet(), customerKey, null)));
+                    if (send(request).statusCode() == 200) {
+                        issued.add(customerKey);
+                    }
+                } catch (IOException e) {
+                    // 발급에 실패한 고객은 사용하지 않습니다.
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    concurrency.release();
+                }
+            });
+        }
+        concurrency.acquire(64);
+        if (issued.isEmpty()) {
+            throw new IllegalStateException("Could not issue any billing key against " + target);
+        }
+        billingCustomers = List.copyOf(issued);
+        System.out.printf("Issued billing keys for %d/%d customers%n", billingCustomers.size(), customers);
+    }
+
+    /**
+     * 준비 운전(warmup) 뒤 측정 구간 동안 일정한 간격으로 요청을 보냅니다. 준비 운전 중의 결과는 버립니다.
+     * 동시에 응답을 기다리는 요청이 max-in-flight를 넘으면 더 보내지 않고 dropped로 집계합니다. 부하 생성기 자체가 병목이 되지 않게 하기 위함입니다.
+     */
+    private Map<String, Object> run() throws InterruptedException {
+        Results warmupResults = new Results();
+        Results results = new Results();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        System.out.printf("Sending %.1f requests/s to %s for %s after %s warmup%n", rps, target, duration, warmup);
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * 1_000_000_000L / rps);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Results current = intended < measureFrom ? warmupResults : results;
+            LoadTestScenario scenario = nextScenario();
+            if (!inFlight.tryAcquire()) {
+                current.dropped(scenario);
+                continue;
+            }
+            HttpRequest request = request(scenario);
+            executor.execute(() -> {
+                try {
+                    current.record(scenario, call(request), System.nanoTime() - intended);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+            System.err.println("Some requests did not complete before the timeout");
+        }
+
+        Map<String, Object> report = results.report(duration.toNanos());
+        printReport(report);
+        return report;
+    }
+
+    private HttpRequest request(LoadTestScenario scenario) {
+        long seq = sequence.incrementAndGet();
+        String billingCustomerKey = billingCustomers.isEmpty() ? null : billingCustomers.get((int) (seq % billingCustomers.size()));
+        return build(scenario.request(target, ids(seq, "lt-" + runId + "-customer-" + seq, billingCustomerKey)));
+    }
+
+    private HttpRequest build(HttpRequest.Builder builder) {
+        if (merchant != null) {
+            builder.header("X-Merchant-Id", merchant);
+        }
+        return builder.timeout(timeout).build();
+    }
+
+    private LoadTestScenario.RequestIds ids(long seq, String customerKey, String billingCustomerKey) {
+        return new LoadTestScenario.RequestIds("lt-" + runId + "-" + seq, "tsim_pk_" + runId + "_" + seq, customerKey,
+                billingCustomerKey, amount);
+    }
+
+    /**
+     * @return HTTP 상태 코드, 응답을 받지 못했다면 timeout 혹은 io-error를 반환합니다.
+     */
+    private String call(HttpRequest request) {
+        try {
+            return String.valueOf(send(request).statusCode());
+        } catch (HttpTimeoutException e) {
+            return "timeout";
+        } catch (IOException e) {
+            return "io-error";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    private HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private LoadTestScenario nextScenario() {
+        double roll = ThreadLocalRandom.current().nextDouble(mixTotal);
+        for (Map.Entry<LoadTestScenario, Double> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return mix.keySet().iterator().next();
+    }
+
+    /**
+     * confirm-widget:4,confirm-billing:1 형식의 시나리오별 가중치입니다. 지정하지 않으면 시나리오별 기본 가중치를 사용합니다.
+     */
+    private static Map<LoadTestScenario, Double> mix(String spec) {
+        Map<LoadTestScenario, Double> mix = new EnumMap<>(LoadTestScenario.class);
+        if (spec == null) {
+            for (LoadTestScenario scenario : LoadTestScenario.values()) {
+                mix.put(scenario, scenario.defaultWeight());
+            }
+            return mix;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split(":", 2);
+            double weight = parts.length == 2 ? Double.parseDouble(parts[1]) : 1;
+            if (weight > 0) {
+                mix.put(LoadTestScenario.of(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix must contain at least one scenario with a positive weight");
+        }
+        return mix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> violations(Map<String, Object> report, Options options) {
+        Map<String, Object> total = (Map<String, Object>) ((Map<String, Object>) report.get("scenarios")).get(TOTAL);
+        List<String> violations = new ArrayList<>();
+        if (options.has("max-error-rate") && (double) total.get("errorRate") > options.getDouble("max-error-rate", 1)) {
+            violations.add("error rate " + total.get("errorRate") + " > " + options.get("max-error-rate", null));
+        }
+        if (options.has("max-p99")) {
+            double limit = options.getDuration("max-p99", Duration.ZERO).toNanos() / 1_000_000.0;
+            Map<String, Double> latency = (Map<String, Double>) total.get("latencyMillis");
+            if (latency.get("p99") > limit) {
+                violations.add("p99 " + latency.get("p99") + "ms > " + limit + "ms");
+            }
+        }
+        if (options.has("min-throughput") && (double) total.get("throughput") < options.getDouble("min-throughput", 0)) {
+            violations.add("throughput " + total.get("throughput") + " < " + options.get("min-throughput", null));
+        }
+        return violations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void printReport(Map<String, Object> report) {
+        System.out.printf("%n%-18s %9s %10s %8s %9s %9s %9s %9s %9s  %s%n",
+                "scenario", "requests", "ok/s", "error%", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "outcomes");
+        ((Map<String, Map<String, Object>>) report.get("scenarios")).forEach((name, scenario) -> {
+            Map<String, Double> latency = (Map<String, Double>) scenario.get("latencyMillis");
+            System.out.printf("%-18s %9d %10.1f %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    name, scenario.get("requests"), scenario.get("throughput"), (double) scenario.get("errorRate") * 100,
+                    latency.get("p50"), latency.get("p90"), latency.get("p99"), latency.get("p99.9"), latency.get("max"),
+                    scenario.get("outcomes"));
+        });
+    }
+
+    /**
+     * 시나리오별, 전체 결과를 집계합니다. 지연 시간은 응답을 받은 요청만, 오류율은 200이 아닌 모든 결과(dropped 포함)로 계산합니다.
+     */
+    private static final class Results {
+        private final Map<String, ScenarioResults> scenarios = new ConcurrentHashMap<>();
+
+        void record(LoadTestScenario scenario, String outcome, long latencyNanos) {
+            for (ScenarioResults results : List.of(of(scenario.scenarioName()), of(TOTAL))) {
+                results.outcome(outcome);
+                if (Character.isDigit(outcome.charAt(0))) {
+                    results.latency.record(latencyNanos);
+                }
+            }
+        }
+
+        void dropped(LoadTestScenario scenario) {
+            of(scenario.scenarioName()).outcome(DROPPED);
+            of(TOTAL).outcome(DROPPED);
+        }
+
+        private ScenarioResults of(String name) {
+            return scenarios.computeIfAbsent(name, key -> new ScenarioResults());
+        }
+
+        Map<String, Object> report(long elapsedNanos) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            Map<String, Object> byScenario = new LinkedHashMap<>();
+            new TreeMap<>(scenarios).forEach((name, results) -> {
+                if (!TOTAL.equals(name)) {
+                    byScenario.put(name, results.report(seconds));
+                }
+            });
+            byScenario.put(TOTAL, of(TOTAL).report(seconds));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("elapsedSeconds", seconds);
+            report.put("scenarios", byScenario);
+            return report;
+        }
+    }
+
+    private static final class ScenarioResults {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        void outcome(String outcome) {
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        Map<String, Object> report(double seconds) {
+            Map<String, Long> counts = new TreeMap<>();
+            outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+            long requests = counts.values().stream().mapToLong(Long::longValue).sum();
+            long ok = counts.getOrDefault("200", 0L);
+
+            Map<String, Double> latencyMillis = new LinkedHashMap<>();
+            latencyMillis.put("p50", latency.percentileMillis(0.5));
+            latencyMillis.put("p90", latency.percentileMillis(0.9));
+            latencyMillis.put("p99", latency.percentileMillis(0.99));
+            latencyMillis.put("p99.9", latency.percentileMillis(0.999));
+            latencyMillis.put("max", latency.maxMillis());
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("requests", requests);
+            report.put("throughput", ok / seconds);
+            report.put("errorRate", requests == 0 ? 0.0 : (double) (requests - ok) / requests);
+            report.put("latencyMillis", latencyMillis);
+            report.put("outcomes", counts);
+            return report;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.driply.payments.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 부하 테스트가 호출하는 PaymentController 엔드포인트입니다. 이름은 payments.rate-limit.endpoints의 이름과 같습니다.
+ * 요청마다 새 orderId, paymentKey, customerKey를 사용하므로 중복 승인 방지나 토큰 캐시에 걸리지 않고 매번 PG사까지 호출됩니다.
+ */
+enum LoadTestScenario {
+    CONFIRM_WIDGET("confirm-widget", 4) {
+        @Override
+        HttpRequest.Builder request(URI target, RequestIds ids) {
+            return json(target, "/confirm/widget", confirmBody(ids, null));
+        }
+    },
+    CONFIRM_PAYMENT("confirm-payment", 2) {
+        @Override
+        HttpRequest.Builder request(URI target, RequestIds ids) {
+            return json(target, "/confirm/payment", confirmBody(ids, null));
+        }
+    },
+    CONFIRM_BRANDPAY("confirm-brandpay", 1) {
+        @Override
+        HttpRequest.Builder request(URI target, RequestIds ids) {
+            return json(target, "/confirm/brandpay", confirmBody(ids, ids.customerKey()));
+        }
+    },
+    CONFIRM_BILLING("confirm-billing", 2) {
+        @Override
+        HttpRequest.Builder request(URI target, RequestIds ids) {
+            return json(target, "/confirm-billing", """
+                    {"customerKey":"%s","amount":%d,"orderId":"%s","orderName":"부하 테스트 정기결제"}"""
+                    .formatted(ids.billingCustomerKey(), ids.amount(), ids.orderId()));
+        }
+    },
+    ISSUE_BILLING_KEY("issue-billing-key", 0.5) {
+        @Override
+        HttpRequest.Builder request(URI target, RequestIds ids) {
+            return json(target, "/issue-billing-key", """
+                    {"authKey":"auth-%s","customerKey":"%s"}""".formatted(ids.orderId(), ids.customerKey()));
+        }
+    },
+    CALLBACK_AUTH("callback-auth", 0.5) {
+        @Override
+        HttpRequest.Builder request(URI target, RequestIds ids) {
+            return HttpRequest.newBuilder(target.resolve("/callback-auth?customerKey=" + encode(ids.customerKey())
+                    + "&code=" + encode("code-" + ids.orderId()))).GET();
+        }
+    };
+
+    private final String scenarioName;
+    private final double defaultWeight;
+
+    LoadTestScenario(String scenarioName, double defaultWeight) {
+        this.scenarioName = scenarioName;
+        this.defaultWeight = defaultWeight;
+    }
+
+    abstract HttpRequest.Builder request(URI target, RequestIds ids);
+
+    String scenarioName() {
+        return scenarioName;
+    }
+
+    double defaultWeight() {
+        return defaultWeight;
+    }
+
+    static LoadTestScenario of(String name) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.scenarioName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + name));
+    }
+
+    /**
+     * 요청 한 건에 사용할 식별자입니다.
+     * @param billingCustomerKey 준비 단계에서 빌링키를 발급해 둔 고객입니다. 정기결제 시나리오에서만 사용합니다.
+     */
+    record RequestIds(String orderId, String paymentKey, String customerKey, String billingCustomerKey, long amount) {
+    }
+
+    private static String confirmBody(RequestIds ids, String customerKey) {
+        return customerKey == null
+                ? """
+                {"paymentKey":"%s","orderId":"%s","amount":%d}""".formatted(ids.paymentKey(), ids.orderId(), ids.amount())
+                : """
+                {"paymentKey":"%s","orderId":"%s","amount":%d,"customerKey":"%s"}""".formatted(ids.paymentKey(), ids.orderId(), ids.amount(), customerKey);
+    }
+
+    private static HttpRequest.Builder json(URI target, String path, String body) {
+        return HttpRequest.newBuilder(target.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
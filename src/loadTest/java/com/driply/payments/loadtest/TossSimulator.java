@@ -0,0 +1,356 @@
+package com.driply.payments.loadtest;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.payment.client.PgEndpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 토스페이먼츠 api를 흉내내는 로컬 시뮬레이터입니다. 결제 승인, 정기결제, 빌링키 발급, 브랜드페이 결제 승인, Access Token 발급을 구현합니다.
+ * 승인한 결제를 보관하지 않으므로 결제 조회는 항상 NOT_FOUND_PAYMENT(404)로 응답합니다.
+ * 요청의 paymentKey, orderId, amount, customerKey로 응답을 만들고, 엔드포인트별로 지정한 분포만큼 기다린 뒤 응답합니다.
+ * 지정한 비율만큼 PG사 내부 오류(500)와 카드사 거절 같은 업무 오류(4xx)를 토스페이먼츠 에러 객체({code, message})로 응답합니다.
+ * 인증 헤더는 Basic 형식인지만 확인합니다.
+ *
+ * <pre>
+ * ./gradlew tossSimulator -PsimulatorArgs="--port=9090 --latency=lognormal:80ms,400ms --error-rate=0.001 --billing.reject-rate=0.02"
+ * </pre>
+ * 엔드포인트 이름(confirm, billing, billing-issue, brandpay-confirm, access-token, payment-query)을 앞에 붙이면 해당 엔드포인트에만 적용됩니다.
+ */
+public final class TossSimulator implements AutoCloseable {
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final ObjectMapper objectMapper = JsonUtil.objectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<PgEndpoint, Behavior> behaviors;
+    private final Map<PgEndpoint, EndpointStats> stats = new EnumMap<>(PgEndpoint.class);
+    private final AtomicLong sequence = new AtomicLong();
+
+    static {
+        // JDK HttpServer는 응답 헤더와 본문을 따로 보내므로, Nagle 알고리즘과 클라이언트의 지연 ACK가 겹쳐 응답마다 약 40ms가 더해집니다.
+        // 유휴 연결은 기본 200개까지만 유지해서, 그보다 큰 연결 풀로 부하를 주면 서버가 닫은 연결을 클라이언트가 재사용하다 실패합니다.
+        // 첫 HttpServer가 만들어질 때 읽히므로 서버를 만들기 전에 설정합니다.
+        defaultProperty("sun.net.httpserver.nodelay", "true");
+        defaultProperty("sun.net.httpserver.maxIdleConnections", "4096");
+    }
+
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    /**
+     * 엔드포인트별 응답 방식입니다.
+     * @param errorRate PG사 내부 오류(500 FAILED_INTERNAL_SYSTEM_PROCESSING)로 응답할 비율입니다.
+     * @param rejectRate 카드사 거절 같은 업무 오류(4xx)로 응답할 비율입니다.
+     */
+    public record Behavior(LatencyDistribution latency, double errorRate, double rejectRate) {
+        public static final Behavior IMMEDIATE = new Behavior(LatencyDistribution.NONE, 0, 0);
+
+        public Behavior {
+            if (errorRate < 0 || rejectRate < 0 || errorRate + rejectRate > 1) {
+                throw new IllegalArgumentException("error-rate + reject-rate must be between 0 and 1");
+            }
+        }
+    }
+
+    /**
+     * 모든 엔드포인트가 같은 방식으로 응답하는 시뮬레이터를 임의의 로컬 포트로 시작합니다.
+     */
+    public TossSimulator(Behavior behavior) throws IOException {
+        this(new InetSocketAddress("127.0.0.1", 0), sameBehavior(behavior));
+    }
+
+    public TossSimulator(InetSocketAddress address, Map<PgEndpoint, Behavior> behaviors) throws IOException {
+        this.behaviors = new EnumMap<>(behaviors);
+        for (PgEndpoint endpoint : PgEndpoint.values()) {
+            this.behaviors.putIfAbsent(endpoint, Behavior.IMMEDIATE);
+            stats.put(endpoint, new EndpointStats());
+        }
+        server = HttpServer.create(address, 4096);
+        server.createContext("/v1/payments/confirm", exchange -> handle(exchange, PgEndpoint.CONFIRM));
+        server.createContext("/v1/payments/", exchange -> handle(exchange, PgEndpoint.PAYMENT_QUERY));
+        server.createContext("/v1/billing/authorizations/issue", exchange -> handle(exchange, PgEndpoint.BILLING_ISSUE));
+        server.createContext("/v1/billing/", exchange -> handle(exchange, PgEndpoint.BILLING));
+        server.createContext("/v1/brandpay/payments/confirm", exchange -> handle(exchange, PgEndpoint.BRANDPAY_CONFIRM));
+        server.createContext("/v1/brandpay/authorizations/access-token", exchange -> handle(exchange, PgEndpoint.ACCESS_TOKEN));
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                respond(exchange, 404, error("NOT_FOUND", "존재하지 않는 api입니다."));
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * PgClientProperties.baseUrl로 지정할 주소입니다.
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        InetSocketAddress address = new InetSocketAddress(options.get("host", "127.0.0.1"), options.getInt("port", 9090));
+        Behavior defaults = behavior(options, "", Behavior.IMMEDIATE);
+        Map<PgEndpoint, Behavior> behaviors = new EnumMap<>(PgEndpoint.class);
+        for (PgEndpoint endpoint : PgEndpoint.values()) {
+            behaviors.put(endpoint, behavior(options, name(endpoint) + ".", defaults));
+        }
+
+        TossSimulator simulator = new TossSimulator(address, behaviors);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            simulator.close();
+            simulator.printStats();
+            stopped.countDown();
+        }));
+        System.out.println("Toss simulator listening on " + simulator.baseUrl());
+        behaviors.forEach((endpoint, behavior) -> System.out.printf("  %-16s error-rate=%s reject-rate=%s%n",
+                name(endpoint), behavior.errorRate(), behavior.rejectRate()));
+        stopped.await();
+    }
+
+    private static Behavior behavior(Options options, String prefix, Behavior defaults) {
+        return new Behavior(
+                options.has(prefix + "latency") ? LatencyDistribution.parse(options.get(prefix + "latency", "none")) : defaults.latency(),
+                options.getDouble(prefix + "error-rate", defaults.errorRate()),
+                options.getDouble(prefix + "reject-rate", defaults.rejectRate()));
+    }
+
+    private static Map<PgEndpoint, Behavior> sameBehavior(Behavior behavior) {
+        Map<PgEndpoint, Behavior> behaviors = new EnumMap<>(PgEndpoint.class);
+        for (PgEndpoint endpoint : PgEndpoint.values()) {
+            behaviors.put(endpoint, behavior);
+        }
+        return behaviors;
+    }
+
+    /**
+     * application.yml의 read-timeouts와 같은 엔드포인트 이름입니다.
+     */
+    private static String name(PgEndpoint endpoint) {
+        return endpoint.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private void handle(HttpExchange exchange, PgEndpoint endpoint) throws IOException {
+        try (exchange) {
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            Behavior behavior = behaviors.get(endpoint);
+            EndpointStats endpointStats = stats.get(endpoint);
+            endpointStats.requests.increment();
+            sleep(behavior.latency().nextNanos());
+
+            String method = endpoint == PgEndpoint.PAYMENT_QUERY ? "GET" : "POST";
+            if (!method.equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, error("METHOD_NOT_ALLOWED", method + " 요청만 지원합니다."));
+                return;
+            }
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null || !authorization.startsWith("Basic ")) {
+                respond(exchange, 401, error("UNAUTHORIZED_KEY", "인증되지 않은 시크릿 키 혹은 클라이언트 키 입니다."));
+                return;
+            }
+            JsonNode request;
+            try {
+                request = endpoint == PgEndpoint.PAYMENT_QUERY ? objectMapper.missingNode() : objectMapper.readTree(requestBody);
+            } catch (IOException e) {
+                respond(exchange, 400, error("INVALID_REQUEST", "잘못된 요청입니다."));
+                return;
+            }
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < behavior.errorRate()) {
+                endpointStats.errors.increment();
+                respond(exchange, 500, error("FAILED_INTERNAL_SYSTEM_PROCESSING", "내부 시스템 처리 작업이 실패했습니다. 잠시 후 다시 시도해주세요."));
+            } else if (roll < behavior.errorRate() + behavior.rejectRate()) {
+                endpointStats.rejects.increment();
+                reject(exchange, endpoint);
+            } else if (endpoint == PgEndpoint.PAYMENT_QUERY) {
+                respond(exchange, 404, notFoundPayment());
+            } else {
+                ObjectNode response = response(endpoint, exchange.getRequestURI().getPath(), request);
+                if (response == null) {
+                    respond(exchange, 400, error("INVALID_REQUEST", "필수 파라미터가 누락되었습니다."));
+                } else {
+                    respond(exchange, 200, response);
+                }
+            }
+        }
+    }
+
+    /**
+     * 성공 응답을 만듭니다. 필수 필드가 없다면 null을 반환합니다.
+     */
+    private ObjectNode response(PgEndpoint endpoint, String path, JsonNode request) {
+        return switch (endpoint) {
+            case CONFIRM -> payment("NORMAL", text(request, "paymentKey"), request);
+            case BRANDPAY_CONFIRM -> text(request, "customerKey") == null ? null : payment("BRANDPAY", text(request, "paymentKey"), request);
+            case BILLING -> path.length() <= "/v1/billing/".length() || text(request, "customerKey") == null ? null
+                    : payment("BILLING", newKey("tbill"), request);
+            case BILLING_ISSUE -> billing(request);
+            case ACCESS_TOKEN -> accessToken(request);
+            case PAYMENT_QUERY -> throw new IllegalArgumentException("Payment queries are not stored by the simulator");
+        };
+    }
+
+    /**
+     * 카드 결제가 완료된 Payment 객체입니다.
+     */
+    private ObjectNode payment(String type, String paymentKey, JsonNode request) {
+        String orderId = text(request, "orderId");
+        long amount = request.path("amount").asLong();
+        if (paymentKey == null || orderId == null || amount <= 0) {
+            return null;
+        }
+        String now = OffsetDateTime.now(ZONE).truncatedTo(ChronoUnit.SECONDS).toString();
+        long vat = Math.round(amount / 11.0);
+        ObjectNode payment = objectMapper.createObjectNode()
+                .put("mId", "tosspayments")
+                .put("version", "2022-11-16")
+                .put("paymentKey", paymentKey)
+                .put("lastTransactionKey", newKey("txn"))
+                .put("type", type)
+                .put("orderId", orderId)
+                .put("orderName", request.path("orderName").asText("시뮬레이터 결제"))
+                .put("status", "DONE")
+                .put("method", "카드")
+                .put("currency", "KRW")
+                .put("totalAmount", amount)
+                .put("balanceAmount", amount)
+                .put("suppliedAmount", amount - vat)
+                .put("vat", vat)
+                .put("taxFreeAmount", 0)
+                .put("requestedAt", now)
+                .put("approvedAt", now);
+        payment.putObject("card")
+                .put("issuerCode", "71")
+                .put("acquirerCode", "71")
+                .put("number", "12345678****000*")
+                .put("installmentPlanMonths", 0)
+                .put("approveNo", String.format("%08d", sequence.get() % 100_000_000))
+                .put("cardType", "신용")
+                .put("ownerType", "개인")
+                .put("acquireStatus", "READY")
+                .put("amount", amount);
+        return payment;
+    }
+
+    /**
+     * 빌링키가 발급된 Billing 객체입니다.
+     */
+    private ObjectNode billing(JsonNode request) {
+        String customerKey = text(request, "customerKey");
+        if (customerKey == null || text(request, "authKey") == null) {
+            return null;
+        }
+        return objectMapper.createObjectNode()
+                .put("mId", "tosspayments")
+                .put("customerKey", customerKey)
+                .put("authenticatedAt", OffsetDateTime.now(ZONE).truncatedTo(ChronoUnit.SECONDS).toString())
+                .put("method", "카드")
+                .put("billingKey", newKey("bk"))
+                .put("cardCompany", "현대")
+                .put("cardNumber", "43301234****123*");
+    }
+
+    private ObjectNode accessToken(JsonNode request) {
+        if (text(request, "customerKey") == null || text(request, "grantType") == null) {
+            return null;
+        }
+        return objectMapper.createObjectNode()
+                .put("accessToken", newKey("at"))
+                .put("refreshToken", newKey("rt"))
+                .put("tokenType", "bearer")
+                .put("expiresIn", 2_592_000L);
+    }
+
+    private void reject(HttpExchange exchange, PgEndpoint endpoint) throws IOException {
+        switch (endpoint) {
+            case CONFIRM, BRANDPAY_CONFIRM, BILLING ->
+                    respond(exchange, 403, error("REJECT_CARD_PAYMENT", "한도초과 혹은 잔액부족으로 결제에 실패했습니다."));
+            case BILLING_ISSUE -> respond(exchange, 403, error("REJECT_CARD_COMPANY", "결제 승인이 거절되었습니다."));
+            case ACCESS_TOKEN -> respond(exchange, 400, error("INVALID_AUTHORIZATION_CODE", "유효하지 않은 인증 코드입니다."));
+            case PAYMENT_QUERY -> respond(exchange, 404, notFoundPayment());
+        }
+    }
+
+    private static ObjectNode notFoundPayment() {
+        return error("NOT_FOUND_PAYMENT", "존재하지 않는 결제 정보 입니다.");
+    }
+
+    private static ObjectNode error(String code, String message) {
+        return objectMapper.createObjectNode().put("code", code).put("message", message);
+    }
+
+    private static void respond(HttpExchange exchange, int status, ObjectNode body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static String text(JsonNode request, String field) {
+        JsonNode value = request.get(field);
+        return value == null || !value.isValueNode() || value.asText().isEmpty() ? null : value.asText();
+    }
+
+    private String newKey(String prefix) {
+        return prefix + "_sim" + Long.toString(System.currentTimeMillis(), 36) + Long.toString(sequence.incrementAndGet(), 36);
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void printStats() {
+        System.out.println("Toss simulator stopped");
+        stats.forEach((endpoint, endpointStats) -> System.out.printf("  %-16s requests=%d errors=%d rejects=%d%n",
+                name(endpoint), endpointStats.requests.sum(), endpointStats.errors.sum(), endpointStats.rejects.sum()));
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rejects = new LongAdder();
+    }
+}
@@ -0,0 +1,36 @@
+package com.driply.payments.common;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MoneyUtil {
+    public static final String DEFAULT_CURRENCY = "KRW";
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    /**
+     * PG사 응답의 금액을 통화의 최소 단위 정수로 변환합니다. KRW는 그대로, USD는 100을 곱한 값입니다.
+     * PG사가 이미 승인한 결제의 금액이므로, 최소 단위보다 작은 금액은 예외 대신 반올림하여 저장합니다.
+     * @throws ArithmeticException 최소 단위 정수가 long 범위를 넘는 경우
+     */
+    public static long toMinorUnits(BigDecimal amount, String currency) {
+        int digits = fractionDigits(currency);
+        return amount.setScale(digits, ROUNDING_MODE).movePointRight(digits).longValueExact();
+    }
+
+    /**
+     * 통화의 최소 단위 정수를 금액으로 변환합니다.
+     */
+    public static BigDecimal fromMinorUnits(long amount, String currency) {
+        return BigDecimal.valueOf(amount, fractionDigits(currency));
+    }
+
+    private static int fractionDigits(String currency) {
+        int digits = Currency.getInstance(currency == null ? DEFAULT_CURRENCY : currency).getDefaultFractionDigits();
+        return Math.max(digits, 0);
+    }
+}
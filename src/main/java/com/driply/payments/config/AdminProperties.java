@@ -0,0 +1,28 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.admin")
+public class AdminProperties {
+    /**
+     * 운영 api(정기결제 일괄 작업 등)에 HTTP Basic 인증으로 접근하는 관리자 계정입니다.
+     */
+    private String username = "admin";
+
+    /**
+     * 관리자 비밀번호입니다. application-secret.yml에 설정하며, 비어 있으면 운영 api는 모든 요청을 거절합니다.
+     */
+    private String password;
+
+    /**
+     * 결제 조회 api에 접근하는 가맹점 계정의 비밀번호입니다. 가맹점 구분값이 사용자 이름이며, 자기 가맹점의 결제만 조회할 수 있습니다.
+     */
+    private Map<String, String> merchants = new HashMap<>();
+}
@@ -0,0 +1,59 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.billing-batch")
+public class BillingBatchProperties {
+    /**
+     * 모든 정기결제 작업을 합친 최대 동시 결제 수입니다.
+     */
+    private int maxConcurrent = 100;
+
+    /**
+     * PG사별 설정이 없을 때 사용되는 PG사별 최대 동시 결제 수입니다.
+     * 실시간 정기결제 요청이 사용할 자리를 남기도록 toss.payments.resilience.bulkhead보다 작게 설정합니다.
+     */
+    private int maxConcurrentPerProvider = 80;
+
+    /**
+     * PG사별 최대 동시 결제 수입니다. 키는 PG사 이름입니다.
+     */
+    private Map<String, Integer> maxConcurrentPerProviders = new HashMap<>();
+
+    /**
+     * 빌링키와 기존 결제 내역을 한 번에 조회하는 건수입니다.
+     */
+    private int pageSize = 1000;
+
+    /**
+     * PG사 응답을 받지 못했거나 503으로 거절된 결제의 최대 시도 횟수입니다.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * 재시도 간 최초 대기 시간입니다. 시도할 때마다 두 배씩 늘어납니다.
+     */
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    /**
+     * 작업 정의와 체크포인트를 기록하는 디렉토리입니다.
+     */
+    private String jobDir = "data/billing-jobs";
+
+    /**
+     * 체크포인트를 기록할 때마다 디스크 동기화를 수행할지 여부입니다.
+     */
+    private boolean fsync = false;
+
+    public int maxConcurrent(String provider) {
+        return maxConcurrentPerProviders.getOrDefault(provider, maxConcurrentPerProvider);
+    }
+}
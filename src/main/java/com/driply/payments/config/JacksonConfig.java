@@ -0,0 +1,20 @@
+package com.driply.payments.config;
+
+import com.driply.payments.common.JsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * JsonUtil의 ObjectMapper를 Spring 빈으로 등록하여 요청/응답 변환과 서비스 코드가 하나의 인스턴스를 공유하도록 합니다.
+     */
+    @Bean
+    @Primary
+    public ObjectMapper objectMapper() {
+        return JsonUtil.objectMapper();
+    }
+}
@@ -1,19 +1,80 @@
 package com.driply.payments.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 정적 리소스는 내용 해시가 포함된 URL(style-{hash}.css)로 제공하고, URL이 내용과 함께 바뀌므로 1년간 immutable로 캐시합니다.
+ * 해시가 없는 URL(/style.css)은 배포 후 내용이 바뀌므로 no-cache로 응답하고, 브라우저는 매번 ETag로 재검증합니다.
+ * 빌드 시 미리 압축해 둔 .br, .gz 파일이 있다면 Accept-Encoding에 따라 압축된 파일을 그대로 응답합니다.
+ * 해시는 리소스별로 처음 요청될 때 한 번 계산되어 캐시되며, 응답의 strong ETag로도 사용됩니다.
+ * 템플릿은 리소스로 노출하지 않고, 기존 .html 경로는 Thymeleaf 뷰로 렌더링합니다.
+ */
 @Configuration
 public class MvcConfiguration implements WebMvcConfigurer {
+    private static final ContentVersionStrategy CONTENT_VERSION = new ContentVersionStrategy();
+    private static final Duration STATIC_MAX_AGE = Duration.ofDays(365);
+    private final Map<String, String> contentHashes = new ConcurrentHashMap<>();
+
+    /**
+     * 결제 페이지들이 서로를 리다이렉트하는 경로입니다. 경로와 템플릿 이름이 같습니다.
+     */
+    private static final List<String> PAGES = List.of(
+            "payment/checkout", "payment/billing", "payment/success",
+            "widget/checkout", "widget/success",
+            "brandpay/checkout", "brandpay/success",
+            "fail");
 
     @Override
     public void addResourceHandlers(final ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/**")
-                .addResourceLocations("classpath:/templates/", "classpath:/static/")
-                .setCacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES));
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .setUseLastModified(false)
+                .setEtagGenerator(this::contentHashEtag)
+                .resourceChain(true)
+                .addResolver(new VersionedResourceCacheResolver(CacheControl.maxAge(STATIC_MAX_AGE).cachePublic().immutable()))
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /**
+     * 응답할 파일(압축된 파일이라면 압축된 파일)의 내용 해시를 ETag로 사용하므로, 인코딩별로 다른 strong ETag가 됩니다.
+     * 클래스패스의 리소스는 바뀌지 않으므로 파일별로 한 번만 계산합니다.
+     */
+    private String contentHashEtag(Resource resource) {
+        return contentHashes.computeIfAbsent(resource.getDescription(), description -> "\"" + CONTENT_VERSION.getResourceVersion(resource) + "\"");
+    }
+
+    @Override
+    public void addViewControllers(ViewControllerRegistry registry) {
+        for (String page : PAGES) {
+            registry.addViewController("/" + page + ".html").setViewName(page);
+        }
+    }
+
+    /**
+     * 템플릿의 @{/style.css} 같은 리소스 URL을 내용 해시가 포함된 URL로 바꿉니다.
+     */
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration = new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
     }
-}
\ No newline at end of file
+}
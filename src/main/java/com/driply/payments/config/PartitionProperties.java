@@ -0,0 +1,39 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.partition")
+public class PartitionProperties {
+    /**
+     * payments 테이블의 월별 파티션을 관리합니다. db/payments-partitioned.sql로 파티션 테이블을 만든 환경(prod)에서만 켭니다.
+     */
+    private boolean enabled = false;
+
+    /**
+     * 파티션 경계(매월 1일 0시)의 기준 시간대입니다.
+     */
+    private ZoneId zone = ZoneId.of("Asia/Seoul");
+
+    /**
+     * 이번 달 이후로 미리 만들어 둘 파티션 수입니다. 파티션이 없는 달의 결제는 insert에 실패하므로 여유 있게 둡니다.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * 보관할 지난 달 수입니다. 이번 달을 제외하고 이보다 오래된 파티션은 응답 원문과 함께 삭제합니다. 0 이하라면 삭제하지 않습니다.
+     * 전자금융거래 기록은 5년간 보존해야 하므로 기본값은 60개월이며, 그보다 줄이려면 먼저 보관 정책을 확인합니다.
+     */
+    private int retentionMonths = 60;
+
+    /**
+     * 파티션을 점검하는 주기입니다. 애플리케이션 시작 시에도 한 번 점검합니다.
+     */
+    private Duration checkInterval = Duration.ofHours(6);
+}
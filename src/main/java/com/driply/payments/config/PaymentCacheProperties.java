@@ -0,0 +1,66 @@
+package com.driply.payments.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.cache")
+public class PaymentCacheProperties {
+    /**
+     * customerKey별 빌링키 캐시 설정입니다.
+     */
+    private Spec billingKey = new Spec(100_000, Duration.ofHours(24));
+
+    /**
+     * orderId, paymentKey, amount별 결제 승인 결과 캐시 설정입니다.
+     */
+    private Spec confirm = new Spec(100_000, Duration.ofMinutes(10));
+
+    /**
+     * customerKey별 브랜드페이 Access Token 캐시 설정입니다.
+     * 유효기간은 Authorization Code로 발급받은 시점부터 계산하며, 갱신으로 연장되지 않습니다. Refresh Token의 유효기간보다 짧아야 합니다.
+     */
+    private Spec brandpayToken = new Spec(100_000, Duration.ofDays(7));
+
+    /**
+     * Access Token 만료까지 남은 시간이 이 값보다 짧아지면 Refresh Token으로 미리 갱신합니다.
+     */
+    private Duration brandpayTokenRefreshAhead = Duration.ofMinutes(5);
+
+    /**
+     * 갱신이 필요한 Access Token을 찾는 주기입니다.
+     */
+    private Duration brandpayTokenRefreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * 백그라운드에서 동시에 수행하는 최대 갱신 수입니다.
+     */
+    private int brandpayTokenRefreshConcurrency = 16;
+
+    /**
+     * 결제 승인 결과가 캐시에 없을 때 payments 테이블에 저장된 결과를 조회할지 여부입니다.
+     */
+    private boolean confirmDatabaseLookup = false;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        /**
+         * 캐시에 보관할 최대 항목 수입니다.
+         */
+        private long maximumSize;
+
+        /**
+         * 항목이 저장된 뒤 만료되기까지의 시간입니다.
+         */
+        private Duration expireAfterWrite;
+    }
+}
@@ -0,0 +1,26 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.execution")
+public class PaymentExecutionProperties {
+    /**
+     * PG사 api 호출을 실행하는 방식입니다.
+     */
+    private Mode mode = Mode.BLOCKING;
+
+    public enum Mode {
+        /**
+         * 서블릿 스레드에서 PG사 응답을 기다립니다.
+         */
+        BLOCKING,
+        /**
+         * 가상 스레드에서 PG사 api를 호출하고 서블릿 스레드는 즉시 반환합니다.
+         */
+        VIRTUAL
+    }
+}
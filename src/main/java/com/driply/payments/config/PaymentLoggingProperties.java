@@ -0,0 +1,29 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.logging.body")
+public class PaymentLoggingProperties {
+    /**
+     * 요청, 응답 본문을 로그로 남길 비율입니다. 0이면 남기지 않고 1이면 모두 남깁니다.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * 로그 기록을 기다리는 본문의 최대 개수입니다. 가득 차면 새 본문은 버립니다.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * 값을 가린 뒤 기록할 필드 이름입니다.
+     */
+    private Set<String> maskedFields = Set.of(
+            "paymentKey", "billingKey", "customerKey", "authKey", "code", "accessToken", "refreshToken",
+            "secret", "cardNumber", "customerEmail", "customerName", "customerMobilePhone");
+}
@@ -0,0 +1,42 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.routing")
+public class PaymentRoutingProperties {
+    /**
+     * 요청에 PG사가 지정되지 않았을 때 사용할 PG사입니다.
+     */
+    private String defaultProvider = "TOSS";
+
+    /**
+     * 요청에 가맹점이 지정되지 않았을 때 사용할 가맹점입니다.
+     */
+    private String defaultMerchant = "default";
+
+    /**
+     * 가맹점별, PG사별 비밀키입니다.
+     */
+    private Map<String, Map<String, SecretKeys>> merchants = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class SecretKeys {
+        /**
+         * 위젯 결제를 제외한 api 호출에 사용하는 비밀키입니다.
+         */
+        private String apiSecretKey;
+
+        /**
+         * 결제위젯 승인에 사용하는 비밀키입니다.
+         */
+        private String widgetSecretKey;
+    }
+}
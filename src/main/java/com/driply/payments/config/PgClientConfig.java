@@ -0,0 +1,22 @@
+package com.driply.payments.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+
+@Configuration
+public class PgClientConfig {
+
+    /**
+     * PG사 api 호출에 사용되는 HttpClient 입니다.
+     * HTTP/2 연결을 우선 사용하며, HTTP/1.1로 협상된 경우에도 keep-alive 연결을 재사용합니다.
+     */
+    @Bean
+    public HttpClient pgHttpClient(PgClientProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+    }
+}
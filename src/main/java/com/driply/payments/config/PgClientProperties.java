@@ -0,0 +1,50 @@
+package com.driply.payments.config;
+
+import com.driply.payments.payment.client.PgEndpoint;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "toss.payments.client")
+public class PgClientProperties {
+    /**
+     * PG사 api 서버 주소입니다. 부하 테스트에서는 로컬 시뮬레이터 주소로 바꿉니다.
+     */
+    private String baseUrl = "https://api.tosspayments.com";
+
+    /**
+     * PG사 api 서버와의 연결 수립 타임아웃입니다.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    /**
+     * 엔드포인트별 설정이 없을 때 사용되는 응답 대기 타임아웃입니다.
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 엔드포인트별 응답 대기 타임아웃입니다.
+     */
+    private Map<PgEndpoint, Duration> readTimeouts = new EnumMap<>(PgEndpoint.class);
+
+    /**
+     * 모든 엔드포인트를 합쳐 동시에 처리할 수 있는 최대 요청 수입니다. 연결 풀의 크기를 제한합니다.
+     * 엔드포인트별 동시 호출 수는 toss.payments.resilience.bulkhead로 제한합니다.
+     */
+    private int maxConcurrentRequests = 200;
+
+    /**
+     * 동시 요청 수가 가득 찼을 때 빈 자리를 기다리는 최대 시간입니다. 지나면 요청을 보내지 않고 503으로 응답합니다.
+     */
+    private Duration acquireTimeout = Duration.ofMillis(50);
+
+    public Duration readTimeout(PgEndpoint endpoint) {
+        return readTimeouts.getOrDefault(endpoint, readTimeout);
+    }
+}
@@ -0,0 +1,83 @@
+package com.driply.payments.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.rate-limit")
+public class RateLimitProperties {
+    /**
+     * 요청 수 제한을 적용할지 여부입니다.
+     */
+    private boolean enabled = true;
+
+    /**
+     * 이 시간 동안 요청이 없는 키의 버킷은 삭제합니다. 제한 기간(period)보다 짧다면 제한 기간을 사용합니다.
+     * 제한 기간 이상 요청이 없었던 버킷은 가득 차 있으므로 삭제해도 제한 결과가 달라지지 않습니다.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 엔드포인트, 구분(customerKey, 가맹점, IP)별로 보관하는 최대 버킷 수입니다. 넘으면 오래 사용되지 않은 버킷부터 삭제합니다.
+     */
+    private long maximumBuckets = 1_000_000;
+
+    /**
+     * customerKey를 찾기 위해 읽는 요청 본문의 최대 크기입니다. customerKey 제한이 있는 엔드포인트는 더 큰 본문을 400으로 거절합니다.
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(16);
+
+    /**
+     * 이름별 엔드포인트 제한입니다. 이름은 지표의 endpoint 태그로 사용됩니다.
+     */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        /**
+         * 제한할 요청 경로입니다. 정확히 일치하는 경로에만 적용됩니다.
+         */
+        private String path;
+
+        /**
+         * customerKey별 제한입니다. customerKey는 쿼리 파라미터 혹은 JSON 본문의 최상위 필드에서 읽으므로, customerKey를 찾을 수 없는 요청은 400으로 거절하므로, customerKey를 보내는 엔드포인트에만 설정합니다.
+         */
+        private Limit customer;
+
+        /**
+         * X-Merchant-Id 헤더의 가맹점별 제한입니다. 헤더가 없다면 기본 가맹점으로 집계합니다.
+         */
+        private Limit merchant;
+
+        /**
+         * 클라이언트 IP별 제한입니다. 프록시 뒤에서는 server.forward-headers-strategy를 설정해야 실제 클라이언트 IP로 집계됩니다.
+         */
+        private Limit ip;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        /**
+         * period 동안 허용하는 요청 수입니다. 요청이 없었다면 이만큼 연속으로 허용합니다.
+         */
+        private int permits;
+
+        /**
+         * 제한 기간입니다. period / permits 마다 요청 하나를 다시 허용합니다.
+         */
+        private Duration period;
+    }
+}
@@ -0,0 +1,56 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.ZoneId;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.reconciliation")
+public class ReconciliationProperties {
+    /**
+     * 정산 파일을 읽는 디렉토리입니다. 대사 요청의 파일 이름은 이 디렉토리 안에서만 찾습니다.
+     */
+    private String settlementDir = "data/settlements";
+
+    /**
+     * 대사 결과 리포트를 기록하는 디렉토리입니다.
+     */
+    private String reportDir = "data/reconciliation";
+
+    /**
+     * 정산일의 기준 시간대입니다. 결제 요청 시각이 이 시간대의 하루에 속한 결제를 대사합니다.
+     */
+    private ZoneId zone = ZoneId.of("Asia/Seoul");
+
+    /**
+     * payments 테이블을 커서로 읽을 때 한 번에 가져오는 행 수입니다.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * paymentKey 순으로 정렬되지 않은 정산 파일을 외부 정렬할 때 메모리에서 한 번에 정렬하는 건수입니다.
+     */
+    private int sortChunkSize = 200_000;
+
+    /**
+     * 정산 파일을 읽는 버퍼 크기(byte)입니다.
+     */
+    private int readBufferSize = 1 << 20;
+
+    private CsvColumns csvColumns = new CsvColumns();
+
+    /**
+     * CSV 정산 파일의 헤더 이름입니다.
+     */
+    @Getter
+    @Setter
+    public static class CsvColumns {
+        private String paymentKey = "paymentKey";
+        private String orderId = "orderId";
+        private String amount = "amount";
+        private String status = "status";
+    }
+}
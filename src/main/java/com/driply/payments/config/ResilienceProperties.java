@@ -0,0 +1,100 @@
+package com.driply.payments.config;
+
+import com.driply.payments.payment.client.PgEndpoint;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "toss.payments.resilience")
+public class ResilienceProperties {
+    private BulkheadSpec bulkhead = new BulkheadSpec();
+    private CircuitBreakerSpec circuitBreaker = new CircuitBreakerSpec();
+    private RetrySpec retry = new RetrySpec();
+
+    @Getter
+    @Setter
+    public static class BulkheadSpec {
+        /**
+         * 엔드포인트별 설정이 없을 때 사용되는 최대 동시 호출 수입니다.
+         */
+        private int maxConcurrent = 100;
+
+        /**
+         * 엔드포인트별 최대 동시 호출 수입니다.
+         */
+        private Map<PgEndpoint, Integer> maxConcurrentPerEndpoint = new EnumMap<>(PgEndpoint.class);
+
+        /**
+         * 빈 자리를 기다리는 최대 시간입니다. 이 시간이 지나면 호출을 거절합니다.
+         */
+        private Duration maxWait = Duration.ofMillis(50);
+
+        public int maxConcurrent(PgEndpoint endpoint) {
+            return maxConcurrentPerEndpoint.getOrDefault(endpoint, maxConcurrent);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreakerSpec {
+        /**
+         * 실패율과 지연율을 계산하는 최근 호출 수입니다.
+         */
+        private int windowSize = 50;
+
+        /**
+         * 실패율을 계산하기 위한 최소 호출 수입니다.
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * 회로를 여는 실패율(%)입니다. IO 오류와 5xx 응답을 실패로 봅니다.
+         */
+        private double failureRateThreshold = 50;
+
+        /**
+         * 회로를 여는 지연 호출 비율(%)입니다.
+         */
+        private double slowCallRateThreshold = 80;
+
+        /**
+         * 지연 호출로 판단하는 응답 시간입니다.
+         */
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        /**
+         * 회로가 열린 뒤 시험 호출을 허용하기까지의 시간입니다.
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /**
+         * 반열림 상태에서 허용하는 시험 호출 수입니다.
+         */
+        private int halfOpenCalls = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class RetrySpec {
+        /**
+         * 첫 호출을 포함한 최대 시도 횟수입니다.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * 첫 재시도 전 최대 대기 시간입니다. 재시도마다 두 배씩 늘어나며 실제 대기 시간은 0과 이 값 사이에서 무작위로 정합니다.
+         */
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        /**
+         * 재시도 전 대기 시간의 상한입니다.
+         */
+        private Duration maxBackoff = Duration.ofSeconds(1);
+    }
+}
@@ -1,26 +1,79 @@
 package com.driply.payments.config;
 
+import com.driply.payments.payment.ratelimit.RateLimitFilter;
+import com.driply.payments.payment.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.LogoutConfigurer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * 관리자만 호출할 수 있는 운영 api 경로입니다.
+     */
+    private static final String[] ADMIN_PATHS = {"/billing-jobs/**", "/reconciliations/**", "/webhooks/replay"};
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimiter rateLimiter, RateLimitProperties rateLimitProperties,
+                                                   ObjectMapper objectMapper) throws Exception {
         http
                 .authorizeHttpRequests(requests -> requests
+                        .requestMatchers(ADMIN_PATHS).hasRole("ADMIN")
+                        .requestMatchers("/payments/*/response").hasRole("ADMIN")
+                        .requestMatchers("/payments", "/payments/**").hasAnyRole("ADMIN", "MERCHANT")
                         .requestMatchers("/**").permitAll()
                 )
+                .httpBasic(Customizer.withDefaults())
                 .cors(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
-                .logout(LogoutConfigurer::permitAll);
+                .logout(LogoutConfigurer::permitAll)
+                .addFilterBefore(new RateLimitFilter(rateLimiter, objectMapper, (int) rateLimitProperties.getMaxBodySize().toBytes()),
+                        SecurityContextHolderFilter.class);
 
         return http.build();
     }
+
+    /**
+     * 관리자와 가맹점 계정을 등록합니다. 관리자 비밀번호가 설정되지 않았다면 관리자 계정을 만들지 않아 운영 api는 모든 요청이 401로 거절됩니다.
+     */
+    @Bean
+    public UserDetailsService userDetailsService(AdminProperties adminProperties, PasswordEncoder passwordEncoder) {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+        if (adminProperties.getPassword() == null || adminProperties.getPassword().isBlank()) {
+            logger.warn("payments.admin.password is not set; admin endpoints will reject every request");
+        } else {
+            users.createUser(User.withUsername(adminProperties.getUsername())
+                    .password(passwordEncoder.encode(adminProperties.getPassword()))
+                    .roles("ADMIN")
+                    .build());
+        }
+        adminProperties.getMerchants().forEach((merchant, password) -> users.createUser(User.withUsername(merchant)
+                .password(passwordEncoder.encode(password))
+                .roles("MERCHANT")
+                .build()));
+        return users;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
 }
@@ -0,0 +1,129 @@
+package com.driply.payments.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * 내용 해시가 포함된 URL로 요청된 리소스에만 주어진 Cache-Control을 붙입니다.
+ * VersionResourceResolver는 해시가 포함된 URL의 리소스에만 ETag 헤더를 붙이므로, 이것으로 버전 URL인지 구분합니다.
+ * 리소스 핸들러는 Cache-Control을 먼저 쓰고 리소스의 헤더로 덮어쓰므로, 해시가 없는 URL은 핸들러에 설정한 값을 그대로 받습니다.
+ * VersionResourceResolver의 weak ETag는 응답에서 빼고, 핸들러가 응답할 파일의 내용 해시로 만든 strong ETag를 사용합니다.
+ */
+class VersionedResourceCacheResolver implements ResourceResolver {
+    private final String cacheControl;
+
+    VersionedResourceCacheResolver(CacheControl cacheControl) {
+        this.cacheControl = cacheControl.getHeaderValue();
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource instanceof HttpResource httpResource && httpResource.getResponseHeaders().getETag() != null) {
+            return new VersionedResource(httpResource, cacheControl);
+        }
+        return resource;
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourcePath, locations);
+    }
+
+    private static final class VersionedResource extends AbstractResource implements HttpResource {
+        private final HttpResource original;
+        private final String cacheControl;
+
+        private VersionedResource(HttpResource original, String cacheControl) {
+            this.original = original;
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(original.getResponseHeaders());
+            headers.setCacheControl(cacheControl);
+            headers.remove(HttpHeaders.ETAG);
+            return headers;
+        }
+
+        @Override
+        public boolean exists() {
+            return original.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return original.isReadable();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return original.isOpen();
+        }
+
+        @Override
+        public boolean isFile() {
+            return original.isFile();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return original.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return original.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return original.getFile();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return original.getInputStream();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return original.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return original.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return original.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return original.getDescription();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.webhook")
+public class WebhookProperties {
+    /**
+     * 수신한 웹훅 이벤트 로그와 처리 위치(checkpoint)를 기록하는 디렉토리입니다.
+     */
+    private String logDir = "data/webhook-log";
+
+    /**
+     * 로그 세그먼트 파일 크기입니다. 세그먼트는 이 크기로 미리 만들어 메모리에 매핑됩니다.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 웹훅 본문의 최대 크기입니다.
+     */
+    private DataSize maxEventSize = DataSize.ofKilobytes(64);
+
+    /**
+     * 이벤트를 기록할 때마다 디스크 동기화를 수행할지 여부입니다. 켜면 응답 지연이 디스크 지연만큼 늘어납니다.
+     */
+    private boolean fsync = false;
+
+    /**
+     * 이벤트를 결제에 반영하는 작업 스레드 수입니다. 같은 주문의 이벤트는 항상 같은 스레드에서 순서대로 처리됩니다.
+     */
+    private int workers = 8;
+
+    /**
+     * 작업 스레드별 대기열 크기입니다. 대기열이 가득 차면 로그 읽기를 멈추며, 수신 응답에는 영향이 없습니다.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * 결제가 아직 저장되지 않은 이벤트의 최대 시도 횟수입니다.
+     */
+    private int missingPaymentAttempts = 10;
+
+    /**
+     * DB 오류나 PG사 조회 실패로 반영하지 못한 이벤트의 최대 시도 횟수입니다.
+     * 모두 실패한 이벤트는 로그 디렉토리의 dead-letter 파일에 기록하고 다음 이벤트를 처리합니다. 복구 후 replay로 다시 처리할 수 있습니다.
+     */
+    private int maxAttempts = 20;
+
+    /**
+     * 재시도 간 최초 대기 시간입니다. 시도할 때마다 두 배씩 늘어납니다.
+     */
+    private Duration retryBackoff = Duration.ofMillis(500);
+
+    /**
+     * 처리 위치를 기록하는 주기입니다. 재시작하면 마지막으로 기록한 위치부터 다시 처리합니다.
+     */
+    private Duration checkpointInterval = Duration.ofSeconds(1);
+
+    /**
+     * 처리가 끝난 로그 세그먼트를 재처리(replay)를 위해 보관하는 기간입니다.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * replay할 이벤트를 작업 대기열에 넣을 때 기다리는 최대 시간입니다. 대기열이 계속 가득 차 있으면 replay를 중단합니다.
+     */
+    private Duration replayQueueTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 처리한 이벤트를 중복 제거를 위해 기억하는 최대 건수와 기간입니다.
+     */
+    private int deduplicationSize = 100_000;
+    private Duration deduplicationTtl = Duration.ofHours(24);
+}
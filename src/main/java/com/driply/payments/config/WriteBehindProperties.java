@@ -0,0 +1,48 @@
+package com.driply.payments.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.write-behind")
+public class WriteBehindProperties {
+    /**
+     * DB 저장을 기다릴 수 있는 최대 결제 결과 수입니다.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * 한 번의 insert 배치에 포함되는 최대 결제 결과 수입니다. hibernate.jdbc.batch_size와 맞춰야 합니다.
+     */
+    private int batchSize = 50;
+
+    /**
+     * 대기열이 비어있을 때 다음 저장까지 기다리는 시간입니다.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * 대기열이 가득 찼을 때 요청 스레드가 빈 자리를 기다리는 시간입니다.
+     * 이 시간이 지나면 결제 결과는 저널에만 기록되고 저널을 통해 저장됩니다.
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /**
+     * 저장 실패 시 최대 시도 횟수입니다. 모두 실패한 결제 결과는 저널 디렉토리의 dead-letter 세그먼트로 옮겨집니다.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * 저장 대기 중인 결제 결과를 기록하는 저널 디렉토리입니다.
+     */
+    private String journalDir = "data/payment-journal";
+
+    /**
+     * 저널 기록마다 디스크 동기화(fsync)를 수행할지 여부입니다.
+     */
+    private boolean fsync = false;
+}
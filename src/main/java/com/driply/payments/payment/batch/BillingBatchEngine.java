@@ -0,0 +1,443 @@
+package com.driply.payments.payment.batch;
+
+import com.driply.payments.config.BillingBatchProperties;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingJobProgress;
+import com.driply.payments.payment.dto.BillingJobRequest;
+import com.driply.payments.payment.dto.PaymentRecord;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.entity.BillingKey;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.repository.BillingKeyRepository;
+import com.driply.payments.payment.repository.PaymentRepository;
+import com.driply.payments.payment.service.PaymentWriteBehind;
+import com.driply.payments.payment.strategy.PaymentRoute;
+import com.driply.payments.payment.strategy.PaymentRouter;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 정기결제를 일괄로 수행합니다.
+ * 결제 목록 혹은 저장된 빌링키를 페이지 단위로 읽어 가상 스레드에서 동시에 결제하며,
+ * 동시 결제 수는 작업별, PG사별, 전체 한도 중 가장 작은 값으로 제한됩니다.
+ * 결제 건마다 처리 결과를 체크포인트에 기록하므로, 중단된 작업을 재개하면 결과가 기록된 건은 다시 결제하지 않습니다.
+ * 결제 결과는 PaymentWriteBehind를 통해 batch insert로 저장됩니다.
+ * 체크포인트 기록 직전에 중단된 건은 payments 테이블의 주문번호로 한 번 더 걸러내며,
+ * 그 사이에 남은 건은 같은 주문번호로 요청되므로 PG사의 주문번호 중복 검사로 이중 결제가 막힙니다.
+ * 응답을 받지 못한 건은 다시 보내지 않고 주문번호로 PG사에 결제를 조회해 결과를 정하며, 조회로도 알 수 없으면 UNKNOWN으로 기록합니다.
+ */
+@Component
+public class BillingBatchEngine {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PaymentRouter paymentRouter;
+    private final BillingKeyRepository billingKeyRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentWriteBehind paymentWriteBehind;
+    private final PaymentMetrics paymentMetrics;
+    private final BillingBatchProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Path jobRoot;
+    private final Semaphore globalLimit;
+    private final Map<String, Semaphore> providerLimits = new ConcurrentHashMap<>();
+    private final Map<String, BillingJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BillingBatchEngine(PaymentRouter paymentRouter, BillingKeyRepository billingKeyRepository, PaymentRepository paymentRepository,
+                              PaymentWriteBehind paymentWriteBehind, PaymentMetrics paymentMetrics, BillingBatchProperties properties,
+                              ObjectMapper objectMapper) throws IOException {
+        this.paymentRouter = paymentRouter;
+        this.billingKeyRepository = billingKeyRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentWriteBehind = paymentWriteBehind;
+        this.paymentMetrics = paymentMetrics;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.jobRoot = Files.createDirectories(Path.of(properties.getJobDir()));
+        this.globalLimit = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    /**
+     * 기록된 작업을 불러옵니다. 종료 상태가 기록되지 않은 작업은 INTERRUPTED로 표시되며 재개할 수 있습니다.
+     */
+    @PostConstruct
+    public void loadJobs() throws IOException {
+        try (Stream<Path> directories = Files.list(jobRoot)) {
+            for (Path directory : directories.filter(Files::isDirectory).toList()) {
+                BillingJobCheckpoint checkpoint = new BillingJobCheckpoint(directory, objectMapper, properties.isFsync());
+                if (!checkpoint.hasJob()) {
+                    continue;
+                }
+                BillingJobProgress.State state = checkpoint.finishedState();
+                BillingJob job = new BillingJob(checkpoint, state == null ? BillingJobProgress.State.INTERRUPTED : state);
+                job.restore(checkpoint.read());
+                jobs.put(job.id(), job);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        executor.shutdownNow();
+        for (BillingJob job : jobs.values()) {
+            if (job.state() == BillingJobProgress.State.RUNNING) {
+                job.finish(BillingJobProgress.State.INTERRUPTED);
+            }
+            job.checkpoint().close();
+        }
+    }
+
+    /**
+     * 새 작업을 시작합니다.
+     * @throws IllegalArgumentException 작업 정의가 올바르지 않거나 라우팅 대상이 없는 경우
+     */
+    public BillingJobProgress submit(BillingJobRequest request) throws IOException {
+        validate(request);
+        PaymentTarget target = paymentRouter.route(PaymentRoute.BILLING, request.getProvider(), request.getMerchant());
+        BillingJobCheckpoint checkpoint = new BillingJobCheckpoint(jobRoot.resolve(UUID.randomUUID().toString()), objectMapper, properties.isFsync());
+        checkpoint.writeJob(request);
+        BillingJob job = new BillingJob(checkpoint, BillingJobProgress.State.RUNNING);
+        jobs.put(job.id(), job);
+        start(job, request, target, Set.of());
+        return job.progress();
+    }
+
+    /**
+     * 중단되었거나 실패한 작업을 체크포인트 이후부터 재개합니다.
+     * @throws NoSuchElementException 작업이 없는 경우
+     * @throws IllegalStateException 실행 중이거나 완료된 작업인 경우
+     */
+    public BillingJobProgress resume(String jobId) throws IOException {
+        BillingJob job = find(jobId);
+        synchronized (job) {
+            if (job.state() == BillingJobProgress.State.RUNNING || job.state() == BillingJobProgress.State.COMPLETED) {
+                throw new IllegalStateException("Billing job " + jobId + " is " + job.state());
+            }
+            BillingJobRequest request = job.checkpoint().readJob();
+            PaymentTarget target = paymentRouter.route(PaymentRoute.BILLING, request.getProvider(), request.getMerchant());
+            List<BillingJobResult> results = job.checkpoint().read();
+            job.restore(results);
+            job.checkpoint().reopen();
+            Set<String> completed = results.stream().map(BillingJobResult::orderId).collect(Collectors.toCollection(HashSet::new));
+            start(job, request, target, completed);
+        }
+        return job.progress();
+    }
+
+    public BillingJobProgress progress(String jobId) {
+        return find(jobId).progress();
+    }
+
+    public List<BillingJobProgress> jobs() {
+        return jobs.values().stream()
+                .map(BillingJob::progress)
+                .sorted(Comparator.comparing(BillingJobProgress::startedAt, Comparator.nullsFirst(Comparator.naturalOrder())).reversed())
+                .toList();
+    }
+
+    private BillingJob find(String jobId) {
+        BillingJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NoSuchElementException("Billing job " + jobId + " not found");
+        }
+        return job;
+    }
+
+    private void start(BillingJob job, BillingJobRequest request, PaymentTarget target, Set<String> completed) {
+        job.start();
+        executor.execute(() -> run(job, request, target, completed));
+    }
+
+    /**
+     * 작업의 결제 건을 페이지 단위로 읽어 동시 결제 한도 안에서 결제를 시작합니다.
+     * 한도에 도달하면 자리가 날 때까지 다음 건을 읽지 않습니다.
+     */
+    private void run(BillingJob job, BillingJobRequest request, PaymentTarget target, Set<String> completed) {
+        int concurrency = Math.min(request.getConcurrency() == null ? properties.getMaxConcurrent() : request.getConcurrency(),
+                properties.getMaxConcurrent());
+        Semaphore jobLimit = new Semaphore(concurrency);
+        Semaphore providerLimit = providerLimits.computeIfAbsent(target.strategy().provider(),
+                provider -> new Semaphore(properties.maxConcurrent(provider)));
+        BillingJobProgress.State state = BillingJobProgress.State.COMPLETED;
+        try {
+            ChargeSource source = source(request, target);
+            for (List<BillingCharge> page = source.next(); !page.isEmpty(); page = source.next()) {
+                Set<String> existing = existingOrderIds(page, completed);
+                for (BillingCharge charge : page) {
+                    String orderId = charge.request().getOrderId();
+                    if (completed.contains(orderId)) {
+                        continue;
+                    }
+                    if (existing.contains(orderId)) {
+                        job.skip();
+                        job.checkpoint().append(new BillingJobResult(orderId, BillingJobResult.Outcome.SKIPPED, 0));
+                        continue;
+                    }
+                    jobLimit.acquire();
+                    providerLimit.acquire();
+                    globalLimit.acquire();
+                    job.submit();
+                    executor.execute(() -> {
+                        try {
+                            charge(job, target, charge);
+                        } finally {
+                            globalLimit.release();
+                            providerLimit.release();
+                            jobLimit.release();
+                        }
+                    });
+                }
+            }
+            jobLimit.acquire(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = BillingJobProgress.State.INTERRUPTED;
+        } catch (RuntimeException | IOException e) {
+            logger.error("Billing job {} failed", job.id(), e);
+            state = BillingJobProgress.State.FAILED;
+        }
+
+        job.finish(state);
+        if (state != BillingJobProgress.State.INTERRUPTED) {
+            try {
+                job.checkpoint().finish(state);
+            } catch (IOException e) {
+                logger.error("Failed to record billing job {} state", job.id(), e);
+            }
+        }
+        logger.info("Billing job {} {}: {}", job.id(), state, job.progress());
+    }
+
+    /**
+     * 결제 한 건을 수행합니다. 503, 429로 거절된 경우 지수 백오프로 재시도하며, 거절된 채로 끝난 건은 체크포인트에 기록하지 않아 재개 시 다시 결제합니다.
+     * 응답을 받지 못한 건은 PG사가 이미 결제했을 수 있으므로 재시도하지 않고 주문번호로 결제를 조회합니다.
+     */
+    private void charge(BillingJob job, PaymentTarget target, BillingCharge charge) {
+        String orderId = charge.request().getOrderId();
+        if (charge.billingKey() == null) {
+            complete(job, new BillingJobResult(orderId, BillingJobResult.Outcome.FAILED, 0));
+            return;
+        }
+        try {
+            PgResponse<PaymentResponse> response;
+            for (int attempt = 1; ; attempt++) {
+                response = paymentMetrics.observe("batch-billing", target, () ->
+                        target.strategy().confirmBilling(target.credentials(), charge.billingKey(), charge.request()));
+                if (!retryable(response) || attempt >= properties.getMaxAttempts()) {
+                    break;
+                }
+                Thread.sleep(backoffMillis(attempt));
+            }
+
+            if (response.statusCode() == 0) {
+                complete(job, reconcile(target, orderId));
+            } else if (response.isSuccess()) {
+                store(target, response);
+                complete(job, new BillingJobResult(orderId, BillingJobResult.Outcome.SUCCEEDED, response.statusCode()));
+            } else if (retryable(response)) {
+                job.complete(BillingJobResult.Outcome.FAILED);
+            } else {
+                complete(job, new BillingJobResult(orderId, BillingJobResult.Outcome.FAILED, response.statusCode()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.complete(BillingJobResult.Outcome.UNKNOWN);
+        } catch (IOException e) {
+            logger.warn("Billing charge {} failed", orderId, e);
+            complete(job, new BillingJobResult(orderId, BillingJobResult.Outcome.UNKNOWN, 0));
+        }
+    }
+
+    /**
+     * 응답을 받지 못한 결제 건을 주문번호로 조회해 결과를 정합니다.
+     * 결제가 있으면 저장하고, 없으면 FAILED, 조회에도 실패하면 UNKNOWN을 반환합니다.
+     */
+    private BillingJobResult reconcile(PaymentTarget target, String orderId) throws IOException {
+        PgResponse<PaymentResponse> response = paymentMetrics.observe("batch-billing-query", target, () ->
+                target.strategy().findPaymentByOrderId(target.credentials(), orderId));
+        if (response.isSuccess()) {
+            store(target, response);
+            BillingJobResult.Outcome outcome = "DONE".equals(response.data().status())
+                    ? BillingJobResult.Outcome.SUCCEEDED
+                    : BillingJobResult.Outcome.FAILED;
+            return new BillingJobResult(orderId, outcome, response.statusCode());
+        }
+        if (response.statusCode() == 404) {
+            return new BillingJobResult(orderId, BillingJobResult.Outcome.FAILED, 404);
+        }
+        logger.warn("Billing charge {} has no PG response and could not be looked up (status {})", orderId, response.statusCode());
+        return new BillingJobResult(orderId, BillingJobResult.Outcome.UNKNOWN, 0);
+    }
+
+    private void store(PaymentTarget target, PgResponse<PaymentResponse> response) {
+        PaymentRecord record = PaymentRecord.from(target.strategy().provider(), target.credentials().merchant(), response);
+        if (record != null) {
+            paymentWriteBehind.submit(record);
+        }
+    }
+
+    private void complete(BillingJob job, BillingJobResult result) {
+        job.complete(result.outcome());
+        try {
+            job.checkpoint().append(result);
+        } catch (IOException e) {
+            logger.error("Failed to checkpoint billing charge {} of job {}", result.orderId(), job.id(), e);
+        }
+    }
+
+    /**
+     * PG사가 처리하지 않았다고 볼 수 있는 거절만 재시도합니다. 연결 실패는 ResilientPgClient가 이미 재시도합니다.
+     */
+    private boolean retryable(PgResponse<?> response) {
+        int statusCode = response.statusCode();
+        return statusCode == 429 || statusCode == PgResponse.SERVICE_UNAVAILABLE;
+    }
+
+    private long backoffMillis(int attempt) {
+        long max = properties.getRetryBackoff().toMillis() << Math.min(attempt - 1, 10);
+        return ThreadLocalRandom.current().nextLong(max + 1);
+    }
+
+    /**
+     * 체크포인트에 없는 건 중 payments 테이블에 이미 저장된 주문번호를 조회합니다.
+     */
+    private Set<String> existingOrderIds(List<BillingCharge> page, Set<String> completed) {
+        List<String> orderIds = page.stream()
+                .map(charge -> charge.request().getOrderId())
+                .filter(orderId -> !completed.contains(orderId))
+                .toList();
+        return orderIds.isEmpty() ? Set.of() : paymentRepository.findExistingOrderIds(orderIds);
+    }
+
+    private void validate(BillingJobRequest request) {
+        boolean hasEntries = request.getEntries() != null && !request.getEntries().isEmpty();
+        BillingJobRequest.BillingKeyQuery query = request.getQuery();
+        if (hasEntries == (query != null)) {
+            throw new IllegalArgumentException("Exactly one of entries or query is required");
+        }
+        if (request.getConcurrency() != null && request.getConcurrency() < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        if (hasEntries) {
+            Set<String> orderIds = new HashSet<>();
+            for (BillingDTO entry : request.getEntries()) {
+                if (entry.getCustomerKey() == null || entry.getOrderId() == null || entry.getAmount() == null) {
+                    throw new IllegalArgumentException("Every entry requires customerKey, orderId and amount");
+                }
+                if (!orderIds.add(entry.getOrderId())) {
+                    throw new IllegalArgumentException("Duplicate orderId " + entry.getOrderId());
+                }
+            }
+        } else if (query.getAmount() == null || query.getOrderIdPrefix() == null || query.getOrderIdPrefix().isBlank()) {
+            throw new IllegalArgumentException("query requires amount and orderIdPrefix");
+        }
+    }
+
+    private ChargeSource source(BillingJobRequest request, PaymentTarget target) {
+        String provider = target.strategy().provider();
+        String merchant = target.credentials().merchant();
+        return request.getQuery() != null
+                ? new BillingKeySource(request.getQuery(), provider, merchant)
+                : new EntrySource(request.getEntries(), provider, merchant);
+    }
+
+    /**
+     * 작업의 결제 건을 페이지 단위로 제공합니다. 더 이상 없으면 빈 목록을 반환합니다.
+     */
+    private interface ChargeSource {
+        List<BillingCharge> next();
+    }
+
+    /**
+     * 요청에 포함된 결제 목록을 페이지로 나누고, 페이지마다 작업의 PG사, 가맹점에서 발급된 빌링키를 한 번에 조회합니다.
+     */
+    private class EntrySource implements ChargeSource {
+        private final List<BillingDTO> entries;
+        private final String provider;
+        private final String merchant;
+        private int offset;
+
+        EntrySource(List<BillingDTO> entries, String provider, String merchant) {
+            this.entries = entries;
+            this.provider = provider;
+            this.merchant = merchant;
+        }
+
+        @Override
+        public List<BillingCharge> next() {
+            if (offset >= entries.size()) {
+                return List.of();
+            }
+            List<BillingDTO> page = entries.subList(offset, Math.min(offset + properties.getPageSize(), entries.size()));
+            offset += page.size();
+            Set<String> customerKeys = page.stream().map(BillingDTO::getCustomerKey).collect(Collectors.toSet());
+            Map<String, String> billingKeys = billingKeyRepository.findByPaymentProviderAndMerchantAndCustomerKeyIn(provider, merchant, customerKeys)
+                    .stream()
+                    .collect(Collectors.toMap(BillingKey::getCustomerKey, BillingKey::getBillingKey));
+            List<BillingCharge> charges = new ArrayList<>(page.size());
+            for (BillingDTO entry : page) {
+                charges.add(new BillingCharge(billingKeys.get(entry.getCustomerKey()), entry));
+            }
+            return charges;
+        }
+    }
+
+    /**
+     * 작업의 PG사, 가맹점에서 발급된 빌링키를 customerKey 순서로 읽어 같은 금액의 결제 건을 만듭니다.
+     */
+    private class BillingKeySource implements ChargeSource {
+        private final BillingJobRequest.BillingKeyQuery query;
+        private final String provider;
+        private final String merchant;
+        private String lastCustomerKey = "";
+
+        BillingKeySource(BillingJobRequest.BillingKeyQuery query, String provider, String merchant) {
+            this.query = query;
+            this.provider = provider;
+            this.merchant = merchant;
+        }
+
+        @Override
+        public List<BillingCharge> next() {
+            List<BillingKey> page = billingKeyRepository.findByPaymentProviderAndMerchantAndCustomerKeyGreaterThanOrderByCustomerKeyAsc(
+                    provider, merchant, lastCustomerKey, Limit.of(properties.getPageSize()));
+            if (page.isEmpty()) {
+                return List.of();
+            }
+            lastCustomerKey = page.get(page.size() - 1).getCustomerKey();
+            return page.stream()
+                    .map(billingKey -> new BillingCharge(billingKey.getBillingKey(), BillingDTO.builder()
+                            .customerKey(billingKey.getCustomerKey())
+                            .amount(query.getAmount())
+                            .orderId(query.getOrderIdPrefix() + "-" + billingKey.getCustomerKey())
+                            .orderName(query.getOrderName())
+                            .build()))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.driply.payments.payment.batch;
+
+import com.driply.payments.payment.dto.BillingDTO;
+
+/**
+ * 일괄 작업의 결제 한 건입니다.
+ * @param billingKey customerKey로 조회한 빌링키입니다. 발급 이력이 없다면 null입니다.
+ */
+record BillingCharge(String billingKey, BillingDTO request) {
+}
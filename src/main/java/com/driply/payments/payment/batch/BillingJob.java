@@ -0,0 +1,106 @@
+package com.driply.payments.payment.batch;
+
+import com.driply.payments.payment.dto.BillingJobProgress;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실행 중이거나 기록된 정기결제 일괄 작업의 진행 상황입니다.
+ * 누적 건수는 체크포인트를 기준으로 하며, 처리 속도는 마지막으로 시작한 실행만을 기준으로 계산합니다.
+ */
+class BillingJob {
+    private final BillingJobCheckpoint checkpoint;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder unknown = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder completedInRun = new LongAdder();
+    private volatile BillingJobProgress.State state;
+    private volatile OffsetDateTime startedAt;
+    private volatile OffsetDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long finishNanos;
+
+    BillingJob(BillingJobCheckpoint checkpoint, BillingJobProgress.State state) {
+        this.checkpoint = checkpoint;
+        this.state = state;
+    }
+
+    String id() {
+        return checkpoint.jobId();
+    }
+
+    BillingJobCheckpoint checkpoint() {
+        return checkpoint;
+    }
+
+    BillingJobProgress.State state() {
+        return state;
+    }
+
+    /**
+     * 체크포인트에 기록된 결과로 누적 건수를 다시 계산합니다.
+     */
+    void restore(List<BillingJobResult> results) {
+        for (LongAdder counter : List.of(submitted, succeeded, failed, unknown, skipped)) {
+            counter.reset();
+        }
+        results.forEach(result -> count(result.outcome()));
+        submitted.add(results.size() - skipped.sum());
+    }
+
+    void start() {
+        completedInRun.reset();
+        state = BillingJobProgress.State.RUNNING;
+        startedAt = OffsetDateTime.now();
+        finishedAt = null;
+        startNanos = System.nanoTime();
+    }
+
+    void submit() {
+        submitted.increment();
+        inFlight.increment();
+    }
+
+    /**
+     * PG사로 요청한 결제의 처리 결과를 반영합니다.
+     */
+    void complete(BillingJobResult.Outcome outcome) {
+        inFlight.decrement();
+        completedInRun.increment();
+        count(outcome);
+    }
+
+    /**
+     * 결제하지 않고 건너뛴 건을 반영합니다.
+     */
+    void skip() {
+        skipped.increment();
+    }
+
+    void finish(BillingJobProgress.State state) {
+        this.finishedAt = OffsetDateTime.now();
+        this.finishNanos = System.nanoTime();
+        this.state = state;
+    }
+
+    BillingJobProgress progress() {
+        long end = state == BillingJobProgress.State.RUNNING ? System.nanoTime() : finishNanos;
+        double seconds = startedAt == null ? 0 : (end - startNanos) / 1_000_000_000d;
+        return new BillingJobProgress(id(), state, submitted.sum(), succeeded.sum(), failed.sum(), unknown.sum(), skipped.sum(),
+                inFlight.sum(), startedAt, finishedAt, seconds <= 0 ? 0 : completedInRun.sum() / seconds);
+    }
+
+    private void count(BillingJobResult.Outcome outcome) {
+        switch (outcome) {
+            case SUCCEEDED -> succeeded.increment();
+            case FAILED -> failed.increment();
+            case UNKNOWN -> unknown.increment();
+            case SKIPPED -> skipped.increment();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.driply.payments.payment.batch;
+
+import com.driply.payments.payment.dto.BillingJobProgress;
+import com.driply.payments.payment.dto.BillingJobRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 정기결제 일괄 작업의 정의와 진행 상황을 작업별 디렉토리에 기록합니다.
+ * 작업 정의는 job.json, 결제 건별 처리 결과는 append-only checkpoint.log(JSON lines), 종료 상태는 finished 파일에 기록합니다.
+ * append는 여러 스레드에서 호출할 수 있습니다.
+ */
+public class BillingJobCheckpoint implements AutoCloseable {
+    private static final String JOB_FILE = "job.json";
+    private static final String CHECKPOINT_FILE = "checkpoint.log";
+    private static final String FINISHED_FILE = "finished";
+    private static final byte NEW_LINE = '\n';
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+
+    public BillingJobCheckpoint(Path directory, ObjectMapper objectMapper, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+    }
+
+    public String jobId() {
+        return directory.getFileName().toString();
+    }
+
+    /**
+     * 작업 정의를 기록합니다. 임시 파일에 기록한 뒤 이름을 바꾸므로 잘린 정의가 남지 않습니다.
+     */
+    public void writeJob(BillingJobRequest request) throws IOException {
+        Path temp = directory.resolve(JOB_FILE + ".tmp");
+        objectMapper.writeValue(temp.toFile(), request);
+        Files.move(temp, directory.resolve(JOB_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public BillingJobRequest readJob() throws IOException {
+        return objectMapper.readValue(directory.resolve(JOB_FILE).toFile(), BillingJobRequest.class);
+    }
+
+    public boolean hasJob() {
+        return Files.exists(directory.resolve(JOB_FILE));
+    }
+
+    /**
+     * 결제 건의 처리 결과를 기록합니다.
+     */
+    public void append(BillingJobResult result) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(result);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put(NEW_LINE).flip();
+        lock.lock();
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기록된 처리 결과를 읽습니다. 비정상 종료로 잘린 마지막 줄은 건너뜁니다.
+     */
+    public List<BillingJobResult> read() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        List<BillingJobResult> results = new ArrayList<>();
+        if (!Files.exists(checkpoint)) {
+            return results;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(checkpoint, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    results.add(objectMapper.readValue(line, BillingJobResult.class));
+                } catch (IOException e) {
+                    logger.warn("Skipping malformed checkpoint entry in {}", jobId(), e);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 작업의 종료 상태를 기록합니다.
+     */
+    public void finish(BillingJobProgress.State state) throws IOException {
+        Files.writeString(directory.resolve(FINISHED_FILE), state.name(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 기록된 종료 상태를 반환합니다. 종료되지 않은 작업이라면 null을 반환합니다.
+     */
+    public BillingJobProgress.State finishedState() throws IOException {
+        Path finished = directory.resolve(FINISHED_FILE);
+        return Files.exists(finished) ? BillingJobProgress.State.valueOf(Files.readString(finished, StandardCharsets.UTF_8).trim()) : null;
+    }
+
+    /**
+     * 작업을 다시 시작하기 전에 종료 상태를 지웁니다.
+     */
+    public void reopen() throws IOException {
+        Files.deleteIfExists(directory.resolve(FINISHED_FILE));
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
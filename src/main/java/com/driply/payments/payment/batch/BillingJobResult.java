@@ -0,0 +1,20 @@
+package com.driply.payments.payment.batch;
+
+/**
+ * 체크포인트에 기록되는 결제 건별 처리 결과입니다.
+ * @param statusCode PG사 응답 상태 코드입니다. 응답을 받지 못했다면 0입니다.
+ */
+public record BillingJobResult(String orderId, Outcome outcome, int statusCode) {
+    public enum Outcome {
+        SUCCEEDED,
+        FAILED,
+        /**
+         * PG사 응답을 받지 못해 결제 여부를 알 수 없습니다. 재개 시 다시 결제하지 않습니다.
+         */
+        UNKNOWN,
+        /**
+         * payments 테이블에 같은 주문번호의 결제가 이미 있어 결제하지 않았습니다.
+         */
+        SKIPPED
+    }
+}
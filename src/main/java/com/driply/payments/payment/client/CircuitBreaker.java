@@ -0,0 +1,165 @@
+package com.driply.payments.payment.client;
+
+import com.driply.payments.config.ResilienceProperties;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 호출의 실패율과 지연율로 동작하는 회로 차단기입니다.
+ * CLOSED 상태에서 최근 windowSize건 중 실패율 또는 지연율이 임계치를 넘으면 OPEN 상태가 되어 호출을 즉시 거절합니다.
+ * openDuration이 지나면 HALF_OPEN 상태에서 halfOpenCalls건의 시험 호출을 허용하고, 모두 성공하면 CLOSED 상태로 돌아갑니다.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int next;
+    private int calls;
+    private int failureCount;
+    private int slowCallCount;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long notPermitted;
+
+    public CircuitBreaker(ResilienceProperties.CircuitBreakerSpec spec) {
+        this(spec, System::nanoTime);
+    }
+
+    CircuitBreaker(ResilienceProperties.CircuitBreakerSpec spec, LongSupplier nanoClock) {
+        this.windowSize = spec.getWindowSize();
+        this.minimumCalls = Math.min(spec.getMinimumCalls(), spec.getWindowSize());
+        this.failureRateThreshold = spec.getFailureRateThreshold();
+        this.slowCallRateThreshold = spec.getSlowCallRateThreshold();
+        this.slowCallNanos = spec.getSlowCallDuration().toNanos();
+        this.openNanos = spec.getOpenDuration().toNanos();
+        this.halfOpenCalls = spec.getHalfOpenCalls();
+        this.nanoClock = nanoClock;
+        this.failures = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    /**
+     * 호출을 허용할지 판단합니다. 허용된 호출은 onResult 혹은 releasePermission을 반드시 호출해야 합니다.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                notPermitted++;
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                notPermitted++;
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * 허용된 호출이 실행되지 않은 경우 시험 호출 기회를 돌려줍니다.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * 호출 결과를 기록합니다.
+     * @param failure IO 오류 혹은 5xx 응답이라면 true 입니다.
+     * @param durationNanos 호출에 걸린 시간입니다.
+     */
+    public synchronized void onResult(boolean failure, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        switch (state) {
+            case OPEN -> {
+            }
+            case HALF_OPEN -> {
+                if (failure || slow) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                record(failure, slow);
+                if (calls >= minimumCalls
+                        && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized double failureRate() {
+        return calls == 0 ? 0 : failureCount * 100.0 / calls;
+    }
+
+    public synchronized double slowCallRate() {
+        return calls == 0 ? 0 : slowCallCount * 100.0 / calls;
+    }
+
+    public synchronized long notPermitted() {
+        return notPermitted;
+    }
+
+    private void record(boolean failure, boolean slow) {
+        if (calls == windowSize) {
+            if (failures[next]) {
+                failureCount--;
+            }
+            if (slowCalls[next]) {
+                slowCallCount--;
+            }
+        } else {
+            calls++;
+        }
+        failures[next] = failure;
+        slowCalls[next] = slow;
+        if (failure) {
+            failureCount++;
+        }
+        if (slow) {
+            slowCallCount++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void transitionTo(State target) {
+        state = target;
+        switch (target) {
+            case OPEN -> openedAt = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                calls = 0;
+                failureCount = 0;
+                slowCallCount = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.driply.payments.payment.client;
+
+import com.driply.payments.config.PgClientProperties;
+import com.driply.payments.payment.metrics.PaymentOutcome;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HexFormat;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * java.net.http.HttpClient 기반의 PG 통신 구현체입니다.
+ * 하나의 HttpClient를 공유하여 요청 간 연결을 재사용하고, 동시 요청 수를 제한하여 연결 풀의 크기를 일정하게 유지합니다.
+ * 요청마다 payments.pg.request 타이머와 span을 엔드포인트, 결과별로 남깁니다.
+ */
+@Component
+public class HttpPgClient implements PgClient {
+    private static final int MAX_TRACKED_SESSIONS = 10_000;
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final HttpClient httpClient;
+    private final PgClientProperties properties;
+    private final ObservationRegistry observationRegistry;
+    private final Semaphore permits;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder handshakes = new LongAdder();
+    private final Cache<String, Boolean> sslSessionIds = Caffeine.newBuilder().maximumSize(MAX_TRACKED_SESSIONS).build();
+
+    public HttpPgClient(HttpClient pgHttpClient, PgClientProperties properties) {
+        this(pgHttpClient, properties, ObservationRegistry.NOOP);
+    }
+
+    @Autowired
+    public HttpPgClient(HttpClient pgHttpClient, PgClientProperties properties, ObservationRegistry observationRegistry) {
+        this.httpClient = pgHttpClient;
+        this.properties = properties;
+        this.observationRegistry = observationRegistry;
+        this.permits = new Semaphore(properties.getMaxConcurrentRequests());
+    }
+
+    @Override
+    public <T> T post(PgEndpoint endpoint, String url, String authorization, String idempotencyKey, byte[] body,
+                      PgResponseHandler<T> handler) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(properties.readTimeout(endpoint))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return send(endpoint, builder.build(), handler);
+    }
+
+    @Override
+    public <T> T get(PgEndpoint endpoint, String url, String authorization, PgResponseHandler<T> handler) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(properties.readTimeout(endpoint))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        return send(endpoint, request, handler);
+    }
+
+    @Override
+    public PgClientStats stats() {
+        int max = properties.getMaxConcurrentRequests();
+        return new PgClientStats(max - permits.availablePermits(), max, requests.sum(), handshakes.sum());
+    }
+
+    @SuppressWarnings("try")
+    private <T> T send(PgEndpoint endpoint, HttpRequest request, PgResponseHandler<T> handler) throws IOException {
+        Observation observation = Observation.createNotStarted("payments.pg.request", observationRegistry)
+                .contextualName("pg " + endpoint)
+                .lowCardinalityKeyValue("endpoint", endpoint.name())
+                .lowCardinalityKeyValue("outcome", PaymentOutcome.IO_ERROR.tag())
+                .lowCardinalityKeyValue("status", "none")
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            acquire(endpoint);
+            try {
+                requests.increment();
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                response.sslSession().ifPresent(this::recordSession);
+                observation.lowCardinalityKeyValue("outcome", PaymentOutcome.of(response.statusCode()).tag())
+                        .lowCardinalityKeyValue("status", String.valueOf(response.statusCode()));
+                try (InputStream responseStream = response.body()) {
+                    return handler.handle(response.statusCode(), responseStream);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + endpoint + " response");
+            } finally {
+                permits.release();
+            }
+        } catch (IOException | RuntimeException e) {
+            observation.lowCardinalityKeyValue("outcome", PaymentOutcome.IO_ERROR.tag());
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * acquireTimeout 동안 빈 자리가 나지 않으면 요청을 보내지 않고 PgUnavailableException으로 실패하므로 503으로 응답됩니다.
+     */
+    private void acquire(PgEndpoint endpoint) throws IOException {
+        try {
+            if (!permits.tryAcquire(properties.getAcquireTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                logger.warn("PG connection pool exhausted for {}", endpoint);
+                throw new PgUnavailableException("PG connection pool exhausted for " + endpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for PG connection");
+        }
+    }
+
+    /**
+     * 처음 관찰된 TLS 세션을 새 연결의 핸드셰이크로 집계합니다.
+     * HttpClient는 응답마다 세션을 새 객체로 감싸 반환하므로 객체가 아닌 세션 ID로 구분합니다. 최근 세션 ID만 보관합니다.
+     */
+    private void recordSession(SSLSession session) {
+        byte[] id = session.getId();
+        if (id == null || id.length == 0) {
+            return;
+        }
+        if (sslSessionIds.asMap().putIfAbsent(HexFormat.of().formatHex(id), Boolean.TRUE) == null) {
+            handshakes.increment();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.driply.payments.payment.client;
+
+import java.io.IOException;
+
+/**
+ * PG사 api 호출을 담당하는 통신 계층입니다.
+ * 구현체는 요청 간 연결을 재사용하고 엔드포인트별 타임아웃을 적용해야 합니다.
+ */
+public interface PgClient {
+    /**
+     * PG사 api로 POST 요청을 보냅니다.
+     * @param endpoint 타임아웃과 통계 집계에 사용되는 엔드포인트 구분값입니다.
+     * @param url 요청 엔드포인트
+     * @param authorization Authorization 헤더 값입니다. 가맹점별로 미리 만들어둔 값을 사용합니다.
+     * @param idempotencyKey Idempotency-Key 헤더 값입니다. 같은 키로 다시 보낸 요청은 PG사가 처음 결과로 응답합니다. 없다면 null 입니다.
+     * @param body 직렬화된 요청 본문입니다.
+     * @param handler 응답 본문을 변환하는 콜백입니다.
+     * @return handler가 변환한 응답 결과를 반환합니다.
+     * @throws IOException 연결 실패, 타임아웃 혹은 응답 처리 중 오류 발생 시
+     */
+    <T> T post(PgEndpoint endpoint, String url, String authorization, String idempotencyKey, byte[] body,
+               PgResponseHandler<T> handler) throws IOException;
+
+    /**
+     * Idempotency-Key 없이 PG사 api로 POST 요청을 보냅니다.
+     */
+    default <T> T post(PgEndpoint endpoint, String url, String authorization, byte[] body, PgResponseHandler<T> handler) throws IOException {
+        return post(endpoint, url, authorization, null, body, handler);
+    }
+
+    /**
+     * PG사 api로 GET 요청을 보냅니다. 조회 요청이므로 응답을 받지 못했다면 다시 보내도 됩니다.
+     * @param endpoint 타임아웃과 통계 집계에 사용되는 엔드포인트 구분값입니다.
+     * @param url 요청 엔드포인트
+     * @param authorization Authorization 헤더 값입니다.
+     * @param handler 응답 본문을 변환하는 콜백입니다.
+     * @return handler가 변환한 응답 결과를 반환합니다.
+     * @throws IOException 연결 실패, 타임아웃 혹은 응답 처리 중 오류 발생 시
+     */
+    <T> T get(PgEndpoint endpoint, String url, String authorization, PgResponseHandler<T> handler) throws IOException;
+
+    PgClientStats stats();
+}
@@ -0,0 +1,14 @@
+package com.driply.payments.payment.client;
+
+/**
+ * PG 통신 계층의 사용 현황입니다.
+ * @param inFlight 현재 처리 중인 요청 수
+ * @param maxConcurrentRequests 동시에 처리할 수 있는 최대 요청 수
+ * @param requests 누적 요청 수
+ * @param handshakes 누적 TLS 핸드셰이크(신규 연결) 수
+ */
+public record PgClientStats(int inFlight, int maxConcurrentRequests, long requests, long handshakes) {
+    public double utilization() {
+        return maxConcurrentRequests == 0 ? 0 : (double) inFlight / maxConcurrentRequests;
+    }
+}
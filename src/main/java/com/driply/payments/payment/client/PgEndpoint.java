@@ -0,0 +1,17 @@
+package com.driply.payments.payment.client;
+
+/**
+ * PG사 api 엔드포인트 구분값입니다.
+ * 엔드포인트별 타임아웃 설정과 통계 집계의 기준으로 사용됩니다.
+ */
+public enum PgEndpoint {
+    CONFIRM,
+    BILLING,
+    BILLING_ISSUE,
+    BRANDPAY_CONFIRM,
+    ACCESS_TOKEN,
+    /**
+     * 결제 조회입니다. 결과를 알 수 없는 결제의 상태를 확인할 때 사용합니다.
+     */
+    PAYMENT_QUERY
+}
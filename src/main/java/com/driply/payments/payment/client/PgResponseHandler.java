@@ -0,0 +1,13 @@
+package com.driply.payments.payment.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * PG사 응답 본문을 스트림 그대로 처리하기 위한 콜백입니다.
+ * @param <T> 변환된 응답 타입
+ */
+@FunctionalInterface
+public interface PgResponseHandler<T> {
+    T handle(int statusCode, InputStream body) throws IOException;
+}
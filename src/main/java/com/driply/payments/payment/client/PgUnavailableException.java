@@ -0,0 +1,12 @@
+package com.driply.payments.payment.client;
+
+import java.io.IOException;
+
+/**
+ * 회로가 열려 있거나 동시 호출 수가 가득 차서 PG사 api를 호출하지 않고 거절한 경우 발생합니다.
+ */
+public class PgUnavailableException extends IOException {
+    public PgUnavailableException(String message) {
+        super(message);
+    }
+}
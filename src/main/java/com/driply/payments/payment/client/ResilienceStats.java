@@ -0,0 +1,15 @@
+package com.driply.payments.payment.client;
+
+/**
+ * 엔드포인트별 장애 대응 현황입니다.
+ * @param state 회로 차단기 상태
+ * @param failureRate 최근 호출의 실패율(%)
+ * @param slowCallRate 최근 호출의 지연율(%)
+ * @param circuitRejections 회로가 열려 거절된 호출 수
+ * @param bulkheadAvailable 현재 남아있는 동시 호출 자리 수
+ * @param bulkheadRejections 동시 호출 수가 가득 차 거절된 호출 수
+ * @param retries 재시도 횟수
+ */
+public record ResilienceStats(CircuitBreaker.State state, double failureRate, double slowCallRate, long circuitRejections,
+                              int bulkheadAvailable, long bulkheadRejections, long retries) {
+}
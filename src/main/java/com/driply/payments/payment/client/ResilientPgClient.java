@@ -0,0 +1,194 @@
+package com.driply.payments.payment.client;
+
+import com.driply.payments.config.ResilienceProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PG 통신 계층에 엔드포인트별 bulkhead, 회로 차단기, 재시도를 적용합니다.
+ * 회로가 열려 있거나 동시 호출 자리가 없으면 PG사를 호출하지 않고 PgUnavailableException으로 즉시 실패합니다.
+ * 엔드포인트별 동시 호출 수는 이 bulkhead에서만 제한하며, HttpPgClient는 모든 엔드포인트를 합친 연결 풀 크기만 제한합니다.
+ * 연결 실패는 요청이 PG사에 전달되지 않았으므로 항상 재시도합니다.
+ * 429, 503 응답은 PG사 앞단의 게이트웨이가 보낸 것일 수 있어 요청이 처리되지 않았다고 단정할 수 없으므로,
+ * 같은 요청이 두 번 처리되지 않도록 Idempotency-Key를 보낸 요청과 조회 요청만 재시도합니다.
+ */
+@Primary
+@Component
+public class ResilientPgClient implements PgClient {
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 503);
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PgClient delegate;
+    private final ResilienceProperties properties;
+    private final Map<PgEndpoint, Semaphore> bulkheads = new EnumMap<>(PgEndpoint.class);
+    private final Map<PgEndpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(PgEndpoint.class);
+    private final Map<PgEndpoint, LongAdder> bulkheadRejections = new EnumMap<>(PgEndpoint.class);
+    private final Map<PgEndpoint, LongAdder> retries = new EnumMap<>(PgEndpoint.class);
+
+    public ResilientPgClient(HttpPgClient delegate, ResilienceProperties properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        for (PgEndpoint endpoint : PgEndpoint.values()) {
+            bulkheads.put(endpoint, new Semaphore(properties.getBulkhead().maxConcurrent(endpoint)));
+            circuitBreakers.put(endpoint, new CircuitBreaker(properties.getCircuitBreaker()));
+            bulkheadRejections.put(endpoint, new LongAdder());
+            retries.put(endpoint, new LongAdder());
+        }
+    }
+
+    @Override
+    public <T> T post(PgEndpoint endpoint, String url, String authorization, String idempotencyKey, byte[] body,
+                      PgResponseHandler<T> handler) throws IOException {
+        return execute(endpoint, idempotencyKey != null, handler,
+                guarded -> delegate.post(endpoint, url, authorization, idempotencyKey, body, guarded));
+    }
+
+    /**
+     * 조회 요청은 여러 번 보내도 결과가 같으므로 429, 503 응답도 재시도합니다.
+     */
+    @Override
+    public <T> T get(PgEndpoint endpoint, String url, String authorization, PgResponseHandler<T> handler) throws IOException {
+        return execute(endpoint, true, handler, guarded -> delegate.get(endpoint, url, authorization, guarded));
+    }
+
+    /**
+     * @param idempotent 다시 보내도 중복 처리되지 않는 요청이라면 429, 503 응답도 재시도합니다.
+     */
+    private <T> T execute(PgEndpoint endpoint, boolean idempotent, PgResponseHandler<T> handler, Call<T> call) throws IOException {
+        int maxAttempts = properties.getRetry().getMaxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(endpoint, handler, call, idempotent && attempt < maxAttempts);
+            } catch (IOException e) {
+                if (attempt >= maxAttempts || !isRetryable(e)) {
+                    throw e;
+                }
+                retries.get(endpoint).increment();
+                logger.warn("Retrying {} after attempt {} failed: {}", endpoint, attempt, e.toString());
+                backoff(attempt);
+            }
+        }
+    }
+
+    @Override
+    public PgClientStats stats() {
+        return delegate.stats();
+    }
+
+    public Map<PgEndpoint, ResilienceStats> resilienceStats() {
+        Map<PgEndpoint, ResilienceStats> stats = new EnumMap<>(PgEndpoint.class);
+        for (PgEndpoint endpoint : PgEndpoint.values()) {
+            CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+            stats.put(endpoint, new ResilienceStats(circuitBreaker.state(), circuitBreaker.failureRate(),
+                    circuitBreaker.slowCallRate(), circuitBreaker.notPermitted(),
+                    bulkheads.get(endpoint).availablePermits(), bulkheadRejections.get(endpoint).sum(),
+                    retries.get(endpoint).sum()));
+        }
+        return stats;
+    }
+
+    /**
+     * @param retryStatus 429, 503 응답을 재시도 대상으로 볼지 여부입니다.
+     */
+    private <T> T attempt(PgEndpoint endpoint, PgResponseHandler<T> handler, Call<T> call, boolean retryStatus) throws IOException {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new PgUnavailableException(endpoint + " circuit breaker is open");
+        }
+        Semaphore bulkhead = bulkheads.get(endpoint);
+        if (!tryEnter(bulkhead)) {
+            circuitBreaker.releasePermission();
+            bulkheadRejections.get(endpoint).increment();
+            throw new PgUnavailableException(endpoint + " bulkhead is full");
+        }
+
+        int[] status = new int[1];
+        boolean failure = true;
+        boolean sent = true;
+        long startedAt = System.nanoTime();
+        try {
+            T result = call.send((statusCode, responseStream) -> {
+                status[0] = statusCode;
+                if (retryStatus && RETRYABLE_STATUS.contains(statusCode)) {
+                    throw new RetryableStatusException(statusCode);
+                }
+                return handler.handle(statusCode, responseStream);
+            });
+            failure = status[0] >= 500;
+            return result;
+        } catch (RetryableStatusException e) {
+            failure = status[0] >= 500;
+            throw e;
+        } catch (PgUnavailableException e) {
+            // 연결 풀에 자리가 없어 요청을 보내지 않았으므로 PG사 장애로 기록하지 않습니다.
+            sent = false;
+            throw e;
+        } finally {
+            bulkhead.release();
+            if (sent) {
+                circuitBreaker.onResult(failure, System.nanoTime() - startedAt);
+            } else {
+                circuitBreaker.releasePermission();
+            }
+        }
+    }
+
+    private boolean tryEnter(Semaphore bulkhead) throws InterruptedIOException {
+        try {
+            return bulkhead.tryAcquire(properties.getBulkhead().getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for PG bulkhead");
+        }
+    }
+
+    private boolean isRetryable(IOException e) {
+        return e instanceof RetryableStatusException
+                || e instanceof ConnectException
+                || e instanceof HttpConnectTimeoutException
+                || e.getCause() instanceof ConnectException;
+    }
+
+    /**
+     * 0과 min(maxBackoff, initialBackoff * 2^(attempt-1)) 사이에서 무작위로 기다립니다.
+     */
+    private void backoff(int attempt) throws InterruptedIOException {
+        ResilienceProperties.RetrySpec retry = properties.getRetry();
+        long ceiling = Math.min(retry.getMaxBackoff().toMillis(), retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry PG call");
+        }
+    }
+
+    /**
+     * 재시도 정책을 적용할 PG 호출입니다. 응답은 전달받은 handler로 처리해야 합니다.
+     */
+    private interface Call<T> {
+        T send(PgResponseHandler<T> handler) throws IOException;
+    }
+
+    /**
+     * 다시 보내도 되는 요청에 대한 429, 503 응답입니다. 재시도 대상입니다.
+     */
+    private static class RetryableStatusException extends IOException {
+        RetryableStatusException(int statusCode) {
+            super("PG responded " + statusCode);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.driply.payments.payment.controller;
+
+import com.driply.payments.payment.batch.BillingBatchEngine;
+import com.driply.payments.payment.dto.BillingJobProgress;
+import com.driply.payments.payment.dto.BillingJobRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Controller
+@RequestMapping("/billing-jobs")
+@RequiredArgsConstructor
+public class BillingJobController {
+    private final BillingBatchEngine billingBatchEngine;
+
+    /**
+     * 정기결제 일괄 작업을 시작합니다. 작업은 비동기로 수행되며 진행 현황은 작업 조회로 확인합니다.
+     * @param jobRequest 결제 목록(entries) 혹은 저장된 빌링키 조회 조건(query)을 포함합니다.
+     * @return 202와 함께 작업 id를 포함한 진행 현황을 반환합니다.
+     */
+    @PostMapping
+    public ResponseEntity<BillingJobProgress> submit(@RequestBody BillingJobRequest jobRequest) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(billingBatchEngine.submit(jobRequest));
+    }
+
+    /**
+     * 중단된 작업을 체크포인트 이후부터 재개합니다. 결과가 기록된 결제 건은 다시 결제하지 않습니다.
+     */
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<BillingJobProgress> resume(@PathVariable String jobId) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(billingBatchEngine.resume(jobId));
+    }
+
+    /**
+     * 작업의 진행 현황과 처리 속도를 반환합니다.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BillingJobProgress> progress(@PathVariable String jobId) {
+        return ResponseEntity.ok(billingBatchEngine.progress(jobId));
+    }
+
+    /**
+     * 기록된 모든 작업의 진행 현황을 최근 시작한 순서로 반환합니다.
+     */
+    @GetMapping
+    public ResponseEntity<List<BillingJobProgress>> jobs() {
+        return ResponseEntity.ok(billingBatchEngine.jobs());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -1,62 +1,91 @@
 package com.driply.payments.payment.controller;
 
+import com.driply.payments.payment.client.PgUnavailableException;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.driply.payments.payment.service.PaymentExecutor;
 import com.driply.payments.payment.service.PaymentService;
+import com.driply.payments.payment.strategy.PaymentRoute;
+import com.driply.payments.payment.strategy.PaymentRouteNotFoundException;
+import com.driply.payments.payment.strategy.PaymentRouter;
+import com.driply.payments.payment.strategy.PaymentTarget;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 //@RequestMapping("/api/v1/payment")
 @RequiredArgsConstructor
 public class PaymentController {
     private final PaymentService paymentService;
+    private final PaymentExecutor paymentExecutor;
+    private final PaymentRouter paymentRouter;
+    private static final String PROVIDER_HEADER = "X-Payment-Provider";
+    private static final String MERCHANT_HEADER = "X-Merchant-Id";
 
 
     /**
-     * 위젯 결제와 일반결제 요청을 처리합니다.
-     * @param request 결제 요청 정보를 전달 받습니다.
-     * @param jsonBody 결제사별로 api 요청에 필요한 데이터를 담고 있습니다.
+     * 위젯 결제 요청을 처리합니다.
+     * @param request 결제 요청 정보를 전달 받습니다. PG사와 가맹점 지정 헤더를 읽는 데 사용됩니다.
+     * @param paymentRequest 결제사별로 api 요청에 필요한 데이터를 담고 있습니다.
      * @return 결제사의 응답 결과를 바탕으로 200(결제 승인 완료) 혹은 400(결제 승인 실패) status code를 포함한 응답을 반화합니다.
-     * @throws IOException 예외 처리 구현해야 합니다. 추후 수정 예정.
      */
-    @PostMapping(value = {"/confirm/widget", "/confirm/payment"})
-    public ResponseEntity<Map<String, Object>> confirmPayment(HttpServletRequest request, @RequestBody String jsonBody) throws IOException {
-        Map<String, Object> response = paymentService.processPayment(request.getRequestURI(), jsonBody);
-        return ResponseEntity.status(response.containsKey("error") ? 400 : 200).body(response);
+    @PostMapping(value = "/confirm/widget")
+    public CompletableFuture<ResponseEntity<byte[]>> confirmWidget(HttpServletRequest request, @RequestBody paymentDTO paymentRequest) {
+        PaymentTarget target = route(PaymentRoute.WIDGET_CONFIRM, request);
+        return paymentExecutor.execute(target.route().endpoint(), () -> paymentService.processPayment(target, paymentRequest))
+                .thenApply(this::toResponseEntity);
     }
 
     /**
-     * 정기결제를 수행합니다.
-     * @param jsonBody 정기결제 요청에 필요한 데이터를 포함합니다.
+     * 일반결제 요청을 처리합니다.
+     * @param request 결제 요청 정보를 전달 받습니다. PG사와 가맹점 지정 헤더를 읽는 데 사용됩니다.
+     * @param paymentRequest 결제사별로 api 요청에 필요한 데이터를 담고 있습니다.
+     * @return 결제사의 응답 결과를 바탕으로 200(결제 승인 완료) 혹은 400(결제 승인 실패) status code를 포함한 응답을 반화합니다.
+     */
+    @PostMapping(value = "/confirm/payment")
+    public CompletableFuture<ResponseEntity<byte[]>> confirmPayment(HttpServletRequest request, @RequestBody paymentDTO paymentRequest) {
+        PaymentTarget target = route(PaymentRoute.PAYMENT_CONFIRM, request);
+        return paymentExecutor.execute(target.route().endpoint(), () -> paymentService.processPayment(target, paymentRequest))
+                .thenApply(this::toResponseEntity);
+    }
+
+    /**
+     * 정기결제를 수행합니다. 가맹점은 요청 헤더로 지정할 수 없으며 기본 가맹점의 빌링키로만 결제합니다.
+     * @param billingRequest 정기결제 요청에 필요한 데이터를 포함합니다.
      * @return 정기결제 성공 여부에 따라 200(정기결제 성공) 혹은 400(정기결제 실패) status code를 포함한 응답을 반환합니다.
-     * @throws IOException
      */
     @RequestMapping(value = "/confirm-billing")
-    public ResponseEntity<Map<String, Object>> confirmBilling(@RequestBody String jsonBody) throws IOException {
-        Map<String, Object> response = paymentService.confirmBilling(jsonBody);
-        return ResponseEntity.status(response.containsKey("error") ? 400 : 200).body(response);
+    public CompletableFuture<ResponseEntity<byte[]>> confirmBilling(HttpServletRequest request, @RequestBody BillingDTO billingRequest) {
+        PaymentTarget target = billingRoute(PaymentRoute.BILLING, request);
+        return paymentExecutor.execute(target.route().endpoint(), () -> paymentService.confirmBilling(target, billingRequest))
+                .thenApply(this::toResponseEntity);
     }
 
     /**
-     * 빌링키를 발급합니다. PG사 api로 빌링키 발급 요청을 처리합니다.
-     * @param jsonBody 빌링키 발급에 필요한 데이터를 포함합니다.
+     * 빌링키를 발급합니다. PG사 api로 빌링키 발급 요청을 처리합니다. 발급된 빌링키는 기본 가맹점에 저장됩니다.
+     * @param billingKeyRequest 빌링키 발급에 필요한 데이터를 포함합니다.
      * @return 빌링키 발급 성공 여부에 따라 200(빌링키 발급 성공) 혹은 400(빌링키 발급 실패) status code를 포함한 응답을 반환합니다.
-     * @throws IOException
      */
     @RequestMapping(value = "/issue-billing-key")
-    public ResponseEntity<Map<String, Object>> issueBillingKey(@RequestBody String jsonBody) throws IOException {
-        Map<String, Object> response = paymentService.issueBillingKey(jsonBody);
-        return ResponseEntity.status(response.containsKey("error") ? 400 : 200).body(response);
+    public CompletableFuture<ResponseEntity<byte[]>> issueBillingKey(HttpServletRequest request, @RequestBody BillingKeyDTO billingKeyRequest) {
+        PaymentTarget target = billingRoute(PaymentRoute.BILLING_ISSUE, request);
+        return paymentExecutor.execute(target.route().endpoint(), () -> paymentService.issueBillingKey(target, billingKeyRequest))
+                .thenApply(this::toResponseEntity);
     }
 
     /**
@@ -64,24 +93,24 @@ public class PaymentController {
      * @param customerKey 상점에서 만든 고객의 고유 ID입니다.
      * @param code Access Token 발급에 필요한 Authorization Code(임시 인증 코드)입니다.
      * @return 인증 성공 여부에 따라 200(인증 성공) 혹은 400(인증 실패) status code를 포함한 응답을 반환합니다.
-     * @throws IOException
      */
     @GetMapping(value = "/callback-auth")
-    public ResponseEntity<Map<String, Object>> callbackAuth(@RequestParam String customerKey, @RequestParam String code) throws IOException {
-        Map<String, Object> response = paymentService.customerAuthorization(customerKey, code);
-        return ResponseEntity.status(response.containsKey("error") ? 400 : 200).body(response);
+    public CompletableFuture<ResponseEntity<byte[]>> callbackAuth(HttpServletRequest request, @RequestParam String customerKey, @RequestParam String code) {
+        PaymentTarget target = route(PaymentRoute.ACCESS_TOKEN, request);
+        return paymentExecutor.execute(target.route().endpoint(), () -> paymentService.customerAuthorization(target, customerKey, code))
+                .thenApply(this::toResponseEntity);
     }
 
     /**
      * 브랜드페이 결제 승인 요청을 처리합니다.
-     * @param jsonBody 결제 승인 요청에 필요한 데이터를 포함합니다.
+     * @param paymentRequest 결제 승인 요청에 필요한 데이터를 포함합니다.
      * @return 결제 승인 성공 여부에 따라 200(결제 성공) 혹은 400(결제 실패) status를 포함한 응답 결과를 반환합니다.
-     * @throws IOException
      */
     @PostMapping(value = "/confirm/brandpay", consumes = "application/json")
-    public ResponseEntity<Map<String, Object>> confirmBrandpay(@RequestBody String jsonBody) throws IOException {
-        Map<String, Object> response = paymentService.confirmBrandpay(jsonBody);
-        return ResponseEntity.status(response.containsKey("error") ? 400 : 200).body(response);
+    public CompletableFuture<ResponseEntity<byte[]>> confirmBrandpay(HttpServletRequest request, @RequestBody paymentDTO paymentRequest) {
+        PaymentTarget target = route(PaymentRoute.BRANDPAY_CONFIRM, request);
+        return paymentExecutor.execute(target.route().endpoint(), () -> paymentService.confirmBrandpay(target, paymentRequest))
+                .thenApply(this::toResponseEntity);
     }
 
     /**
@@ -105,4 +134,47 @@ public class PaymentController {
         model.addAttribute("message", request.getParameter("message"));
         return "/fail";
     }
+
+    /**
+     * 등록되지 않은 PG사나 가맹점이 지정된 요청은 400으로 응답합니다.
+     */
+    @ExceptionHandler(PaymentRouteNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleUnknownRoute(PaymentRouteNotFoundException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * 동시 호출 수가 가득 차 PG사를 호출하지 않은 요청은 503으로 응답합니다.
+     */
+    @ExceptionHandler(PgUnavailableException.class)
+    public ResponseEntity<byte[]> handleUnavailable(PgUnavailableException e) {
+        return toResponseEntity(PgResponse.unavailable(e.getMessage()));
+    }
+
+    /**
+     * 요청 헤더로 지정된 PG사와 가맹점의 라우팅 대상을 찾습니다. 헤더가 없으면 기본 PG사와 가맹점을 사용합니다.
+     */
+    private PaymentTarget route(PaymentRoute route, HttpServletRequest request) {
+        return paymentRouter.route(route, request.getHeader(PROVIDER_HEADER), request.getHeader(MERCHANT_HEADER));
+    }
+
+    /**
+     * 빌링키로 결제하는 경로는 가맹점 헤더를 무시하고 기본 가맹점을 사용합니다.
+     * 클라이언트가 가맹점을 고를 수 있다면 다른 가맹점의 customerKey로 그 가맹점의 빌링키 결제를 일으킬 수 있기 때문입니다.
+     */
+    private PaymentTarget billingRoute(PaymentRoute route, HttpServletRequest request) {
+        return paymentRouter.route(route, request.getHeader(PROVIDER_HEADER), null);
+    }
+
+    /**
+     * PG사 응답 본문을 다시 직렬화하지 않고 그대로 응답합니다.
+     * PG사 장애로 호출이 거절된 경우에는 503, 그 외 실패는 400으로 응답합니다.
+     */
+    private ResponseEntity<byte[]> toResponseEntity(PgResponse<?> response) {
+        int status = response.isSuccess() ? 200
+                : response.statusCode() == PgResponse.SERVICE_UNAVAILABLE ? PgResponse.SERVICE_UNAVAILABLE : 400;
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
+    }
 }
@@ -0,0 +1,90 @@
+package com.driply.payments.payment.controller;
+
+import com.driply.payments.config.SecurityConfig;
+import com.driply.payments.payment.dto.PaymentPage;
+import com.driply.payments.payment.dto.PaymentSearchCondition;
+import com.driply.payments.payment.dto.PaymentSummary;
+import com.driply.payments.payment.service.PaymentQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Controller
+@RequestMapping("/payments")
+@RequiredArgsConstructor
+public class PaymentQueryController {
+    private final PaymentQueryService paymentQueryService;
+
+    /**
+     * 결제 목록을 요청 시각의 역순으로 조회합니다. 목록에는 PG사 응답 원문이 포함되지 않습니다.
+     * 가맹점 계정은 자기 가맹점의 결제만 조회하며, 관리자는 merchant로 가맹점을 지정할 수 있습니다.
+     * @param from 결제 요청 시각의 시작(포함), ISO-8601 형식입니다.
+     * @param to 결제 요청 시각의 끝(미포함), ISO-8601 형식입니다.
+     * @param cursor 이전 응답의 nextCursor 입니다.
+     */
+    @GetMapping
+    public ResponseEntity<PaymentPage> search(
+            Authentication authentication,
+            @RequestParam(required = false) String orderId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String provider,
+            @RequestParam(required = false) String merchant,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PaymentQueryService.DEFAULT_PAGE_SIZE) int size) {
+        PaymentSearchCondition condition = PaymentSearchCondition.of(orderId, status, provider, merchantScope(authentication, merchant),
+                from, to);
+        return ResponseEntity.ok(paymentQueryService.search(condition, cursor, size));
+    }
+
+    /**
+     * 결제 한 건을 조회합니다. 가맹점 계정은 자기 가맹점의 결제만 조회할 수 있습니다.
+     */
+    @GetMapping("/{paymentKey}")
+    public ResponseEntity<PaymentSummary> find(Authentication authentication, @PathVariable String paymentKey) {
+        return ResponseEntity.ok(paymentQueryService.find(paymentKey, merchantScope(authentication, null)));
+    }
+
+    /**
+     * 결제의 PG사 응답 원문을 그대로 반환합니다. 관리자만 호출할 수 있습니다.
+     */
+    @GetMapping("/{paymentKey}/response")
+    public ResponseEntity<String> responseData(@PathVariable String paymentKey) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(paymentQueryService.findResponseData(paymentKey));
+    }
+
+    /**
+     * 조회할 가맹점을 정합니다. 관리자는 요청한 가맹점(없으면 전체)을, 가맹점 계정은 항상 자기 가맹점을 조회합니다.
+     */
+    private String merchantScope(Authentication authentication, String requested) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> SecurityConfig.ROLE_ADMIN.equals(authority.getAuthority()));
+        return admin ? requested : authentication.getName();
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.driply.payments.payment.controller;
+
+import com.driply.payments.payment.dto.ReconciliationProgress;
+import com.driply.payments.payment.dto.ReconciliationRequest;
+import com.driply.payments.payment.reconciliation.PaymentReconciler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Controller
+@RequestMapping("/reconciliations")
+@RequiredArgsConstructor
+public class ReconciliationController {
+    private final PaymentReconciler paymentReconciler;
+
+    /**
+     * 정산 파일과 저장된 결제의 대사를 시작합니다. 작업은 비동기로 수행되며 진행 현황은 작업 조회로 확인합니다.
+     * @return 202와 함께 작업 id를 포함한 진행 현황을 반환합니다.
+     */
+    @PostMapping
+    public ResponseEntity<ReconciliationProgress> submit(@RequestBody ReconciliationRequest reconciliationRequest) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(paymentReconciler.submit(reconciliationRequest));
+    }
+
+    /**
+     * 대사 작업의 진행 현황과 불일치 건수를 반환합니다.
+     */
+    @GetMapping("/{reconciliationId}")
+    public ResponseEntity<ReconciliationProgress> progress(@PathVariable String reconciliationId) {
+        return ResponseEntity.ok(paymentReconciler.progress(reconciliationId));
+    }
+
+    /**
+     * 불일치 리포트를 JSON lines로 반환합니다.
+     */
+    @GetMapping("/{reconciliationId}/mismatches")
+    public ResponseEntity<Resource> mismatches(@PathVariable String reconciliationId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(new FileSystemResource(paymentReconciler.reportFile(reconciliationId)));
+    }
+
+    /**
+     * 모든 대사 작업의 진행 현황을 최근 시작한 순서로 반환합니다.
+     */
+    @GetMapping
+    public ResponseEntity<List<ReconciliationProgress>> reconciliations() {
+        return ResponseEntity.ok(paymentReconciler.reconciliations());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.driply.payments.payment.controller;
+
+import com.driply.payments.payment.webhook.WebhookProcessor;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Controller
+@RequestMapping("/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+    private static final String TRANSMISSION_ID_HEADER = "tosspayments-webhook-transmission-id";
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final WebhookProcessor webhookProcessor;
+
+    /**
+     * 토스페이먼츠 웹훅을 수신합니다. 이벤트를 로그에 기록한 뒤 결제 반영을 기다리지 않고 200으로 응답합니다.
+     * 저장되지 않은 결제의 이벤트는 404로, 로그에 기록하지 못했다면 503으로 응답하여 PG사가 재전송하도록 합니다.
+     */
+    @PostMapping("/toss")
+    public ResponseEntity<Void> receive(@RequestBody byte[] body,
+                                        @RequestHeader(value = TRANSMISSION_ID_HEADER, required = false) String transmissionId) throws IOException {
+        webhookProcessor.accept(body, transmissionId);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 로그에 남아있는 이벤트 중 from 이후에 수신한 이벤트를 다시 처리합니다. 장애 복구 후 사용하며, 관리자만 호출할 수 있습니다.
+     * 작업 대기열이 가득 차 중단했다면 503으로 응답하며, 이후 시각부터 다시 호출해야 합니다.
+     * @param from ISO-8601 형식의 수신 시각입니다.
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Long>> replay(@RequestParam Instant from) throws IOException, InterruptedException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("replayed", webhookProcessor.replay(from)));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleBusy(IllegalStateException e) {
+        logger.warn(e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<Map<String, String>> handleUnavailable(IOException e) {
+        logger.error("Failed to record webhook event", e);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "Webhook log unavailable"));
+    }
+}
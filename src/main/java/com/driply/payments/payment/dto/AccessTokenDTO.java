@@ -0,0 +1,22 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 브랜드페이 Access Token 발급 요청입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccessTokenDTO {
+    private String grantType;
+    private String customerKey;
+    private String code;
+    private String refreshToken;
+}
@@ -0,0 +1,16 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 브랜드페이 Access Token 발급 응답입니다.
+ * @param expiresIn Access Token의 유효기간(초)입니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AccessTokenResponse(
+        String accessToken,
+        String refreshToken,
+        String tokenType,
+        Long expiresIn
+) {
+}
@@ -0,0 +1,26 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 빌링키로 결제하는 정기결제 요청입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BillingDTO {
+    private String customerKey;
+    private Long amount;
+    private String orderId;
+    private String orderName;
+    private String customerEmail;
+    private String customerName;
+    private Long taxFreeAmount;
+    private Long taxExemptionAmount;
+}
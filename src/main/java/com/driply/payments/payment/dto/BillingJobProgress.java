@@ -0,0 +1,38 @@
+package com.driply.payments.payment.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 정기결제 일괄 작업의 진행 현황입니다.
+ * @param state 작업 상태
+ * @param submitted PG사로 결제를 요청한 건수
+ * @param succeeded 결제에 성공한 건수
+ * @param failed PG사가 실패로 응답한 건수
+ * @param unknown 재시도 후에도 PG사 응답을 받지 못한 건수. 대사로 결과를 확인해야 합니다.
+ * @param skipped 체크포인트나 payments 테이블에 이미 결과가 있어 건너뛴 건수
+ * @param inFlight 현재 결제 중인 건수
+ * @param chargesPerSecond 작업 시작 이후 초당 완료 건수
+ */
+public record BillingJobProgress(
+        String jobId,
+        State state,
+        long submitted,
+        long succeeded,
+        long failed,
+        long unknown,
+        long skipped,
+        long inFlight,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt,
+        double chargesPerSecond
+) {
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        /**
+         * 프로세스 종료로 중단된 작업입니다. 재개하면 체크포인트 이후부터 이어서 결제합니다.
+         */
+        INTERRUPTED
+    }
+}
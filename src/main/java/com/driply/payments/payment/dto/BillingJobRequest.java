@@ -0,0 +1,59 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 정기결제 일괄 작업 요청입니다. entries와 query 중 하나만 지정해야 합니다.
+ * 재개 시 같은 주문번호로 다시 요청할 수 있도록 모든 결제 건은 고정된 orderId를 가져야 합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BillingJobRequest {
+    /**
+     * 결제에 사용할 PG사입니다. 지정하지 않으면 기본 PG사를 사용합니다.
+     */
+    private String provider;
+
+    /**
+     * 결제에 사용할 가맹점입니다. 지정하지 않으면 기본 가맹점을 사용합니다.
+     */
+    private String merchant;
+
+    /**
+     * 작업의 최대 동시 결제 수입니다. 전체, PG사별 제한을 넘을 수 없습니다.
+     */
+    private Integer concurrency;
+
+    /**
+     * customerKey, amount, orderId, orderName을 포함한 결제 목록입니다.
+     */
+    private List<BillingDTO> entries;
+
+    /**
+     * 저장된 빌링키 전체에 같은 금액을 결제할 때 사용합니다.
+     */
+    private BillingKeyQuery query;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BillingKeyQuery {
+        private Long amount;
+        private String orderName;
+
+        /**
+         * 주문번호는 orderIdPrefix-customerKey 형식으로 만듭니다. 결제 회차마다 달라야 합니다.
+         */
+        private String orderIdPrefix;
+    }
+}
@@ -0,0 +1,20 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * authKey로 빌링키를 발급하는 요청입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BillingKeyDTO {
+    private String authKey;
+    private String customerKey;
+}
@@ -0,0 +1,18 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.OffsetDateTime;
+
+/**
+ * PG사가 반환한 Billing 객체 중 서버에서 사용하는 필드입니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BillingKeyResponse(
+        String customerKey,
+        String billingKey,
+        String cardCompany,
+        String cardNumber,
+        OffsetDateTime authenticatedAt
+) {
+}
@@ -0,0 +1,43 @@
+package com.driply.payments.payment.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 결제 목록의 keyset 페이지네이션 위치입니다. 이전 페이지 마지막 결제의 정렬 키를 담으며,
+ * 다음 페이지는 이 결제보다 (requestedAt, paymentId) 순서로 앞선 결제부터 조회합니다.
+ */
+public record PaymentCursor(OffsetDateTime requestedAt, long paymentId) {
+    private static final char SEPARATOR = '|';
+
+    public static PaymentCursor of(PaymentSummary payment) {
+        return new PaymentCursor(payment.requestedAt(), payment.paymentId());
+    }
+
+    /**
+     * 클라이언트에 전달한 커서 문자열을 해석합니다.
+     * @return 커서가 비어 있다면 첫 페이지를 뜻하는 null을 반환합니다.
+     * @throws IllegalArgumentException 이 서버가 만든 커서가 아닌 경우
+     */
+    public static PaymentCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new PaymentCursor(
+                    OffsetDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String value = requestedAt.toString() + SEPARATOR + paymentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,10 @@
+package com.driply.payments.payment.dto;
+
+import java.util.List;
+
+/**
+ * 결제 목록의 한 페이지입니다.
+ * @param nextCursor 다음 페이지 조회에 사용할 커서, 마지막 페이지라면 null 입니다.
+ */
+public record PaymentPage(List<PaymentSummary> items, String nextCursor) {
+}
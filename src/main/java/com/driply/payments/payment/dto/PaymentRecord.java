@@ -0,0 +1,78 @@
+package com.driply.payments.payment.dto;
+
+import com.driply.payments.common.MoneyUtil;
+import com.driply.payments.payment.entity.Payment;
+import com.driply.payments.payment.entity.PaymentMethod;
+import com.driply.payments.payment.entity.PaymentRawResponse;
+import com.driply.payments.payment.entity.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * DB에 저장하기 전 대기열과 저널에 보관되는 결제 결과입니다.
+ * @param totalAmount 결제 금액, 통화의 최소 단위입니다.
+ * @param canceledAmount 취소된 금액, 통화의 최소 단위입니다.
+ * @param responseData PG사 응답 본문(JSON) 원문입니다.
+ */
+public record PaymentRecord(
+        String orderId,
+        String paymentKey,
+        String paymentProvider,
+        String merchant,
+        long totalAmount,
+        long canceledAmount,
+        String currency,
+        PaymentStatus status,
+        PaymentMethod method,
+        OffsetDateTime requestedAt,
+        OffsetDateTime approvedAt,
+        String responseData
+) {
+    /**
+     * PG사가 반환한 Payment 객체를 저장할 결제 결과로 변환합니다.
+     * @param paymentProvider 결제사 구분값입니다.
+     * @param merchant 결제를 승인한 가맹점 구분값입니다.
+     * @param response PG사 결제 승인 응답입니다.
+     * @return 저장에 필요한 필드가 없는 응답이라면 null을 반환합니다.
+     */
+    public static PaymentRecord from(String paymentProvider, String merchant, PgResponse<PaymentResponse> response) {
+        PaymentResponse payment = response.data();
+        if (payment == null || payment.paymentKey() == null || payment.status() == null || payment.requestedAt() == null) {
+            return null;
+        }
+        String currency = payment.currency() == null ? MoneyUtil.DEFAULT_CURRENCY : payment.currency();
+        long totalAmount = payment.totalAmount() == null ? 0 : MoneyUtil.toMinorUnits(payment.totalAmount(), currency);
+        BigDecimal balance = payment.balanceAmount();
+        return new PaymentRecord(
+                payment.orderId(),
+                payment.paymentKey(),
+                paymentProvider,
+                merchant,
+                totalAmount,
+                balance == null ? 0 : totalAmount - MoneyUtil.toMinorUnits(balance, currency),
+                currency,
+                PaymentStatus.of(payment.status()),
+                PaymentMethod.of(payment.method()),
+                payment.requestedAt(),
+                payment.approvedAt(),
+                response.bodyAsString());
+    }
+
+    public Payment toEntity() {
+        return Payment.builder()
+                .orderId(orderId)
+                .paymentKey(paymentKey)
+                .paymentProvider(paymentProvider)
+                .merchant(merchant)
+                .totalAmount(totalAmount)
+                .canceledAmount(canceledAmount)
+                .currency(currency == null ? MoneyUtil.DEFAULT_CURRENCY : currency)
+                .status(status == null ? PaymentStatus.UNKNOWN : status)
+                .method(method)
+                .requestedAt(requestedAt)
+                .approvedAt(approvedAt)
+                .rawResponse(responseData == null ? null : PaymentRawResponse.builder().body(responseData).build())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * PG사가 반환한 Payment 객체 중 서버에서 사용하는 필드입니다. 나머지 필드는 읽지 않고 건너뜁니다.
+ * @param balanceAmount 취소할 수 있는 남은 금액입니다. 결제 금액과의 차이가 취소된 금액입니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PaymentResponse(
+        String paymentKey,
+        String orderId,
+        String status,
+        String method,
+        String currency,
+        BigDecimal totalAmount,
+        BigDecimal balanceAmount,
+        OffsetDateTime requestedAt,
+        OffsetDateTime approvedAt
+) {
+}
@@ -0,0 +1,54 @@
+package com.driply.payments.payment.dto;
+
+import com.driply.payments.payment.entity.PaymentStatus;
+
+import java.time.OffsetDateTime;
+import java.util.Locale;
+
+/**
+ * 결제 목록 조회 조건입니다. null인 조건은 적용하지 않습니다.
+ * @param status PG사 결제 상태(DONE, CANCELED 등)입니다.
+ * @param provider 결제사 구분값입니다.
+ * @param merchant 가맹점 구분값입니다. 가맹점 계정으로 조회하면 항상 그 가맹점으로 정해집니다.
+ * @param from 결제 요청 시각의 시작(포함)입니다.
+ * @param to 결제 요청 시각의 끝(미포함)입니다.
+ */
+public record PaymentSearchCondition(
+        String orderId,
+        PaymentStatus status,
+        String provider,
+        String merchant,
+        OffsetDateTime from,
+        OffsetDateTime to
+) {
+    public PaymentSearchCondition {
+        orderId = blankToNull(orderId);
+        provider = upperCase(blankToNull(provider));
+        merchant = blankToNull(merchant);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+    }
+
+    /**
+     * 요청 파라미터로 조회 조건을 만듭니다.
+     * @throws IllegalArgumentException 알 수 없는 결제 상태인 경우
+     */
+    public static PaymentSearchCondition of(String orderId, String status, String provider, String merchant, OffsetDateTime from,
+                                            OffsetDateTime to) {
+        String normalized = upperCase(blankToNull(status));
+        PaymentStatus paymentStatus = PaymentStatus.of(normalized);
+        if (paymentStatus == PaymentStatus.UNKNOWN) {
+            throw new IllegalArgumentException("Unknown payment status: " + status);
+        }
+        return new PaymentSearchCondition(orderId, paymentStatus, provider, merchant, from, to);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String upperCase(String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,27 @@
+package com.driply.payments.payment.dto;
+
+import com.driply.payments.payment.entity.PaymentMethod;
+import com.driply.payments.payment.entity.PaymentStatus;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 결제 목록 조회 결과입니다. PG사 응답 원문은 조회하지 않습니다.
+ * @param totalAmount 결제 금액, 통화의 최소 단위입니다.
+ * @param canceledAmount 취소된 금액, 통화의 최소 단위입니다.
+ */
+public record PaymentSummary(
+        Long paymentId,
+        String orderId,
+        String paymentKey,
+        String paymentProvider,
+        String merchant,
+        long totalAmount,
+        long canceledAmount,
+        String currency,
+        PaymentStatus status,
+        PaymentMethod method,
+        OffsetDateTime requestedAt,
+        OffsetDateTime approvedAt
+) {
+}
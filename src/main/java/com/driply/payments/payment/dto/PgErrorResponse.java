@@ -0,0 +1,10 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * PG사 실패 응답에서 에러 코드 집계에 사용하는 필드입니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PgErrorResponse(String code, String message) {
+}
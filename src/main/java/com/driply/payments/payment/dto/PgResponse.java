@@ -0,0 +1,41 @@
+package com.driply.payments.payment.dto;
+
+import com.driply.payments.common.JsonUtil;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PG사 응답입니다. 응답 본문은 받은 그대로 보관하여 클라이언트에 다시 직렬화하지 않고 전달합니다.
+ * @param statusCode PG사 응답의 HTTP 상태 코드, PG사 응답을 받지 못했다면 0, 장애로 호출을 거절했다면 503 입니다.
+ * @param body PG사 응답 본문(JSON)입니다.
+ * @param data 성공 응답에서 서버가 사용하는 필드입니다. 실패 응답이라면 null 입니다.
+ */
+public record PgResponse<T>(int statusCode, byte[] body, T data) {
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    public static <T> PgResponse<T> error(String message) {
+        return new PgResponse<>(0, errorBody(message), null);
+    }
+
+    /**
+     * PG사 장애로 호출하지 않고 거절한 경우의 응답입니다. 클라이언트에는 503으로 응답합니다.
+     */
+    public static <T> PgResponse<T> unavailable(String message) {
+        return new PgResponse<>(SERVICE_UNAVAILABLE, errorBody(message), null);
+    }
+
+    public boolean isSuccess() {
+        return statusCode == 200 && data != null;
+    }
+
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] errorBody(String message) {
+        return JsonUtil.objectMapper().createObjectNode()
+                .put("error", message)
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
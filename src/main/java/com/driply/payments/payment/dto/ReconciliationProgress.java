@@ -0,0 +1,36 @@
+package com.driply.payments.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 대사 작업의 진행 현황입니다.
+ * @param settlementRows 읽은 정산 파일의 결제 수
+ * @param storedRows 읽은 payments 테이블의 결제 수
+ * @param matched 금액과 상태가 일치한 결제 수
+ * @param error 실패한 작업의 실패 사유입니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReconciliationProgress(
+        String reconciliationId,
+        LocalDate date,
+        String file,
+        State state,
+        long settlementRows,
+        long storedRows,
+        long matched,
+        long missingInDatabase,
+        long missingInSettlement,
+        long amountMismatches,
+        long statusMismatches,
+        long duplicates,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,14 @@
+package com.driply.payments.payment.dto;
+
+import com.driply.payments.payment.reconciliation.SettlementFormat;
+
+import java.time.LocalDate;
+
+/**
+ * 대사 작업 요청입니다.
+ * @param date 정산일입니다.
+ * @param file payments.reconciliation.settlement-dir 안의 정산 파일 이름입니다.
+ * @param format 정산 파일 형식, null이라면 확장자로 정합니다.
+ */
+public record ReconciliationRequest(LocalDate date, String file, SettlementFormat format) {
+}
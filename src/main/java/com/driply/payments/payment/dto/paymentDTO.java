@@ -1,12 +1,25 @@
 package com.driply.payments.payment.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * 결제 승인 요청입니다. 위젯결제, 일반결제, 브랜드페이 결제 승인에 사용됩니다.
+ */
 @Data
 @Builder
 @NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class paymentDTO {
-
+    private String paymentKey;
+    private String orderId;
+    private Long amount;
+    /**
+     * 브랜드페이 결제 승인에만 사용됩니다.
+     */
+    private String customerKey;
 }
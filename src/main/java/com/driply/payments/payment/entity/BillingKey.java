@@ -0,0 +1,49 @@
+package com.driply.payments.payment.entity;
+
+import com.driply.payments.common.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.OffsetDateTime;
+
+/**
+ * PG사, 가맹점, customerKey별로 발급된 빌링키입니다.
+ * prod의 기존 테이블은 db/billing-keys-scoped.sql로 옮깁니다.
+ */
+@Entity
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(BillingKeyId.class)
+@Table(name = "billing_keys")
+public class BillingKey extends BaseEntity {
+    @Id
+    private String paymentProvider;
+
+    @Id
+    private String merchant;
+
+    @Id
+    private String customerKey;
+
+    @Column(nullable = false)
+    private String billingKey;
+
+    private String cardCompany;
+
+    private String cardNumber;
+
+    private OffsetDateTime authenticatedAt;
+
+    public BillingKeyId id() {
+        return new BillingKeyId(paymentProvider, merchant, customerKey);
+    }
+}
@@ -0,0 +1,23 @@
+package com.driply.payments.payment.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * 빌링키의 식별자입니다. 같은 customerKey라도 PG사와 가맹점이 다르면 다른 고객입니다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BillingKeyId implements Serializable {
+    private String paymentProvider;
+    private String merchant;
+    private String customerKey;
+}
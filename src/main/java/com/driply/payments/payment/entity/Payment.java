@@ -1,51 +1,110 @@
 package com.driply.payments.payment.entity;
 
 import com.driply.payments.common.BaseEntity;
-import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
-import org.hibernate.annotations.Type;
 
 import java.time.OffsetDateTime;
-import java.util.Map;
 
+/**
+ * PG사 결제 결과입니다. 인덱스는 결제 조회 api의 조회 조건별로 둡니다.
+ * 목록 조회는 (requestedAt, paymentId) 순서의 keyset 페이지네이션을 사용하므로,
+ * 조건 컬럼 뒤에 정렬 컬럼을 포함하여 인덱스 범위 탐색만으로 페이지를 읽습니다.
+ * 금액은 통화의 최소 단위(KRW는 원) 정수, 상태와 결제 수단은 smallint 코드로 저장합니다.
+ * prod에서는 requestedAt 기준 월별 파티션 테이블이며(db/payments-partitioned.sql), paymentKey의 유일성은 payment_keys 테이블이 보장합니다.
+ */
 @Entity
 @Getter
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_order_id", columnList = "order_id"),
+        @Index(name = "idx_payments_requested_at", columnList = "requested_at, payment_id"),
+        @Index(name = "idx_payments_status_requested_at", columnList = "status, requested_at, payment_id"),
+        @Index(name = "idx_payments_provider_requested_at", columnList = "payment_provider, requested_at, payment_id"),
+        @Index(name = "idx_payments_merchant_requested_at", columnList = "merchant, requested_at, payment_id")
+})
 public class Payment extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long paymentId;
 
     @Column(nullable = false)
-    private Long orderId;
+    private String orderId;
+
+    @Column(nullable = false, unique = true)
+    private String paymentKey;
 
     @Column(nullable = false)
     private String paymentProvider;
 
+    /**
+     * 결제를 승인한 가맹점 구분값입니다. 가맹점이 기록되기 전에 저장된 결제는 null이며 관리자만 조회할 수 있습니다.
+     */
+    private String merchant;
+
+    /**
+     * 결제 금액입니다. 통화의 최소 단위입니다.
+     */
     @Column(nullable = false)
-    private Double totalAmount;
+    private long totalAmount;
 
+    /**
+     * 취소된 금액의 합계입니다. 통화의 최소 단위입니다.
+     */
     @Column(nullable = false)
-    private String status;
+    private long canceledAmount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, columnDefinition = "smallint")
+    private PaymentStatus status;
+
+    @Column(columnDefinition = "smallint")
+    private PaymentMethod method;
 
     @Column(nullable = false)
     private OffsetDateTime requestedAt;
 
     private OffsetDateTime approvedAt;
 
-    @Type(JsonBinaryType.class)
-    @Column(columnDefinition = "jsonb")
-    private Map<String, Object> responseData;
+    /**
+     * PG사 응답 원문입니다. 접근할 때 별도로 조회합니다.
+     * 원문 하나는 결제 하나에서만 참조하지만, insert마다 갱신되는 unique 인덱스가 생기지 않도록 ManyToOne으로 매핑합니다.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    @JoinColumn(name = "raw_response_id")
+    private PaymentRawResponse rawResponse;
+
+    /**
+     * PG사 웹훅으로 받은 결제 상태를 반영합니다.
+     * @param approvedAt 이벤트에 승인 시각이 없다면 null이며, 기존 승인 시각을 유지합니다.
+     * @param canceledAmount 이벤트에 취소 금액이 없다면 null이며, 기존 취소 금액을 유지합니다.
+     */
+    public void changeStatus(PaymentStatus status, OffsetDateTime approvedAt, Long canceledAmount) {
+        this.status = status;
+        if (approvedAt != null) {
+            this.approvedAt = approvedAt;
+        }
+        if (canceledAmount != null) {
+            this.canceledAmount = canceledAmount;
+        }
+    }
 }
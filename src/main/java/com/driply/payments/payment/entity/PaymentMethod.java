@@ -0,0 +1,64 @@
+package com.driply.payments.payment.entity;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 결제 수단입니다. DB에는 smallint 코드로 저장되므로, 상수를 추가할 때 기존 코드는 바꾸지 않습니다.
+ * PG사 응답의 결제 수단은 한글("카드") 혹은 영문("CARD")으로 오므로 둘 다 변환합니다.
+ */
+public enum PaymentMethod {
+    CARD(0, "카드"),
+    VIRTUAL_ACCOUNT(1, "가상계좌"),
+    EASY_PAY(2, "간편결제"),
+    MOBILE_PHONE(3, "휴대폰"),
+    TRANSFER(4, "계좌이체"),
+    CULTURE_GIFT_CERTIFICATE(5, "문화상품권"),
+    BOOK_GIFT_CERTIFICATE(6, "도서문화상품권"),
+    GAME_GIFT_CERTIFICATE(7, "게임문화상품권"),
+    UNKNOWN(-1, null);
+
+    private static final Map<Short, PaymentMethod> BY_CODE = new HashMap<>();
+    private static final Map<String, PaymentMethod> BY_LABEL = new HashMap<>();
+
+    static {
+        for (PaymentMethod method : values()) {
+            BY_CODE.put(method.code, method);
+            BY_LABEL.put(method.name(), method);
+            if (method.label != null) {
+                BY_LABEL.put(method.label, method);
+            }
+        }
+    }
+
+    private final short code;
+    private final String label;
+
+    PaymentMethod(int code, String label) {
+        this.code = (short) code;
+        this.label = label;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static PaymentMethod fromCode(short code) {
+        PaymentMethod method = BY_CODE.get(code);
+        if (method == null) {
+            throw new IllegalArgumentException("Unknown payment method code: " + code);
+        }
+        return method;
+    }
+
+    /**
+     * @return 알 수 없는 결제 수단이라면 UNKNOWN, null이라면 null을 반환합니다.
+     */
+    public static PaymentMethod of(String method) {
+        if (method == null) {
+            return null;
+        }
+        return BY_LABEL.getOrDefault(method.trim().toUpperCase(Locale.ROOT), UNKNOWN);
+    }
+}
@@ -0,0 +1,17 @@
+package com.driply.payments.payment.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class PaymentMethodConverter implements AttributeConverter<PaymentMethod, Short> {
+    @Override
+    public Short convertToDatabaseColumn(PaymentMethod method) {
+        return method == null ? null : method.code();
+    }
+
+    @Override
+    public PaymentMethod convertToEntityAttribute(Short code) {
+        return code == null ? null : PaymentMethod.fromCode(code);
+    }
+}
@@ -0,0 +1,36 @@
+package com.driply.payments.payment.entity;
+
+import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+/**
+ * PG사 응답 원문입니다. 결제 목록과 상태 변경에서는 읽지 않으므로 payments와 분리된 테이블에 저장하고,
+ * Payment에서 지연 로딩합니다. 본문은 PostgreSQL TOAST 압축(lz4) 대상이 되도록 db/payments-compact.sql에서 설정합니다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "payment_raw_responses")
+public class PaymentRawResponse {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_raw_responses_seq")
+    @SequenceGenerator(name = "payment_raw_responses_seq", sequenceName = "payment_raw_responses_seq", allocationSize = 50)
+    private Long rawResponseId;
+
+    @Type(JsonBinaryType.class)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private String body;
+}
@@ -0,0 +1,79 @@
+package com.driply.payments.payment.entity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 결제 상태입니다. DB에는 smallint 코드로 저장되므로, 상수를 추가할 때 기존 코드는 바꾸지 않습니다.
+ */
+public enum PaymentStatus {
+    READY(0, 0),
+    IN_PROGRESS(1, 1),
+    WAITING_FOR_DEPOSIT(2, 2),
+    DONE(3, 3),
+    PARTIAL_CANCELED(4, 4),
+    CANCELED(5, 5),
+    ABORTED(6, 5),
+    EXPIRED(7, 5),
+    /**
+     * 서버가 알지 못하는 상태입니다. 원래 값은 PG사 응답 원문에 남아있습니다.
+     */
+    UNKNOWN(-1, -1);
+
+    private static final Map<Short, PaymentStatus> BY_CODE = new HashMap<>();
+
+    static {
+        for (PaymentStatus status : values()) {
+            BY_CODE.put(status.code, status);
+        }
+    }
+
+    private final short code;
+    private final int stage;
+
+    PaymentStatus(int code, int stage) {
+        this.code = (short) code;
+        this.stage = stage;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    /**
+     * 결제 진행 단계입니다. 취소, 중단, 만료는 같은 마지막 단계입니다.
+     */
+    public int stage() {
+        return stage;
+    }
+
+    /**
+     * 상태를 바꿀 때 이전 단계로 되돌리는지 확인합니다. 알 수 없는 상태는 단계를 비교하지 않습니다.
+     */
+    public boolean isBefore(PaymentStatus other) {
+        return this != UNKNOWN && other != UNKNOWN && stage < other.stage;
+    }
+
+    public static PaymentStatus fromCode(short code) {
+        PaymentStatus status = BY_CODE.get(code);
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown payment status code: " + code);
+        }
+        return status;
+    }
+
+    /**
+     * PG사 응답의 상태 문자열을 변환합니다.
+     * @return 알 수 없는 상태라면 UNKNOWN, null이라면 null을 반환합니다.
+     */
+    public static PaymentStatus of(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN;
+        }
+    }
+}
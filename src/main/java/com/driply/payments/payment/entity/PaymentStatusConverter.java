@@ -0,0 +1,17 @@
+package com.driply.payments.payment.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class PaymentStatusConverter implements AttributeConverter<PaymentStatus, Short> {
+    @Override
+    public Short convertToDatabaseColumn(PaymentStatus status) {
+        return status == null ? null : status.code();
+    }
+
+    @Override
+    public PaymentStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : PaymentStatus.fromCode(code);
+    }
+}
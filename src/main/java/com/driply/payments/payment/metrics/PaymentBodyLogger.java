@@ -0,0 +1,121 @@
+package com.driply.payments.payment.metrics;
+
+import com.driply.payments.config.PaymentLoggingProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 결제 요청, 응답 본문을 표본으로 골라 민감한 값을 가린 뒤 별도 스레드에서 로그로 남깁니다.
+ * 요청 스레드는 표본 추출과 대기열 추가만 수행하며, 직렬화와 마스킹, 로그 기록은 로그 스레드가 담당합니다.
+ */
+@Component
+public class PaymentBodyLogger {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final ObjectMapper objectMapper;
+    private final PaymentLoggingProperties properties;
+    private final BlockingQueue<Entry> queue;
+    private final LongAdder dropped = new LongAdder();
+    private Thread worker;
+
+    public PaymentBodyLogger(ObjectMapper objectMapper, PaymentLoggingProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofPlatform().name("payment-body-logger").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        worker.interrupt();
+        worker.join();
+    }
+
+    /**
+     * 본문을 로그 대기열에 추가합니다. 표본에 포함되지 않았거나 대기열이 가득 찬 경우 버립니다.
+     * @param label 로그에 함께 남길 구분값입니다.
+     * @param body 요청 객체 혹은 PG사 응답 본문(byte[])입니다. 기록 시점에 직렬화되므로 이후 변경하지 않아야 합니다.
+     */
+    public void log(String label, Object body) {
+        if (body == null || !logger.isInfoEnabled() || ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+        if (!queue.offer(new Entry(label, body))) {
+            dropped.increment();
+        }
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch);
+            batch.forEach(this::write);
+            batch.clear();
+        }
+        queue.drainTo(batch);
+        batch.forEach(this::write);
+    }
+
+    private void write(Entry entry) {
+        try {
+            JsonNode tree = entry.body() instanceof byte[] bytes ? objectMapper.readTree(bytes) : objectMapper.valueToTree(entry.body());
+            logger.info("{}: {}", entry.label(), mask(tree, properties.getMaskedFields()));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.info("{}: <unreadable body>", entry.label());
+        }
+    }
+
+    /**
+     * 지정된 필드의 문자열 값을 마지막 4자리만 남기고 가립니다. 중첩된 객체와 배열도 모두 확인합니다.
+     */
+    static JsonNode mask(JsonNode node, Set<String> maskedFields) {
+        if (node instanceof ObjectNode object) {
+            for (Map.Entry<String, JsonNode> field : object.properties()) {
+                JsonNode value = field.getValue();
+                if (maskedFields.contains(field.getKey()) && value.isValueNode() && !value.isNull()) {
+                    field.setValue(object.textNode(maskValue(value.asText())));
+                } else {
+                    mask(value, maskedFields);
+                }
+            }
+        } else if (node != null && node.isArray()) {
+            node.forEach(element -> mask(element, maskedFields));
+        }
+        return node;
+    }
+
+    private static String maskValue(String value) {
+        return value.length() <= 8 ? "****" : "****" + value.substring(value.length() - 4);
+    }
+
+    private record Entry(String label, Object body) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.driply.payments.payment.metrics;
+
+import com.driply.payments.payment.client.PgEndpoint;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.service.PaymentExecutor;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 결제 처리 지표를 기록합니다.
+ * PaymentService 메서드마다 payments.service 타이머와 span을 남기고, PG사 에러 코드는 payments.pg.errors 카운터로 집계합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentMetrics {
+    /**
+     * payments.pg.errors의 code 태그로 남기는 에러 코드입니다. 에러 코드는 PG사 응답 본문에서 읽으므로,
+     * 목록에 없는 값은 other로 묶어 태그 값의 종류가 늘어나지 않도록 합니다.
+     */
+    private static final Set<String> ERROR_CODES = Set.of(
+            "ALREADY_PROCESSED_PAYMENT",
+            "PROVIDER_ERROR",
+            "INVALID_REQUEST",
+            "INVALID_API_KEY",
+            "UNAUTHORIZED_KEY",
+            "FORBIDDEN_REQUEST",
+            "NOT_FOUND_PAYMENT",
+            "NOT_FOUND_PAYMENT_SESSION",
+            "UNAPPROVED_ORDER_ID",
+            "NOT_AVAILABLE_PAYMENT",
+            "REJECT_CARD_PAYMENT",
+            "REJECT_CARD_COMPANY",
+            "REJECT_ACCOUNT_PAYMENT",
+            "INVALID_CARD_NUMBER",
+            "INVALID_CARD_EXPIRATION",
+            "INVALID_STOPPED_CARD",
+            "INVALID_CARD_LOST_OR_STOLEN",
+            "EXCEED_MAX_AMOUNT",
+            "EXCEED_MAX_DAILY_PAYMENT_COUNT",
+            "EXCEED_MAX_PAYMENT_AMOUNT",
+            "BELOW_MINIMUM_AMOUNT",
+            "CARD_PROCESSING_ERROR",
+            "FDS_ERROR",
+            "FAILED_PAYMENT_INTERNAL_SYSTEM_PROCESSING",
+            "FAILED_INTERNAL_SYSTEM_PROCESSING",
+            "UNKNOWN_PAYMENT_ERROR");
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 작업 수행 시간을 연동 경로, PG사, 결과별로 기록합니다.
+     * @param operation PaymentService 메서드 구분값입니다.
+     * @param target 요청을 처리할 라우팅 대상입니다.
+     * @param task PG사 api를 호출하는 작업입니다.
+     */
+    @SuppressWarnings("try")
+    public <T> PgResponse<T> observe(String operation, PaymentTarget target, PaymentExecutor.PaymentTask<PgResponse<T>> task) throws IOException {
+        Observation observation = Observation.createNotStarted("payments.service", observationRegistry)
+                .contextualName("payment " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("route", target.route().name())
+                .lowCardinalityKeyValue("provider", target.strategy().provider())
+                .lowCardinalityKeyValue("outcome", PaymentOutcome.IO_ERROR.tag())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            PgResponse<T> response = task.call();
+            observation.lowCardinalityKeyValue("outcome", PaymentOutcome.of(response).tag());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * PG사가 실패 응답과 함께 돌려준 에러 코드를 집계합니다.
+     */
+    public void recordPgError(String provider, PgEndpoint endpoint, String code) {
+        Counter.builder("payments.pg.errors")
+                .description("Error codes returned by PG")
+                .tag("provider", provider)
+                .tag("endpoint", endpoint.name())
+                .tag("code", codeTag(code))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String codeTag(String code) {
+        if (code == null) {
+            return "unknown";
+        }
+        return ERROR_CODES.contains(code) ? code.toLowerCase(Locale.ROOT) : "other";
+    }
+}
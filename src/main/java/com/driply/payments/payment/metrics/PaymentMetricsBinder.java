@@ -0,0 +1,192 @@
+package com.driply.payments.payment.metrics;
+
+import com.driply.payments.payment.client.PgClient;
+import com.driply.payments.payment.client.PgEndpoint;
+import com.driply.payments.payment.client.ResilienceStats;
+import com.driply.payments.payment.client.ResilientPgClient;
+import com.driply.payments.payment.ratelimit.RateLimitDimension;
+import com.driply.payments.payment.ratelimit.RateLimiter;
+import com.driply.payments.payment.service.BillingKeyStore;
+import com.driply.payments.payment.service.BrandpayTokenCache;
+import com.driply.payments.payment.service.ConfirmDeduplicator;
+import com.driply.payments.payment.service.PaymentWriteBehind;
+import com.driply.payments.payment.webhook.WebhookProcessor;
+import com.driply.payments.payment.webhook.WebhookStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 각 구성 요소가 stats()로 제공하는 현황을 지표로 등록합니다. 값은 지표를 수집할 때 읽습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentMetricsBinder implements MeterBinder {
+    private final PgClient pgClient;
+    private final ResilientPgClient resilientPgClient;
+    private final BillingKeyStore billingKeyStore;
+    private final BrandpayTokenCache brandpayTokenCache;
+    private final ConfirmDeduplicator confirmDeduplicator;
+    private final PaymentWriteBehind paymentWriteBehind;
+    private final PaymentBodyLogger paymentBodyLogger;
+    private final WebhookProcessor webhookProcessor;
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindPgClient(registry);
+        bindResilience(registry);
+        bindBillingKeyCache(registry);
+        bindBrandpayTokenCache(registry);
+        bindConfirmDeduplicator(registry);
+        bindWriteBehind(registry);
+        bindWebhooks(registry);
+        bindRateLimits(registry);
+        FunctionCounter.builder("payments.logging.body.dropped", paymentBodyLogger, PaymentBodyLogger::dropped)
+                .description("Sampled bodies dropped because the log queue was full")
+                .register(registry);
+    }
+
+    private void bindPgClient(MeterRegistry registry) {
+        Gauge.builder("payments.pg.client.in-flight", pgClient, client -> client.stats().inFlight()).register(registry);
+        Gauge.builder("payments.pg.client.utilization", pgClient, client -> client.stats().utilization()).register(registry);
+        FunctionCounter.builder("payments.pg.client.requests", pgClient, client -> client.stats().requests()).register(registry);
+        FunctionCounter.builder("payments.pg.client.handshakes", pgClient, client -> client.stats().handshakes()).register(registry);
+    }
+
+    /**
+     * 회로 상태는 CLOSED 0, OPEN 1, HALF_OPEN 2로 기록합니다.
+     */
+    private void bindResilience(MeterRegistry registry) {
+        for (PgEndpoint endpoint : PgEndpoint.values()) {
+            resilienceGauge(registry, "payments.pg.circuit.state", endpoint, stats -> stats.state().ordinal());
+            resilienceGauge(registry, "payments.pg.circuit.failure-rate", endpoint, ResilienceStats::failureRate);
+            resilienceGauge(registry, "payments.pg.circuit.slow-call-rate", endpoint, ResilienceStats::slowCallRate);
+            resilienceGauge(registry, "payments.pg.bulkhead.available", endpoint, ResilienceStats::bulkheadAvailable);
+            resilienceCounter(registry, "payments.pg.circuit.rejections", endpoint, ResilienceStats::circuitRejections);
+            resilienceCounter(registry, "payments.pg.bulkhead.rejections", endpoint, ResilienceStats::bulkheadRejections);
+            resilienceCounter(registry, "payments.pg.retries", endpoint, ResilienceStats::retries);
+        }
+    }
+
+    private void resilienceGauge(MeterRegistry registry, String name, PgEndpoint endpoint, ToDoubleFunction<ResilienceStats> value) {
+        Gauge.builder(name, resilientPgClient, client -> value.applyAsDouble(client.resilienceStats().get(endpoint)))
+                .tag("endpoint", endpoint.name())
+                .register(registry);
+    }
+
+    private void resilienceCounter(MeterRegistry registry, String name, PgEndpoint endpoint, ToDoubleFunction<ResilienceStats> value) {
+        FunctionCounter.builder(name, resilientPgClient, client -> value.applyAsDouble(client.resilienceStats().get(endpoint)))
+                .tag("endpoint", endpoint.name())
+                .register(registry);
+    }
+
+    private void bindBillingKeyCache(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", billingKeyStore, store -> store.stats().hitCount())
+                .tags("cache", "billing-key", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", billingKeyStore, store -> store.stats().missCount())
+                .tags("cache", "billing-key", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", billingKeyStore, store -> store.stats().evictionCount())
+                .tag("cache", "billing-key")
+                .register(registry);
+        Gauge.builder("cache.size", billingKeyStore, BillingKeyStore::size)
+                .tag("cache", "billing-key")
+                .register(registry);
+    }
+
+    private void bindBrandpayTokenCache(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", brandpayTokenCache, cache -> cache.stats().hits())
+                .tags("cache", "brandpay-token", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", brandpayTokenCache, cache -> cache.stats().misses())
+                .tags("cache", "brandpay-token", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("payments.brandpay-token.refreshes", brandpayTokenCache, cache -> cache.stats().refreshes())
+                .tag("result", "success")
+                .register(registry);
+        FunctionCounter.builder("payments.brandpay-token.refreshes", brandpayTokenCache, cache -> cache.stats().refreshFailures())
+                .tag("result", "failure")
+                .register(registry);
+        Gauge.builder("cache.size", brandpayTokenCache, cache -> cache.stats().size())
+                .tag("cache", "brandpay-token")
+                .register(registry);
+    }
+
+    private void bindConfirmDeduplicator(MeterRegistry registry) {
+        FunctionCounter.builder("payments.confirm.requests", confirmDeduplicator, dedup -> dedup.stats().requests()).register(registry);
+        FunctionCounter.builder("payments.confirm.deduplicated", confirmDeduplicator, dedup -> dedup.stats().cacheHits())
+                .tag("source", "cache")
+                .register(registry);
+        FunctionCounter.builder("payments.confirm.deduplicated", confirmDeduplicator, dedup -> dedup.stats().coalesced())
+                .tag("source", "in-flight")
+                .register(registry);
+        FunctionCounter.builder("payments.confirm.deduplicated", confirmDeduplicator, dedup -> dedup.stats().storeHits())
+                .tag("source", "database")
+                .register(registry);
+    }
+
+    private void bindWriteBehind(MeterRegistry registry) {
+        Gauge.builder("payments.write-behind.queue-depth", paymentWriteBehind, writeBehind -> writeBehind.stats().queueDepth()).register(registry);
+        FunctionCounter.builder("payments.write-behind.flushed", paymentWriteBehind, writeBehind -> writeBehind.stats().flushedRecords()).register(registry);
+        FunctionCounter.builder("payments.write-behind.flushes", paymentWriteBehind, writeBehind -> writeBehind.stats().flushes()).register(registry);
+        FunctionCounter.builder("payments.write-behind.spills", paymentWriteBehind, writeBehind -> writeBehind.stats().spills()).register(registry);
+        Gauge.builder("payments.write-behind.flush.mean", paymentWriteBehind, writeBehind -> writeBehind.stats().meanFlushMillis())
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("payments.write-behind.flush.max", paymentWriteBehind, writeBehind -> writeBehind.stats().maxFlushMillis())
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("payments.write-behind.dead-lettered", paymentWriteBehind, writeBehind -> writeBehind.stats().deadLettered())
+                .description("Payments moved to the dead-letter journal after exhausting store attempts")
+                .register(registry);
+        Gauge.builder("payments.write-behind.dead-letter.segments", paymentWriteBehind, writeBehind -> writeBehind.stats().deadLetterSegments())
+                .description("Dead-letter segments awaiting manual replay; alert when above zero")
+                .register(registry);
+    }
+
+    private void bindWebhooks(MeterRegistry registry) {
+        Gauge.builder("payments.webhook.in-flight", webhookProcessor, processor -> processor.stats().inFlight()).register(registry);
+        FunctionCounter.builder("payments.webhook.received", webhookProcessor, processor -> processor.stats().received()).register(registry);
+        FunctionCounter.builder("payments.webhook.retries", webhookProcessor, processor -> processor.stats().retries()).register(registry);
+        webhookResult(registry, "applied", WebhookStats::applied);
+        webhookResult(registry, "unchanged", WebhookStats::unchanged);
+        webhookResult(registry, "duplicate", WebhookStats::duplicates);
+        webhookResult(registry, "unmatched", WebhookStats::unmatched);
+        webhookResult(registry, "rejected", WebhookStats::rejected);
+        webhookResult(registry, "ignored", WebhookStats::ignored);
+        webhookResult(registry, "dead-lettered", WebhookStats::deadLettered);
+    }
+
+    private void webhookResult(MeterRegistry registry, String result, ToDoubleFunction<WebhookStats> value) {
+        FunctionCounter.builder("payments.webhook.processed", webhookProcessor, processor -> value.applyAsDouble(processor.stats()))
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void bindRateLimits(MeterRegistry registry) {
+        for (RateLimiter.EndpointLimiter limiter : rateLimiter.endpoints()) {
+            for (RateLimitDimension dimension : RateLimitDimension.values()) {
+                if (!limiter.limits(dimension)) {
+                    continue;
+                }
+                String key = dimension.name().toLowerCase();
+                FunctionCounter.builder("payments.rate-limit.requests", limiter, l -> l.stats(dimension).allowed())
+                        .tags("endpoint", limiter.name(), "key", key, "result", "allowed")
+                        .register(registry);
+                FunctionCounter.builder("payments.rate-limit.requests", limiter, l -> l.stats(dimension).throttled())
+                        .tags("endpoint", limiter.name(), "key", key, "result", "throttled")
+                        .register(registry);
+                Gauge.builder("payments.rate-limit.buckets", limiter, l -> l.stats(dimension).buckets())
+                        .tags("endpoint", limiter.name(), "key", key)
+                        .register(registry);
+            }
+        }
+    }
+}
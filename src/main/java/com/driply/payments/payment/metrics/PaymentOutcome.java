@@ -0,0 +1,44 @@
+package com.driply.payments.payment.metrics;
+
+import com.driply.payments.payment.dto.PgResponse;
+
+/**
+ * 지표에 기록하는 PG 호출 결과 구분입니다.
+ */
+public enum PaymentOutcome {
+    SUCCESS("success"),
+    PG_ERROR("pg_error"),
+    UNAVAILABLE("unavailable"),
+    IO_ERROR("io_error");
+
+    private final String tag;
+
+    PaymentOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * 503은 결제 거절이 아니라 PG사 장애이므로 PG_ERROR와 구분하여 UNAVAILABLE로 기록합니다.
+     */
+    public static PaymentOutcome of(int statusCode) {
+        if (statusCode == 200) {
+            return SUCCESS;
+        }
+        return statusCode == PgResponse.SERVICE_UNAVAILABLE ? UNAVAILABLE : PG_ERROR;
+    }
+
+    /**
+     * PG사 응답을 받지 못한 경우(statusCode 0)는 IO_ERROR, 장애로 호출을 거절했거나 PG사가 503으로 응답한 경우는 UNAVAILABLE,
+     * PG사가 실패로 응답한 경우는 PG_ERROR로 구분합니다.
+     */
+    public static PaymentOutcome of(PgResponse<?> response) {
+        if (response.isSuccess()) {
+            return SUCCESS;
+        }
+        return response.statusCode() == 0 ? IO_ERROR : of(response.statusCode());
+    }
+}
@@ -0,0 +1,48 @@
+package com.driply.payments.payment.partition;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * payments 테이블의 월별 파티션입니다. 이름은 payments_pYYYYMM 이고, 범위는 해당 월 1일 0시부터 다음 달 1일 0시 전까지입니다.
+ */
+public record PaymentPartition(YearMonth month) implements Comparable<PaymentPartition> {
+    public static final String PARENT_TABLE = "payments";
+    private static final String PREFIX = PARENT_TABLE + "_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+
+    /**
+     * 파티션 이름을 읽습니다.
+     * @return 월별 파티션 이름이 아니라면 null을 반환합니다.
+     */
+    public static PaymentPartition parse(String name) {
+        if (name == null || !name.startsWith(PREFIX) || name.length() != PREFIX.length() + 6) {
+            return null;
+        }
+        try {
+            return new PaymentPartition(YearMonth.parse(name.substring(PREFIX.length()), SUFFIX));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public String name() {
+        return PREFIX + month.format(SUFFIX);
+    }
+
+    public OffsetDateTime from(ZoneId zone) {
+        return month.atDay(1).atStartOfDay(zone).toOffsetDateTime();
+    }
+
+    public OffsetDateTime to(ZoneId zone) {
+        return month.plusMonths(1).atDay(1).atStartOfDay(zone).toOffsetDateTime();
+    }
+
+    @Override
+    public int compareTo(PaymentPartition other) {
+        return month.compareTo(other.month);
+    }
+}
@@ -0,0 +1,168 @@
+package com.driply.payments.payment.partition;
+
+import com.driply.payments.config.PartitionProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 월별 range 파티션으로 나눈 payments 테이블의 파티션을 관리합니다.
+ * 이번 달부터 monthsAhead 개월 뒤까지의 파티션을 미리 만들고, 보관 기간이 지난 파티션은 분리한 뒤 삭제합니다.
+ * 파티션 테이블이 아니라면(dev의 ddl-auto 스키마 등) 아무것도 하지 않습니다.
+ * 여러 인스턴스가 동시에 점검하지 않도록 트랜잭션 단위 advisory lock을 잡습니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "payments.partition", name = "enabled", havingValue = "true")
+public class PaymentPartitionManager {
+    private static final long LOCK_KEY = 0x7061796d656e7473L;
+    private static final String PARTITIONED_SQL =
+            "select count(*) from pg_partitioned_table where partrelid = to_regclass('" + PaymentPartition.PARENT_TABLE + "')";
+    private static final String PARTITIONS_SQL = """
+            select c.relname
+            from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            where i.inhparent = '%s'::regclass
+            """.formatted(PaymentPartition.PARENT_TABLE);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PartitionProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("payment-partitions").daemon().factory());
+
+    @Autowired
+    public PaymentPartitionManager(PartitionProperties properties, DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this(properties, new JdbcTemplate(dataSource), new TransactionTemplate(transactionManager), Clock.systemUTC());
+    }
+
+    PaymentPartitionManager(PartitionProperties properties, JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations, Clock clock) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.clock = clock;
+    }
+
+    /**
+     * 시작 시 점검은 동기로 실행하여, 이번 달 파티션이 없는 상태로 결제를 받지 않도록 합니다.
+     */
+    @PostConstruct
+    public void start() {
+        maintain();
+        long interval = properties.getCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::maintainQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 필요한 파티션을 만들고 보관 기간이 지난 파티션을 삭제합니다.
+     * @return 만든 파티션과 삭제한 파티션입니다. payments가 파티션 테이블이 아니라면 null을 반환합니다.
+     */
+    public MaintenanceResult maintain() {
+        return transactionOperations.execute(status -> {
+            Long partitioned = jdbcTemplate.queryForObject(PARTITIONED_SQL, Long.class);
+            if (partitioned == null || partitioned == 0) {
+                logger.warn("{} is not a partitioned table, skipping partition maintenance", PaymentPartition.PARENT_TABLE);
+                return null;
+            }
+            jdbcTemplate.queryForObject("select pg_advisory_xact_lock(?)", Object.class, LOCK_KEY);
+
+            TreeSet<PaymentPartition> existing = new TreeSet<>();
+            for (String name : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+                PaymentPartition partition = PaymentPartition.parse(name);
+                if (partition != null) {
+                    existing.add(partition);
+                }
+            }
+
+            ZoneId zone = properties.getZone();
+            YearMonth current = YearMonth.now(clock.withZone(zone));
+            List<PaymentPartition> created = new ArrayList<>();
+            for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+                PaymentPartition partition = new PaymentPartition(current.plusMonths(i));
+                if (!existing.contains(partition)) {
+                    create(partition, zone);
+                    created.add(partition);
+                }
+            }
+
+            List<PaymentPartition> dropped = new ArrayList<>();
+            if (properties.getRetentionMonths() > 0) {
+                YearMonth oldest = current.minusMonths(properties.getRetentionMonths());
+                for (PaymentPartition partition : existing.headSet(new PaymentPartition(oldest))) {
+                    drop(partition);
+                    dropped.add(partition);
+                }
+            }
+            if (!created.isEmpty() || !dropped.isEmpty()) {
+                logger.info("Payment partitions created: {}, dropped: {}", created, dropped);
+            }
+            return new MaintenanceResult(created, dropped);
+        });
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            logger.error("Failed to maintain payment partitions", e);
+        }
+    }
+
+    /**
+     * 부모 테이블의 인덱스와 제약 조건은 새 파티션에 자동으로 만들어집니다.
+     */
+    private void create(PaymentPartition partition, ZoneId zone) {
+        jdbcTemplate.execute("create table if not exists %s partition of %s for values from ('%s') to ('%s')"
+                .formatted(partition.name(), PaymentPartition.PARENT_TABLE, partition.from(zone), partition.to(zone)));
+    }
+
+    /**
+     * 파티션의 paymentKey 등록과 응답 원문도 함께 삭제합니다.
+     * 응답 원문은 파티션에서 외래 키로 참조하므로, 참조를 임시 테이블로 옮긴 뒤 파티션을 먼저 삭제합니다.
+     */
+    private void drop(PaymentPartition partition) {
+        String name = partition.name();
+        jdbcTemplate.execute("create temp table expired_payments on commit drop as select payment_key, raw_response_id from " + name);
+        jdbcTemplate.execute("alter table %s detach partition %s".formatted(PaymentPartition.PARENT_TABLE, name));
+        jdbcTemplate.execute("drop table " + name);
+        jdbcTemplate.execute("delete from payment_keys where payment_key in (select payment_key from expired_payments)");
+        jdbcTemplate.execute("""
+                delete from payment_raw_responses
+                where raw_response_id in (select raw_response_id from expired_payments where raw_response_id is not null)
+                """);
+        jdbcTemplate.execute("drop table expired_payments");
+    }
+
+    public record MaintenanceResult(List<PaymentPartition> created, List<PaymentPartition> dropped) {
+        public MaintenanceResult {
+            created = List.copyOf(Objects.requireNonNull(created));
+            dropped = List.copyOf(Objects.requireNonNull(dropped));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.driply.payments.payment.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 요청 본문의 앞부분을 미리 읽은 요청입니다. 이후 본문을 읽으면 미리 읽은 부분과 나머지를 이어서 반환합니다.
+ */
+final class CachedBodyRequest extends HttpServletRequestWrapper {
+    private final byte[] prefix;
+    private final boolean complete;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    private CachedBodyRequest(HttpServletRequest request, byte[] prefix, boolean complete) {
+        super(request);
+        this.prefix = prefix;
+        this.complete = complete;
+    }
+
+    /**
+     * 본문을 최대 maxSize byte까지 읽습니다.
+     */
+    static CachedBodyRequest read(HttpServletRequest request, int maxSize) throws IOException {
+        byte[] prefix = request.getInputStream().readNBytes(maxSize + 1);
+        return new CachedBodyRequest(request, prefix, prefix.length <= maxSize);
+    }
+
+    /**
+     * @return 본문 전체를 읽었다면 본문, maxSize보다 커서 일부만 읽었다면 null을 반환합니다.
+     */
+    byte[] body() {
+        return complete ? prefix : null;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (reader != null) {
+            throw new IllegalStateException("getReader() has already been called");
+        }
+        if (inputStream == null) {
+            inputStream = new PrefixedInputStream(stream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            if (inputStream != null) {
+                throw new IllegalStateException("getInputStream() has already been called");
+            }
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            reader = new BufferedReader(new InputStreamReader(stream(), charset));
+        }
+        return reader;
+    }
+
+    private InputStream stream() throws IOException {
+        InputStream remaining = complete ? InputStream.nullInputStream() : super.getInputStream();
+        return new SequenceInputStream(new ByteArrayInputStream(prefix), remaining);
+    }
+
+    private static final class PrefixedInputStream extends ServletInputStream {
+        private final InputStream delegate;
+        private boolean finished;
+
+        private PrefixedInputStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            finished = b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            finished = read < 0;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * 본문은 Spring MVC에서 blocking으로 읽으므로 non-blocking 읽기는 지원하지 않습니다.
+         */
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Non-blocking reads are not supported");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.driply.payments.payment.ratelimit;
+
+/**
+ * 요청 수를 집계하는 기준입니다.
+ */
+public enum RateLimitDimension {
+    CUSTOMER,
+    MERCHANT,
+    IP
+}
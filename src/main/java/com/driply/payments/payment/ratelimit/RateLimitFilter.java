@@ -0,0 +1,133 @@
+package com.driply.payments.payment.ratelimit;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드포인트별 요청 수 제한을 넘은 요청을 컨트롤러에 전달하지 않고 429로 응답합니다.
+ * 헤더만으로 판단할 수 있는 IP, 가맹점 제한을 먼저 확인하고, 통과한 요청만 본문에서 customerKey를 찾습니다.
+ * 가맹점은 등록된 가맹점일 때만 헤더 값으로 집계하므로, 헤더 값을 바꿔가며 가맹점 제한을 피할 수 없습니다.
+ * customerKey 제한이 있는 엔드포인트는 customerKey를 찾을 수 없는 요청을 400으로 거절하여, 본문을 바꿔 제한을 피할 수 없습니다.
+ * SecurityConfig에서 보안 필터 체인 앞쪽에 등록합니다.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String MERCHANT_HEADER = "X-Merchant-Id";
+    private static final String CUSTOMER_KEY = "customerKey";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final int maxBodySize;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, int maxBodySize) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.EndpointLimiter limiter = rateLimiter.find(request.getRequestURI().substring(request.getContextPath().length()));
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        long wait = limiter.tryAcquire(RateLimitDimension.IP, request.getRemoteAddr());
+        if (wait == 0) {
+            wait = limiter.tryAcquire(RateLimitDimension.MERCHANT, rateLimiter.merchant(request.getHeader(MERCHANT_HEADER)));
+        }
+        if (wait == 0 && limiter.limits(RateLimitDimension.CUSTOMER)) {
+            String customerKey = request.getParameter(CUSTOMER_KEY);
+            if (customerKey == null) {
+                CachedBodyRequest cached = isJson(request) && request.getContentLengthLong() <= maxBodySize
+                        ? CachedBodyRequest.read(request, maxBodySize) : null;
+                customerKey = cached == null ? null : customerKey(cached.body());
+                forwarded = cached;
+            }
+            if (customerKey == null || customerKey.isEmpty()) {
+                badRequest(response);
+                return;
+            }
+            wait = limiter.tryAcquire(RateLimitDimension.CUSTOMER, customerKey);
+        }
+
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * JSON 본문의 최상위 customerKey 필드를 찾습니다. 본문 전체를 객체로 변환하지 않고 토큰 단위로 읽습니다.
+     * 같은 필드가 여러 번 있으면 컨트롤러는 마지막 값을 사용하므로, 중복된 필드가 있는 본문은 읽지 않습니다.
+     * @return customerKey가 없거나, 문자열이 아니거나, 본문이 maxBodySize보다 크거나 읽을 수 없다면 null을 반환합니다.
+     */
+    private String customerKey(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String customerKey = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (CUSTOMER_KEY.equals(name)) {
+                    if (value != JsonToken.VALUE_STRING) {
+                        return null;
+                    }
+                    customerKey = parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return parser.currentToken() == JsonToken.END_OBJECT ? customerKey : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void badRequest(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                Map.of("error", "customerKey is required in a JSON body of at most " + maxBodySize + " bytes"));
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", "Too many requests"));
+    }
+}
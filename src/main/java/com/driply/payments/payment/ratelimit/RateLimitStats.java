@@ -0,0 +1,15 @@
+package com.driply.payments.payment.ratelimit;
+
+/**
+ * @param allowed 허용한 요청 수입니다.
+ * @param throttled 제한을 넘어 거절한 요청 수입니다.
+ * @param buckets 현재 보관 중인 키별 버킷 수(추정치)입니다.
+ */
+public record RateLimitStats(
+        String endpoint,
+        RateLimitDimension dimension,
+        long allowed,
+        long throttled,
+        long buckets
+) {
+}
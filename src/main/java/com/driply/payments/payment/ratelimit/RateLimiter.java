@@ -0,0 +1,145 @@
+package com.driply.payments.payment.ratelimit;
+
+import com.driply.payments.config.PaymentRoutingProperties;
+import com.driply.payments.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 엔드포인트별로 customerKey, 가맹점, IP마다 요청 수를 제한합니다.
+ * 키별 버킷은 Caffeine 캐시에 보관하므로 조회는 락 없이 수행되고, 갱신은 키마다 CAS 한 번입니다.
+ * 요청이 없는 버킷은 idleTimeout 뒤에 삭제되고 버킷 수는 maximumBuckets를 넘지 않으므로, 고객 수와 관계없이 메모리 사용량이 제한됩니다.
+ */
+@Component
+public class RateLimiter {
+    private final Map<String, EndpointLimiter> endpoints = new HashMap<>();
+    private final String defaultMerchant;
+    private final Set<String> merchants;
+    private final LongSupplier ticker;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, PaymentRoutingProperties routingProperties) {
+        this(properties, routingProperties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, PaymentRoutingProperties routingProperties, LongSupplier ticker) {
+        this.defaultMerchant = routingProperties.getDefaultMerchant();
+        this.merchants = Set.copyOf(routingProperties.getMerchants().keySet());
+        this.ticker = ticker;
+        if (!properties.isEnabled()) {
+            return;
+        }
+        properties.getEndpoints().forEach((name, endpoint) -> {
+            if (endpoint.getPath() == null || endpoint.getPath().isBlank()) {
+                throw new IllegalStateException("payments.rate-limit.endpoints." + name + ".path is required");
+            }
+            EndpointLimiter limiter = new EndpointLimiter(name, properties, endpoint);
+            if (!limiter.buckets.isEmpty() && endpoints.putIfAbsent(endpoint.getPath(), limiter) != null) {
+                throw new IllegalStateException("Duplicate rate limit path: " + endpoint.getPath());
+            }
+        });
+    }
+
+    /**
+     * @return 요청 경로에 적용할 제한, 제한이 없다면 null을 반환합니다.
+     */
+    public EndpointLimiter find(String path) {
+        return endpoints.get(path);
+    }
+
+    /**
+     * X-Merchant-Id 헤더 값을 집계할 가맹점으로 바꿉니다.
+     * 헤더가 없거나 등록되지 않은 가맹점이라면 기본 가맹점으로 집계합니다. 등록되지 않은 가맹점의 요청은 라우팅에서 거절되거나 기본 가맹점으로 처리되기 때문입니다.
+     */
+    public String merchant(String requested) {
+        return requested != null && merchants.contains(requested) ? requested : defaultMerchant;
+    }
+
+    /**
+     * 지표 등록 시점에 엔드포인트 목록을 읽기 위해 사용합니다.
+     */
+    public Collection<EndpointLimiter> endpoints() {
+        return endpoints.values();
+    }
+
+    public final class EndpointLimiter {
+        private final String name;
+        private final Map<RateLimitDimension, KeyedBuckets> buckets = new EnumMap<>(RateLimitDimension.class);
+
+        private EndpointLimiter(String name, RateLimitProperties properties, RateLimitProperties.Endpoint endpoint) {
+            this.name = name;
+            add(RateLimitDimension.CUSTOMER, endpoint.getCustomer(), properties);
+            add(RateLimitDimension.MERCHANT, endpoint.getMerchant(), properties);
+            add(RateLimitDimension.IP, endpoint.getIp(), properties);
+        }
+
+        private void add(RateLimitDimension dimension, RateLimitProperties.Limit limit, RateLimitProperties properties) {
+            if (limit != null) {
+                buckets.put(dimension, new KeyedBuckets(limit, properties));
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean limits(RateLimitDimension dimension) {
+            return buckets.containsKey(dimension);
+        }
+
+        /**
+         * 키의 버킷에서 토큰 하나를 가져갑니다. 구분에 제한이 없거나 키가 없다면 허용합니다.
+         * @return 허용되었다면 0, 거절되었다면 다시 시도할 수 있을 때까지 남은 시간(ns)을 반환합니다.
+         */
+        public long tryAcquire(RateLimitDimension dimension, String key) {
+            KeyedBuckets keyed = buckets.get(dimension);
+            if (keyed == null || key == null || key.isEmpty()) {
+                return 0;
+            }
+            return keyed.tryAcquire(key, ticker.getAsLong());
+        }
+
+        public RateLimitStats stats(RateLimitDimension dimension) {
+            KeyedBuckets keyed = buckets.get(dimension);
+            return keyed == null ? new RateLimitStats(name, dimension, 0, 0, 0) : keyed.stats(name, dimension);
+        }
+    }
+
+    private static final class KeyedBuckets {
+        private final TokenBucket bucket;
+        private final Cache<String, AtomicLong> states;
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        private KeyedBuckets(RateLimitProperties.Limit limit, RateLimitProperties properties) {
+            this.bucket = new TokenBucket(limit.getPermits(), limit.getPeriod());
+            Duration idleTimeout = properties.getIdleTimeout().compareTo(limit.getPeriod()) < 0 ? limit.getPeriod() : properties.getIdleTimeout();
+            this.states = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaximumBuckets())
+                    .expireAfterAccess(idleTimeout)
+                    .build();
+        }
+
+        private long tryAcquire(String key, long now) {
+            long wait = bucket.tryAcquire(states.get(key, k -> bucket.newState(now)), now);
+            (wait == 0 ? allowed : throttled).increment();
+            return wait;
+        }
+
+        private RateLimitStats stats(String endpoint, RateLimitDimension dimension) {
+            return new RateLimitStats(endpoint, dimension, allowed.sum(), throttled.sum(), states.estimatedSize());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.driply.payments.payment.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 토큰 버킷 제한입니다. 키마다 남은 토큰 수 대신 다음 토큰이 채워지는 시각(GCRA의 theoretical arrival time) 하나만 보관하므로,
+ * 버킷 상태는 AtomicLong 하나이고 CAS 한 번으로 갱신합니다. 같은 키의 요청이 몰려도 락 없이 처리됩니다.
+ * 시각은 System.nanoTime 기준입니다.
+ */
+public final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    /**
+     * @param permits period 동안 허용하는 요청 수, 버킷의 크기입니다.
+     */
+    public TokenBucket(int permits, Duration period) {
+        if (permits <= 0 || period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("permits and period must be positive");
+        }
+        this.intervalNanos = Math.max(period.toNanos() / permits, 1);
+        this.burstNanos = intervalNanos * permits;
+    }
+
+    /**
+     * 토큰이 가득 찬 버킷 상태를 만듭니다.
+     */
+    public AtomicLong newState(long now) {
+        return new AtomicLong(now);
+    }
+
+    /**
+     * 토큰 하나를 가져갑니다.
+     * @return 허용되었다면 0, 거절되었다면 다음 토큰이 채워질 때까지 남은 시간(ns)을 반환합니다.
+     */
+    public long tryAcquire(AtomicLong state, long now) {
+        while (true) {
+            long arrival = state.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (state.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
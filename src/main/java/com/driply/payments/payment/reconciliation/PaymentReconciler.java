@@ -0,0 +1,176 @@
+package com.driply.payments.payment.reconciliation;
+
+import com.driply.payments.common.MoneyUtil;
+import com.driply.payments.config.ReconciliationProperties;
+import com.driply.payments.payment.dto.ReconciliationProgress;
+import com.driply.payments.payment.dto.ReconciliationRequest;
+import com.driply.payments.payment.entity.PaymentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * PG사 정산 파일과 payments 테이블을 대사합니다.
+ * 정산일의 결제를 paymentKey 순으로 서버 측 커서에서 fetchSize 건씩 읽고, 정산 파일을 같은 순서로 읽어 merge join 하므로
+ * 결제 수와 관계없이 힙 사용량이 일정합니다. 불일치 건은 리포트 파일(JSON lines)에 기록됩니다.
+ */
+@Component
+public class PaymentReconciler {
+    /**
+     * PostgreSQL은 트랜잭션 안에서 autocommit이 꺼져 있어야 fetchSize 단위로 커서를 읽습니다.
+     * 정렬은 DB 정렬 규칙과 관계없이 Java의 문자열 비교와 같도록 "C" collation으로 고정합니다.
+     */
+    private static final String STORED_PAYMENTS_SQL = """
+            select payment_key, order_id, total_amount, currency, status
+            from payments
+            where requested_at >= ? and requested_at < ?
+            order by payment_key collate "C"
+            """;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final ReconciliationProperties properties;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SettlementSorter settlementSorter;
+    private final Path settlementRoot;
+    private final Path reportRoot;
+    private final Map<String, ReconciliationReport> reports = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PaymentReconciler(ReconciliationProperties properties, ObjectMapper objectMapper, DataSource dataSource,
+                             PlatformTransactionManager transactionManager) throws IOException {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.settlementSorter = new SettlementSorter(properties, objectMapper);
+        this.settlementRoot = Path.of(properties.getSettlementDir()).toAbsolutePath().normalize();
+        this.reportRoot = Files.createDirectories(Path.of(properties.getReportDir()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 대사 작업을 시작합니다. 작업은 비동기로 수행되며 진행 현황은 progress로 확인합니다.
+     * @throws IllegalArgumentException 정산일이 없거나, 정산 파일이 settlement-dir 안에 없는 경우
+     */
+    public ReconciliationProgress submit(ReconciliationRequest request) throws IOException {
+        if (request.date() == null || request.file() == null || request.file().isBlank()) {
+            throw new IllegalArgumentException("date and file are required");
+        }
+        Path file = settlementRoot.resolve(request.file()).normalize();
+        if (!file.startsWith(settlementRoot) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Settlement file not found: " + request.file());
+        }
+        SettlementFormat format = request.format() == null ? SettlementFormat.of(file) : request.format();
+
+        String id = UUID.randomUUID().toString();
+        ReconciliationReport report = new ReconciliationReport(id, request.date(), request.file(), reportRoot.resolve(id + ".jsonl"), objectMapper);
+        reports.put(id, report);
+        executor.execute(() -> run(report, request.date(), file, format));
+        return report.progress();
+    }
+
+    public ReconciliationProgress progress(String reconciliationId) {
+        return find(reconciliationId).progress();
+    }
+
+    /**
+     * 모든 대사 작업의 진행 현황을 최근 시작한 순서로 반환합니다.
+     */
+    public List<ReconciliationProgress> reconciliations() {
+        return reports.values().stream()
+                .map(ReconciliationReport::progress)
+                .sorted(Comparator.comparing(ReconciliationProgress::startedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * 불일치 리포트 파일을 반환합니다. 실행 중인 작업의 리포트는 일부만 기록되어 있을 수 있습니다.
+     */
+    public Path reportFile(String reconciliationId) {
+        return find(reconciliationId).path();
+    }
+
+    private ReconciliationReport find(String reconciliationId) {
+        ReconciliationReport report = reports.get(reconciliationId);
+        if (report == null) {
+            throw new NoSuchElementException("Reconciliation not found: " + reconciliationId);
+        }
+        return report;
+    }
+
+    private void run(ReconciliationReport report, LocalDate date, Path file, SettlementFormat format) {
+        Path workDir = reportRoot.resolve(report.id() + "-work");
+        try (report) {
+            Files.createDirectories(workDir);
+            try (SettlementReader settled = settlementSorter.open(file, format, workDir)) {
+                reconcile(date, settled, report);
+            }
+            report.complete();
+            logger.info("Reconciliation {} completed: {}", report.id(), report.progress());
+        } catch (IOException | RuntimeException e) {
+            report.fail(e);
+            logger.warn("Reconciliation {} failed", report.id(), e);
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    private void reconcile(LocalDate date, SettlementReader settled, ReconciliationReport report) {
+        OffsetDateTime from = date.atStartOfDay(properties.getZone()).toOffsetDateTime();
+        OffsetDateTime to = date.plusDays(1).atStartOfDay(properties.getZone()).toOffsetDateTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<StoredPayment> stored = jdbcTemplate.queryForStream(STORED_PAYMENTS_SQL, (rs, rowNum) -> new StoredPayment(
+                    rs.getString("payment_key"),
+                    rs.getString("order_id"),
+                    MoneyUtil.fromMinorUnits(rs.getLong("total_amount"), rs.getString("currency")),
+                    PaymentStatus.fromCode(rs.getShort("status")).name()), from, to)) {
+                ReconciliationMerger.merge(stored.iterator(), settled, report);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void deleteRecursively(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to delete reconciliation work directory {}", directory, e);
+        }
+    }
+}
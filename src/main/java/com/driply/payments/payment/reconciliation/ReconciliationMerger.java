@@ -0,0 +1,89 @@
+package com.driply.payments.payment.reconciliation;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * paymentKey 순으로 정렬된 payments 테이블과 정산 파일을 merge join 합니다.
+ * 두 입력을 한 건씩만 앞서 읽으므로 메모리 사용량은 입력 크기와 관계없이 일정합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ReconciliationMerger {
+    /**
+     * @throws IllegalStateException 입력이 paymentKey 순으로 정렬되어 있지 않은 경우
+     */
+    static void merge(Iterator<StoredPayment> stored, Iterator<SettlementRecord> settled, ReconciliationReport report) throws IOException {
+        StoredPayment payment = nextStored(stored, null, report);
+        SettlementRecord record = nextSettled(settled, null, report);
+        while (payment != null || record != null) {
+            int compare = payment == null ? 1 : record == null ? -1 : payment.paymentKey().compareTo(record.paymentKey());
+            if (compare < 0) {
+                report.mismatch(ReconciliationMismatch.missingInSettlement(payment));
+                payment = nextStored(stored, payment, report);
+                continue;
+            }
+            if (compare > 0) {
+                report.mismatch(ReconciliationMismatch.missingInDatabase(record));
+                record = nextSettledSkippingDuplicates(settled, record, report);
+                continue;
+            }
+
+            boolean amountMatches = payment.amount() != null && record.amount() != null
+                    ? payment.amount().compareTo(record.amount()) == 0
+                    : Objects.equals(payment.amount(), record.amount());
+            boolean statusMatches = Objects.equals(payment.status(), record.status());
+            if (!amountMatches) {
+                report.mismatch(ReconciliationMismatch.of(ReconciliationMismatch.Type.AMOUNT_MISMATCH, payment, record));
+            }
+            if (!statusMatches) {
+                report.mismatch(ReconciliationMismatch.of(ReconciliationMismatch.Type.STATUS_MISMATCH, payment, record));
+            }
+            if (amountMatches && statusMatches) {
+                report.matched();
+            }
+            payment = nextStored(stored, payment, report);
+            record = nextSettledSkippingDuplicates(settled, record, report);
+        }
+    }
+
+    private static StoredPayment nextStored(Iterator<StoredPayment> stored, StoredPayment previous, ReconciliationReport report) {
+        if (!stored.hasNext()) {
+            return null;
+        }
+        StoredPayment next = stored.next();
+        report.storedRow();
+        if (previous != null && previous.paymentKey().compareTo(next.paymentKey()) > 0) {
+            throw new IllegalStateException("Stored payments are not ordered by paymentKey at " + next.paymentKey());
+        }
+        return next;
+    }
+
+    private static SettlementRecord nextSettled(Iterator<SettlementRecord> settled, SettlementRecord previous, ReconciliationReport report) {
+        if (!settled.hasNext()) {
+            return null;
+        }
+        SettlementRecord next = settled.next();
+        report.settlementRow();
+        if (previous != null && SettlementSorter.ORDER.compare(previous, next) > 0) {
+            throw new IllegalStateException("Settlement records are not ordered by paymentKey at " + next.paymentKey());
+        }
+        return next;
+    }
+
+    /**
+     * 다음 정산 건을 읽습니다. 방금 대사한 건과 paymentKey가 같은 건은 중복으로 기록하고 건너뜁니다.
+     */
+    private static SettlementRecord nextSettledSkippingDuplicates(Iterator<SettlementRecord> settled, SettlementRecord previous,
+                                                                  ReconciliationReport report) throws IOException {
+        SettlementRecord next = nextSettled(settled, previous, report);
+        while (next != null && next.paymentKey().equals(previous.paymentKey())) {
+            report.mismatch(ReconciliationMismatch.duplicate(next));
+            next = nextSettled(settled, next, report);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,56 @@
+package com.driply.payments.payment.reconciliation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * 대사 결과 리포트의 불일치 한 건입니다. 리포트 파일에 한 줄씩 기록됩니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReconciliationMismatch(
+        Type type,
+        String paymentKey,
+        String orderId,
+        BigDecimal storedAmount,
+        BigDecimal settledAmount,
+        String storedStatus,
+        String settledStatus
+) {
+    public enum Type {
+        /**
+         * 정산 파일에는 있지만 payments 테이블에 없는 결제입니다.
+         */
+        MISSING_IN_DATABASE,
+        /**
+         * payments 테이블에는 있지만 정산 파일에 없는 결제입니다.
+         */
+        MISSING_IN_SETTLEMENT,
+        AMOUNT_MISMATCH,
+        STATUS_MISMATCH,
+        /**
+         * 정산 파일에 같은 paymentKey가 두 번 이상 기록된 결제입니다.
+         */
+        DUPLICATE_IN_SETTLEMENT
+    }
+
+    static ReconciliationMismatch missingInDatabase(SettlementRecord settled) {
+        return new ReconciliationMismatch(Type.MISSING_IN_DATABASE, settled.paymentKey(), settled.orderId(),
+                null, settled.amount(), null, settled.status());
+    }
+
+    static ReconciliationMismatch missingInSettlement(StoredPayment stored) {
+        return new ReconciliationMismatch(Type.MISSING_IN_SETTLEMENT, stored.paymentKey(), stored.orderId(),
+                stored.amount(), null, stored.status(), null);
+    }
+
+    static ReconciliationMismatch duplicate(SettlementRecord settled) {
+        return new ReconciliationMismatch(Type.DUPLICATE_IN_SETTLEMENT, settled.paymentKey(), settled.orderId(),
+                null, settled.amount(), null, settled.status());
+    }
+
+    static ReconciliationMismatch of(Type type, StoredPayment stored, SettlementRecord settled) {
+        return new ReconciliationMismatch(type, stored.paymentKey(), stored.orderId(),
+                stored.amount(), settled.amount(), stored.status(), settled.status());
+    }
+}
@@ -0,0 +1,108 @@
+package com.driply.payments.payment.reconciliation;
+
+import com.driply.payments.payment.dto.ReconciliationProgress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 대사 작업 하나의 결과입니다. 불일치는 메모리에 모으지 않고 리포트 파일에 한 줄씩 기록하며, 건수만 집계합니다.
+ * 기록은 대사를 수행하는 스레드 하나에서만 하고, 진행 현황은 다른 스레드에서 조회할 수 있습니다.
+ */
+public class ReconciliationReport implements Closeable {
+    private final String id;
+    private final LocalDate date;
+    private final String file;
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong settlementRows = new AtomicLong();
+    private final AtomicLong storedRows = new AtomicLong();
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLongArray mismatches = new AtomicLongArray(ReconciliationMismatch.Type.values().length);
+    private volatile ReconciliationProgress.State state = ReconciliationProgress.State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ReconciliationReport(String id, LocalDate date, String file, Path path, ObjectMapper objectMapper) throws IOException {
+        this.id = id;
+        this.date = date;
+        this.file = file;
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    void settlementRow() {
+        settlementRows.incrementAndGet();
+    }
+
+    void storedRow() {
+        storedRows.incrementAndGet();
+    }
+
+    void matched() {
+        matched.incrementAndGet();
+    }
+
+    void mismatch(ReconciliationMismatch mismatch) throws IOException {
+        mismatches.incrementAndGet(mismatch.type().ordinal());
+        writer.write(objectMapper.writeValueAsString(mismatch));
+        writer.newLine();
+    }
+
+    void complete() throws IOException {
+        writer.flush();
+        finish(ReconciliationProgress.State.COMPLETED, null);
+    }
+
+    void fail(Exception e) {
+        finish(ReconciliationProgress.State.FAILED, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+    }
+
+    private void finish(ReconciliationProgress.State state, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = state;
+    }
+
+    public ReconciliationProgress progress() {
+        return new ReconciliationProgress(id, date, file, state,
+                settlementRows.get(),
+                storedRows.get(),
+                matched.get(),
+                count(ReconciliationMismatch.Type.MISSING_IN_DATABASE),
+                count(ReconciliationMismatch.Type.MISSING_IN_SETTLEMENT),
+                count(ReconciliationMismatch.Type.AMOUNT_MISMATCH),
+                count(ReconciliationMismatch.Type.STATUS_MISMATCH),
+                count(ReconciliationMismatch.Type.DUPLICATE_IN_SETTLEMENT),
+                startedAt, finishedAt, error);
+    }
+
+    private long count(ReconciliationMismatch.Type type) {
+        return mismatches.get(type.ordinal());
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,25 @@
+package com.driply.payments.payment.reconciliation;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 정산 파일 형식입니다.
+ */
+public enum SettlementFormat {
+    /**
+     * 첫 줄이 헤더인 CSV 입니다. 컬럼 이름은 payments.reconciliation.csv-columns로 지정합니다.
+     */
+    CSV,
+    /**
+     * 한 줄에 SettlementRecord 하나를 JSON으로 기록한 파일입니다.
+     */
+    JSON_LINES;
+
+    /**
+     * 확장자로 형식을 정합니다. .csv가 아니라면 JSON lines로 읽습니다.
+     */
+    public static SettlementFormat of(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : JSON_LINES;
+    }
+}
@@ -0,0 +1,157 @@
+package com.driply.payments.payment.reconciliation;
+
+import com.driply.payments.config.ReconciliationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 정산 파일을 한 줄씩 읽습니다. 파일 전체를 메모리에 올리지 않으며, 큰 버퍼로 순차 읽기만 수행합니다.
+ * 빈 줄은 건너뛰고, 형식이 잘못된 줄은 줄 번호와 함께 IllegalArgumentException으로 실패합니다.
+ */
+public class SettlementReader implements Iterator<SettlementRecord>, Closeable {
+    private final BufferedReader reader;
+    private final SettlementFormat format;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private int[] columns;
+    private long lineNumber;
+    private SettlementRecord next;
+
+    public SettlementReader(Path file, SettlementFormat format, ReconciliationProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.file = file;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), properties.getReadBufferSize());
+        if (format == SettlementFormat.CSV) {
+            this.columns = readHeader(properties.getCsvColumns());
+        }
+        this.next = read();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public SettlementRecord next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        SettlementRecord current = next;
+        try {
+            next = read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private SettlementRecord read() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            SettlementRecord record = format == SettlementFormat.CSV ? parseCsv(line) : objectMapper.readValue(line, SettlementRecord.class);
+            if (record.paymentKey() == null || record.paymentKey().isEmpty()) {
+                throw new IllegalArgumentException("paymentKey is empty");
+            }
+            return record;
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid settlement record at " + file.getFileName() + ":" + lineNumber + " - " + e.getMessage(), e);
+        }
+    }
+
+    private int[] readHeader(ReconciliationProperties.CsvColumns names) throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if (header == null) {
+            return null;
+        }
+        List<String> fields = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        int[] indexes = {
+                fields.indexOf(names.getPaymentKey()),
+                fields.indexOf(names.getOrderId()),
+                fields.indexOf(names.getAmount()),
+                fields.indexOf(names.getStatus())
+        };
+        if (indexes[0] < 0 || indexes[2] < 0 || indexes[3] < 0) {
+            throw new IllegalArgumentException("Settlement file " + file.getFileName() + " must have "
+                    + names.getPaymentKey() + ", " + names.getAmount() + " and " + names.getStatus() + " columns");
+        }
+        return indexes;
+    }
+
+    private SettlementRecord parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        String amount = field(fields, columns[2]);
+        return new SettlementRecord(
+                field(fields, columns[0]),
+                field(fields, columns[1]),
+                amount == null ? null : new BigDecimal(amount.replace(",", "")),
+                field(fields, columns[3]));
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180 형식의 한 줄을 필드로 나눕니다. 따옴표 안의 쉼표와 "" 이스케이프를 처리하며, 필드 안의 줄바꿈은 지원하지 않습니다.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,18 @@
+package com.driply.payments.payment.reconciliation;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * PG사 정산 파일의 결제 한 건입니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SettlementRecord(
+        String paymentKey,
+        String orderId,
+        @JsonAlias("totalAmount") BigDecimal amount,
+        String status
+) {
+}
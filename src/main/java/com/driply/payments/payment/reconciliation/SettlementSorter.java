@@ -0,0 +1,121 @@
+package com.driply.payments.payment.reconciliation;
+
+import com.driply.payments.config.ReconciliationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 정산 파일을 paymentKey 순으로 읽을 수 있게 합니다.
+ * 이미 정렬된 파일은 그대로 읽고, 정렬되지 않은 파일은 sortChunkSize 건씩 정렬한 임시 파일을 병합하여
+ * 메모리 사용량을 sortChunkSize 건으로 제한합니다.
+ */
+class SettlementSorter {
+    /**
+     * payments 조회의 order by payment_key collate "C"와 같은 순서입니다.
+     */
+    static final Comparator<SettlementRecord> ORDER = Comparator.comparing(SettlementRecord::paymentKey);
+
+    private final ReconciliationProperties properties;
+    private final ObjectMapper objectMapper;
+
+    SettlementSorter(ReconciliationProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * paymentKey 순으로 정산 파일을 읽는 reader를 엽니다.
+     * @param workDir 외부 정렬의 임시 파일을 기록할 디렉토리입니다. 대사가 끝나면 호출한 쪽에서 삭제합니다.
+     */
+    SettlementReader open(Path file, SettlementFormat format, Path workDir) throws IOException {
+        if (isSorted(file, format)) {
+            return new SettlementReader(file, format, properties, objectMapper);
+        }
+        List<Path> chunks = writeSortedChunks(file, format, workDir);
+        Path sorted = workDir.resolve("sorted.jsonl");
+        merge(chunks, sorted);
+        for (Path chunk : chunks) {
+            Files.deleteIfExists(chunk);
+        }
+        return new SettlementReader(sorted, SettlementFormat.JSON_LINES, properties, objectMapper);
+    }
+
+    private boolean isSorted(Path file, SettlementFormat format) throws IOException {
+        try (SettlementReader reader = new SettlementReader(file, format, properties, objectMapper)) {
+            SettlementRecord previous = null;
+            while (reader.hasNext()) {
+                SettlementRecord current = reader.next();
+                if (previous != null && ORDER.compare(previous, current) > 0) {
+                    return false;
+                }
+                previous = current;
+            }
+            return true;
+        }
+    }
+
+    private List<Path> writeSortedChunks(Path file, SettlementFormat format, Path workDir) throws IOException {
+        List<Path> chunks = new ArrayList<>();
+        List<SettlementRecord> buffer = new ArrayList<>(properties.getSortChunkSize());
+        try (SettlementReader reader = new SettlementReader(file, format, properties, objectMapper)) {
+            while (reader.hasNext()) {
+                buffer.add(reader.next());
+                if (buffer.size() == properties.getSortChunkSize() || !reader.hasNext()) {
+                    buffer.sort(ORDER);
+                    Path chunk = workDir.resolve("chunk-" + chunks.size() + ".jsonl");
+                    write(buffer, chunk);
+                    chunks.add(chunk);
+                    buffer.clear();
+                }
+            }
+        }
+        return chunks;
+    }
+
+    private void write(List<SettlementRecord> records, Path chunk) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(chunk, StandardCharsets.UTF_8)) {
+            for (SettlementRecord record : records) {
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.newLine();
+            }
+        }
+    }
+
+    private void merge(List<Path> chunks, Path sorted) throws IOException {
+        List<SettlementReader> readers = new ArrayList<>(chunks.size());
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::record, ORDER));
+        try (BufferedWriter writer = Files.newBufferedWriter(sorted, StandardCharsets.UTF_8)) {
+            for (Path chunk : chunks) {
+                SettlementReader reader = new SettlementReader(chunk, SettlementFormat.JSON_LINES, properties, objectMapper);
+                readers.add(reader);
+                if (reader.hasNext()) {
+                    heads.add(new Head(reader.next(), reader));
+                }
+            }
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                writer.write(objectMapper.writeValueAsString(head.record()));
+                writer.newLine();
+                if (head.reader().hasNext()) {
+                    heads.add(new Head(head.reader().next(), head.reader()));
+                }
+            }
+        } finally {
+            for (SettlementReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private record Head(SettlementRecord record, SettlementReader reader) {
+    }
+}
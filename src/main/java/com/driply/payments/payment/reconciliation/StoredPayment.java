@@ -0,0 +1,9 @@
+package com.driply.payments.payment.reconciliation;
+
+import java.math.BigDecimal;
+
+/**
+ * 대사에 사용하는 payments 테이블의 결제 한 건입니다.
+ */
+public record StoredPayment(String paymentKey, String orderId, BigDecimal amount, String status) {
+}
@@ -0,0 +1,22 @@
+package com.driply.payments.payment.repository;
+
+import com.driply.payments.payment.entity.BillingKey;
+import com.driply.payments.payment.entity.BillingKeyId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BillingKeyRepository extends JpaRepository<BillingKey, BillingKeyId> {
+    /**
+     * PG사, 가맹점의 빌링키 중 주어진 고객들의 빌링키를 조회합니다.
+     */
+    List<BillingKey> findByPaymentProviderAndMerchantAndCustomerKeyIn(String paymentProvider, String merchant, Collection<String> customerKeys);
+
+    /**
+     * PG사, 가맹점의 빌링키를 customerKey 순서로 다음 페이지만큼 조회합니다.
+     */
+    List<BillingKey> findByPaymentProviderAndMerchantAndCustomerKeyGreaterThanOrderByCustomerKeyAsc(String paymentProvider, String merchant,
+                                                                                                  String customerKey, Limit limit);
+}
@@ -0,0 +1,16 @@
+package com.driply.payments.payment.repository;
+
+import com.driply.payments.payment.dto.PaymentCursor;
+import com.driply.payments.payment.dto.PaymentSearchCondition;
+import com.driply.payments.payment.dto.PaymentSummary;
+
+import java.util.List;
+
+public interface PaymentQueryRepository {
+    /**
+     * 조건에 맞는 결제를 요청 시각의 역순으로 조회합니다.
+     * offset 대신 커서 이후의 범위를 조회하므로, 페이지 위치와 관계없이 인덱스에서 limit 건만 읽습니다.
+     * @param cursor 이전 페이지의 마지막 결제, 첫 페이지라면 null 입니다.
+     */
+    List<PaymentSummary> search(PaymentSearchCondition condition, PaymentCursor cursor, int limit);
+}
@@ -0,0 +1,82 @@
+package com.driply.payments.payment.repository;
+
+import com.driply.payments.payment.dto.PaymentCursor;
+import com.driply.payments.payment.dto.PaymentSearchCondition;
+import com.driply.payments.payment.dto.PaymentSummary;
+import com.driply.payments.payment.entity.Payment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 조건이 있는 컬럼만 where 절에 포함하여 조회합니다.
+ * (:status is null or status = :status) 형태의 조건은 PostgreSQL이 일반 실행 계획으로 전환한 뒤 인덱스를 사용하지 못하므로 사용하지 않습니다.
+ */
+@RequiredArgsConstructor
+public class PaymentQueryRepositoryImpl implements PaymentQueryRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<PaymentSummary> search(PaymentSearchCondition condition, PaymentCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PaymentSummary> query = cb.createQuery(PaymentSummary.class);
+        Root<Payment> payment = query.from(Payment.class);
+        Path<OffsetDateTime> requestedAt = payment.get("requestedAt");
+        Path<Long> paymentId = payment.get("paymentId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (condition.orderId() != null) {
+            predicates.add(cb.equal(payment.get("orderId"), condition.orderId()));
+        }
+        if (condition.status() != null) {
+            predicates.add(cb.equal(payment.get("status"), condition.status()));
+        }
+        if (condition.provider() != null) {
+            predicates.add(cb.equal(payment.get("paymentProvider"), condition.provider()));
+        }
+        if (condition.merchant() != null) {
+            predicates.add(cb.equal(payment.get("merchant"), condition.merchant()));
+        }
+        if (condition.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(requestedAt, condition.from()));
+        }
+        if (condition.to() != null) {
+            predicates.add(cb.lessThan(requestedAt, condition.to()));
+        }
+        if (cursor != null) {
+            // requestedAt <= :t 조건으로 인덱스 탐색 범위를 정하고, 같은 시각의 결제는 paymentId로 이어서 읽습니다.
+            predicates.add(cb.lessThanOrEqualTo(requestedAt, cursor.requestedAt()));
+            predicates.add(cb.or(
+                    cb.lessThan(requestedAt, cursor.requestedAt()),
+                    cb.lessThan(paymentId, cursor.paymentId())));
+        }
+
+        query.select(cb.construct(PaymentSummary.class,
+                        paymentId,
+                        payment.get("orderId"),
+                        payment.get("paymentKey"),
+                        payment.get("paymentProvider"),
+                        payment.get("merchant"),
+                        payment.get("totalAmount"),
+                        payment.get("canceledAmount"),
+                        payment.get("currency"),
+                        payment.get("status"),
+                        payment.get("method"),
+                        requestedAt,
+                        payment.get("approvedAt")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(requestedAt), cb.desc(paymentId));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
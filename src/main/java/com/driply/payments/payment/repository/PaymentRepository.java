@@ -1,8 +1,38 @@
 package com.driply.payments.payment.repository;
 
+import com.driply.payments.payment.dto.PaymentSummary;
 import com.driply.payments.payment.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
 
+public interface PaymentRepository extends JpaRepository<Payment, Long>, PaymentQueryRepository {
+    Optional<Payment> findByPaymentKey(String paymentKey);
+
+    Optional<Payment> findFirstByOrderIdOrderByPaymentIdDesc(String orderId);
+
+    boolean existsByPaymentKey(String paymentKey);
+
+    boolean existsByOrderId(String orderId);
+
+    /**
+     * 결제의 PG사 응답 원문만 조회합니다. 원문은 payment_raw_responses에 있으므로 Payment를 읽지 않고 join 합니다.
+     */
+    @Query("select r.body from Payment p join p.rawResponse r where p.paymentKey = :paymentKey")
+    Optional<String> findRawResponseByPaymentKey(@Param("paymentKey") String paymentKey);
+
+    @Query("select new com.driply.payments.payment.dto.PaymentSummary(p.paymentId, p.orderId, p.paymentKey, p.paymentProvider, p.merchant, "
+            + "p.totalAmount, p.canceledAmount, p.currency, p.status, p.method, p.requestedAt, p.approvedAt) "
+            + "from Payment p where p.paymentKey = :paymentKey")
+    Optional<PaymentSummary> findSummaryByPaymentKey(@Param("paymentKey") String paymentKey);
+
+    @Query("select p.paymentKey from Payment p where p.paymentKey in :paymentKeys")
+    Set<String> findExistingPaymentKeys(@Param("paymentKeys") Collection<String> paymentKeys);
+
+    @Query("select p.orderId from Payment p where p.orderId in :orderIds")
+    Set<String> findExistingOrderIds(@Param("orderIds") Collection<String> orderIds);
 }
@@ -0,0 +1,72 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.config.PaymentCacheProperties;
+import com.driply.payments.payment.entity.BillingKey;
+import com.driply.payments.payment.entity.BillingKeyId;
+import com.driply.payments.payment.repository.BillingKeyRepository;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * PG사, 가맹점, customerKey별 빌링키 저장소입니다. 다른 가맹점에서 발급된 빌링키로는 결제할 수 없습니다.
+ * DB에 저장된 빌링키 앞에 크기와 유효기간이 제한된 캐시를 두어, 정기결제 시 DB 조회 없이 빌링키를 찾습니다.
+ */
+@Component
+public class BillingKeyStore {
+    private final BillingKeyRepository billingKeyRepository;
+    private final LoadingCache<BillingKeyId, String> cache;
+
+    @Autowired
+    public BillingKeyStore(BillingKeyRepository billingKeyRepository, PaymentCacheProperties properties) {
+        this(billingKeyRepository, properties, Ticker.systemTicker());
+    }
+
+    BillingKeyStore(BillingKeyRepository billingKeyRepository, PaymentCacheProperties properties, Ticker ticker) {
+        this.billingKeyRepository = billingKeyRepository;
+        PaymentCacheProperties.Spec spec = properties.getBillingKey();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .ticker(ticker)
+                .recordStats()
+                .build(this::load);
+    }
+
+    /**
+     * 요청을 처리하는 PG사, 가맹점에서 발급된 고객의 빌링키를 조회합니다. 캐시에 없는 경우에만 DB를 조회합니다.
+     * @param target 요청을 처리하는 PG사와 가맹점입니다.
+     * @param customerKey 상점에서 만든 고객의 고유 ID입니다.
+     * @return 빌링키, 발급 이력이 없다면 null을 반환합니다.
+     */
+    public String find(PaymentTarget target, String customerKey) {
+        return cache.get(new BillingKeyId(target.strategy().provider(), target.credentials().merchant(), customerKey));
+    }
+
+    /**
+     * 발급된 빌링키를 DB에 저장한 뒤 캐시에 반영합니다.
+     * @param billingKey 발급된 빌링키 정보입니다.
+     */
+    public void save(BillingKey billingKey) {
+        billingKeyRepository.save(billingKey);
+        cache.put(billingKey.id(), billingKey.getBillingKey());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private String load(BillingKeyId id) {
+        return billingKeyRepository.findById(id)
+                .map(BillingKey::getBillingKey)
+                .orElse(null);
+    }
+}
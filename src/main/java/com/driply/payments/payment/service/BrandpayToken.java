@@ -0,0 +1,33 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.strategy.PaymentTarget;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 캐시에 보관하는 브랜드페이 Access Token입니다.
+ * @param target 갱신 요청에 사용할 라우팅 대상입니다.
+ * @param expiresAt Access Token이 만료되는 시각입니다.
+ */
+record BrandpayToken(PaymentTarget target, String customerKey, String accessToken, String refreshToken, String tokenType,
+                     Instant expiresAt) {
+
+    static BrandpayToken of(PaymentTarget target, String customerKey, AccessTokenResponse response, Instant issuedAt) {
+        long expiresIn = response.expiresIn() == null ? 0 : response.expiresIn();
+        return new BrandpayToken(target, customerKey, response.accessToken(), response.refreshToken(), response.tokenType(),
+                issuedAt.plusSeconds(expiresIn));
+    }
+
+    boolean expiresWithin(Duration duration, Instant now) {
+        return !expiresAt.isAfter(now.plus(duration));
+    }
+
+    /**
+     * 남은 유효기간을 expiresIn으로 하는 발급 응답으로 변환합니다. Refresh Token은 캐시 안에서만 사용하므로 포함하지 않습니다.
+     */
+    AccessTokenResponse toResponse(Instant now) {
+        return new AccessTokenResponse(accessToken, null, tokenType, Math.max(0, Duration.between(now, expiresAt).toSeconds()));
+    }
+}
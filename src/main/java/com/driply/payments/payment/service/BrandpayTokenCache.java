@@ -0,0 +1,232 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.config.PaymentCacheProperties;
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * customerKey별 브랜드페이 Access Token 캐시입니다.
+ * 발급받은 Access Token과 Refresh Token을 보관하여, 서버에서 고객의 토큰이 필요할 때 PG사 호출 없이 사용합니다.
+ * 캐시된 토큰은 클라이언트에 응답하지 않으며, Refresh Token은 캐시 밖으로 내보내지 않습니다.
+ * 만료가 가까운 토큰은 백그라운드에서 Refresh Token으로 미리 갱신하며, 같은 고객의 갱신 요청은 하나의 PG사 호출로 합칩니다.
+ * 캐시 크기와 유효기간이 제한되며, 유효기간은 갱신으로 연장되지 않습니다.
+ */
+@Component
+public class BrandpayTokenCache {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PaymentCacheProperties properties;
+    private final PaymentMetrics paymentMetrics;
+    private final Clock clock;
+    private final Cache<String, BrandpayToken> cache;
+    private final Map<String, CompletableFuture<BrandpayToken>> refreshing = new ConcurrentHashMap<>();
+    private final Semaphore backgroundRefreshes;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("brandpay-token-refresh").daemon().factory());
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    @Autowired
+    public BrandpayTokenCache(PaymentCacheProperties properties, PaymentMetrics paymentMetrics) {
+        this(properties, paymentMetrics, Clock.systemUTC());
+    }
+
+    BrandpayTokenCache(PaymentCacheProperties properties, PaymentMetrics paymentMetrics, Clock clock) {
+        this.properties = properties;
+        this.paymentMetrics = paymentMetrics;
+        this.clock = clock;
+        this.backgroundRefreshes = new Semaphore(properties.getBrandpayTokenRefreshConcurrency());
+        PaymentCacheProperties.Spec spec = properties.getBrandpayToken();
+        long ttlNanos = spec.getExpireAfterWrite().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfter(new Expiry<String, BrandpayToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, BrandpayToken token, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, BrandpayToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, BrandpayToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = properties.getBrandpayTokenRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshExpiring, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * 서버에서 사용할 고객의 유효한 Access Token을 조회합니다.
+     * 만료된 토큰은 Refresh Token으로 갱신한 뒤 반환하고, 만료가 가까운 토큰은 반환과 함께 백그라운드 갱신을 시작합니다.
+     * @return 남은 유효기간을 expiresIn으로 하는 발급 응답, 유효한 토큰이 없다면 null을 반환합니다.
+     */
+    public AccessTokenResponse find(PaymentTarget target, String customerKey) throws IOException {
+        String key = key(target, customerKey);
+        BrandpayToken token = cache.getIfPresent(key);
+        Instant now = clock.instant();
+        if (token != null && token.expiresWithin(Duration.ZERO, now)) {
+            token = await(refresh(key, token));
+            now = clock.instant();
+        } else if (token != null && token.expiresWithin(properties.getBrandpayTokenRefreshAhead(), now)) {
+            refresh(key, token);
+        }
+        if (token == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return token.toResponse(now);
+    }
+
+    /**
+     * Authorization Code로 새로 발급받은 토큰을 저장합니다. 이전 토큰과 유효기간은 대체됩니다.
+     */
+    public void put(PaymentTarget target, String customerKey, AccessTokenResponse response) {
+        if (response.accessToken() == null) {
+            return;
+        }
+        String key = key(target, customerKey);
+        cache.invalidate(key);
+        cache.put(key, BrandpayToken.of(target, customerKey, response, clock.instant()));
+    }
+
+    public BrandpayTokenCacheStats stats() {
+        return new BrandpayTokenCacheStats(hits.sum(), misses.sum(), refreshes.sum(), refreshFailures.sum(), cache.estimatedSize());
+    }
+
+    /**
+     * 만료가 가까운 토큰의 갱신을 시작합니다. 동시에 진행하는 갱신 수를 넘으면 남은 토큰은 다음 주기에 갱신합니다.
+     */
+    void refreshExpiring() {
+        Instant now = clock.instant();
+        Duration ahead = properties.getBrandpayTokenRefreshAhead();
+        try {
+            for (Map.Entry<String, BrandpayToken> entry : cache.asMap().entrySet()) {
+                if (!entry.getValue().expiresWithin(ahead, now) || refreshing.containsKey(entry.getKey())) {
+                    continue;
+                }
+                if (!backgroundRefreshes.tryAcquire()) {
+                    return;
+                }
+                refresh(entry.getKey(), entry.getValue()).whenComplete((token, e) -> backgroundRefreshes.release());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Brandpay token refresh scan failed", e);
+        }
+    }
+
+    /**
+     * 토큰 갱신을 시작합니다. 같은 고객의 갱신이 진행 중이라면 해당 갱신의 결과를 공유합니다.
+     */
+    private CompletableFuture<BrandpayToken> refresh(String key, BrandpayToken token) {
+        CompletableFuture<BrandpayToken> call = new CompletableFuture<>();
+        CompletableFuture<BrandpayToken> existing = refreshing.putIfAbsent(key, call);
+        if (existing != null) {
+            return existing;
+        }
+        executor.execute(() -> {
+            try {
+                call.complete(requestRefresh(key, token));
+            } catch (IOException | RuntimeException e) {
+                refreshFailures.increment();
+                logger.warn("Brandpay token refresh failed for {}", token.customerKey(), e);
+                call.complete(null);
+            } finally {
+                refreshing.remove(key, call);
+            }
+        });
+        return call;
+    }
+
+    /**
+     * Refresh Token으로 Access Token을 다시 발급받습니다.
+     * PG사가 Refresh Token을 거절하면 캐시에서 제거하고, 통신 실패라면 만료될 때까지 기존 토큰을 유지합니다.
+     * @return 갱신된 토큰, 실패했다면 null을 반환합니다.
+     */
+    private BrandpayToken requestRefresh(String key, BrandpayToken token) throws IOException {
+        AccessTokenDTO request = AccessTokenDTO.builder()
+                .grantType("RefreshToken")
+                .customerKey(token.customerKey())
+                .refreshToken(token.refreshToken())
+                .build();
+        PaymentTarget target = token.target();
+        PgResponse<AccessTokenResponse> response = paymentMetrics.observe("access-token-refresh", target, () ->
+                target.strategy().issueAccessToken(target.credentials(), request));
+        if (response.isSuccess() && response.data().accessToken() != null) {
+            AccessTokenResponse data = response.data();
+            AccessTokenResponse refreshed = data.refreshToken() != null ? data
+                    : new AccessTokenResponse(data.accessToken(), token.refreshToken(), data.tokenType(), data.expiresIn());
+            BrandpayToken renewed = BrandpayToken.of(target, token.customerKey(), refreshed, clock.instant());
+            cache.asMap().computeIfPresent(key, (k, current) -> renewed);
+            refreshes.increment();
+            return renewed;
+        }
+
+        refreshFailures.increment();
+        if (response.statusCode() >= 400 && response.statusCode() < 500 && response.statusCode() != 429) {
+            cache.asMap().remove(key, token);
+        }
+        return null;
+    }
+
+    private BrandpayToken await(CompletableFuture<BrandpayToken> refresh) throws IOException {
+        try {
+            return refresh.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for brandpay token refresh");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static String key(PaymentTarget target, String customerKey) {
+        return target.strategy().provider() + ':' + target.credentials().merchant() + ':' + customerKey;
+    }
+}
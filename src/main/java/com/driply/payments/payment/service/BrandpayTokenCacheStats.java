@@ -0,0 +1,15 @@
+package com.driply.payments.payment.service;
+
+/**
+ * 브랜드페이 Access Token 캐시 현황입니다.
+ * @param hits 캐시된 Access Token으로 응답한 요청 수
+ * @param misses PG사로 Access Token 발급을 요청한 요청 수
+ * @param refreshes Refresh Token으로 갱신에 성공한 횟수
+ * @param refreshFailures 갱신에 실패한 횟수
+ * @param size 캐시된 Access Token 수
+ */
+public record BrandpayTokenCacheStats(long hits, long misses, long refreshes, long refreshFailures, long size) {
+    public double hitRate() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+}
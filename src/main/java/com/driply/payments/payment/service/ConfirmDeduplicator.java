@@ -0,0 +1,160 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.config.PaymentCacheProperties;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 같은 orderId, paymentKey, amount에 대한 결제 승인 요청을 하나의 PG사 호출로 합칩니다.
+ * 금액이 다른 요청은 중복으로 보지 않고 PG사로 전달하여 PG사가 금액 불일치를 판단하도록 합니다.
+ * 동시에 들어온 중복 요청은 진행 중인 호출의 결과를 기다려 공유하고,
+ * 승인이 끝난 요청은 크기와 유효기간이 제한된 캐시의 결과로 응답합니다.
+ * PG사 통신 실패나 에러 응답처럼 다시 시도할 수 있는 결과는 캐시하지 않습니다.
+ */
+@Component
+public class ConfirmDeduplicator {
+    private final PaymentRepository paymentRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean databaseLookup;
+    private final Cache<String, PgResponse<PaymentResponse>> completed;
+    private final Map<String, CompletableFuture<PgResponse<PaymentResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+
+    public ConfirmDeduplicator(PaymentRepository paymentRepository, ObjectMapper objectMapper, PaymentCacheProperties properties) {
+        this.paymentRepository = paymentRepository;
+        this.objectMapper = objectMapper;
+        this.databaseLookup = properties.isConfirmDatabaseLookup();
+        PaymentCacheProperties.Spec spec = properties.getConfirm();
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .build();
+    }
+
+    /**
+     * 중복 요청이 아닌 경우에만 결제 승인 요청을 실행합니다.
+     * @param orderId 주문번호입니다.
+     * @param paymentKey 결제의 키값입니다.
+     * @param amount 승인할 결제 금액입니다.
+     * @param confirm PG사로 결제 승인 요청을 보내는 작업입니다.
+     * @return 결제 승인 결과를 반환합니다. 중복 요청이라면 먼저 들어온 요청의 결과를 반환합니다.
+     * @throws IOException
+     */
+    public PgResponse<PaymentResponse> confirm(String orderId, String paymentKey, Long amount,
+                                               PaymentExecutor.PaymentTask<PgResponse<PaymentResponse>> confirm) throws IOException {
+        if (orderId == null || paymentKey == null || amount == null) {
+            return confirm.call();
+        }
+        requests.increment();
+        String key = key(orderId, paymentKey, amount);
+        PgResponse<PaymentResponse> cached = completed.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        CompletableFuture<PgResponse<PaymentResponse>> call = new CompletableFuture<>();
+        CompletableFuture<PgResponse<PaymentResponse>> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            PgResponse<PaymentResponse> response = completed.getIfPresent(key);
+            if (response != null) {
+                cacheHits.increment();
+            } else {
+                response = findStored(orderId, paymentKey, amount);
+                if (response == null) {
+                    response = confirm.call();
+                }
+                if (isConfirmed(response)) {
+                    completed.put(key, response);
+                }
+            }
+            call.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public ConfirmDeduplicatorStats stats() {
+        return new ConfirmDeduplicatorStats(requests.sum(), cacheHits.sum(), coalesced.sum(), storeHits.sum());
+    }
+
+    private PgResponse<PaymentResponse> findStored(String orderId, String paymentKey, long amount) throws IOException {
+        if (!databaseLookup) {
+            return null;
+        }
+        String stored = paymentRepository.findRawResponseByPaymentKey(paymentKey).orElse(null);
+        if (stored == null) {
+            return null;
+        }
+        byte[] body = stored.getBytes(StandardCharsets.UTF_8);
+        PaymentResponse payment = objectMapper.readValue(body, PaymentResponse.class);
+        if (!Objects.equals(payment.orderId(), orderId) || !hasAmount(payment, amount)) {
+            return null;
+        }
+        storeHits.increment();
+        return new PgResponse<>(200, body, payment);
+    }
+
+    private PgResponse<PaymentResponse> await(CompletableFuture<PgResponse<PaymentResponse>> call) throws IOException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for in-flight confirm");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private boolean hasAmount(PaymentResponse payment, long amount) {
+        return payment.totalAmount() != null && payment.totalAmount().compareTo(BigDecimal.valueOf(amount)) == 0;
+    }
+
+    /**
+     * 같은 결제 승인 요청인지 구분하는 키입니다. PG사로 보내는 Idempotency-Key로도 사용합니다.
+     */
+    static String key(String orderId, String paymentKey, Long amount) {
+        return orderId + ':' + paymentKey + ':' + amount;
+    }
+
+    /**
+     * PG사가 승인에 성공한 Payment 객체를 반환한 경우에만 승인이 끝난 것으로 봅니다.
+     */
+    private boolean isConfirmed(PgResponse<PaymentResponse> response) {
+        return response.isSuccess() && response.data().paymentKey() != null;
+    }
+}
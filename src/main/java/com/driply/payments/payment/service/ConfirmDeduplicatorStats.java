@@ -0,0 +1,14 @@
+package com.driply.payments.payment.service;
+
+/**
+ * 결제 승인 중복 제거 현황입니다.
+ * @param requests 누적 결제 승인 요청 수
+ * @param cacheHits 캐시된 승인 결과로 응답한 요청 수
+ * @param coalesced 진행 중인 PG사 호출 결과를 공유한 요청 수
+ * @param storeHits payments 테이블에 저장된 승인 결과로 응답한 요청 수
+ */
+public record ConfirmDeduplicatorStats(long requests, long cacheHits, long coalesced, long storeHits) {
+    public double hitRate() {
+        return requests == 0 ? 0 : (double) (cacheHits + coalesced + storeHits) / requests;
+    }
+}
@@ -0,0 +1,150 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.BillingKeyResponse;
+import com.driply.payments.payment.dto.PaymentRecord;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.driply.payments.payment.entity.BillingKey;
+import com.driply.payments.payment.metrics.PaymentBodyLogger;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * PG사와 무관한 결제 처리 흐름을 담당합니다.
+ * PG사 api 호출은 PaymentRouter가 고른 PaymentStrategy에 위임하고, 중복 승인 방지, 결제 결과 저장, 빌링키와 브랜드페이 토큰 관리를 처리합니다.
+ * 메서드마다 수행 시간을 결과별로 기록하며, 요청과 응답 본문은 표본만 골라 민감한 값을 가린 뒤 비동기로 기록합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DefaultPaymentService implements PaymentService {
+    private final BillingKeyStore billingKeyStore;
+    private final BrandpayTokenCache brandpayTokenCache;
+    private final PaymentWriteBehind paymentWriteBehind;
+    private final ConfirmDeduplicator confirmDeduplicator;
+    private final PaymentMetrics paymentMetrics;
+    private final PaymentBodyLogger paymentBodyLogger;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 위젯 결제 혹은 일반결제 승인 요청을 보냅니다. 같은 orderId, paymentKey, amount의 요청은 한 번만 PG사로 전달됩니다.
+     */
+    @Override
+    public PgResponse<PaymentResponse> processPayment(PaymentTarget target, paymentDTO request) throws IOException {
+        paymentBodyLogger.log("Confirm request", request);
+        PgResponse<PaymentResponse> response = paymentMetrics.observe("confirm", target, () ->
+                confirmDeduplicator.confirm(request.getOrderId(), request.getPaymentKey(), request.getAmount(), () -> {
+                    PgResponse<PaymentResponse> confirmed = target.strategy().confirm(target.credentials(), request);
+                    store(target, confirmed);
+                    return confirmed;
+                }));
+        paymentBodyLogger.log("Confirm response", response.body());
+        return response;
+    }
+
+    /**
+     * 사용자 access token을 발급합니다. /callback-auth는 인증 없이 호출되므로 캐시된 토큰을 응답하지 않고, 항상 Authorization Code를 PG사에 교환합니다.
+     * 발급을 위한 api이기 때문에 grantType은 AuthorizationCode로 고정이며, 발급받은 토큰은 서버에서 사용하도록 캐시에 저장합니다.
+     * Refresh Token은 서버에서만 사용하므로 응답에서 제외합니다.
+     * @param customerKey 상점에서 만든 고객의 고유 ID입니다.
+     * @param code Access Token 발급에 필요한 Authorization Code(임시 인증 코드)입니다.
+     */
+    @Override
+    public PgResponse<AccessTokenResponse> customerAuthorization(PaymentTarget target, String customerKey, String code) throws IOException {
+        AccessTokenDTO request = AccessTokenDTO.builder()
+                .grantType("AuthorizationCode")
+                .customerKey(customerKey)
+                .code(code)
+                .build();
+        PgResponse<AccessTokenResponse> response = paymentMetrics.observe("access-token", target, () ->
+                target.strategy().issueAccessToken(target.credentials(), request));
+        if (!response.isSuccess()) {
+            return response;
+        }
+        brandpayTokenCache.put(target, customerKey, response.data());
+        AccessTokenResponse issued = response.data();
+        ObjectNode body = (ObjectNode) objectMapper.readTree(response.body());
+        body.remove("refreshToken");
+        return new PgResponse<>(response.statusCode(), objectMapper.writeValueAsBytes(body),
+                new AccessTokenResponse(issued.accessToken(), null, issued.tokenType(), issued.expiresIn()));
+    }
+
+    /**
+     * 요청을 처리하는 PG사, 가맹점에서 발급된 customerKey의 빌링키를 조회하여 정기결제 승인 요청을 보냅니다.
+     */
+    @Override
+    public PgResponse<PaymentResponse> confirmBilling(PaymentTarget target, BillingDTO request) throws IOException {
+        String billingKey = billingKeyStore.find(target, request.getCustomerKey());
+        if (billingKey == null) {
+            return PgResponse.error("Billing key not found");
+        }
+        return paymentMetrics.observe("billing", target, () -> {
+            PgResponse<PaymentResponse> response = target.strategy().confirmBilling(target.credentials(), billingKey, request);
+            store(target, response);
+            return response;
+        });
+    }
+
+    /**
+     * 빌링키 발급 요청을 보내고, 발급에 성공하면 PG사, 가맹점, customerKey별로 빌링키를 저장합니다.
+     */
+    @Override
+    public PgResponse<BillingKeyResponse> issueBillingKey(PaymentTarget target, BillingKeyDTO request) throws IOException {
+        paymentBodyLogger.log("Billing key issue request", request);
+        PgResponse<BillingKeyResponse> response = paymentMetrics.observe("billing-issue", target, () ->
+                target.strategy().issueBillingKey(target.credentials(), request));
+        paymentBodyLogger.log("Billing key issue response", response.body());
+        if (response.isSuccess() && response.data().billingKey() != null) {
+            billingKeyStore.save(toBillingKey(target, request.getCustomerKey(), response.data()));
+        }
+        return response;
+    }
+
+    /**
+     * 브랜드페이 결제 승인 요청을 보냅니다. 같은 orderId, paymentKey, amount의 요청은 한 번만 PG사로 전달됩니다.
+     */
+    @Override
+    public PgResponse<PaymentResponse> confirmBrandpay(PaymentTarget target, paymentDTO request) throws IOException {
+        return paymentMetrics.observe("brandpay-confirm", target, () ->
+                confirmDeduplicator.confirm(request.getOrderId(), request.getPaymentKey(), request.getAmount(), () -> {
+                    PgResponse<PaymentResponse> response = target.strategy().confirmBrandpay(target.credentials(), request);
+                    store(target, response);
+                    return response;
+                }));
+    }
+
+    /**
+     * 결제 승인 결과를 비동기로 DB에 저장합니다. 승인에 실패한 응답은 저장하지 않습니다.
+     */
+    private void store(PaymentTarget target, PgResponse<PaymentResponse> response) {
+        PaymentRecord record = PaymentRecord.from(target.strategy().provider(), target.credentials().merchant(), response);
+        if (record != null) {
+            paymentWriteBehind.submit(record);
+        }
+    }
+
+    /**
+     * 빌링키 발급 응답을 저장할 빌링키 정보로 변환합니다.
+     */
+    private BillingKey toBillingKey(PaymentTarget target, String customerKey, BillingKeyResponse response) {
+        return BillingKey.builder()
+                .paymentProvider(target.strategy().provider())
+                .merchant(target.credentials().merchant())
+                .customerKey(customerKey)
+                .billingKey(response.billingKey())
+                .cardCompany(response.cardCompany())
+                .cardNumber(response.cardNumber())
+                .authenticatedAt(response.authenticatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.config.PaymentExecutionProperties;
+import com.driply.payments.payment.client.PgEndpoint;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 컨트롤러의 PG사 api 호출을 설정된 실행 방식으로 수행합니다.
+ * VIRTUAL 모드에서는 호출마다 가상 스레드를 사용합니다. 엔드포인트별 동시 호출 수는 두 모드 모두 ResilientPgClient의 bulkhead 하나로 제한하며,
+ * 자리가 나지 않은 호출은 PgUnavailableException으로 실패하여 503으로 응답됩니다.
+ * 요청 스레드의 trace 정보는 가상 스레드로 옮겨 PG 호출 span이 요청 span 아래에 기록되도록 합니다.
+ */
+@Component
+public class PaymentExecutor {
+    private final PaymentExecutionProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+
+    public PaymentExecutor(PaymentExecutionProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * PG사 api 호출 작업을 실행합니다.
+     * @param endpoint 호출하는 PG사 api 엔드포인트입니다.
+     * @param task PG사 api를 호출하는 작업입니다.
+     * @return BLOCKING 모드에서는 완료된 future를, VIRTUAL 모드에서는 작업이 끝나면 완료되는 future를 반환합니다.
+     */
+    @SuppressWarnings("try")
+    public <T> CompletableFuture<T> execute(PgEndpoint endpoint, PaymentTask<T> task) {
+        if (properties.getMode() == PaymentExecutionProperties.Mode.BLOCKING) {
+            try {
+                return CompletableFuture.completedFuture(task.call());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ContextSnapshot snapshot = contextSnapshotFactory.captureAll();
+        executor.execute(() -> {
+            try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+                future.complete(task.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface PaymentTask<T> {
+        T call() throws IOException;
+    }
+}
@@ -0,0 +1,148 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.payment.dto.PaymentRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * DB 저장을 기다리는 결제 결과를 JSON lines 형식으로 기록하는 append-only 저널입니다.
+ * 저널은 세그먼트 파일 단위로 나뉘며, 세그먼트의 결제 결과가 모두 저장되면 해당 세그먼트를 삭제합니다.
+ * 프로세스가 비정상 종료되어도 남아있는 세그먼트를 다시 읽어 저장할 수 있습니다.
+ * append, rotate는 스레드 안전하지 않으므로 호출자가 동기화해야 합니다.
+ */
+public final class PaymentJournal implements AutoCloseable {
+    private static final String SEGMENT_PREFIX = "payments-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final byte NEW_LINE = '\n';
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private long nextSegment;
+    private Path current;
+    private FileChannel channel;
+
+    public PaymentJournal(Path directory, ObjectMapper objectMapper, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+        List<Path> existing = segments();
+        this.nextSegment = existing.isEmpty() ? 0 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+    }
+
+    /**
+     * 디렉토리에 남아있는 세그먼트를 오래된 순서로 반환합니다. 기록 중인 세그먼트는 제외합니다.
+     */
+    public List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(this::isSegment)
+                    .filter(path -> !path.equals(current))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * 결제 결과를 현재 세그먼트에 기록합니다.
+     */
+    public void append(PaymentRecord record) throws IOException {
+        if (channel == null) {
+            open();
+        }
+        byte[] json = objectMapper.writeValueAsBytes(record);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put(NEW_LINE).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 닫고 이후 기록은 새 세그먼트에 이어갑니다.
+     * @return 닫힌 세그먼트, 기록된 내용이 없다면 null을 반환합니다.
+     */
+    public Path rotate() throws IOException {
+        if (channel == null) {
+            return null;
+        }
+        Path closed = current;
+        channel.close();
+        channel = null;
+        current = null;
+        return closed;
+    }
+
+    /**
+     * 세그먼트에 기록된 결제 결과를 읽습니다. 비정상 종료로 잘린 마지막 줄은 건너뜁니다.
+     */
+    public List<PaymentRecord> read(Path segment) throws IOException {
+        List<PaymentRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(objectMapper.readValue(line, PaymentRecord.class));
+                } catch (IOException e) {
+                    logger.warn("Skipping malformed journal entry in {}", segment.getFileName(), e);
+                }
+            }
+        }
+        return records;
+    }
+
+    public void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+    }
+
+    /**
+     * 다른 저널의 세그먼트를 이 저널의 새 세그먼트로 옮깁니다. 읽을 수 없는 세그먼트를 보관할 때 사용합니다.
+     * @return 옮겨진 세그먼트 경로를 반환합니다.
+     */
+    public Path adopt(Path segment) throws IOException {
+        return Files.move(segment, directory.resolve(segmentName(nextSegment++)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void open() throws IOException {
+        current = directory.resolve(segmentName(nextSegment++));
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static String segmentName(long number) {
+        return String.format("%s%019d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+
+    private boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.payment.dto.PaymentCursor;
+import com.driply.payments.payment.dto.PaymentPage;
+import com.driply.payments.payment.dto.PaymentSearchCondition;
+import com.driply.payments.payment.dto.PaymentSummary;
+import com.driply.payments.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 운영, CS용 결제 조회입니다. 결제 승인 트래픽과 같은 테이블을 읽으므로 모든 조회는 인덱스 범위 탐색으로 끝나야 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PaymentQueryService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final PaymentRepository paymentRepository;
+
+    /**
+     * 조건에 맞는 결제를 요청 시각의 역순으로 한 페이지 조회합니다.
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지라면 null 입니다.
+     */
+    public PaymentPage search(PaymentSearchCondition condition, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // 다음 페이지가 있는지 확인하기 위해 한 건 더 조회합니다.
+        List<PaymentSummary> payments = paymentRepository.search(condition, PaymentCursor.decode(cursor), size + 1);
+        if (payments.size() <= size) {
+            return new PaymentPage(payments, null);
+        }
+        List<PaymentSummary> page = payments.subList(0, size);
+        return new PaymentPage(List.copyOf(page), PaymentCursor.of(page.get(size - 1)).encode());
+    }
+
+    /**
+     * 결제 한 건을 조회합니다. PG사 응답 원문은 포함하지 않습니다.
+     * @param merchant 조회를 허용할 가맹점, 모든 가맹점을 허용한다면 null 입니다. 다른 가맹점의 결제는 없는 결제로 응답합니다.
+     */
+    public PaymentSummary find(String paymentKey, String merchant) {
+        return paymentRepository.findSummaryByPaymentKey(paymentKey)
+                .filter(payment -> merchant == null || merchant.equals(payment.merchant()))
+                .orElseThrow(() -> new NoSuchElementException("Payment not found: " + paymentKey));
+    }
+
+    /**
+     * 결제의 PG사 응답 원문을 조회합니다. 카드 정보 등이 포함되므로 관리자만 조회합니다.
+     */
+    public String findResponseData(String paymentKey) {
+        return paymentRepository.findRawResponseByPaymentKey(paymentKey)
+                .orElseThrow(() -> new NoSuchElementException("Payment not found: " + paymentKey));
+    }
+}
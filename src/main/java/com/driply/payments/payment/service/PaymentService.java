@@ -1,12 +1,20 @@
 package com.driply.payments.payment.service;
 
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.BillingKeyResponse;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.driply.payments.payment.strategy.PaymentTarget;
+
 import java.io.IOException;
-import java.util.Map;
 
 public interface PaymentService {
-    Map<String, Object> processPayment(String requestUri, String jsonBody) throws IOException;
-    Map<String, Object> customerAuthorization(String customerKey,  String code) throws IOException;
-    Map<String, Object> confirmBilling(String jsonBody) throws IOException;
-    Map<String, Object> issueBillingKey(String jsonBody) throws IOException;
-    Map<String, Object> confirmBrandpay(String jsonBody) throws IOException;
+    PgResponse<PaymentResponse> processPayment(PaymentTarget target, paymentDTO request) throws IOException;
+    PgResponse<AccessTokenResponse> customerAuthorization(PaymentTarget target, String customerKey, String code) throws IOException;
+    PgResponse<PaymentResponse> confirmBilling(PaymentTarget target, BillingDTO request) throws IOException;
+    PgResponse<BillingKeyResponse> issueBillingKey(PaymentTarget target, BillingKeyDTO request) throws IOException;
+    PgResponse<PaymentResponse> confirmBrandpay(PaymentTarget target, paymentDTO request) throws IOException;
 }
@@ -0,0 +1,361 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.config.WriteBehindProperties;
+import com.driply.payments.payment.dto.PaymentRecord;
+import com.driply.payments.payment.entity.Payment;
+import com.driply.payments.payment.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 결제 결과를 요청 스레드와 분리하여 DB에 저장합니다.
+ * 결제 결과는 저널에 기록된 뒤 대기열에 추가되고, 별도의 스레드가 대기열을 batch insert로 저장합니다.
+ * 대기열이 가득 차면 요청 스레드는 offerTimeout 동안 기다리며, 그래도 자리가 없으면 저널에만 기록하고 반환합니다.
+ * 저장되지 못하고 남은 저널은 다음 실행 시 다시 저장됩니다.
+ * 저장에 실패하면 결제 결과 단위로 나누어 재시도하고, maxAttempts번 모두 실패한 결제 결과는
+ * dead-letter 세그먼트로 옮겨 나머지 결제 결과의 저장을 막지 않도록 합니다.
+ * dead-letter 세그먼트는 자동으로 재처리되지 않으므로 payments.write-behind.dead-letter.segments 지표로 알림을 받아 확인해야 합니다.
+ */
+@Component
+public class PaymentWriteBehind {
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+    private static final String DEAD_LETTER_DIR = "dead-letter";
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PaymentRepository paymentRepository;
+    private final WriteBehindProperties properties;
+    private final PaymentJournal journal;
+    private final PaymentJournal deadLetters;
+    private final BlockingQueue<PaymentRecord> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final Thread flusher;
+    private final LongAdder flushedRecords = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final LongAdder spills = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final AtomicInteger deadLetterSegments;
+    private volatile boolean running = true;
+    private boolean spilled;
+
+    public PaymentWriteBehind(PaymentRepository paymentRepository, WriteBehindProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.paymentRepository = paymentRepository;
+        this.properties = properties;
+        Path journalDir = Path.of(properties.getJournalDir());
+        this.journal = new PaymentJournal(journalDir, objectMapper, properties.isFsync());
+        this.deadLetters = new PaymentJournal(journalDir.resolve(DEAD_LETTER_DIR), objectMapper, true);
+        this.deadLetterSegments = new AtomicInteger(deadLetters.segments().size());
+        this.capacity = new Semaphore(properties.getCapacity());
+        this.flusher = Thread.ofPlatform().name("payment-write-behind").daemon(true).unstarted(this::run);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        flusher.join(properties.getFlushInterval().multipliedBy(10).toMillis());
+        journalLock.lock();
+        try {
+            journal.close();
+            deadLetters.close();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * 결제 결과를 저장 대기열에 추가합니다.
+     * 저널 기록에 실패한 경우에는 요청 스레드에서 직접 저장합니다.
+     * @param record 저장할 결제 결과입니다.
+     */
+    public void submit(PaymentRecord record) {
+        boolean reserved = reserve();
+        boolean journaled = false;
+        journalLock.lock();
+        try {
+            journal.append(record);
+            journaled = true;
+            if (reserved) {
+                queue.add(record);
+            } else {
+                spilled = true;
+                spills.increment();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to journal payment {}", record.paymentKey(), e);
+        } finally {
+            journalLock.unlock();
+        }
+
+        if (!journaled) {
+            if (reserved) {
+                capacity.release();
+            }
+            try {
+                persist(List.of(record));
+            } catch (RuntimeException e) {
+                logger.error("Failed to store payment {}", record.paymentKey(), e);
+            }
+        }
+    }
+
+    public WriteBehindStats stats() {
+        long count = flushes.sum();
+        return new WriteBehindStats(queue.size(), flushedRecords.sum(), count, spills.sum(),
+                count == 0 ? 0 : flushNanos.sum() / (double) count / 1_000_000,
+                maxFlushNanos.get() / 1_000_000.0, deadLettered.sum(), deadLetterSegments.get());
+    }
+
+    private boolean reserve() {
+        try {
+            return capacity.tryAcquire(properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        recover();
+        while (running) {
+            try {
+                PaymentRecord first = queue.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                flush(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error while flushing payments", e);
+            }
+        }
+        flush(queue.poll());
+    }
+
+    /**
+     * 이전 실행에서 저장되지 못하고 남은 저널을 저장합니다.
+     */
+    private void recover() {
+        List<Path> segments;
+        try {
+            segments = journal.segments();
+        } catch (IOException e) {
+            logger.error("Failed to list payment journal", e);
+            return;
+        }
+        for (Path segment : segments) {
+            List<PaymentRecord> records;
+            try {
+                records = journal.read(segment);
+            } catch (IOException e) {
+                logger.error("Failed to read payment journal {}", segment.getFileName(), e);
+                quarantine(segment);
+                continue;
+            }
+            logger.info("Recovering {} payments from {}", records.size(), segment.getFileName());
+            if (!persistWithRetry(records, true)) {
+                return;
+            }
+            try {
+                journal.delete(segment);
+            } catch (IOException e) {
+                logger.error("Failed to delete payment journal {}", segment.getFileName(), e);
+            }
+        }
+    }
+
+    /**
+     * 읽을 수 없는 세그먼트를 dead-letter 디렉토리로 옮겨 다음 세그먼트의 복구를 막지 않도록 합니다.
+     */
+    private void quarantine(Path segment) {
+        try {
+            Path moved = deadLetters.adopt(segment);
+            deadLetterSegments.incrementAndGet();
+            logger.error("Moved unreadable payment journal {} to dead-letter segment {}", segment.getFileName(), moved);
+        } catch (IOException e) {
+            logger.error("Failed to move payment journal {} to dead-letter", segment.getFileName(), e);
+        }
+    }
+
+    /**
+     * 대기열을 비우고 저널 세그먼트를 교체한 뒤 저장합니다.
+     * 저널에만 기록된 결제 결과가 있다면 대기열 대신 닫힌 세그먼트를 읽어 저장합니다.
+     */
+    private void flush(PaymentRecord first) {
+        List<PaymentRecord> snapshot = new ArrayList<>();
+        if (first != null) {
+            snapshot.add(first);
+        }
+        Path segment = null;
+        boolean fromJournal;
+        journalLock.lock();
+        try {
+            queue.drainTo(snapshot);
+            if (snapshot.isEmpty() && !spilled) {
+                return;
+            }
+            fromJournal = spilled;
+            spilled = false;
+            segment = journal.rotate();
+        } catch (IOException e) {
+            logger.error("Failed to rotate payment journal", e);
+            fromJournal = false;
+        } finally {
+            journalLock.unlock();
+        }
+
+        try {
+            List<PaymentRecord> records = fromJournal && segment != null ? journal.read(segment) : snapshot;
+            if (persistWithRetry(records, fromJournal) && segment != null) {
+                journal.delete(segment);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read payment journal {}", segment, e);
+        } finally {
+            capacity.release(snapshot.size());
+        }
+    }
+
+    /**
+     * 저장에 실패하면 이미 저장된 결제 결과를 걸러낸 뒤 결제 결과 단위로 나누어 재시도합니다.
+     * maxAttempts번 시도한 뒤에도 남은 결제 결과는 dead-letter 세그먼트로 옮깁니다. 종료 중이라면 저널에 남겨두고 포기합니다.
+     * @param deduplicate 이미 저장되었을 수 있는 결제 결과라면 paymentKey로 걸러낸 뒤 저장합니다.
+     * @return 저장 또는 dead-letter 기록에 성공하여 저널을 삭제해도 된다면 true를 반환합니다.
+     */
+    private boolean persistWithRetry(List<PaymentRecord> records, boolean deduplicate) {
+        List<PaymentRecord> pending = records;
+        long backoff = properties.getFlushInterval().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (deduplicate || attempt > 1) {
+                    pending = withoutStored(pending);
+                }
+                if (attempt == 1) {
+                    persist(pending);
+                    return true;
+                }
+                pending = persistEach(pending);
+                if (pending.isEmpty()) {
+                    return true;
+                }
+                logger.error("Failed to store {} payments (attempt {})", pending.size(), attempt);
+            } catch (RuntimeException e) {
+                logger.error("Failed to store {} payments (attempt {})", pending.size(), attempt, e);
+            }
+            if (attempt >= properties.getMaxAttempts()) {
+                return deadLetter(pending);
+            }
+            if (!running) {
+                return false;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * 결제 결과를 하나씩 저장하여 저장할 수 없는 결제 결과가 나머지를 막지 않도록 합니다.
+     * @return 저장에 실패한 결제 결과를 반환합니다.
+     */
+    private List<PaymentRecord> persistEach(List<PaymentRecord> records) {
+        List<PaymentRecord> failed = new ArrayList<>();
+        for (PaymentRecord record : records) {
+            try {
+                persist(List.of(record));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to store payment {}", record.paymentKey(), e);
+                failed.add(record);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 저장할 수 없는 결제 결과를 dead-letter 세그먼트에 기록합니다.
+     * @return 기록에 실패했다면 false를 반환하여 원래 저널을 남겨둡니다.
+     */
+    private boolean deadLetter(List<PaymentRecord> records) {
+        try {
+            for (PaymentRecord record : records) {
+                deadLetters.append(record);
+            }
+            Path segment = deadLetters.rotate();
+            if (segment == null) {
+                return true;
+            }
+            deadLettered.add(records.size());
+            deadLetterSegments.incrementAndGet();
+            logger.error("Moved {} payments to dead-letter segment {} after {} attempts: {}", records.size(), segment,
+                    properties.getMaxAttempts(), records.stream().map(PaymentRecord::paymentKey).toList());
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to write {} payments to dead-letter", records.size(), e);
+            return false;
+        }
+    }
+
+    private List<PaymentRecord> withoutStored(List<PaymentRecord> records) {
+        List<PaymentRecord> pending = new ArrayList<>(records.size());
+        for (List<PaymentRecord> chunk : chunks(records)) {
+            Set<String> stored = paymentRepository.findExistingPaymentKeys(chunk.stream().map(PaymentRecord::paymentKey).toList());
+            for (PaymentRecord record : chunk) {
+                if (!stored.contains(record.paymentKey())) {
+                    pending.add(record);
+                }
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * batchSize 단위로 나누어 insert 합니다. 각 saveAll 호출은 하나의 트랜잭션에서 JDBC batch로 실행됩니다.
+     */
+    private void persist(List<PaymentRecord> records) {
+        for (List<PaymentRecord> chunk : chunks(records)) {
+            List<Payment> payments = chunk.stream().map(PaymentRecord::toEntity).toList();
+            long startedAt = System.nanoTime();
+            paymentRepository.saveAll(payments);
+            long elapsed = System.nanoTime() - startedAt;
+            flushes.increment();
+            flushNanos.add(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+            flushedRecords.add(chunk.size());
+        }
+    }
+
+    private List<List<PaymentRecord>> chunks(List<PaymentRecord> records) {
+        int batchSize = properties.getBatchSize();
+        List<List<PaymentRecord>> chunks = new ArrayList<>();
+        for (int from = 0; from < records.size(); from += batchSize) {
+            chunks.add(records.subList(from, Math.min(from + batchSize, records.size())));
+        }
+        return chunks;
+    }
+}
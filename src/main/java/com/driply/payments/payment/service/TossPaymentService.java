@@ -1,48 +1,64 @@
 package com.driply.payments.payment.service;
 
-import com.driply.payments.common.JsonUtil;
-import com.driply.payments.payment.repository.PaymentRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.driply.payments.config.PgClientProperties;
+import com.driply.payments.payment.client.PgClient;
+import com.driply.payments.payment.client.PgEndpoint;
+import com.driply.payments.payment.client.PgResponseHandler;
+import com.driply.payments.payment.client.PgUnavailableException;
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.BillingKeyResponse;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgErrorResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.driply.payments.payment.strategy.PaymentStrategy;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.io.Reader;
-import java.net.HttpURLConnection;
-import java.net.URI;
-import java.net.URL;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * 토스페이먼츠 연동 구현체입니다.
+ */
 @Service
 @RequiredArgsConstructor
-@PropertySource("classpath:application-secret.yml")
-public class TossPaymentService implements PaymentService {
+public class TossPaymentService implements PaymentStrategy {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final Map<String, Object> billingKeyMap = new HashMap<>();
-    private final PaymentRepository paymentRepository;
-    private static final String CUSTOMER_KEY = "customerKey";
-    @Value("${toss.payments.test.widget-secret-key}")
-    private String WIDGET_SECRET_KEY;
-    @Value("${toss.payments.api-secret-key}")
-    private String API_SECRET_KEY;
+    private final ObjectMapper objectMapper;
+    private final PgClient pgClient;
+    private final PaymentMetrics paymentMetrics;
+    private final PgClientProperties pgClientProperties;
+    private static final String PAYMENT_PROVIDER = "TOSS";
+
+    @Override
+    public String provider() {
+        return PAYMENT_PROVIDER;
+    }
+
+    /**
+     * 토스페이먼츠는 비밀키 뒤에 콜론을 붙여 base64로 인코딩한 Basic 인증 방식을 사용합니다.
+     */
+    @Override
+    public PaymentCredentials credentials(String merchant, String secretKey) {
+        String encoded = Base64.getEncoder().encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
+        return new PaymentCredentials(merchant, "Basic " + encoded);
+    }
 
     /**
      * 토스페이먼츠사 api를 통해 결제 승인 요청을 보냅니다.
-     * @param requestUri 위젯결제 혹은 일반결제인지 판단하기 위해 사용됩니다.
-     * @param jsonBody paymentKey, orderId, amount 값을 포함해야 합니다.
+     * @param credentials 위젯결제는 위젯 비밀키, 일반결제는 api 비밀키로 만든 인증 정보입니다.
+     * @param request paymentKey, orderId, amount 값을 포함해야 합니다.
      * @return 결제 승인 성공
      *         - 결제 정보를 담고 있는 Payment 객체가 돌아옵니다.
      *         - 결제 한 건의 결제 상태, 결제 취소 기록, 매출 전표, 현금영수증 정보 등을 포함합니다.
@@ -52,43 +68,27 @@ public class TossPaymentService implements PaymentService {
      * @throws IOException
      */
     @Override
-    public Map<String, Object> processPayment(String requestUri, String jsonBody) throws IOException {
-        logger.info("Processing request URI: {}", requestUri);
-        logger.info("Processing request JSON body: {}", jsonBody);
-        String secretKey = requestUri.contains("/confirm/payment") ? API_SECRET_KEY : WIDGET_SECRET_KEY;
-        ObjectNode requestData = JsonUtil.parseStringToObjectNode(jsonBody);
-        logger.info("Request data: {}", requestData);
-        Map<String, Object> response = sendRequest(requestData, secretKey,
-                "https://api.tosspayments.com/v1/payments/confirm");
-
-        logger.info("Response from Toss Payment Service: {}", response);
-        // TODO: payment 응답 결과 DB에 저장
-        return response;
+    public PgResponse<PaymentResponse> confirm(PaymentCredentials credentials, paymentDTO request) throws IOException {
+        return sendRequest(PgEndpoint.CONFIRM, request, confirmKey(request), credentials,
+                url("/v1/payments/confirm"), PaymentResponse.class);
     }
 
     /**
      * 토스페이먼츠사 api를 통해 사용자 access token의 발급 요청을 보냅니다.
-     * customerKey, grantType, code 필드를 포함해야 합니다.
-     * 발급을 위한 api이기 때문에 grantType은 AuthorizationCode로 고정입니다.
-     * grantType이 AuthorizationCode일 때 code 필드는 필수 입니다.
-     * @param customerKey 상점에서 만든 고객의 고유 ID입니다.
-     * @param code Access Token 발급에 필요한 Authorization Code(임시 인증 코드)입니다.
+     * customerKey, grantType 필드를 포함해야 합니다.
+     * grantType이 AuthorizationCode일 때 code 필드는, RefreshToken일 때 refreshToken 필드는 필수 입니다.
      * @return 응답으로 Access Token, Access Token의 유효기간, Refresh Token이 돌아옵니다.
      * @throws IOException
      */
     @Override
-    public Map<String, Object> customerAuthorization(String customerKey, String code) throws IOException {
-        ObjectNode requestData = objectMapper.createObjectNode();
-        requestData.put("grantType", "AuthorizationCode");
-        requestData.put(CUSTOMER_KEY, customerKey);
-        requestData.put("code", code);
-        String url = "https://api.tosspayments.com/v1/brandpay/authorizations/access-token";
-        return sendRequest(requestData, API_SECRET_KEY, url);
+    public PgResponse<AccessTokenResponse> issueAccessToken(PaymentCredentials credentials, AccessTokenDTO request) throws IOException {
+        return sendRequest(PgEndpoint.ACCESS_TOKEN, request, null, credentials,
+                url("/v1/brandpay/authorizations/access-token"), AccessTokenResponse.class);
     }
 
     /**
      * 빌링키를 통해 토스페이먼츠 api 서버로 결제 승인 요청을 보냅니다. 요청 uri에 빌링키를 포함해야 합니다.
-     * @param jsonBody billingKey, amount, customerKey, orderId, orderName를 포함해야 합니다.
+     * @param request amount, customerKey, orderId, orderName를 포함해야 합니다.
      * @return 정기결제 성공
      *         - 카드 자동결제 승인에 성공하면 card 필드에 값이 있는 Payment 객체가 돌아옵니다.
      *         정기결제 실패
@@ -96,17 +96,14 @@ public class TossPaymentService implements PaymentService {
      * @throws IOException
      */
     @Override
-    public Map<String, Object> confirmBilling(String jsonBody) throws IOException {
-        ObjectNode requestData = JsonUtil.parseStringToObjectNode(jsonBody);
-        String billingKey = billingKeyMap.get(requestData.get(CUSTOMER_KEY).toString()).toString();
-        Map<String, Object> response = sendRequest(requestData, API_SECRET_KEY,
-                "https://api.tosspayments.com/v1/billing/" + billingKey);
-        return response;
+    public PgResponse<PaymentResponse> confirmBilling(PaymentCredentials credentials, String billingKey, BillingDTO request) throws IOException {
+        return sendRequest(PgEndpoint.BILLING, request, request.getOrderId() + ':' + request.getCustomerKey() + ':' + request.getAmount(), credentials,
+                url("/v1/billing/" + billingKey), PaymentResponse.class);
     }
 
     /**
      * 토스페이먼츠 api 서버로 빌링키 발급 요청을 보냅니다.
-     * @param jsonBody authKey, customerKey를 포함해야 합니다.
+     * @param request authKey, customerKey를 포함해야 합니다.
      * @return 빌링키 발급 성공
      *         - 등록된 카드 정보와 발급된 billingKey가 포함되어 있는 Billing 객체가 돌아옵니다.
      *         빌링키 발급 실패
@@ -114,73 +111,120 @@ public class TossPaymentService implements PaymentService {
      * @throws IOException
      */
     @Override
-    public Map<String, Object> issueBillingKey(String jsonBody) throws IOException {
-        logger.info("Issue request JSON body: {}", jsonBody);
-        ObjectNode requestData = JsonUtil.parseStringToObjectNode(jsonBody);
-        Map<String, Object> response = sendRequest(requestData, API_SECRET_KEY,
-                "https://api.tosspayments.com/v1/billing/authorizations/issue");
-        logger.info("Response from Toss Payment Service: {}", response);
-        if (!response.containsKey("error")) {
-            billingKeyMap.put(requestData.get(CUSTOMER_KEY).toString(), response.get("billingKey"));
-        }
-        return response;
+    public PgResponse<BillingKeyResponse> issueBillingKey(PaymentCredentials credentials, BillingKeyDTO request) throws IOException {
+        return sendRequest(PgEndpoint.BILLING_ISSUE, request, request.getAuthKey(), credentials,
+                url("/v1/billing/authorizations/issue"), BillingKeyResponse.class);
     }
 
     /**
      * 토스페이먼츠 api 서버로 브랜드페이 결제 승인 요청을 보냅니다.
      * paymentKey에 해당하는 결제를 인증하고 승인합니다. Basic 인증 방식을 사용합니다.
-     * @param jsonBody paymentKey, amount, customerKey, orderId 를 포함해야 합니다.
+     * @param request paymentKey, amount, customerKey, orderId 를 포함해야 합니다.
      * @return 결제 승인에 성공했다면 결제 정보를 담고 있는 Payment 객체가 돌아옵니다.
      *         결제 승인에 실패했다면 HTTP 상태 코드와 함께 에러 객체가 돌아옵니다.
      * @throws IOException
      */
     @Override
-    public Map<String, Object> confirmBrandpay(String jsonBody) throws IOException {
-        ObjectNode requestData = JsonUtil.parseStringToObjectNode(jsonBody);
-        String url = "https://api.tosspayments.com/v1/brandpay/payments/confirm";
-        Map<String, Object> response = sendRequest(requestData, API_SECRET_KEY, url);
-        return response;
+    public PgResponse<PaymentResponse> confirmBrandpay(PaymentCredentials credentials, paymentDTO request) throws IOException {
+        return sendRequest(PgEndpoint.BRANDPAY_CONFIRM, request, confirmKey(request), credentials,
+                url("/v1/brandpay/payments/confirm"), PaymentResponse.class);
+    }
+
+    /**
+     * 토스페이먼츠 api 서버에서 주문번호로 결제를 조회합니다.
+     * @return 결제가 있다면 Payment 객체가 돌아옵니다. 결제가 없다면 404와 NOT_FOUND_PAYMENT 에러 객체가 돌아옵니다.
+     * @throws IOException
+     */
+    @Override
+    public PgResponse<PaymentResponse> findPaymentByOrderId(PaymentCredentials credentials, String orderId) throws IOException {
+        String url = url("/v1/payments/orders/" + URLEncoder.encode(orderId, StandardCharsets.UTF_8));
+        return send(() -> pgClient.get(PgEndpoint.PAYMENT_QUERY, url, credentials.authorization(),
+                responseHandler(PgEndpoint.PAYMENT_QUERY, PaymentResponse.class)));
+    }
+
+    /**
+     * 토스페이먼츠 api 서버에서 paymentKey로 결제를 조회합니다.
+     * @return 결제가 있다면 Payment 객체가 돌아옵니다. 결제가 없다면 404와 NOT_FOUND_PAYMENT 에러 객체가 돌아옵니다.
+     * @throws IOException
+     */
+    @Override
+    public PgResponse<PaymentResponse> findPayment(PaymentCredentials credentials, String paymentKey) throws IOException {
+        String url = url("/v1/payments/" + URLEncoder.encode(paymentKey, StandardCharsets.UTF_8));
+        return send(() -> pgClient.get(PgEndpoint.PAYMENT_QUERY, url, credentials.authorization(),
+                responseHandler(PgEndpoint.PAYMENT_QUERY, PaymentResponse.class)));
     }
 
     /**
      * 토스페이먼츠 api로 요청을 보내기 위해 사용됩니다.
-     * @param requestData 요청을 보낼때 함께 보낼 데이터 입니다.
-     * @param secretKey api 서버 인증에 사용되는 비밀키를 포함해야 합니다.
+     * 연결 재사용, 타임아웃 적용은 PgClient가 담당합니다.
+     * 응답 본문은 한 번만 읽어 그대로 보관하고, 성공 응답일 때만 서버에서 사용하는 필드를 읽습니다.
+     * 실패 응답은 에러 코드만 읽어 집계합니다.
+     * @param endpoint 엔드포인트별 타임아웃 적용에 사용됩니다.
+     * @param request 요청을 보낼때 함께 보낼 데이터 입니다.
+     * @param idempotencyKey 결제를 만드는 요청이라면 요청 내용으로 만든 값을 Idempotency-Key로 보냅니다.
+     *                       같은 요청을 다시 보내도 PG사가 처음 결과로 응답하므로 중복 결제 없이 재시도할 수 있고,
+     *                       같은 주문이라도 paymentKey나 금액이 다른 요청은 처음 결과를 돌려받지 않습니다.
+     * @param credentials 기동 시 만들어둔 가맹점 인증 정보입니다.
      * @param urlString 요청 엔드포인트
+     * @param responseType 성공 응답을 변환할 타입입니다.
      * @return 응답 결과를 반환합니다.
      * @throws IOException
      */
-    private Map<String, Object> sendRequest(ObjectNode requestData, String secretKey, String urlString) throws IOException {
-        HttpURLConnection connection = createConnection(secretKey, urlString);
-        try (OutputStream os = connection.getOutputStream()) {
-            os.write(requestData.toString().getBytes(StandardCharsets.UTF_8));
-        }
+    private <T> PgResponse<T> sendRequest(PgEndpoint endpoint, Object request, String idempotencyKey, PaymentCredentials credentials,
+                                          String urlString, Class<T> responseType) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(request);
+        return send(() -> pgClient.post(endpoint, urlString, credentials.authorization(), idempotencyKey, body,
+                responseHandler(endpoint, responseType)));
+    }
 
-        try (InputStream responseStream = connection.getResponseCode() == 200 ? connection.getInputStream() : connection.getErrorStream();
-             Reader reader = new InputStreamReader(responseStream, StandardCharsets.UTF_8)) {
-            return objectMapper.readValue(reader, new TypeReference<>() {});
-        } catch (Exception e) {
+    /**
+     * PG 호출 실패를 응답으로 변환합니다. 장애로 거절된 호출은 503, 응답을 받지 못한 호출은 statusCode 0으로 반환합니다.
+     */
+    private <T> PgResponse<T> send(PaymentExecutor.PaymentTask<PgResponse<T>> call) {
+        try {
+            return call.call();
+        } catch (PgUnavailableException e) {
+            logger.warn("PG call rejected: {}", e.getMessage());
+            return PgResponse.unavailable(e.getMessage());
+        } catch (IOException e) {
             logger.error("Error reading response", e);
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Error reading response");
-            return errorResponse;
+            return PgResponse.error("Error reading response");
         }
     }
 
     /**
-     * 요청을 보내기 위한 HttpURLConnection 객체를 생성합니다.
-     * @param secretKey 토스페이먼츠 api 요청시에 필요한 api key 값을 포함해야 합니다.
-     * @param urlString 엔드포인트
-     * @return 인증정보를 포함한 connection 객체를 반환합니다.
-     * @throws IOException
+     * 결제 승인 요청의 Idempotency-Key입니다. 중복 승인 방지와 같은 orderId, paymentKey, amount로 만듭니다.
+     */
+    private static String confirmKey(paymentDTO request) {
+        return ConfirmDeduplicator.key(request.getOrderId(), request.getPaymentKey(), request.getAmount());
+    }
+
+    private <T> PgResponseHandler<PgResponse<T>> responseHandler(PgEndpoint endpoint, Class<T> responseType) {
+        return (statusCode, responseStream) -> {
+            byte[] responseBody = responseStream.readAllBytes();
+            if (statusCode != 200) {
+                paymentMetrics.recordPgError(PAYMENT_PROVIDER, endpoint, errorCode(responseBody));
+                return new PgResponse<T>(statusCode, responseBody, null);
+            }
+            return new PgResponse<T>(statusCode, responseBody, objectMapper.readValue(responseBody, responseType));
+        };
+    }
+
+    /**
+     * 설정된 api 서버 주소에 요청 경로를 붙입니다.
      */
-    private HttpURLConnection createConnection(String secretKey, String urlString) throws IOException {
-        URL url = URI.create(urlString).toURL();
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestProperty("Authorization", "Basic " + Base64.getEncoder().encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8)));
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setRequestMethod("POST");
-        connection.setDoOutput(true);
-        return connection;
+    private String url(String path) {
+        return pgClientProperties.getBaseUrl() + path;
+    }
+
+    /**
+     * 토스페이먼츠 실패 응답({code, message})에서 에러 코드를 읽습니다. 형식이 다르면 null을 반환합니다.
+     */
+    private String errorCode(byte[] responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, PgErrorResponse.class).code();
+        } catch (IOException e) {
+            return null;
+        }
     }
 }
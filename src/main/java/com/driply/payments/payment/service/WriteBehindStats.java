@@ -0,0 +1,17 @@
+package com.driply.payments.payment.service;
+
+/**
+ * 결제 결과 비동기 저장 현황입니다.
+ * @param queueDepth DB 저장을 기다리는 결제 결과 수
+ * @param flushedRecords 누적 저장된 결제 결과 수
+ * @param flushes 누적 insert 배치 수
+ * @param spills 대기열이 가득 차 저널에만 기록된 결제 결과 수
+ * @param meanFlushMillis insert 배치 평균 소요 시간
+ * @param maxFlushMillis insert 배치 최대 소요 시간
+ * @param deadLettered 최대 시도 횟수를 넘겨 dead-letter 세그먼트로 옮겨진 결제 결과 수
+ * @param deadLetterSegments 처리되지 않고 남아있는 dead-letter 세그먼트 수
+ */
+public record WriteBehindStats(int queueDepth, long flushedRecords, long flushes, long spills,
+                               double meanFlushMillis, double maxFlushMillis,
+                               long deadLettered, int deadLetterSegments) {
+}
@@ -0,0 +1,13 @@
+package com.driply.payments.payment.strategy;
+
+/**
+ * 가맹점별 PG 인증 정보입니다. Authorization 헤더 값은 기동 시 한 번만 만들어 요청마다 그대로 사용합니다.
+ * @param merchant 가맹점 식별자입니다.
+ * @param authorization PG 요청에 사용할 Authorization 헤더 값입니다.
+ */
+public record PaymentCredentials(String merchant, String authorization) {
+    @Override
+    public String toString() {
+        return "PaymentCredentials[merchant=" + merchant + "]";
+    }
+}
@@ -0,0 +1,43 @@
+package com.driply.payments.payment.strategy;
+
+import com.driply.payments.payment.client.PgEndpoint;
+
+/**
+ * 결제 서버가 제공하는 PG 연동 경로입니다.
+ * 같은 PG 엔드포인트라도 위젯 결제처럼 다른 비밀키를 사용하는 경로는 따로 구분합니다.
+ */
+public enum PaymentRoute {
+    WIDGET_CONFIRM(PgEndpoint.CONFIRM, true),
+    PAYMENT_CONFIRM(PgEndpoint.CONFIRM, false),
+    BILLING(PgEndpoint.BILLING, false),
+    BILLING_ISSUE(PgEndpoint.BILLING_ISSUE, false),
+    BRANDPAY_CONFIRM(PgEndpoint.BRANDPAY_CONFIRM, false),
+    ACCESS_TOKEN(PgEndpoint.ACCESS_TOKEN, false),
+    PAYMENT_QUERY(PgEndpoint.PAYMENT_QUERY, false),
+    /**
+     * 결제위젯으로 승인한 결제는 위젯 비밀키로 조회합니다.
+     */
+    WIDGET_PAYMENT_QUERY(PgEndpoint.PAYMENT_QUERY, true);
+
+    private final PgEndpoint endpoint;
+    private final boolean widget;
+
+    PaymentRoute(PgEndpoint endpoint, boolean widget) {
+        this.endpoint = endpoint;
+        this.widget = widget;
+    }
+
+    /**
+     * 동시 실행 제한과 타임아웃 적용에 사용하는 PG 엔드포인트입니다.
+     */
+    public PgEndpoint endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * api 비밀키 대신 위젯 비밀키로 인증하는 경로인지 여부입니다.
+     */
+    public boolean usesWidgetKey() {
+        return widget;
+    }
+}
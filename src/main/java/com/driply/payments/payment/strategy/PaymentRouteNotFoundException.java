@@ -0,0 +1,10 @@
+package com.driply.payments.payment.strategy;
+
+/**
+ * 요청에 지정된 PG사, 가맹점, 연동 경로에 해당하는 라우팅 대상이 없을 때 발생합니다.
+ */
+public class PaymentRouteNotFoundException extends IllegalArgumentException {
+    public PaymentRouteNotFoundException(String message) {
+        super(message);
+    }
+}
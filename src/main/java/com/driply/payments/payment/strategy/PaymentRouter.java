@@ -0,0 +1,79 @@
+package com.driply.payments.payment.strategy;
+
+import com.driply.payments.config.PaymentRoutingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 연동 경로, PG사, 가맹점으로 요청을 처리할 PaymentStrategy와 인증 정보를 찾습니다.
+ * 라우팅 테이블과 인증 헤더는 기동 시 모두 만들어두므로, 요청 처리 중에는 맵 조회 한 번으로 대상이 결정됩니다.
+ */
+@Component
+public class PaymentRouter {
+    private final Map<RouteKey, PaymentTarget> routes = new HashMap<>();
+    private final Map<PaymentRoute, PaymentTarget> defaultRoutes = new EnumMap<>(PaymentRoute.class);
+    private final String defaultProvider;
+    private final String defaultMerchant;
+
+    public PaymentRouter(List<PaymentStrategy> strategies, PaymentRoutingProperties properties) {
+        this.defaultProvider = normalize(properties.getDefaultProvider());
+        this.defaultMerchant = properties.getDefaultMerchant();
+
+        Map<String, PaymentStrategy> strategiesByProvider = new HashMap<>();
+        for (PaymentStrategy strategy : strategies) {
+            if (strategiesByProvider.put(normalize(strategy.provider()), strategy) != null) {
+                throw new IllegalStateException("Duplicate payment strategy for provider " + strategy.provider());
+            }
+        }
+
+        properties.getMerchants().forEach((merchant, providers) -> providers.forEach((provider, secretKeys) -> {
+            PaymentStrategy strategy = strategiesByProvider.get(normalize(provider));
+            if (strategy == null) {
+                throw new IllegalStateException("No payment strategy for provider " + provider + " of merchant " + merchant);
+            }
+            for (PaymentRoute route : PaymentRoute.values()) {
+                String secretKey = route.usesWidgetKey() ? secretKeys.getWidgetSecretKey() : secretKeys.getApiSecretKey();
+                if (secretKey == null || secretKey.isBlank()) {
+                    continue;
+                }
+                PaymentTarget target = new PaymentTarget(route, strategy, strategy.credentials(merchant, secretKey));
+                routes.put(new RouteKey(route, normalize(provider), merchant), target);
+            }
+        }));
+
+        for (PaymentRoute route : PaymentRoute.values()) {
+            PaymentTarget target = routes.get(new RouteKey(route, defaultProvider, defaultMerchant));
+            if (target != null) {
+                defaultRoutes.put(route, target);
+            }
+        }
+    }
+
+    /**
+     * 요청을 처리할 대상을 찾습니다. PG사나 가맹점이 지정되지 않으면 기본값을 사용합니다.
+     * @throws PaymentRouteNotFoundException 등록되지 않은 PG사, 가맹점이거나 해당 경로의 비밀키가 설정되지 않은 경우
+     */
+    public PaymentTarget route(PaymentRoute route, String provider, String merchant) {
+        PaymentTarget target = provider == null && merchant == null
+                ? defaultRoutes.get(route)
+                : routes.get(new RouteKey(route,
+                        provider == null ? defaultProvider : normalize(provider),
+                        merchant == null ? defaultMerchant : merchant));
+        if (target == null) {
+            throw new PaymentRouteNotFoundException("No payment route for " + route + " (provider=" + provider + ", merchant=" + merchant + ")");
+        }
+        return target;
+    }
+
+    private static String normalize(String provider) {
+        return provider.toUpperCase(Locale.ROOT);
+    }
+
+    private record RouteKey(PaymentRoute route, String provider, String merchant) {
+    }
+}
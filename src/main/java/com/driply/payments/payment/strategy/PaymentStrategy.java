@@ -1,5 +1,49 @@
 package com.driply.payments.payment.strategy;
 
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.BillingKeyResponse;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+
+import java.io.IOException;
+
+/**
+ * PG사 연동 구현체가 제공해야 하는 기능입니다.
+ * 구현체는 PG사 api 호출만 담당하고, 중복 승인 방지와 결제 결과 저장은 PaymentService가 담당합니다.
+ * 구현체를 빈으로 등록하면 PaymentRouter가 기동 시 provider 이름으로 라우팅 테이블에 등록합니다.
+ */
 public interface PaymentStrategy {
+    /**
+     * 라우팅과 결제 기록에 사용하는 PG사 이름입니다. 대문자로 반환해야 합니다.
+     */
+    String provider();
+
+    /**
+     * 비밀키로 PG 요청에 사용할 인증 정보를 만듭니다. 기동 시 가맹점, 경로별로 한 번만 호출됩니다.
+     */
+    PaymentCredentials credentials(String merchant, String secretKey);
+
+    PgResponse<PaymentResponse> confirm(PaymentCredentials credentials, paymentDTO request) throws IOException;
+
+    PgResponse<PaymentResponse> confirmBilling(PaymentCredentials credentials, String billingKey, BillingDTO request) throws IOException;
+
+    PgResponse<BillingKeyResponse> issueBillingKey(PaymentCredentials credentials, BillingKeyDTO request) throws IOException;
+
+    PgResponse<PaymentResponse> confirmBrandpay(PaymentCredentials credentials, paymentDTO request) throws IOException;
+
+    PgResponse<AccessTokenResponse> issueAccessToken(PaymentCredentials credentials, AccessTokenDTO request) throws IOException;
+
+    /**
+     * 주문번호로 결제를 조회합니다. 승인 요청의 응답을 받지 못해 결제 여부를 알 수 없을 때 사용합니다.
+     */
+    PgResponse<PaymentResponse> findPaymentByOrderId(PaymentCredentials credentials, String orderId) throws IOException;
 
+    /**
+     * paymentKey로 결제를 조회합니다. 웹훅으로 받은 상태 변경을 반영하기 전에 PG사의 결제 상태를 확인할 때 사용합니다.
+     */
+    PgResponse<PaymentResponse> findPayment(PaymentCredentials credentials, String paymentKey) throws IOException;
 }
@@ -0,0 +1,7 @@
+package com.driply.payments.payment.strategy;
+
+/**
+ * 라우팅 테이블의 한 항목입니다. 요청을 처리할 PG 구현체와 미리 만들어둔 인증 정보를 묶습니다.
+ */
+public record PaymentTarget(PaymentRoute route, PaymentStrategy strategy, PaymentCredentials credentials) {
+}
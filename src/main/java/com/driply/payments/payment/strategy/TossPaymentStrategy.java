@@ -1,7 +0,0 @@
-package com.driply.payments.payment.strategy;
-
-import org.springframework.stereotype.Component;
-
-@Component
-public class TossPaymentStrategy implements PaymentStrategy {
-}
@@ -0,0 +1,25 @@
+package com.driply.payments.payment.webhook;
+
+/**
+ * 웹훅 로그의 위치입니다. 세그먼트 번호, 세그먼트 안의 byte offset 순으로 정렬됩니다.
+ */
+public record LogPosition(long segment, int offset) implements Comparable<LogPosition> {
+    @Override
+    public int compareTo(LogPosition other) {
+        int compare = Long.compare(segment, other.segment);
+        return compare != 0 ? compare : Integer.compare(offset, other.offset);
+    }
+
+    @Override
+    public String toString() {
+        return segment + ":" + offset;
+    }
+
+    /**
+     * toString으로 기록한 위치를 해석합니다.
+     */
+    public static LogPosition parse(String value) {
+        int separator = value.indexOf(':');
+        return new LogPosition(Long.parseLong(value.substring(0, separator).trim()), Integer.parseInt(value.substring(separator + 1).trim()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.driply.payments.payment.webhook;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * 웹훅 로그에 기록되는 결제 상태 변경 이벤트입니다. PG사 요청 본문 중 결제에 반영할 필드만 보관합니다.
+ * @param balanceAmount 취소할 수 있는 남은 금액입니다. 취소 이벤트의 Payment 객체에만 있습니다.
+ * @param transmissionId PG사가 웹훅 전송마다 부여한 id, 재전송이라면 이전 전송과 같습니다.
+ * @param secret 가상계좌 입금 알림의 검증값입니다. 결제 승인 응답의 secret과 같아야 합니다.
+ * @param createdAt PG사가 이벤트를 생성한 시각(원문)입니다.
+ * @param receivedAt 서버가 이벤트를 수신한 시각입니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WebhookEvent(
+        String eventType,
+        String transmissionId,
+        String orderId,
+        String paymentKey,
+        String status,
+        OffsetDateTime approvedAt,
+        BigDecimal balanceAmount,
+        String secret,
+        String createdAt,
+        Instant receivedAt
+) {
+    /**
+     * 토스페이먼츠 웹훅 본문을 이벤트로 변환합니다.
+     * 결제 상태 변경(PAYMENT_STATUS_CHANGED)은 data의 Payment 객체를, 가상계좌 입금 알림(DEPOSIT_CALLBACK)은 본문의 필드를 사용합니다.
+     * @return 결제 상태를 바꾸지 않는 이벤트라면 null을 반환합니다.
+     */
+    public static WebhookEvent of(JsonNode body, String transmissionId, Instant receivedAt) {
+        JsonNode payment = body.hasNonNull("data") ? body.get("data") : body;
+        String orderId = text(payment, "orderId");
+        String paymentKey = text(payment, "paymentKey");
+        String status = text(payment, "status");
+        if ((orderId == null && paymentKey == null) || status == null) {
+            return null;
+        }
+        String approvedAt = text(payment, "approvedAt");
+        String balanceAmount = text(payment, "balanceAmount");
+        return new WebhookEvent(
+                body.hasNonNull("eventType") ? body.get("eventType").asText() : "DEPOSIT_CALLBACK",
+                transmissionId,
+                orderId,
+                paymentKey,
+                status,
+                approvedAt == null ? null : OffsetDateTime.parse(approvedAt),
+                balanceAmount == null ? null : new BigDecimal(balanceAmount),
+                text(payment, "secret") != null ? text(payment, "secret") : text(body, "secret"),
+                text(body, "createdAt"),
+                receivedAt);
+    }
+
+    /**
+     * 같은 이벤트의 재전송을 구분하는 키입니다. 전송 id가 없다면 이벤트 내용으로 구분합니다.
+     */
+    @JsonIgnore
+    public String deduplicationKey() {
+        return transmissionId != null ? transmissionId
+                : String.join("|", eventType, orderId == null ? paymentKey : orderId, status, String.valueOf(createdAt));
+    }
+
+    /**
+     * 같은 주문의 이벤트를 같은 작업 스레드에서 처리하기 위한 키입니다.
+     */
+    @JsonIgnore
+    public String partitionKey() {
+        return orderId != null ? orderId : paymentKey;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() || value.asText().isEmpty() ? null : value.asText();
+    }
+}
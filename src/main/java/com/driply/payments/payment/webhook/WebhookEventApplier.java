@@ -0,0 +1,181 @@
+package com.driply.payments.payment.webhook;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.common.MoneyUtil;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.entity.Payment;
+import com.driply.payments.payment.entity.PaymentStatus;
+import com.driply.payments.payment.repository.PaymentRepository;
+import com.driply.payments.payment.strategy.PaymentRoute;
+import com.driply.payments.payment.strategy.PaymentRouteNotFoundException;
+import com.driply.payments.payment.strategy.PaymentRouter;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+/**
+ * 웹훅 이벤트를 payments 테이블의 결제 상태에 반영합니다.
+ * 웹훅 본문은 인증되지 않으므로 어떤 결제가 바뀌었는지 알려주는 용도로만 사용하고,
+ * 반영할 상태는 PG사에 paymentKey로 조회한 결제에서 가져옵니다.
+ * 같은 이벤트를 여러 번 반영해도 결과가 같으며, 늦게 도착한 이전 단계의 상태로 되돌리지 않습니다.
+ */
+@Component
+public class WebhookEventApplier {
+    private static final String DEPOSIT_CALLBACK = "DEPOSIT_CALLBACK";
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final PaymentRepository paymentRepository;
+    private final PaymentRouter paymentRouter;
+    private final TransactionOperations transactionOperations;
+
+    public enum Result {
+        APPLIED,
+        /**
+         * 이미 같은 상태이거나, 더 진행된 상태이거나, 알 수 없는 상태라 바꾸지 않았습니다.
+         */
+        UNCHANGED,
+        /**
+         * 결제가 아직 저장되지 않았습니다. PaymentWriteBehind가 저장하기 전에 웹훅이 먼저 도착할 수 있습니다.
+         */
+        NOT_FOUND,
+        /**
+         * 가상계좌 입금 알림의 secret이 없거나 결제 승인 응답과 다르거나, PG사에서 결제를 확인하지 못했습니다.
+         */
+        REJECTED
+    }
+
+    @Autowired
+    public WebhookEventApplier(PaymentRepository paymentRepository, PaymentRouter paymentRouter, PlatformTransactionManager transactionManager) {
+        this(paymentRepository, paymentRouter, new TransactionTemplate(transactionManager));
+    }
+
+    WebhookEventApplier(PaymentRepository paymentRepository, PaymentRouter paymentRouter, TransactionOperations transactionOperations) {
+        this.paymentRepository = paymentRepository;
+        this.paymentRouter = paymentRouter;
+        this.transactionOperations = transactionOperations;
+    }
+
+    /**
+     * PG사 조회는 트랜잭션 밖에서 하므로, 조회하는 동안 DB 커넥션을 잡고 있지 않습니다.
+     * @throws RuntimeException DB 오류 혹은 PG사 조회에 일시적으로 실패한 경우, 호출한 쪽에서 재시도합니다.
+     */
+    public Result apply(WebhookEvent event) {
+        Optional<StoredPayment> found = transactionOperations.execute(status -> find(event).map(StoredPayment::of));
+        if (found.isEmpty()) {
+            return Result.NOT_FOUND;
+        }
+        StoredPayment stored = found.get();
+        boolean requiresSecret = DEPOSIT_CALLBACK.equals(event.eventType()) || event.secret() != null;
+        if (requiresSecret && (event.secret() == null || !event.secret().equals(stored.secret()))) {
+            return Result.REJECTED;
+        }
+
+        PgResponse<PaymentResponse> response;
+        try {
+            response = query(stored);
+        } catch (PaymentRouteNotFoundException e) {
+            logger.warn("Cannot look up payment {} of order {}: {}", stored.paymentKey(), event.orderId(), e.getMessage());
+            return Result.REJECTED;
+        }
+        if (!response.isSuccess()) {
+            if (response.statusCode() == 0 || response.statusCode() == 429 || response.statusCode() >= 500) {
+                throw new IllegalStateException("Payment lookup for " + stored.paymentKey() + " failed with status " + response.statusCode());
+            }
+            logger.warn("Payment {} of order {} not confirmed by PG (status {})", stored.paymentKey(), event.orderId(), response.statusCode());
+            return Result.REJECTED;
+        }
+        PaymentResponse current = response.data();
+        if (!stored.paymentKey().equals(current.paymentKey())) {
+            return Result.REJECTED;
+        }
+        return transactionOperations.execute(status -> change(stored.paymentKey(), current));
+    }
+
+    /**
+     * 이벤트의 결제가 저장되어 있는지 확인합니다. paymentKey가 있다면 paymentKey로, 없다면 orderId로 찾습니다.
+     */
+    public boolean exists(WebhookEvent event) {
+        return event.paymentKey() != null
+                ? paymentRepository.existsByPaymentKey(event.paymentKey())
+                : paymentRepository.existsByOrderId(event.orderId());
+    }
+
+    private Optional<Payment> find(WebhookEvent event) {
+        return event.paymentKey() != null
+                ? paymentRepository.findByPaymentKey(event.paymentKey())
+                : paymentRepository.findFirstByOrderIdOrderByPaymentIdDesc(event.orderId());
+    }
+
+    private Result change(String paymentKey, PaymentResponse current) {
+        Optional<Payment> found = paymentRepository.findByPaymentKey(paymentKey);
+        if (found.isEmpty()) {
+            return Result.NOT_FOUND;
+        }
+        Payment payment = found.get();
+        PaymentStatus status = PaymentStatus.of(current.status());
+        Long canceledAmount = current.balanceAmount() == null ? null
+                : payment.getTotalAmount() - MoneyUtil.toMinorUnits(current.balanceAmount(), payment.getCurrency());
+        // 부분 취소가 여러 번 일어나면 상태는 같고 취소 금액만 바뀝니다.
+        boolean unchanged = status == payment.getStatus() && (canceledAmount == null || canceledAmount == payment.getCanceledAmount());
+        if (unchanged || status == PaymentStatus.UNKNOWN || status.isBefore(payment.getStatus())) {
+            return Result.UNCHANGED;
+        }
+        payment.changeStatus(status, current.approvedAt(), canceledAmount);
+        return Result.APPLIED;
+    }
+
+    /**
+     * 결제를 저장한 PG사, 가맹점의 api 비밀키로 조회합니다. 찾지 못하면 결제위젯으로 승인한 결제일 수 있으므로 위젯 비밀키로 다시 조회합니다.
+     */
+    private PgResponse<PaymentResponse> query(StoredPayment stored) {
+        PgResponse<PaymentResponse> response = query(PaymentRoute.PAYMENT_QUERY, stored);
+        if (response.isSuccess() || (response.statusCode() != 401 && response.statusCode() != 403 && response.statusCode() != 404)) {
+            return response;
+        }
+        try {
+            return query(PaymentRoute.WIDGET_PAYMENT_QUERY, stored);
+        } catch (PaymentRouteNotFoundException e) {
+            return response;
+        }
+    }
+
+    private PgResponse<PaymentResponse> query(PaymentRoute route, StoredPayment stored) {
+        PaymentTarget target = paymentRouter.route(route, stored.provider(), stored.merchant());
+        try {
+            return target.strategy().findPayment(target.credentials(), stored.paymentKey());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 트랜잭션 밖에서 사용하는 저장된 결제 정보입니다.
+     * @param secret 결제 승인 응답의 가상계좌 입금 알림 검증값입니다.
+     */
+    private record StoredPayment(String paymentKey, String provider, String merchant, String secret) {
+        static StoredPayment of(Payment payment) {
+            return new StoredPayment(payment.getPaymentKey(), payment.getPaymentProvider(), payment.getMerchant(), storedSecret(payment));
+        }
+    }
+
+    private static String storedSecret(Payment payment) {
+        if (payment.getRawResponse() == null) {
+            return null;
+        }
+        try {
+            return JsonUtil.parseStringToObjectNode(payment.getRawResponse().getBody()).path("secret").asText(null);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.driply.payments.payment.webhook;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 수신한 웹훅 이벤트를 기록하는 append-only 로그입니다.
+ * 세그먼트 파일을 segmentSize 크기로 미리 만들어 메모리에 매핑하므로, 기록은 시스템 호출 없이 페이지 캐시에 복사하는 것으로 끝납니다.
+ * 프로세스가 비정상 종료되어도 페이지 캐시에 기록된 내용은 유지되며, 운영체제 장애까지 대비하려면 fsync를 켭니다.
+ * 각 기록은 [길이(int)][CRC32C(int)][내용] 형식이며, 길이는 내용을 모두 쓴 뒤에 기록합니다.
+ * 길이가 0이거나 CRC가 맞지 않는 위치가 세그먼트의 끝입니다. 재시작 시 기록은 항상 새 세그먼트에서 시작합니다.
+ */
+public class WebhookLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "webhooks-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private MappedByteBuffer current;
+    private long currentSegment;
+    private volatile LogPosition end;
+
+    public WebhookLog(Path directory, int segmentSize, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        List<Long> existing = segments();
+        this.currentSegment = existing.isEmpty() ? 0 : existing.get(existing.size() - 1) + 1;
+        this.current = map(currentSegment, FileChannel.MapMode.READ_WRITE);
+        this.end = new LogPosition(currentSegment, 0);
+    }
+
+    /**
+     * 이벤트를 기록합니다. 기록이 끝나면 reader에서 읽을 수 있습니다.
+     * @return 기록한 이벤트의 위치입니다.
+     * @throws IllegalArgumentException 이벤트가 세그먼트보다 큰 경우
+     */
+    public LogPosition append(byte[] payload) throws IOException {
+        int size = HEADER_SIZE + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Webhook event of " + payload.length + " bytes exceeds segment size");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        appendLock.lock();
+        try {
+            int offset = end.offset();
+            if (offset + size > segmentSize) {
+                rotate();
+                offset = 0;
+            }
+            current.put(offset + HEADER_SIZE, payload);
+            current.putInt(offset + Integer.BYTES, (int) crc.getValue());
+            current.putInt(offset, payload.length);
+            if (fsync) {
+                current.force(offset, size);
+            }
+            LogPosition position = new LogPosition(currentSegment, offset);
+            end = new LogPosition(currentSegment, offset + size);
+            return position;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 다음 기록 위치입니다. 이 위치 이전까지의 기록은 모두 읽을 수 있습니다.
+     */
+    public LogPosition end() {
+        return end;
+    }
+
+    /**
+     * 남아있는 가장 오래된 세그먼트의 시작 위치입니다.
+     */
+    public LogPosition start() throws IOException {
+        List<Long> existing = segments();
+        return new LogPosition(existing.isEmpty() ? currentSegment : existing.get(0), 0);
+    }
+
+    public Reader reader(LogPosition from) {
+        return new Reader(from);
+    }
+
+    /**
+     * before 위치보다 앞선 세그먼트 중 retainUntil 이전에 마지막으로 기록된 세그먼트를 삭제합니다.
+     */
+    public void deleteSegmentsBefore(LogPosition before, Instant retainUntil) throws IOException {
+        for (long segment : segments()) {
+            if (segment >= before.segment() || segment >= currentSegment) {
+                return;
+            }
+            Path path = segmentPath(segment);
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.toInstant().isBefore(retainUntil)) {
+                Files.deleteIfExists(path);
+                logger.info("Deleted webhook log segment {}", path.getFileName());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            current.force();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void rotate() throws IOException {
+        current.force();
+        currentSegment++;
+        current = map(currentSegment, FileChannel.MapMode.READ_WRITE);
+        end = new LogPosition(currentSegment, 0);
+    }
+
+    private MappedByteBuffer map(long segment, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_WRITE
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), options)) {
+            long size = mode == FileChannel.MapMode.READ_WRITE ? segmentSize : Math.min(channel.size(), segmentSize);
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * 로그를 앞에서부터 순서대로 읽습니다. 기록 중인 세그먼트는 end 위치까지만 읽고,
+     * 지난 세그먼트는 기록이 끝나는 위치에서 다음 세그먼트로 넘어갑니다. 스레드 하나에서만 사용해야 합니다.
+     */
+    public class Reader {
+        private LogPosition position;
+        private MappedByteBuffer buffer;
+
+        private Reader(LogPosition position) {
+            this.position = position;
+        }
+
+        public LogPosition position() {
+            return position;
+        }
+
+        /**
+         * 다음 기록을 읽습니다.
+         * @return 읽을 수 있는 기록이 없다면 null을 반환합니다.
+         */
+        public Entry next() throws IOException {
+            while (true) {
+                LogPosition limit = end;
+                if (position.compareTo(limit) >= 0) {
+                    return null;
+                }
+                boolean sealed = position.segment() < limit.segment();
+                if (buffer == null) {
+                    if (!Files.exists(segmentPath(position.segment()))) {
+                        // 삭제되었거나 기록 없이 넘어간 세그먼트입니다.
+                        position = new LogPosition(position.segment() + 1, 0);
+                        continue;
+                    }
+                    buffer = map(position.segment(), FileChannel.MapMode.READ_ONLY);
+                }
+                Entry entry = read(buffer, position);
+                if (entry != null) {
+                    position = entry.next();
+                    return entry;
+                }
+                if (!sealed) {
+                    return null;
+                }
+                if (position.offset() + HEADER_SIZE <= buffer.limit() && buffer.getInt(position.offset()) != 0) {
+                    logger.warn("Skipping corrupted tail of webhook log segment {} at {}", position.segment(), position.offset());
+                }
+                buffer = null;
+                position = new LogPosition(position.segment() + 1, 0);
+            }
+        }
+
+        private Entry read(MappedByteBuffer buffer, LogPosition at) {
+            int offset = at.offset();
+            if (offset + HEADER_SIZE > buffer.limit()) {
+                return null;
+            }
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_SIZE + length > buffer.limit()) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_SIZE, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                return null;
+            }
+            return new Entry(at, new LogPosition(at.segment(), offset + HEADER_SIZE + length), payload);
+        }
+    }
+
+    /**
+     * @param next 다음 기록의 위치입니다.
+     */
+    public record Entry(LogPosition position, LogPosition next, byte[] payload) {
+    }
+}
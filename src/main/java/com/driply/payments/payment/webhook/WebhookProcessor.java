@@ -0,0 +1,347 @@
+package com.driply.payments.payment.webhook;
+
+import com.driply.payments.config.WebhookProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PG사 웹훅을 수신하고 결제 상태에 반영합니다.
+ * 수신 요청은 본문을 검증하고 결제가 저장되어 있는지 확인한 뒤 WebhookLog에 기록하고 바로 응답하므로, 결제 반영을 기다리지 않습니다.
+ * 저장되지 않은 결제의 이벤트는 기록하지 않고 거절하여, 인증되지 않은 요청이 로그와 PG사 조회를 늘리지 못하도록 하고 PG사가 나중에 재전송하도록 합니다.
+ * 로그를 읽는 스레드 하나가 이벤트를 주문번호별 작업 스레드로 나누어 전달하며, 작업 스레드는 대기열 순서대로 반영합니다.
+ * 실패한 이벤트는 같은 작업 스레드에서 재시도하므로 같은 주문의 다음 이벤트가 먼저 반영되지 않습니다.
+ * maxAttempts번 모두 실패한 이벤트는 dead-letter 파일에 기록하고 다음 이벤트로 넘어가므로, 한 이벤트가 작업 스레드를 계속 막지 않습니다.
+ * 처리 위치는 주기적으로 checkpoint 파일에 기록하며, 재시작하면 처리가 끝나지 않은 가장 앞선 이벤트부터 다시 처리합니다.
+ */
+@Component
+public class WebhookProcessor {
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final WebhookProperties properties;
+    private final WebhookEventApplier applier;
+    private final ObjectMapper objectMapper;
+    private final WebhookLog log;
+    private final Path checkpointPath;
+    private final Path deadLetterPath;
+    private final List<BlockingQueue<Task>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Thread dispatcher;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("webhook-checkpoint").daemon().factory());
+    private final NavigableSet<LogPosition> inFlight = new ConcurrentSkipListSet<>();
+    private final Cache<String, Boolean> processed;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder ignored = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private volatile LogPosition dispatched;
+    private volatile boolean running = true;
+
+    public WebhookProcessor(WebhookProperties properties, WebhookEventApplier applier, ObjectMapper objectMapper) throws IOException {
+        this.properties = properties;
+        this.applier = applier;
+        this.objectMapper = objectMapper;
+        Path directory = Path.of(properties.getLogDir());
+        this.log = new WebhookLog(directory, (int) properties.getSegmentSize().toBytes(), properties.isFsync());
+        this.checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        this.deadLetterPath = directory.resolve(DEAD_LETTER_FILE);
+        this.processed = Caffeine.newBuilder()
+                .maximumSize(properties.getDeduplicationSize())
+                .expireAfterWrite(properties.getDeduplicationTtl())
+                .build();
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            BlockingQueue<Task> queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+            partitions.add(queue);
+            workers.add(Thread.ofVirtual().name("webhook-worker-" + i).unstarted(() -> work(queue)));
+        }
+        this.dispatcher = Thread.ofPlatform().name("webhook-dispatcher").daemon().unstarted(this::dispatch);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        dispatched = Files.exists(checkpointPath)
+                ? LogPosition.parse(Files.readString(checkpointPath, StandardCharsets.UTF_8))
+                : log.start();
+        workers.forEach(Thread::start);
+        dispatcher.start();
+        long interval = properties.getCheckpointInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        scheduler.shutdownNow();
+        dispatcher.interrupt();
+        workers.forEach(Thread::interrupt);
+        dispatcher.join(1_000);
+        for (Thread worker : workers) {
+            worker.join(1_000);
+        }
+        checkpoint();
+        log.close();
+    }
+
+    /**
+     * 웹훅 본문을 검증하여 로그에 기록합니다. 결제 반영은 기다리지 않습니다.
+     * @param transmissionId PG사의 웹훅 전송 id, 없다면 null 입니다.
+     * @return 로그에 기록했다면 true, 결제 상태와 관계없는 이벤트라 무시했다면 false를 반환합니다.
+     * @throws IllegalArgumentException 본문이 너무 크거나 올바른 JSON이 아닌 경우
+     * @throws NoSuchElementException 이벤트의 결제가 저장되어 있지 않은 경우, PG사가 재전송하도록 실패로 응답합니다.
+     * @throws IOException 로그에 기록하지 못한 경우, PG사가 재전송하도록 실패로 응답해야 합니다.
+     */
+    public boolean accept(byte[] body, String transmissionId) throws IOException {
+        if (body.length > properties.getMaxEventSize().toBytes()) {
+            throw new IllegalArgumentException("Webhook body exceeds " + properties.getMaxEventSize());
+        }
+        WebhookEvent event;
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("Webhook body must be a JSON object");
+            }
+            event = WebhookEvent.of(node, transmissionId, Instant.now());
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid webhook body: " + e.getMessage(), e);
+        }
+        if (event == null) {
+            ignored.increment();
+            return false;
+        }
+        if (!applier.exists(event)) {
+            unmatched.increment();
+            throw new NoSuchElementException("Payment not found for webhook event of order " + event.orderId());
+        }
+        log.append(objectMapper.writeValueAsBytes(event));
+        received.increment();
+        LockSupport.unpark(dispatcher);
+        return true;
+    }
+
+    /**
+     * 로그에 남아있는 이벤트 중 from 이후에 수신한 이벤트를 다시 처리합니다.
+     * 장애로 반영되지 못한 이벤트를 복구할 때 사용하며, 이미 반영된 이벤트는 결제 상태를 바꾸지 않습니다.
+     * 작업 대기열이 replayQueueTimeout 동안 가득 차 있으면 요청 스레드를 계속 붙잡지 않도록 중단합니다.
+     * @return 다시 처리하도록 전달한 이벤트 수입니다.
+     * @throws IllegalStateException 대기열이 가득 차 replay를 중단한 경우, 이미 전달한 이벤트는 처리됩니다.
+     */
+    public long replay(Instant from) throws IOException, InterruptedException {
+        long timeoutNanos = properties.getReplayQueueTimeout().toNanos();
+        LogPosition until = log.end();
+        WebhookLog.Reader reader = log.reader(log.start());
+        long replayed = 0;
+        WebhookLog.Entry entry;
+        while ((entry = reader.next()) != null && entry.position().compareTo(until) < 0) {
+            WebhookEvent event = read(entry);
+            if (event != null && !event.receivedAt().isBefore(from)) {
+                if (!partition(event).offer(new Task(entry.position(), event, true), timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    logger.warn("Stopped webhook replay after {} events: worker queues are full", replayed);
+                    throw new IllegalStateException("Webhook worker queues are full; replayed " + replayed + " events before stopping");
+                }
+                replayed++;
+            }
+        }
+        logger.info("Replaying {} webhook events received since {}", replayed, from);
+        return replayed;
+    }
+
+    public WebhookStats stats() {
+        return new WebhookStats(received.sum(), ignored.sum(), applied.sum(), unchanged.sum(), duplicates.sum(),
+                unmatched.sum(), rejected.sum(), retries.sum(), deadLettered.sum(), inFlight.size());
+    }
+
+    private void dispatch() {
+        WebhookLog.Reader reader = log.reader(dispatched);
+        while (running) {
+            try {
+                WebhookLog.Entry entry = reader.next();
+                if (entry == null) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                WebhookEvent event = read(entry);
+                if (event != null) {
+                    inFlight.add(entry.position());
+                    partition(event).put(new Task(entry.position(), event, false));
+                }
+                dispatched = entry.next();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to read webhook log at {}", reader.position(), e);
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void work(BlockingQueue<Task> queue) {
+        while (running) {
+            Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                process(task);
+            } catch (InterruptedException e) {
+                // 종료 중에 처리하지 못한 이벤트는 checkpoint 이후에 남아 재시작 시 다시 처리됩니다.
+                return;
+            }
+            if (!task.replay()) {
+                inFlight.remove(task.position());
+            }
+        }
+    }
+
+    private void process(Task task) throws InterruptedException {
+        WebhookEvent event = task.event();
+        String key = event.deduplicationKey();
+        if (!task.replay() && processed.getIfPresent(key) != null) {
+            duplicates.increment();
+            return;
+        }
+        long backoff = properties.getRetryBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            WebhookEventApplier.Result result;
+            try {
+                result = applier.apply(event);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to apply webhook event for order {} (attempt {})", event.orderId(), attempt, e);
+                result = null;
+            }
+            if (result == WebhookEventApplier.Result.NOT_FOUND && attempt >= properties.getMissingPaymentAttempts()) {
+                logger.warn("Payment not found for webhook event {} of order {}", event.eventType(), event.orderId());
+                unmatched.increment();
+                return;
+            }
+            if (result != null && result != WebhookEventApplier.Result.NOT_FOUND) {
+                record(result, event);
+                processed.put(key, Boolean.TRUE);
+                return;
+            }
+            if (result == null && attempt >= properties.getMaxAttempts()) {
+                deadLetter(event);
+                return;
+            }
+            // 종료되면 checkpoint 이후에 남아 재시작 시 다시 처리됩니다.
+            if (!running) {
+                throw new InterruptedException();
+            }
+            retries.increment();
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * 반영하지 못한 이벤트를 dead-letter 파일에 한 줄씩 기록합니다. 자동으로 재처리되지 않으므로 지표로 알림을 받아 확인해야 합니다.
+     */
+    private void deadLetter(WebhookEvent event) {
+        logger.error("Moved webhook event {} of order {} to dead-letter after {} attempts", event.eventType(), event.orderId(),
+                properties.getMaxAttempts());
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(event);
+            synchronized (deadLetterPath) {
+                try (OutputStream out = Files.newOutputStream(deadLetterPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    out.write(line);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write webhook event of order {} to dead-letter", event.orderId(), e);
+        }
+        // 파일에 기록한 뒤에 세어야 지표를 보고 dead-letter 파일을 열었을 때 이벤트가 있습니다.
+        deadLettered.increment();
+    }
+
+    private void record(WebhookEventApplier.Result result, WebhookEvent event) {
+        switch (result) {
+            case APPLIED -> applied.increment();
+            case UNCHANGED -> unchanged.increment();
+            case REJECTED -> {
+                rejected.increment();
+                logger.warn("Rejected webhook event {} of order {}: secret does not match or PG did not confirm the payment", event.eventType(),
+                        event.orderId());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private BlockingQueue<Task> partition(WebhookEvent event) {
+        return partitions.get(Math.floorMod(event.partitionKey().hashCode(), partitions.size()));
+    }
+
+    private WebhookEvent read(WebhookLog.Entry entry) {
+        try {
+            return objectMapper.readValue(entry.payload(), WebhookEvent.class);
+        } catch (IOException e) {
+            logger.error("Skipping unreadable webhook event at {}", entry.position(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 처리가 끝나지 않은 가장 앞선 이벤트의 위치를 기록하고, 보관 기간이 지난 세그먼트를 삭제합니다.
+     * 로그 읽기 위치를 먼저 읽으므로, 그 이전에 읽은 이벤트는 모두 inFlight에 있거나 처리가 끝난 상태입니다.
+     */
+    private void checkpoint() {
+        try {
+            LogPosition position = dispatched;
+            LogPosition first = inFlight.stream().findFirst().orElse(null);
+            if (first != null && first.compareTo(position) < 0) {
+                position = first;
+            }
+            Path temp = checkpointPath.resolveSibling(CHECKPOINT_FILE + ".tmp");
+            Files.writeString(temp, position.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.deleteSegmentsBefore(position, Instant.now().minus(properties.getRetention()));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write webhook checkpoint", e);
+        }
+    }
+
+    /**
+     * @param replay replay로 다시 전달된 이벤트라면 true, 중복 검사와 처리 위치 기록에서 제외합니다.
+     */
+    private record Task(LogPosition position, WebhookEvent event, boolean replay) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.driply.payments.payment.webhook;
+
+/**
+ * 웹훅 처리 현황입니다.
+ * @param received 로그에 기록한 이벤트 수
+ * @param ignored 결제 상태와 관계없어 기록하지 않은 이벤트 수
+ * @param applied 결제 상태를 바꾼 이벤트 수
+ * @param unchanged 이미 반영된 상태라 바꾸지 않은 이벤트 수
+ * @param duplicates 이미 처리한 이벤트의 재전송 수
+ * @param unmatched 결제를 찾지 못해 수신을 거절했거나 반영을 포기한 이벤트 수
+ * @param rejected 검증값이 맞지 않아 반영하지 않은 이벤트 수
+ * @param retries DB 오류, PG사 조회 실패나 결제 미저장으로 재시도한 횟수
+ * @param deadLettered 최대 시도 횟수를 넘어 dead-letter 파일에 기록한 이벤트 수
+ * @param inFlight 로그에서 읽었지만 처리가 끝나지 않은 이벤트 수
+ */
+public record WebhookStats(
+        long received,
+        long ignored,
+        long applied,
+        long unchanged,
+        long duplicates,
+        long unmatched,
+        long rejected,
+        long retries,
+        long deadLettered,
+        long inFlight
+) {
+}
@@ -0,0 +1,23 @@
+-- billing_keys의 기본 키를 (payment_provider, merchant, customer_key)로 바꾸는 수동 마이그레이션입니다.
+-- 개발 환경은 ddl-auto로 스키마를 새로 만들므로 운영 DB에서만 실행합니다.
+-- 기존 빌링키는 모두 기본 PG사, 가맹점(payments.routing.default-provider, default-merchant)으로 발급된 것으로 옮깁니다.
+-- 기본값을 바꿔 운영 중이라면 아래 update의 값을 맞춰 실행합니다.
+
+begin;
+
+alter table billing_keys
+    add column payment_provider varchar(255),
+    add column merchant varchar(255);
+
+update billing_keys
+set payment_provider = 'TOSS',
+    merchant = 'default';
+
+alter table billing_keys
+    alter column payment_provider set not null,
+    alter column merchant set not null;
+
+alter table billing_keys drop constraint billing_keys_pkey;
+alter table billing_keys add primary key (payment_provider, merchant, customer_key);
+
+commit;
@@ -0,0 +1,120 @@
+-- payments 테이블을 최소 단위 금액, smallint 상태/결제 수단, 분리된 응답 원문 테이블로 옮기는 수동 마이그레이션입니다.
+-- 개발 환경은 ddl-auto로 스키마를 새로 만들므로 운영 DB에서만 실행합니다.
+-- 실행 전 애플리케이션을 멈추고 write-behind 저널이 비워졌는지 확인합니다. (PostgreSQL 14 이상, lz4 지원 빌드)
+
+-- 1. 변경 전 측정
+select count(*) as rows,
+       avg(pg_column_size(p.*)) as avg_row_bytes,
+       pg_size_pretty(pg_relation_size('payments')) as heap,
+       pg_size_pretty(pg_total_relation_size('payments')) as total
+from payments p;
+
+explain (analyze, buffers)
+select payment_id, order_id, payment_key, payment_provider, total_amount, status, requested_at, approved_at
+from payments
+where status = 'DONE'
+order by requested_at desc, payment_id desc
+limit 51;
+
+-- 2. 응답 원문 테이블
+create table payment_raw_responses (
+    raw_response_id bigint primary key,
+    body            jsonb  not null
+);
+alter table payment_raw_responses alter column body set compression lz4;
+-- 작은 응답 본문도 행 밖으로 옮기고 압축하도록 TOAST 기준을 낮춥니다.
+alter table payment_raw_responses set (toast_tuple_target = 128);
+
+-- 3. 새 컬럼
+alter table payments
+    add column canceled_amount bigint not null default 0,
+    add column currency        varchar(3) not null default 'KRW',
+    add column method          smallint,
+    add column raw_response_id bigint,
+    add column status_code     smallint;
+
+-- 4. 응답 원문 이동과 결제 수단, 취소 금액, 상태 코드 채우기 (payment_id 범위별로 커밋)
+do $$
+declare
+    batch_size constant bigint := 10000;
+    last_id bigint := 0;
+    max_id  bigint;
+begin
+    select coalesce(max(payment_id), 0) into max_id from payments;
+    while last_id < max_id loop
+        insert into payment_raw_responses (raw_response_id, body)
+        select payment_id, response_data
+        from payments
+        where payment_id > last_id and payment_id <= last_id + batch_size
+          and response_data is not null;
+
+        update payments p
+        set raw_response_id = case when p.response_data is null then null else p.payment_id end,
+            method = case when p.response_data ->> 'method' is null then null else case p.response_data ->> 'method'
+                         when '카드' then 0 when 'CARD' then 0
+                         when '가상계좌' then 1 when 'VIRTUAL_ACCOUNT' then 1
+                         when '간편결제' then 2 when 'EASY_PAY' then 2
+                         when '휴대폰' then 3 when 'MOBILE_PHONE' then 3
+                         when '계좌이체' then 4 when 'TRANSFER' then 4
+                         when '문화상품권' then 5 when 'CULTURE_GIFT_CERTIFICATE' then 5
+                         when '도서문화상품권' then 6 when 'BOOK_GIFT_CERTIFICATE' then 6
+                         when '게임문화상품권' then 7 when 'GAME_GIFT_CERTIFICATE' then 7
+                         else -1
+                     end end,
+            currency = coalesce(p.response_data ->> 'currency', 'KRW'),
+            canceled_amount = coalesce(round(p.total_amount - (p.response_data ->> 'balanceAmount')::numeric), 0),
+            status_code = case upper(p.status)
+                              when 'READY' then 0
+                              when 'IN_PROGRESS' then 1
+                              when 'WAITING_FOR_DEPOSIT' then 2
+                              when 'DONE' then 3
+                              when 'PARTIAL_CANCELED' then 4
+                              when 'CANCELED' then 5
+                              when 'ABORTED' then 6
+                              when 'EXPIRED' then 7
+                              else -1
+                          end
+        where p.payment_id > last_id and p.payment_id <= last_id + batch_size;
+
+        last_id := last_id + batch_size;
+        commit;
+    end loop;
+end $$;
+
+create sequence payment_raw_responses_seq increment by 50;
+select setval('payment_raw_responses_seq', (select coalesce(max(raw_response_id), 0) + 1 from payment_raw_responses));
+
+-- 5. 컬럼 타입 변경과 기존 컬럼 삭제
+-- KRW 금액은 원 단위 그대로 최소 단위입니다. 소수 단위 통화가 있다면 이 단계 전에 따로 변환합니다.
+drop index if exists idx_payments_status_requested_at;
+alter table payments
+    alter column total_amount type bigint using round(total_amount)::bigint,
+    alter column currency drop default,
+    alter column canceled_amount drop default,
+    drop column status,
+    drop column response_data;
+alter table payments rename column status_code to status;
+alter table payments alter column status set not null;
+alter table payments
+    add constraint fk_payments_raw_response foreign key (raw_response_id) references payment_raw_responses (raw_response_id);
+create index idx_payments_status_requested_at on payments (status, requested_at, payment_id);
+
+-- 삭제한 컬럼의 공간은 테이블을 다시 쓸 때 회수됩니다. 잠금 시간이 문제라면 pg_repack을 사용합니다.
+vacuum full analyze payments;
+analyze payment_raw_responses;
+
+-- 6. 변경 후 측정 (1과 비교합니다)
+select count(*) as rows,
+       avg(pg_column_size(p.*)) as avg_row_bytes,
+       pg_size_pretty(pg_relation_size('payments')) as heap,
+       pg_size_pretty(pg_total_relation_size('payments')) as total,
+       pg_size_pretty(pg_total_relation_size('payment_raw_responses')) as raw_responses
+from payments p;
+
+explain (analyze, buffers)
+select payment_id, order_id, payment_key, payment_provider, total_amount, canceled_amount, currency, status, method,
+       requested_at, approved_at
+from payments
+where status = 3
+order by requested_at desc, payment_id desc
+limit 51;
@@ -0,0 +1,13 @@
+-- payments에 결제를 승인한 가맹점(merchant)을 기록하는 수동 마이그레이션입니다.
+-- 개발 환경은 ddl-auto로 스키마를 새로 만들므로 운영 DB에서만 실행합니다.
+-- 결제 조회 api는 가맹점 계정에게 자기 가맹점의 결제만 보여주며, merchant가 없는 결제는 관리자만 조회할 수 있습니다.
+-- 컬럼은 null을 허용하므로, 배포 전에 write-behind 저널에 남아 있던 결제도 merchant 없이 그대로 저장됩니다.
+
+alter table payments add column merchant varchar(255);
+
+-- 파티션 테이블이라면 부모 테이블의 인덱스가 모든 파티션에 만들어집니다. 쓰기가 적은 시간에 실행합니다.
+create index idx_payments_merchant_requested_at on payments (merchant, requested_at, payment_id);
+
+-- 기존 결제가 모두 기본 가맹점(payments.routing.default-merchant)으로 승인되었다면 아래를 실행해 가맹점 계정에서도 조회되게 합니다.
+-- 파티션별로 나누어 실행하면 잠금 시간을 줄일 수 있습니다.
+-- update payments set merchant = 'default' where merchant is null;
@@ -0,0 +1,119 @@
+-- payments 테이블을 requested_at 기준 월별 range 파티션 테이블로 옮기는 수동 마이그레이션입니다. (prod 프로필)
+-- payments-compact.sql을 먼저 실행한 스키마를 대상으로 하며, 실행 전 애플리케이션을 멈춥니다. (PostgreSQL 14 이상)
+-- 이후 파티션 생성과 보관 기간이 지난 파티션 삭제는 PaymentPartitionManager(payments.partition.enabled)가 담당합니다.
+--
+-- 파티션 테이블의 unique 제약은 파티션 키를 포함해야 하므로:
+-- - 기본 키는 (payment_id, requested_at)입니다. payment_id는 시퀀스로만 만들어지므로 여전히 유일합니다.
+-- - payment_key의 전역 유일성은 payment_keys 테이블의 기본 키로 보장합니다. payments에 insert 하면 트리거가 등록하므로,
+--   중복 paymentKey는 이전과 같이 unique_violation으로 실패합니다.
+
+-- 1. 변경 전 측정: 최근 7일 조회가 읽는 버퍼 수
+explain (analyze, buffers)
+select payment_id, order_id, payment_key, payment_provider, total_amount, canceled_amount, currency, status, method,
+       requested_at, approved_at
+from payments
+where requested_at >= now() - interval '7 days'
+order by requested_at desc, payment_id desc
+limit 51;
+
+-- 2. 파티션 테이블과 paymentKey 등록 테이블
+alter index idx_payments_order_id rename to idx_payments_order_id_old;
+alter index idx_payments_requested_at rename to idx_payments_requested_at_old;
+alter index idx_payments_status_requested_at rename to idx_payments_status_requested_at_old;
+alter index idx_payments_provider_requested_at rename to idx_payments_provider_requested_at_old;
+
+create table payments_partitioned (like payments including defaults) partition by range (requested_at);
+alter table payments_partitioned add primary key (payment_id, requested_at);
+alter table payments_partitioned
+    add constraint fk_payments_raw_response_partitioned foreign key (raw_response_id) references payment_raw_responses (raw_response_id);
+create index idx_payments_order_id on payments_partitioned (order_id);
+create index idx_payments_payment_key on payments_partitioned (payment_key);
+create index idx_payments_requested_at on payments_partitioned (requested_at, payment_id);
+create index idx_payments_status_requested_at on payments_partitioned (status, requested_at, payment_id);
+create index idx_payments_provider_requested_at on payments_partitioned (payment_provider, requested_at, payment_id);
+
+create table payment_keys (
+    payment_key  varchar(255) primary key,
+    payment_id   bigint       not null,
+    requested_at timestamp(6) with time zone not null
+);
+
+create function payments_register_key() returns trigger language plpgsql as $$
+begin
+    insert into payment_keys (payment_key, payment_id, requested_at) values (new.payment_key, new.payment_id, new.requested_at);
+    return new;
+end $$;
+
+create function payments_unregister_key() returns trigger language plpgsql as $$
+begin
+    delete from payment_keys where payment_key = old.payment_key;
+    return old;
+end $$;
+
+create trigger payments_register_key before insert on payments_partitioned
+    for each row execute function payments_register_key();
+create trigger payments_unregister_key after delete on payments_partitioned
+    for each row execute function payments_unregister_key();
+
+-- 3. 기존 결제가 있는 달부터 3개월 뒤까지의 파티션 (Asia/Seoul 기준 매월 1일 0시 경계, PartitionProperties.zone과 같아야 합니다)
+do $$
+declare
+    month date;
+    last  date := (date_trunc('month', now() at time zone 'Asia/Seoul') + interval '3 months')::date;
+begin
+    select coalesce(date_trunc('month', min(requested_at) at time zone 'Asia/Seoul'), date_trunc('month', now() at time zone 'Asia/Seoul'))::date
+    into month from payments;
+    while month <= last loop
+        execute format('create table %I partition of payments_partitioned for values from (%L) to (%L)',
+                       'payments_p' || to_char(month, 'YYYYMM'),
+                       (month::timestamp at time zone 'Asia/Seoul'),
+                       ((month + interval '1 month')::timestamp at time zone 'Asia/Seoul'));
+        month := (month + interval '1 month')::date;
+    end loop;
+end $$;
+
+-- 4. 복사 (payment_id 범위별로 커밋)
+do $$
+declare
+    batch_size constant bigint := 50000;
+    last_id bigint := 0;
+    max_id  bigint;
+begin
+    select coalesce(max(payment_id), 0) into max_id from payments;
+    while last_id < max_id loop
+        insert into payments_partitioned
+        select * from payments where payment_id > last_id and payment_id <= last_id + batch_size;
+        last_id := last_id + batch_size;
+        commit;
+    end loop;
+end $$;
+
+-- 5. 교체
+-- 기존 테이블의 raw_response_id 외래 키를 남겨두면, 검증을 위해 남겨둔 payments_unpartitioned가 원문을 계속 참조하여
+-- PaymentPartitionManager가 파티션을 삭제할 때 payment_raw_responses의 삭제가 외래 키 위반으로 실패합니다.
+begin;
+alter table payments rename to payments_unpartitioned;
+alter table payments_unpartitioned drop constraint fk_payments_raw_response;
+alter table payments_partitioned rename to payments;
+commit;
+
+analyze payments;
+analyze payment_keys;
+
+-- 검증 후 삭제합니다.
+-- drop table payments_unpartitioned;
+
+-- 6. 변경 후 측정: 1과 같은 조회가 최근 파티션만 읽는지(Subplans Removed, 읽은 파티션 목록) 확인합니다.
+explain (analyze, buffers)
+select payment_id, order_id, payment_key, payment_provider, total_amount, canceled_amount, currency, status, method,
+       requested_at, approved_at
+from payments
+where requested_at >= now() - interval '7 days'
+order by requested_at desc, payment_id desc
+limit 51;
+
+select c.relname as partition, pg_size_pretty(pg_total_relation_size(c.oid)) as size
+from pg_inherits i
+join pg_class c on c.oid = i.inhrelid
+where i.inhparent = 'payments'::regclass
+order by c.relname;
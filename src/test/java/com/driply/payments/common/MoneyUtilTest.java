@@ -0,0 +1,39 @@
+package com.driply.payments.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyUtilTest {
+
+    @Test
+    void convertsToMinorUnitsOfCurrency() {
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("1000"), "KRW")).isEqualTo(1000);
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("1000.00"), "KRW")).isEqualTo(1000);
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("12.34"), "USD")).isEqualTo(1234);
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("12.3"), "USD")).isEqualTo(1230);
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("1E+3"), null)).isEqualTo(1000);
+        assertThat(MoneyUtil.fromMinorUnits(1234, "USD")).isEqualByComparingTo("12.34");
+    }
+
+    @Test
+    void roundsAmountsSmallerThanMinorUnitInsteadOfThrowing() {
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("1000.5"), "KRW")).isEqualTo(1001);
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("1000.49"), "KRW")).isEqualTo(1000);
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("12.345"), "USD")).isEqualTo(1235);
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("12.3449"), "USD")).isEqualTo(1234);
+        assertThat(MoneyUtil.toMinorUnits(new BigDecimal("-0.005"), "USD")).isEqualTo(-1);
+    }
+
+    @Test
+    void rejectsAmountsBeyondLongRange() {
+        assertThat(MoneyUtil.toMinorUnits(BigDecimal.valueOf(Long.MAX_VALUE), "KRW")).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> MoneyUtil.toMinorUnits(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE), "KRW"))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> MoneyUtil.toMinorUnits(BigDecimal.valueOf(Long.MAX_VALUE / 10), "USD"))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.driply.payments.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.forwardedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MvcConfigurationTest {
+    private AnnotationConfigWebApplicationContext context;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(WebConfig.class);
+        context.refresh();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void servesFingerprintedPrecompressedAssetsWithImmutableCaching() throws Exception {
+        String url = context.getBean(ResourceUrlProvider.class).getForLookupPath("/style.css");
+        assertThat(url).matches("/style-[0-9a-f]{32}\\.css");
+
+        MockHttpServletResponse response = mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        // .gz 파일은 processResources 단계에서 만들어집니다.
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("max-age=31536000", "immutable");
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+
+        mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void revalidatesUnversionedAssetsWithEtag() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/style.css"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+
+        mockMvc.perform(get("/style.css").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void rendersPagesAsTemplatesInsteadOfRawResources() throws Exception {
+        mockMvc.perform(get("/widget/checkout.html"))
+                .andExpect(forwardedUrl("widget/checkout"));
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(MvcConfiguration.class)
+    static class WebConfig {
+    }
+}
@@ -0,0 +1,313 @@
+package com.driply.payments.payment.batch;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.BillingBatchProperties;
+import com.driply.payments.config.PaymentRoutingProperties;
+import com.driply.payments.config.WriteBehindProperties;
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingJobProgress;
+import com.driply.payments.payment.dto.BillingJobRequest;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.BillingKeyResponse;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.driply.payments.payment.entity.BillingKey;
+import com.driply.payments.payment.entity.Payment;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.repository.BillingKeyRepository;
+import com.driply.payments.payment.repository.PaymentRepository;
+import com.driply.payments.payment.service.PaymentWriteBehind;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.driply.payments.payment.strategy.PaymentRouter;
+import com.driply.payments.payment.strategy.PaymentStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BillingBatchEngineTest {
+    private static final int CUSTOMERS = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    private final ConcurrentSkipListMap<String, BillingKey> billingKeys = new ConcurrentSkipListMap<>();
+    private final Map<String, Payment> payments = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> charges = new ConcurrentHashMap<>();
+    private final Map<String, PaymentResponse> approved = new ConcurrentHashMap<>();
+    private final Set<String> timeouts = ConcurrentHashMap.newKeySet();
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+    }
+
+    @Test
+    void chargesEveryStoredBillingKeyExactlyOnce() throws Exception {
+        saveBillingKeys();
+        BillingBatchEngine engine = engine();
+
+        BillingJobProgress submitted = engine.submit(BillingJobRequest.builder()
+                .concurrency(64)
+                .query(new BillingJobRequest.BillingKeyQuery(9_900L, "subscription", "sub-2026-10"))
+                .build());
+        BillingJobProgress progress = await(engine, submitted.jobId());
+
+        assertThat(progress.state()).isEqualTo(BillingJobProgress.State.COMPLETED);
+        assertThat(progress.succeeded()).isEqualTo(CUSTOMERS);
+        assertThat(progress.inFlight()).isZero();
+        assertThat(charges).hasSize(CUSTOMERS);
+        assertThat(charges.values()).allMatch(count -> count.get() == 1);
+        assertThat(charges).containsKey("sub-2026-10-customer-00042");
+    }
+
+    @Test
+    void resumesFromCheckpointWithoutChargingAgain() throws Exception {
+        saveBillingKeys();
+        List<BillingDTO> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(BillingDTO.builder().customerKey(customerKey(i)).amount(1_000L).orderId("order-" + i).build());
+        }
+        entries.add(BillingDTO.builder().customerKey("no-billing-key").amount(1_000L).orderId("order-missing").build());
+
+        BillingJobCheckpoint checkpoint = new BillingJobCheckpoint(tempDir.resolve("jobs").resolve("job-1"), JsonUtil.objectMapper(), false);
+        checkpoint.writeJob(BillingJobRequest.builder().entries(entries).build());
+        for (int i = 0; i < 40; i++) {
+            checkpoint.append(new BillingJobResult("order-" + i, BillingJobResult.Outcome.SUCCEEDED, 200));
+        }
+        checkpoint.close();
+        payments.put("order-40", Payment.builder().orderId("order-40").paymentKey("pk-40").build());
+
+        BillingBatchEngine engine = engine();
+        assertThat(engine.progress("job-1").state()).isEqualTo(BillingJobProgress.State.INTERRUPTED);
+        assertThat(engine.progress("job-1").succeeded()).isEqualTo(40);
+
+        engine.resume("job-1");
+        BillingJobProgress progress = await(engine, "job-1");
+
+        assertThat(progress.state()).isEqualTo(BillingJobProgress.State.COMPLETED);
+        assertThat(progress.succeeded()).isEqualTo(99);
+        assertThat(progress.skipped()).isEqualTo(1);
+        assertThat(progress.failed()).isEqualTo(1);
+        assertThat(charges.keySet()).hasSize(59).doesNotContain("order-0", "order-39", "order-40");
+        assertThatThrownBy(() -> engine.resume("job-1")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void timedOutChargeIsLookedUpByOrderIdInsteadOfResent() throws Exception {
+        saveBillingKeys();
+        timeouts.add("order-0");
+        BillingBatchEngine engine = engine();
+
+        BillingJobProgress submitted = engine.submit(BillingJobRequest.builder()
+                .entries(List.of(BillingDTO.builder().customerKey(customerKey(0)).amount(1_000L).orderId("order-0").build()))
+                .build());
+        BillingJobProgress progress = await(engine, submitted.jobId());
+
+        assertThat(progress.state()).isEqualTo(BillingJobProgress.State.COMPLETED);
+        assertThat(progress.succeeded()).isEqualTo(1);
+        assertThat(charges.get("order-0")).hasValue(1);
+        waitUntilStored("order-0");
+        assertThat(payments.get("order-0").getPaymentKey()).isEqualTo("pk-order-0");
+    }
+
+    @Test
+    void rejectsJobsWithoutExactlyOneSource() throws Exception {
+        BillingBatchEngine engine = engine();
+
+        assertThatThrownBy(() -> engine.submit(new BillingJobRequest()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BillingJobProgress await(BillingBatchEngine engine, String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        BillingJobProgress progress = engine.progress(jobId);
+        while (progress.state() == BillingJobProgress.State.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            progress = engine.progress(jobId);
+        }
+        return progress;
+    }
+
+    private void waitUntilStored(String orderId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!payments.containsKey(orderId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private BillingBatchEngine engine() throws Exception {
+        WriteBehindProperties writeBehindProperties = new WriteBehindProperties();
+        writeBehindProperties.setJournalDir(tempDir.resolve("journal").toString());
+        PaymentWriteBehind writeBehind = new PaymentWriteBehind(paymentRepository(), writeBehindProperties, JsonUtil.objectMapper());
+        writeBehind.start();
+        closeables.add(writeBehind::stop);
+
+        BillingBatchProperties properties = new BillingBatchProperties();
+        properties.setJobDir(tempDir.resolve("jobs").toString());
+        properties.setRetryBackoff(java.time.Duration.ofMillis(1));
+        BillingBatchEngine engine = new BillingBatchEngine(router(), billingKeyRepository(), paymentRepository(), writeBehind,
+                new PaymentMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()), properties, JsonUtil.objectMapper());
+        engine.loadJobs();
+        closeables.add(0, engine::shutdown);
+        return engine;
+    }
+
+    private PaymentRouter router() {
+        PaymentRoutingProperties.SecretKeys keys = new PaymentRoutingProperties.SecretKeys();
+        keys.setApiSecretKey("test_sk");
+        PaymentRoutingProperties properties = new PaymentRoutingProperties();
+        properties.setMerchants(Map.of("default", Map.of("TOSS", keys)));
+        return new PaymentRouter(List.of(new CountingStrategy()), properties);
+    }
+
+    /**
+     * 기본 가맹점의 빌링키와 함께, 같은 customerKey로 다른 가맹점에서 발급된 빌링키를 저장합니다. 다른 가맹점의 빌링키는 결제되면 안 됩니다.
+     */
+    private void saveBillingKeys() {
+        for (int i = 0; i < CUSTOMERS; i++) {
+            saveBillingKey("default", customerKey(i), "billing-" + i);
+            if (i % 10 == 0) {
+                saveBillingKey("other", customerKey(i), "other-billing-" + i);
+            }
+        }
+    }
+
+    private void saveBillingKey(String merchant, String customerKey, String billingKey) {
+        billingKeys.put(billingKeyIndex("TOSS", merchant, customerKey), BillingKey.builder()
+                .paymentProvider("TOSS").merchant(merchant).customerKey(customerKey).billingKey(billingKey).build());
+    }
+
+    private static String billingKeyIndex(Object provider, Object merchant, Object customerKey) {
+        return provider + ":" + merchant + ":" + customerKey;
+    }
+
+    private static String customerKey(int i) {
+        return String.format("customer-%05d", i);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BillingKeyRepository billingKeyRepository() {
+        return (BillingKeyRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{BillingKeyRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByPaymentProviderAndMerchantAndCustomerKeyGreaterThanOrderByCustomerKeyAsc" -> billingKeys
+                            .tailMap(billingKeyIndex(args[0], args[1], args[2]), false).values().stream()
+                            .takeWhile(billingKey -> billingKey.getPaymentProvider().equals(args[0]) && billingKey.getMerchant().equals(args[1]))
+                            .limit(((Limit) args[3]).max())
+                            .toList();
+                    case "findByPaymentProviderAndMerchantAndCustomerKeyIn" -> ((Collection<String>) args[2]).stream()
+                            .map(customerKey -> billingKeys.get(billingKeyIndex(args[0], args[1], customerKey)))
+                            .filter(java.util.Objects::nonNull)
+                            .toList();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private PaymentRepository paymentRepository() {
+        return (PaymentRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PaymentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findExistingOrderIds" -> ((Collection<String>) args[0]).stream()
+                            .filter(payments::containsKey)
+                            .collect(Collectors.toSet());
+                    case "findExistingPaymentKeys" -> Set.of();
+                    case "saveAll" -> {
+                        for (Payment payment : (Iterable<Payment>) args[0]) {
+                            payments.put(payment.getOrderId(), payment);
+                        }
+                        yield args[0];
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * 주문번호별 결제 요청 횟수를 세고 항상 승인합니다. timeouts에 있는 주문은 승인한 뒤 응답 없이 끝난 것처럼 statusCode 0을 반환합니다.
+     */
+    private class CountingStrategy implements PaymentStrategy {
+        @Override
+        public String provider() {
+            return "TOSS";
+        }
+
+        @Override
+        public PaymentCredentials credentials(String merchant, String secretKey) {
+            return new PaymentCredentials(merchant, secretKey);
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirmBilling(PaymentCredentials credentials, String billingKey, BillingDTO request) {
+            if (billingKey.startsWith("other-")) {
+                throw new IllegalStateException("Charged a billing key of another merchant");
+            }
+            charges.computeIfAbsent(request.getOrderId(), orderId -> new AtomicInteger()).incrementAndGet();
+            PaymentResponse payment = new PaymentResponse("pk-" + request.getOrderId(), request.getOrderId(), "DONE", "카드", "KRW",
+                    BigDecimal.valueOf(request.getAmount()), BigDecimal.valueOf(request.getAmount()), OffsetDateTime.now(), OffsetDateTime.now());
+            approved.put(request.getOrderId(), payment);
+            if (timeouts.contains(request.getOrderId())) {
+                return PgResponse.error("Read timed out");
+            }
+            return new PgResponse<>(200, "{}".getBytes(StandardCharsets.UTF_8), payment);
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> findPaymentByOrderId(PaymentCredentials credentials, String orderId) {
+            PaymentResponse payment = approved.get(orderId);
+            if (payment == null) {
+                return new PgResponse<>(404, "{\"code\":\"NOT_FOUND_PAYMENT\"}".getBytes(StandardCharsets.UTF_8), null);
+            }
+            return new PgResponse<>(200, "{}".getBytes(StandardCharsets.UTF_8), payment);
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> findPayment(PaymentCredentials credentials, String paymentKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirm(PaymentCredentials credentials, paymentDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<BillingKeyResponse> issueBillingKey(PaymentCredentials credentials, BillingKeyDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirmBrandpay(PaymentCredentials credentials, paymentDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<AccessTokenResponse> issueAccessToken(PaymentCredentials credentials, AccessTokenDTO request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.driply.payments.payment.client;
+
+import com.driply.payments.config.ResilienceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.CircuitBreakerSpec spec = new ResilienceProperties.CircuitBreakerSpec();
+        spec.setWindowSize(10);
+        spec.setMinimumCalls(4);
+        spec.setFailureRateThreshold(50);
+        spec.setSlowCallRateThreshold(100);
+        spec.setSlowCallDuration(Duration.ofSeconds(1));
+        spec.setOpenDuration(Duration.ofSeconds(10));
+        spec.setHalfOpenCalls(2);
+        circuitBreaker = new CircuitBreaker(spec, now::get);
+    }
+
+    @Test
+    void opensWhenFailureRateExceedsThreshold() {
+        call(false);
+        call(true);
+        call(false);
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(true);
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(circuitBreaker.notPermitted()).isEqualTo(1);
+    }
+
+    @Test
+    void opensWhenCallsAreSlow() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+            circuitBreaker.onResult(false, Duration.ofSeconds(2).toNanos());
+        }
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void closesAfterSuccessfulTrialCalls() {
+        openCircuit();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        circuitBreaker.onResult(false, 0);
+        circuitBreaker.onResult(false, 0);
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.failureRate()).isZero();
+    }
+
+    @Test
+    void reopensWhenTrialCallFails() {
+        openCircuit();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onResult(true, 0);
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void call(boolean failure) {
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onResult(failure, 0);
+    }
+}
@@ -0,0 +1,218 @@
+package com.driply.payments.payment.client;
+
+import com.driply.payments.config.PgClientConfig;
+import com.driply.payments.config.PgClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 서버를 상대로 연결 재사용, 엔드포인트별 타임아웃, 동시 요청 수 제한을 확인합니다.
+ */
+class HttpPgClientTest {
+    private static final byte[] OK_BODY = "{\"status\":\"DONE\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String KEY_STORE_PASSWORD = "changeit";
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile long delayMillis;
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private HttpServer server;
+    private PgClientProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                requestBody.readAllBytes();
+            }
+            try {
+                Thread.sleep(delayMillis);
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, OK_BODY.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(OK_BODY);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        properties = new PgClientProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void reusesConnectionAcrossSequentialRequests() throws IOException {
+        HttpPgClient client = client();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(post(client, PgEndpoint.CONFIRM)).isEqualTo(200);
+        }
+
+        assertThat(clientPorts).hasSize(1);
+        assertThat(client.stats().requests()).isEqualTo(5);
+        assertThat(client.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void appliesReadTimeoutPerEndpoint() throws IOException {
+        properties.getReadTimeouts().put(PgEndpoint.ACCESS_TOKEN, Duration.ofMillis(100));
+        delayMillis = 500;
+        HttpPgClient client = client();
+
+        assertThatThrownBy(() -> post(client, PgEndpoint.ACCESS_TOKEN)).isInstanceOf(HttpTimeoutException.class);
+        assertThat(post(client, PgEndpoint.CONFIRM)).isEqualTo(200);
+        assertThat(client.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void rejectsRequestsBeyondConcurrencyLimitAfterAcquireTimeout() throws Exception {
+        properties.setMaxConcurrentRequests(2);
+        properties.setAcquireTimeout(Duration.ofMillis(50));
+        release = new CountDownLatch(1);
+        HttpPgClient client = client();
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> postUnchecked(client));
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> postUnchecked(client));
+        waitUntil(() -> client.stats().inFlight() == 2);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> post(client, PgEndpoint.CONFIRM))
+                .isInstanceOf(PgUnavailableException.class)
+                .hasMessageContaining("pool exhausted");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(client.stats().inFlight()).isZero();
+        assertThat(client.stats().requests()).isEqualTo(2);
+    }
+
+    @Test
+    void countsOneHandshakePerTlsConnection(@TempDir Path directory) throws Exception {
+        SSLContext sslContext = selfSignedContext(directory.resolve("pg.p12"));
+        HttpsServer httpsServer = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        httpsServer.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                requestBody.readAllBytes();
+            }
+            exchange.sendResponseHeaders(200, OK_BODY.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(OK_BODY);
+            }
+        });
+        httpsServer.start();
+        try {
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).sslContext(sslContext).build();
+            HttpPgClient client = new HttpPgClient(httpClient, properties);
+            String url = "https://127.0.0.1:" + httpsServer.getAddress().getPort() + "/v1/payments/confirm";
+
+            for (int i = 0; i < 2; i++) {
+                int status = client.post(PgEndpoint.CONFIRM, url, "Basic dGVzdDo=", "{}".getBytes(StandardCharsets.UTF_8), (statusCode, body) -> {
+                    body.readAllBytes();
+                    return statusCode;
+                });
+                assertThat(status).isEqualTo(200);
+            }
+
+            assertThat(clientPorts).hasSize(1);
+            assertThat(client.stats().requests()).isEqualTo(2);
+            assertThat(client.stats().handshakes()).isEqualTo(1);
+        } finally {
+            httpsServer.stop(0);
+        }
+    }
+
+    /**
+     * 127.0.0.1용 자체 서명 인증서를 만들어 서버와 클라이언트가 함께 사용합니다.
+     */
+    private static SSLContext selfSignedContext(Path keyStore) throws Exception {
+        String keytool = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "pg", "-keyalg", "EC", "-dname", "CN=127.0.0.1",
+                "-ext", "SAN=ip:127.0.0.1", "-validity", "1", "-storetype", "PKCS12", "-keystore", keyStore.toString(),
+                "-storepass", KEY_STORE_PASSWORD).redirectErrorStream(true).start();
+        process.getInputStream().readAllBytes();
+        assertThat(process.waitFor()).isZero();
+
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keyStore)) {
+            store.load(in, KEY_STORE_PASSWORD.toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(store, KEY_STORE_PASSWORD.toCharArray());
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(store);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), trustManagers.getTrustManagers(), null);
+        return context;
+    }
+
+    private HttpPgClient client() {
+        return new HttpPgClient(new PgClientConfig().pgHttpClient(properties), properties);
+    }
+
+    private int post(HttpPgClient client, PgEndpoint endpoint) throws IOException {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/payments/confirm";
+        return client.post(endpoint, url, "Basic dGVzdDo=", "{}".getBytes(StandardCharsets.UTF_8), (statusCode, body) -> {
+            body.readAllBytes();
+            return statusCode;
+        });
+    }
+
+    private int postUnchecked(HttpPgClient client) {
+        try {
+            return post(client, PgEndpoint.CONFIRM);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
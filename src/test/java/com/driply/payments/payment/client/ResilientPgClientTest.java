@@ -0,0 +1,194 @@
+package com.driply.payments.payment.client;
+
+import com.driply.payments.config.PgClientConfig;
+import com.driply.payments.config.PgClientProperties;
+import com.driply.payments.config.ResilienceProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 장애를 주입하는 로컬 스텁 서버를 상대로 재시도, 회로 차단, bulkhead, 연결 풀 제한 동작을 확인합니다.
+ */
+class ResilientPgClientTest {
+    private static final byte[] OK_BODY = "{\"status\":\"DONE\"}".getBytes(StandardCharsets.UTF_8);
+    private final AtomicInteger hits = new AtomicInteger();
+    private final List<String> idempotencyKeys = new CopyOnWriteArrayList<>();
+    private volatile IntUnaryOperator statusForHit = hit -> 200;
+    private volatile long delayMillis;
+    private HttpServer server;
+    private ResilienceProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            int hit = hits.incrementAndGet();
+            idempotencyKeys.add(String.valueOf(exchange.getRequestHeaders().getFirst("Idempotency-Key")));
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                requestBody.readAllBytes();
+            }
+            sleep(delayMillis);
+            exchange.sendResponseHeaders(statusForHit.applyAsInt(hit), OK_BODY.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(OK_BODY);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        properties = new ResilienceProperties();
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getCircuitBreaker().setWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesUnprocessedResponses() throws IOException {
+        statusForHit = hit -> hit <= 2 ? 503 : 200;
+        ResilientPgClient client = client();
+
+        assertThat(post(client)).isEqualTo(200);
+        assertThat(hits).hasValue(3);
+        assertThat(idempotencyKeys).containsOnly("order-1");
+        assertThat(client.resilienceStats().get(PgEndpoint.CONFIRM).retries()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotRetryUnprocessedResponsesWithoutIdempotencyKey() throws IOException {
+        statusForHit = hit -> hit == 1 ? 503 : 200;
+        ResilientPgClient client = client();
+
+        assertThat(post(client, null)).isEqualTo(503);
+        assertThat(hits).hasValue(1);
+        assertThat(idempotencyKeys).containsExactly("null");
+        assertThat(client.resilienceStats().get(PgEndpoint.CONFIRM).retries()).isZero();
+    }
+
+    @Test
+    void returnsLastResponseWhenRetriesAreExhausted() throws IOException {
+        statusForHit = hit -> 503;
+        ResilientPgClient client = client();
+
+        assertThat(post(client)).isEqualTo(503);
+        assertThat(hits).hasValue(3);
+        assertThat(client.resilienceStats().get(PgEndpoint.CONFIRM).retries()).isEqualTo(2);
+    }
+
+    @Test
+    void failsFastWhileCircuitIsOpen() throws IOException {
+        statusForHit = hit -> 500;
+        ResilientPgClient client = client();
+        for (int i = 0; i < 4; i++) {
+            assertThat(post(client)).isEqualTo(500);
+        }
+
+        assertThatThrownBy(() -> post(client)).isInstanceOf(PgUnavailableException.class);
+        assertThat(hits).hasValue(4);
+        assertThat(client.resilienceStats().get(PgEndpoint.CONFIRM).state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void rejectsCallsWhenBulkheadIsFull() throws Exception {
+        delayMillis = 300;
+        properties.getBulkhead().setMaxConcurrent(1);
+        properties.getBulkhead().setMaxWait(Duration.ofMillis(10));
+        ResilientPgClient client = client();
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return post(client);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (hits.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> post(client)).isInstanceOf(PgUnavailableException.class);
+        assertThat(first.get()).isEqualTo(200);
+        assertThat(client.resilienceStats().get(PgEndpoint.CONFIRM).bulkheadRejections()).isEqualTo(1);
+    }
+
+    @Test
+    void poolExhaustionIsUnavailableWithoutOpeningCircuit() throws Exception {
+        delayMillis = 300;
+        PgClientProperties clientProperties = new PgClientProperties();
+        clientProperties.setMaxConcurrentRequests(1);
+        clientProperties.setAcquireTimeout(Duration.ofMillis(10));
+        ResilientPgClient client = client(clientProperties);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return post(client);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (hits.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> post(client))
+                    .isInstanceOf(PgUnavailableException.class)
+                    .hasMessageContaining("pool exhausted");
+        }
+        assertThat(first.get()).isEqualTo(200);
+        assertThat(client.resilienceStats().get(PgEndpoint.CONFIRM).state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(post(client)).isEqualTo(200);
+        assertThat(hits).hasValue(2);
+    }
+
+    private ResilientPgClient client() {
+        return client(new PgClientProperties());
+    }
+
+    private ResilientPgClient client(PgClientProperties clientProperties) {
+        return new ResilientPgClient(new HttpPgClient(new PgClientConfig().pgHttpClient(clientProperties), clientProperties), properties);
+    }
+
+    private int post(PgClient client) throws IOException {
+        return post(client, "order-1");
+    }
+
+    private int post(PgClient client, String idempotencyKey) throws IOException {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/payments/confirm";
+        return client.post(PgEndpoint.CONFIRM, url, "Basic dGVzdF9zazo=", idempotencyKey, "{}".getBytes(StandardCharsets.UTF_8),
+                (statusCode, responseStream) -> {
+                    responseStream.readAllBytes();
+                    return statusCode;
+                });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
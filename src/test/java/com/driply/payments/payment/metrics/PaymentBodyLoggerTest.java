@@ -0,0 +1,29 @@
+package com.driply.payments.payment.metrics;
+
+import com.driply.payments.common.JsonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentBodyLoggerTest {
+
+    @Test
+    void masksConfiguredFieldsInNestedObjectsAndArrays() throws Exception {
+        JsonNode body = JsonUtil.objectMapper().readTree("""
+                {"paymentKey":"tgen_20240101000000abcDE","orderId":"order-1","totalAmount":50000,
+                 "card":{"number":"12345678****000*","cardNumber":"1234567812345678"},
+                 "cancels":[{"customerKey":"cus"}],"code":null}""");
+
+        JsonNode masked = PaymentBodyLogger.mask(body, Set.of("paymentKey", "cardNumber", "customerKey", "code"));
+
+        assertThat(masked.get("paymentKey").asText()).isEqualTo("****bcDE");
+        assertThat(masked.get("orderId").asText()).isEqualTo("order-1");
+        assertThat(masked.get("totalAmount").asLong()).isEqualTo(50000);
+        assertThat(masked.get("card").get("cardNumber").asText()).isEqualTo("****5678");
+        assertThat(masked.get("cancels").get(0).get("customerKey").asText()).isEqualTo("****");
+        assertThat(masked.get("code").isNull()).isTrue();
+    }
+}
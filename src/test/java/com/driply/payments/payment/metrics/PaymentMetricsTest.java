@@ -0,0 +1,80 @@
+package com.driply.payments.payment.metrics;
+
+import com.driply.payments.payment.client.PgEndpoint;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.driply.payments.payment.strategy.PaymentRoute;
+import com.driply.payments.payment.strategy.PaymentStrategy;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PaymentMetrics metrics = new PaymentMetrics(observationRegistry(), meterRegistry);
+    private final PaymentTarget target = new PaymentTarget(PaymentRoute.PAYMENT_CONFIRM, tossStrategy(), new PaymentCredentials("default", "Basic x"));
+
+    @Test
+    void recordsTimerPerOutcome() throws IOException {
+        metrics.observe("confirm", target, () -> new PgResponse<>(200, new byte[0], "ok"));
+        metrics.observe("confirm", target, () -> new PgResponse<>(400, new byte[0], null));
+        metrics.observe("confirm", target, () -> PgResponse.error("Error reading response"));
+        metrics.observe("confirm", target, () -> PgResponse.unavailable("CONFIRM circuit breaker is open"));
+        metrics.observe("confirm", target, () -> new PgResponse<>(503, new byte[0], null));
+        assertThatThrownBy(() -> metrics.observe("confirm", target, () -> {
+            throw new IOException("boom");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(count("success")).isEqualTo(1);
+        assertThat(count("pg_error")).isEqualTo(1);
+        assertThat(count("unavailable")).isEqualTo(2);
+        assertThat(count("io_error")).isEqualTo(2);
+    }
+
+    @Test
+    void countsPgErrorCodes() {
+        metrics.recordPgError("TOSS", PgEndpoint.CONFIRM, "REJECT_CARD_COMPANY");
+        metrics.recordPgError("TOSS", PgEndpoint.CONFIRM, "REJECT_CARD_COMPANY");
+        metrics.recordPgError("TOSS", PgEndpoint.CONFIRM, null);
+        metrics.recordPgError("TOSS", PgEndpoint.CONFIRM, "SOMETHING_NEW");
+        metrics.recordPgError("TOSS", PgEndpoint.CONFIRM, "<script>");
+
+        assertThat(meterRegistry.get("payments.pg.errors").tag("code", "reject_card_company").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("payments.pg.errors").tag("code", "unknown").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("payments.pg.errors").tag("code", "other").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("payments.pg.errors").counters()).hasSize(3);
+    }
+
+    /**
+     * 예외로 끝난 호출은 error 태그 값이 달라 별도의 timer에 기록되므로, 같은 outcome의 timer를 모두 더합니다.
+     */
+    private long count(String outcome) {
+        return meterRegistry.get("payments.service")
+                .tags("operation", "confirm", "route", "PAYMENT_CONFIRM", "provider", "TOSS", "outcome", outcome)
+                .timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private ObservationRegistry observationRegistry() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return registry;
+    }
+
+    private static PaymentStrategy tossStrategy() {
+        return (PaymentStrategy) Proxy.newProxyInstance(PaymentStrategy.class.getClassLoader(), new Class<?>[]{PaymentStrategy.class},
+                (proxy, method, args) -> method.getName().equals("provider") ? "TOSS" : null);
+    }
+}
@@ -0,0 +1,116 @@
+package com.driply.payments.payment.partition;
+
+import com.driply.payments.config.PartitionProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentPartitionManagerTest {
+    // 2026-03-31T16:00Z는 Asia/Seoul 기준 4월 1일입니다.
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-31T16:00:00Z"), ZoneOffset.UTC);
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+
+    @Test
+    void createsMissingMonthsAheadAndDropsExpiredPartitions() {
+        jdbcTemplate.partitions.addAll(List.of("payments_p202601", "payments_p202602", "payments_p202604", "payments_default"));
+        PartitionProperties properties = new PartitionProperties();
+        properties.setMonthsAhead(2);
+        properties.setRetentionMonths(2);
+
+        PaymentPartitionManager.MaintenanceResult result = manager(properties).maintain();
+
+        assertThat(result.created()).extracting(PaymentPartition::month)
+                .containsExactly(YearMonth.of(2026, 5), YearMonth.of(2026, 6));
+        assertThat(result.dropped()).extracting(PaymentPartition::month)
+                .containsExactly(YearMonth.of(2026, 1));
+        assertThat(jdbcTemplate.statements).contains(
+                "create table if not exists payments_p202605 partition of payments for values from ('2026-05-01T00:00+09:00') to ('2026-06-01T00:00+09:00')",
+                "alter table payments detach partition payments_p202601",
+                "drop table payments_p202601");
+    }
+
+    @Test
+    void keepsPartitionsWhenRetentionIsDisabled() {
+        jdbcTemplate.partitions.addAll(List.of("payments_p201001", "payments_p202604"));
+        PartitionProperties properties = new PartitionProperties();
+        properties.setMonthsAhead(0);
+        properties.setRetentionMonths(0);
+
+        PaymentPartitionManager.MaintenanceResult result = manager(properties).maintain();
+
+        assertThat(result.created()).isEmpty();
+        assertThat(result.dropped()).isEmpty();
+    }
+
+    @Test
+    void keepsFiveYearsOfPartitionsByDefault() {
+        jdbcTemplate.partitions.addAll(List.of("payments_p202103", "payments_p202104", "payments_p202604"));
+        PartitionProperties properties = new PartitionProperties();
+        properties.setMonthsAhead(0);
+
+        PaymentPartitionManager.MaintenanceResult result = manager(properties).maintain();
+
+        assertThat(result.dropped()).extracting(PaymentPartition::month).containsExactly(YearMonth.of(2021, 3));
+    }
+
+    @Test
+    void skipsTablesThatAreNotPartitioned() {
+        jdbcTemplate.partitioned = false;
+
+        assertThat(manager(new PartitionProperties()).maintain()).isNull();
+        assertThat(jdbcTemplate.statements).isEmpty();
+    }
+
+    @Test
+    void parsesOnlyMonthlyPartitionNames() {
+        assertThat(PaymentPartition.parse("payments_p202612")).isEqualTo(new PaymentPartition(YearMonth.of(2026, 12)));
+        assertThat(PaymentPartition.parse("payments_p202613")).isNull();
+        assertThat(PaymentPartition.parse("payments_default")).isNull();
+        assertThat(new PaymentPartition(YearMonth.of(2026, 12)).name()).isEqualTo("payments_p202612");
+    }
+
+    private PaymentPartitionManager manager(PartitionProperties properties) {
+        return new PaymentPartitionManager(properties, jdbcTemplate, TransactionOperations.withoutTransaction(), CLOCK);
+    }
+
+    /**
+     * 카탈로그 조회에는 정해진 값을 반환하고, DDL은 기록만 합니다.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        private final List<String> partitions = new ArrayList<>();
+        private final List<String> statements = new ArrayList<>();
+        private boolean partitioned = true;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            return (T) Long.valueOf(partitioned ? 1 : 0);
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType) {
+            return (List<T>) List.copyOf(partitions);
+        }
+
+        @Override
+        public void execute(String sql) {
+            statements.add(sql);
+        }
+    }
+}
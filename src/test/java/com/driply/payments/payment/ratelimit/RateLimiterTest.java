@@ -0,0 +1,229 @@
+package com.driply.payments.payment.ratelimit;
+
+import com.driply.payments.config.PaymentRoutingProperties;
+import com.driply.payments.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void allowsBurstThenRefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3));
+        AtomicLong state = bucket.newState(0);
+
+        assertThat(bucket.tryAcquire(state, 0)).isZero();
+        assertThat(bucket.tryAcquire(state, 0)).isZero();
+        assertThat(bucket.tryAcquire(state, 0)).isZero();
+        assertThat(bucket.tryAcquire(state, 0)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(bucket.tryAcquire(state, TimeUnit.SECONDS.toNanos(1))).isZero();
+        assertThat(bucket.tryAcquire(state, TimeUnit.SECONDS.toNanos(1))).isPositive();
+        // 오래 쉬어도 버킷 크기 이상 쌓이지 않습니다.
+        long later = TimeUnit.MINUTES.toNanos(1);
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(state, later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(state, later)).isPositive();
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedPermits() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1000, Duration.ofDays(1));
+        AtomicLong state = bucket.newState(0);
+        LongAdder allowed = new LongAdder();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        if (bucket.tryAcquire(state, 0) == 0) {
+                            allowed.increment();
+                        }
+                    }
+                });
+            }
+        }
+
+        assertThat(allowed.sum()).isEqualTo(1000);
+    }
+
+    @Test
+    void limitsEachKeySeparately() {
+        RateLimiter.EndpointLimiter limiter = limiter().find("/issue-billing-key");
+
+        assertThat(limiter.tryAcquire(RateLimitDimension.CUSTOMER, "customer-1")).isZero();
+        assertThat(limiter.tryAcquire(RateLimitDimension.CUSTOMER, "customer-1")).isPositive();
+        assertThat(limiter.tryAcquire(RateLimitDimension.CUSTOMER, "customer-2")).isZero();
+        assertThat(limiter.tryAcquire(RateLimitDimension.CUSTOMER, null)).isZero();
+        assertThat(limiter.tryAcquire(RateLimitDimension.MERCHANT, "merchant-1")).isZero();
+        assertThat(limiter.stats(RateLimitDimension.CUSTOMER).throttled()).isEqualTo(1);
+        assertThat(limiter().find("/payments")).isNull();
+    }
+
+    @Test
+    void filterRejectsThrottledCustomerAndPassesBodyThrough() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(limiter(), new ObjectMapper(), 1024);
+        String body = "{\"authKey\":\"auth\",\"nested\":{\"customerKey\":\"other\"},\"customerKey\":\"customer-1\"}";
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockFilterChain firstChain = new MockFilterChain();
+        filter.doFilter(request(body), first, firstChain);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(new String(firstChain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        MockFilterChain secondChain = new MockFilterChain();
+        filter.doFilter(request(body), second, secondChain);
+
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(secondChain.getRequest()).isNull();
+    }
+
+    @Test
+    void filterRejectsThrottledIpBeforeReadingBody() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(limiter(), new ObjectMapper(), 1024);
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(request("{\"customerKey\":\"customer-" + i + "\"}"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest request = request("{\"customerKey\":\"customer-3\"}");
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(request.getInputStream().readAllBytes()).isNotEmpty();
+    }
+
+    @Test
+    void configuredCustomerLimitsApplyOnlyWhereClientsSendCustomerKey() throws Exception {
+        RateLimitProperties properties = applicationProperties();
+        assertThat(properties.getEndpoints().get("confirm-widget").getCustomer()).isNull();
+        assertThat(properties.getEndpoints().get("confirm-payment").getCustomer()).isNull();
+
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties, new PaymentRoutingProperties(), now::get), new ObjectMapper(), 1024);
+        // brandpay/success.html이 보내는 본문과 같은 형식입니다.
+        String body = "{\"paymentKey\":\"pk\",\"orderId\":\"order-1\",\"amount\":1000,\"customerKey\":\"customer-1\"}";
+        int permits = properties.getEndpoints().get("confirm-brandpay").getCustomer().getPermits();
+        for (int i = 0; i < permits; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("/confirm/brandpay", body), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse throttled = new MockHttpServletResponse();
+        filter.doFilter(request("/confirm/brandpay", body), throttled, new MockFilterChain());
+        assertThat(throttled.getStatus()).isEqualTo(429);
+
+        MockHttpServletResponse otherCustomer = new MockHttpServletResponse();
+        filter.doFilter(request("/confirm/brandpay", body.replace("customer-1", "customer-2")), otherCustomer, new MockFilterChain());
+        assertThat(otherCustomer.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void unknownMerchantHeadersShareDefaultMerchantBucket() throws Exception {
+        RateLimitProperties.Endpoint endpoint = new RateLimitProperties.Endpoint();
+        endpoint.setPath("/confirm/payment");
+        endpoint.setMerchant(new RateLimitProperties.Limit(2, Duration.ofMinutes(1)));
+        PaymentRoutingProperties routing = new PaymentRoutingProperties();
+        routing.getMerchants().put("other", Map.of());
+        RateLimitFilter filter = new RateLimitFilter(limiter(endpoint, routing), new ObjectMapper(), 1024);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(status(filter, merchantRequest("random-" + i))).isEqualTo(200);
+        }
+        assertThat(status(filter, merchantRequest("random-2"))).isEqualTo(429);
+        assertThat(status(filter, merchantRequest(null))).isEqualTo(429);
+        assertThat(status(filter, merchantRequest("other"))).isEqualTo(200);
+    }
+
+    @Test
+    void requestsWithoutReadableCustomerKeyAreRejected() throws Exception {
+        RateLimitProperties.Endpoint endpoint = new RateLimitProperties.Endpoint();
+        endpoint.setPath("/issue-billing-key");
+        endpoint.setCustomer(new RateLimitProperties.Limit(1, Duration.ofMinutes(1)));
+        RateLimitFilter filter = new RateLimitFilter(limiter(endpoint, new PaymentRoutingProperties()), new ObjectMapper(), 64);
+
+        assertThat(status(filter, request("{\"authKey\":\"auth\"}"))).isEqualTo(400);
+        assertThat(status(filter, request("{\"customerKey\":1}"))).isEqualTo(400);
+        assertThat(status(filter, request("{\"customerKey\":"))).isEqualTo(400);
+        assertThat(status(filter, request("{\"customerKey\":\"customer-1\",\"padding\":\"" + "x".repeat(64) + "\"}"))).isEqualTo(400);
+        MockHttpServletRequest form = request("customerKey=customer-1");
+        form.setContentType("text/plain");
+        assertThat(status(filter, form)).isEqualTo(400);
+
+        // 컨트롤러는 마지막 값을 사용하므로, 다른 고객으로 집계되는 본문은 거절합니다.
+        assertThat(status(filter, request("{\"customerKey\":\"customer-1\"}"))).isEqualTo(200);
+        assertThat(status(filter, request("{\"customerKey\":\"customer-2\",\"customerKey\":\"customer-1\"}"))).isEqualTo(400);
+        assertThat(status(filter, request("{\"customerKey\":\"customer-1\"}"))).isEqualTo(429);
+    }
+
+    private static int status(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private MockHttpServletRequest merchantRequest(String merchant) {
+        MockHttpServletRequest request = request("/confirm/payment", "{}");
+        if (merchant != null) {
+            request.addHeader("X-Merchant-Id", merchant);
+        }
+        return request;
+    }
+
+    private static RateLimitProperties applicationProperties() throws IOException {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"));
+        return new Binder(ConfigurationPropertySources.from(sources)).bind("payments.rate-limit", RateLimitProperties.class).get();
+    }
+
+    private MockHttpServletRequest request(String body) {
+        return request("/issue-billing-key", body);
+    }
+
+    private MockHttpServletRequest request(String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private RateLimiter limiter() {
+        RateLimitProperties.Endpoint endpoint = new RateLimitProperties.Endpoint();
+        endpoint.setPath("/issue-billing-key");
+        endpoint.setCustomer(new RateLimitProperties.Limit(1, Duration.ofMinutes(1)));
+        endpoint.setMerchant(new RateLimitProperties.Limit(100, Duration.ofSeconds(1)));
+        endpoint.setIp(new RateLimitProperties.Limit(2, Duration.ofMinutes(1)));
+        return limiter(endpoint, new PaymentRoutingProperties());
+    }
+
+    private RateLimiter limiter(RateLimitProperties.Endpoint endpoint, PaymentRoutingProperties routing) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("endpoint", endpoint);
+        return new RateLimiter(properties, routing, now::get);
+    }
+}
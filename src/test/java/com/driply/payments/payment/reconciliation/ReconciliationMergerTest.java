@@ -0,0 +1,111 @@
+package com.driply.payments.payment.reconciliation;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.ReconciliationProperties;
+import com.driply.payments.payment.dto.ReconciliationProgress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ReconciliationMergerTest {
+    private final ObjectMapper objectMapper = JsonUtil.objectMapper();
+    private final ReconciliationProperties properties = new ReconciliationProperties();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reportsMissingAmountStatusAndDuplicateMismatches() throws IOException {
+        List<StoredPayment> stored = List.of(
+                stored("key-1", "1000", "DONE"),
+                stored("key-2", "2000", "DONE"),
+                stored("key-3", "3000", "DONE"),
+                stored("key-5", "5000", "CANCELED"));
+        List<SettlementRecord> settled = List.of(
+                settled("key-1", "1000.00", "DONE"),
+                settled("key-2", "2500", "DONE"),
+                settled("key-2", "2500", "DONE"),
+                settled("key-4", "4000", "DONE"),
+                settled("key-5", "5000", "DONE"));
+
+        ReconciliationReport report = report();
+        try (report) {
+            ReconciliationMerger.merge(stored.iterator(), settled.iterator(), report);
+            report.complete();
+        }
+
+        ReconciliationProgress progress = report.progress();
+        assertThat(progress.state()).isEqualTo(ReconciliationProgress.State.COMPLETED);
+        assertThat(progress.storedRows()).isEqualTo(4);
+        assertThat(progress.settlementRows()).isEqualTo(5);
+        assertThat(progress.matched()).isEqualTo(1);
+        assertThat(progress.amountMismatches()).isEqualTo(1);
+        assertThat(progress.duplicates()).isEqualTo(1);
+        assertThat(progress.missingInSettlement()).isEqualTo(1);
+        assertThat(progress.missingInDatabase()).isEqualTo(1);
+        assertThat(progress.statusMismatches()).isEqualTo(1);
+        assertThat(readMismatches(report.path()))
+                .extracting(ReconciliationMismatch::type, ReconciliationMismatch::paymentKey)
+                .containsExactly(
+                        tuple(ReconciliationMismatch.Type.AMOUNT_MISMATCH, "key-2"),
+                        tuple(ReconciliationMismatch.Type.DUPLICATE_IN_SETTLEMENT, "key-2"),
+                        tuple(ReconciliationMismatch.Type.MISSING_IN_SETTLEMENT, "key-3"),
+                        tuple(ReconciliationMismatch.Type.MISSING_IN_DATABASE, "key-4"),
+                        tuple(ReconciliationMismatch.Type.STATUS_MISMATCH, "key-5"));
+    }
+
+    @Test
+    void sortsUnorderedCsvInChunks() throws IOException {
+        properties.setSortChunkSize(2);
+        Path file = Files.writeString(dir.resolve("settlement.csv"), """
+                status,paymentKey,orderId,amount
+                DONE,key-3,"order,3","3,000"
+                DONE,key-1,order-1,1000
+
+                CANCELED,key-2,"order ""2\""",2000
+                DONE,key-0,order-0,500
+                """);
+        Path work = Files.createDirectories(dir.resolve("work"));
+
+        List<SettlementRecord> records = new ArrayList<>();
+        try (SettlementReader reader = new SettlementSorter(properties, objectMapper).open(file, SettlementFormat.of(file), work)) {
+            reader.forEachRemaining(records::add);
+        }
+
+        assertThat(records).extracting(SettlementRecord::paymentKey).containsExactly("key-0", "key-1", "key-2", "key-3");
+        assertThat(records.get(2).orderId()).isEqualTo("order \"2\"");
+        assertThat(records.get(3).orderId()).isEqualTo("order,3");
+        assertThat(records.get(3).amount()).isEqualByComparingTo("3000");
+    }
+
+    private ReconciliationReport report() throws IOException {
+        return new ReconciliationReport("test", LocalDate.of(2026, 1, 1), "settlement.jsonl", dir.resolve("report.jsonl"), objectMapper);
+    }
+
+    private List<ReconciliationMismatch> readMismatches(Path path) throws IOException {
+        List<ReconciliationMismatch> mismatches = new ArrayList<>();
+        for (String line : Files.readAllLines(path)) {
+            mismatches.add(objectMapper.readValue(line, ReconciliationMismatch.class));
+        }
+        return mismatches;
+    }
+
+    private static StoredPayment stored(String paymentKey, String amount, String status) {
+        return new StoredPayment(paymentKey, "order-" + paymentKey, new BigDecimal(amount), status);
+    }
+
+    private static SettlementRecord settled(String paymentKey, String amount, String status) {
+        return new SettlementRecord(paymentKey, "order-" + paymentKey, new BigDecimal(amount), status);
+    }
+}
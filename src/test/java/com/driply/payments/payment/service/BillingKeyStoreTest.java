@@ -0,0 +1,149 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.config.PaymentCacheProperties;
+import com.driply.payments.payment.entity.BillingKey;
+import com.driply.payments.payment.entity.BillingKeyId;
+import com.driply.payments.payment.repository.BillingKeyRepository;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.driply.payments.payment.strategy.PaymentRoute;
+import com.driply.payments.payment.strategy.PaymentStrategy;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BillingKeyStoreTest {
+    private final Map<BillingKeyId, BillingKey> rows = new ConcurrentHashMap<>();
+    private final PaymentTarget target = target("TOSS", "default");
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private volatile boolean failSave;
+    private final BillingKeyStore store = new BillingKeyStore(repository(), properties(), nanos::get);
+
+    @Test
+    void loadsFromRepositoryOnceAndServesFromCache() {
+        put(billingKey("customer", "bk-1"));
+
+        assertThat(store.find(target, "customer")).isEqualTo("bk-1");
+        assertThat(store.find(target, "customer")).isEqualTo("bk-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(store.stats().hitCount()).isEqualTo(1);
+        assertThat(store.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void missingKeyIsNotCachedSoLaterIssueIsVisible() {
+        assertThat(store.find(target, "customer")).isNull();
+        put(billingKey("customer", "bk-1"));
+
+        assertThat(store.find(target, "customer")).isEqualTo("bk-1");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void saveReplacesCachedKeyWithoutReload() {
+        put(billingKey("customer", "bk-old"));
+        assertThat(store.find(target, "customer")).isEqualTo("bk-old");
+
+        store.save(billingKey("customer", "bk-new"));
+
+        assertThat(store.find(target, "customer")).isEqualTo("bk-new");
+        assertThat(rows.get(new BillingKeyId("TOSS", "default", "customer")).getBillingKey()).isEqualTo("bk-new");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failedSaveLeavesCacheUntouched() {
+        put(billingKey("customer", "bk-old"));
+        assertThat(store.find(target, "customer")).isEqualTo("bk-old");
+        failSave = true;
+
+        assertThatThrownBy(() -> store.save(billingKey("customer", "bk-new"))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.find(target, "customer")).isEqualTo("bk-old");
+    }
+
+    @Test
+    void expiredEntryIsReloadedFromRepository() {
+        put(billingKey("customer", "bk-1"));
+        assertThat(store.find(target, "customer")).isEqualTo("bk-1");
+        put(billingKey("customer", "bk-2"));
+
+        nanos.addAndGet(Duration.ofMinutes(59).toNanos());
+        assertThat(store.find(target, "customer")).isEqualTo("bk-1");
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThat(store.find(target, "customer")).isEqualTo("bk-2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void keysAreScopedByProviderAndMerchant() {
+        put(billingKey("TOSS", "other", "customer", "bk-other"));
+
+        assertThat(store.find(target, "customer")).isNull();
+        assertThat(store.find(target("TOSS", "other"), "customer")).isEqualTo("bk-other");
+        assertThat(store.find(target("NICEPAY", "other"), "customer")).isNull();
+
+        store.save(billingKey("customer", "bk-default"));
+        assertThat(store.find(target, "customer")).isEqualTo("bk-default");
+        assertThat(store.find(target("TOSS", "other"), "customer")).isEqualTo("bk-other");
+    }
+
+    private void put(BillingKey billingKey) {
+        rows.put(billingKey.id(), billingKey);
+    }
+
+    private static PaymentCacheProperties properties() {
+        PaymentCacheProperties properties = new PaymentCacheProperties();
+        properties.setBillingKey(new PaymentCacheProperties.Spec(100, Duration.ofHours(1)));
+        return properties;
+    }
+
+    private static BillingKey billingKey(String customerKey, String billingKey) {
+        return billingKey("TOSS", "default", customerKey, billingKey);
+    }
+
+    private static BillingKey billingKey(String provider, String merchant, String customerKey, String billingKey) {
+        return BillingKey.builder().paymentProvider(provider).merchant(merchant).customerKey(customerKey).billingKey(billingKey).build();
+    }
+
+    private static PaymentTarget target(String provider, String merchant) {
+        PaymentStrategy strategy = (PaymentStrategy) Proxy.newProxyInstance(BillingKeyStoreTest.class.getClassLoader(),
+                new Class<?>[]{PaymentStrategy.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "provider" -> provider;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new PaymentTarget(PaymentRoute.BILLING, strategy, new PaymentCredentials(merchant, "Basic dGVzdDo="));
+    }
+
+    private BillingKeyRepository repository() {
+        return (BillingKeyRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{BillingKeyRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> {
+                        loads.incrementAndGet();
+                        yield Optional.ofNullable(rows.get((BillingKeyId) args[0]));
+                    }
+                    case "save" -> {
+                        if (failSave) {
+                            throw new IllegalStateException("constraint violation");
+                        }
+                        BillingKey saved = (BillingKey) args[0];
+                        rows.put(saved.id(), saved);
+                        yield saved;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,216 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.config.PaymentCacheProperties;
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.BillingKeyResponse;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.driply.payments.payment.strategy.PaymentRoute;
+import com.driply.payments.payment.strategy.PaymentStrategy;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BrandpayTokenCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final TokenStrategy strategy = new TokenStrategy();
+    private final PaymentTarget target = new PaymentTarget(PaymentRoute.ACCESS_TOKEN, strategy, new PaymentCredentials("default", "Basic x"));
+    private final BrandpayTokenCache cache = new BrandpayTokenCache(new PaymentCacheProperties(),
+            new PaymentMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()), clock);
+
+    @AfterEach
+    void tearDown() {
+        cache.stop();
+    }
+
+    @Test
+    void returnsCachedTokenWithRemainingLifetime() throws IOException {
+        assertThat(cache.find(target, "customer")).isNull();
+        cache.put(target, "customer", new AccessTokenResponse("access-1", "refresh-1", "bearer", 3_600L));
+        clock.advance(Duration.ofMinutes(10));
+
+        AccessTokenResponse token = cache.find(target, "customer");
+
+        assertThat(token.accessToken()).isEqualTo("access-1");
+        assertThat(token.refreshToken()).isNull();
+        assertThat(token.expiresIn()).isEqualTo(3_000L);
+        assertThat(strategy.calls.get()).isZero();
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void coalescesConcurrentRefreshesOfExpiredToken() throws Exception {
+        cache.put(target, "customer", new AccessTokenResponse("access-1", "refresh-1", "bearer", 60L));
+        clock.advance(Duration.ofMinutes(2));
+        strategy.gate = new CountDownLatch(1);
+
+        List<Future<AccessTokenResponse>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> cache.find(target, "customer")));
+            }
+            Thread.sleep(100);
+            strategy.gate.countDown();
+            for (Future<AccessTokenResponse> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).accessToken()).isEqualTo("access-2");
+            }
+        }
+
+        assertThat(strategy.calls.get()).isEqualTo(1);
+        assertThat(strategy.lastRequest.getGrantType()).isEqualTo("RefreshToken");
+        assertThat(strategy.lastRequest.getRefreshToken()).isEqualTo("refresh-1");
+        assertThat(cache.stats().refreshes()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshesTokensCloseToExpiryInBackground() throws Exception {
+        cache.put(target, "customer", new AccessTokenResponse("access-1", "refresh-1", "bearer", 600L));
+        cache.put(target, "other", new AccessTokenResponse("access-1", "refresh-1", "bearer", 3_600L));
+        clock.advance(Duration.ofMinutes(6));
+
+        cache.refreshExpiring();
+        waitFor(() -> cache.stats().refreshes() == 1);
+
+        assertThat(strategy.calls.get()).isEqualTo(1);
+        assertThat(cache.find(target, "customer").accessToken()).isEqualTo("access-2");
+        assertThat(cache.find(target, "other").accessToken()).isEqualTo("access-1");
+    }
+
+    @Test
+    void dropsTokenWhenRefreshTokenIsRejected() throws Exception {
+        cache.put(target, "customer", new AccessTokenResponse("access-1", "refresh-1", "bearer", 60L));
+        clock.advance(Duration.ofMinutes(2));
+        strategy.status = 401;
+
+        assertThat(cache.find(target, "customer")).isNull();
+        assertThat(cache.stats().refreshFailures()).isEqualTo(1);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /**
+     * Refresh Token 갱신 요청 수를 세고 access-2 토큰을 발급합니다.
+     */
+    private static class TokenStrategy implements PaymentStrategy {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile AccessTokenDTO lastRequest;
+        private volatile int status = 200;
+
+        @Override
+        public String provider() {
+            return "TOSS";
+        }
+
+        @Override
+        public PaymentCredentials credentials(String merchant, String secretKey) {
+            return new PaymentCredentials(merchant, secretKey);
+        }
+
+        @Override
+        public PgResponse<AccessTokenResponse> issueAccessToken(PaymentCredentials credentials, AccessTokenDTO request) throws IOException {
+            calls.incrementAndGet();
+            lastRequest = request;
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (status != 200) {
+                return new PgResponse<>(status, "{\"code\":\"INVALID_REFRESH_TOKEN\"}".getBytes(), null);
+            }
+            return new PgResponse<>(200, new byte[0], new AccessTokenResponse("access-2", "refresh-2", "bearer", 3_600L));
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirm(PaymentCredentials credentials, paymentDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirmBilling(PaymentCredentials credentials, String billingKey, BillingDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<BillingKeyResponse> issueBillingKey(PaymentCredentials credentials, BillingKeyDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> findPaymentByOrderId(PaymentCredentials credentials, String orderId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> findPayment(PaymentCredentials credentials, String paymentKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirmBrandpay(PaymentCredentials credentials, paymentDTO request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.PaymentCacheProperties;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfirmDeduplicatorTest {
+    private final Map<String, String> storedResponses = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentDuplicatesShareSinglePgCall() throws Exception {
+        ConfirmDeduplicator deduplicator = deduplicator(false);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<PgResponse<PaymentResponse>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> deduplicator.confirm("order-1", "pk-1", 1_000L, () -> {
+            entered.countDown();
+            await(release);
+            return confirmed("order-1", "pk-1", 1_000L);
+        })));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> deduplicator.confirm("order-1", "pk-1", 1_000L, () -> confirmed("order-1", "pk-1", 1_000L))));
+        }
+        waitUntilCoalesced(deduplicator, 8);
+        release.countDown();
+
+        PgResponse<PaymentResponse> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<PgResponse<PaymentResponse>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(deduplicator.stats().coalesced()).isEqualTo(8);
+    }
+
+    @Test
+    void replayAfterConfirmIsServedFromCache() throws Exception {
+        ConfirmDeduplicator deduplicator = deduplicator(false);
+
+        PgResponse<PaymentResponse> first = deduplicator.confirm("order-1", "pk-1", 1_000L, () -> confirmed("order-1", "pk-1", 1_000L));
+        PgResponse<PaymentResponse> replay = deduplicator.confirm("order-1", "pk-1", 1_000L, () -> confirmed("order-1", "pk-1", 1_000L));
+
+        assertThat(replay).isSameAs(first);
+        assertThat(calls).hasValue(1);
+        assertThat(deduplicator.stats().cacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    void replayWithDifferentAmountIsNotServedFromCache() throws Exception {
+        ConfirmDeduplicator deduplicator = deduplicator(false);
+        deduplicator.confirm("order-1", "pk-1", 1_000L, () -> confirmed("order-1", "pk-1", 1_000L));
+
+        PgResponse<PaymentResponse> tampered = deduplicator.confirm("order-1", "pk-1", 10L, () -> {
+            calls.incrementAndGet();
+            return new PgResponse<>(400, "{\"code\":\"ALREADY_PROCESSED_PAYMENT\"}".getBytes(StandardCharsets.UTF_8), null);
+        });
+
+        assertThat(tampered.statusCode()).isEqualTo(400);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void storedResultIsReusedOnlyForSameAmount() throws Exception {
+        ConfirmDeduplicator deduplicator = deduplicator(true);
+        storedResponses.put("pk-1", body("order-1", "pk-1", 1_000L));
+
+        PgResponse<PaymentResponse> replay = deduplicator.confirm("order-1", "pk-1", 1_000L, () -> confirmed("order-1", "pk-1", 1_000L));
+        assertThat(replay.data().paymentKey()).isEqualTo("pk-1");
+        assertThat(calls).hasValue(0);
+        assertThat(deduplicator.stats().storeHits()).isEqualTo(1);
+
+        deduplicator.confirm("order-1", "pk-1", 10L, () -> confirmed("order-1", "pk-1", 10L));
+        assertThat(calls).hasValue(1);
+    }
+
+    private ConfirmDeduplicator deduplicator(boolean databaseLookup) {
+        PaymentCacheProperties properties = new PaymentCacheProperties();
+        properties.setConfirm(new PaymentCacheProperties.Spec(100, Duration.ofMinutes(10)));
+        properties.setConfirmDatabaseLookup(databaseLookup);
+        return new ConfirmDeduplicator(paymentRepository(), JsonUtil.objectMapper(), properties);
+    }
+
+    private PgResponse<PaymentResponse> confirmed(String orderId, String paymentKey, long amount) {
+        calls.incrementAndGet();
+        String body = body(orderId, paymentKey, amount);
+        return new PgResponse<>(200, body.getBytes(StandardCharsets.UTF_8),
+                new PaymentResponse(paymentKey, orderId, "DONE", "카드", "KRW", BigDecimal.valueOf(amount), BigDecimal.valueOf(amount), null, null));
+    }
+
+    private static String body(String orderId, String paymentKey, long amount) {
+        return "{\"paymentKey\":\"" + paymentKey + "\",\"orderId\":\"" + orderId + "\",\"status\":\"DONE\",\"totalAmount\":" + amount + "}";
+    }
+
+    private static void waitUntilCoalesced(ConfirmDeduplicator deduplicator, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (deduplicator.stats().coalesced() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Duplicates did not join the in-flight confirm in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PaymentRepository paymentRepository() {
+        return (PaymentRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PaymentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findRawResponseByPaymentKey" -> Optional.ofNullable(storedResponses.get((String) args[0]));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,77 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.PaymentCacheProperties;
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.driply.payments.payment.strategy.PaymentRoute;
+import com.driply.payments.payment.strategy.PaymentStrategy;
+import com.driply.payments.payment.strategy.PaymentTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultPaymentServiceTest {
+    private final List<AccessTokenDTO> requests = new ArrayList<>();
+    private final PaymentTarget target = new PaymentTarget(PaymentRoute.ACCESS_TOKEN, strategy(), new PaymentCredentials("default", "Basic x"));
+    private final PaymentMetrics metrics = new PaymentMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry());
+    private final BrandpayTokenCache cache = new BrandpayTokenCache(new PaymentCacheProperties(), metrics);
+    private final DefaultPaymentService service = new DefaultPaymentService(null, cache, null, null, metrics, null, JsonUtil.objectMapper());
+
+    @AfterEach
+    void tearDown() {
+        cache.stop();
+    }
+
+    @Test
+    void callbackAlwaysExchangesCodeAndNeverReturnsCachedToken() throws Exception {
+        cache.put(target, "customer", new AccessTokenResponse("cached-access", "cached-refresh", "bearer", 3_600L));
+
+        PgResponse<AccessTokenResponse> rejected = service.customerAuthorization(target, "customer", "guessed");
+
+        assertThat(rejected.statusCode()).isEqualTo(401);
+        assertThat(rejected.bodyAsString()).doesNotContain("cached-access", "cached-refresh");
+        assertThat(requests).extracting(AccessTokenDTO::getCode).containsExactly("guessed");
+    }
+
+    @Test
+    void issuedTokenIsCachedButRefreshTokenIsNotReturned() throws Exception {
+        PgResponse<AccessTokenResponse> issued = service.customerAuthorization(target, "customer", "valid");
+
+        assertThat(issued.statusCode()).isEqualTo(200);
+        assertThat(issued.bodyAsString()).contains("access-1").doesNotContain("refreshToken", "refresh-1");
+        assertThat(issued.data().refreshToken()).isNull();
+        assertThat(cache.find(target, "customer").accessToken()).isEqualTo("access-1");
+    }
+
+    /**
+     * code가 valid인 요청에만 토큰을 발급하는 PG사입니다.
+     */
+    private PaymentStrategy strategy() {
+        return (PaymentStrategy) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PaymentStrategy.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "provider" -> "TOSS";
+                    case "issueAccessToken" -> {
+                        AccessTokenDTO request = (AccessTokenDTO) args[1];
+                        requests.add(request);
+                        if (!"valid".equals(request.getCode())) {
+                            yield new PgResponse<>(401, "{\"code\":\"INVALID_AUTHORIZATION_CODE\"}".getBytes(StandardCharsets.UTF_8), null);
+                        }
+                        String body = "{\"accessToken\":\"access-1\",\"refreshToken\":\"refresh-1\",\"tokenType\":\"bearer\",\"expiresIn\":3600}";
+                        yield new PgResponse<>(200, body.getBytes(StandardCharsets.UTF_8), new AccessTokenResponse("access-1", "refresh-1", "bearer", 3_600L));
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,74 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.config.PaymentExecutionProperties;
+import com.driply.payments.payment.client.PgEndpoint;
+import com.driply.payments.payment.client.PgUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentExecutorTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PaymentExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void leavesConcurrencyLimitToPgClient() throws Exception {
+        PaymentExecutionProperties properties = new PaymentExecutionProperties();
+        properties.setMode(PaymentExecutionProperties.Mode.VIRTUAL);
+        executor = new PaymentExecutor(properties);
+        int calls = 300;
+        CountDownLatch started = new CountDownLatch(calls);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            futures.add(executor.execute(PgEndpoint.CONFIRM, () -> {
+                started.countDown();
+                await(release);
+                return "done";
+            }));
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        release.countDown();
+        for (CompletableFuture<String> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        }
+    }
+
+    @Test
+    void completesExceptionallyWithTaskFailure() {
+        PaymentExecutionProperties properties = new PaymentExecutionProperties();
+        properties.setMode(PaymentExecutionProperties.Mode.VIRTUAL);
+        executor = new PaymentExecutor(properties);
+
+        CompletableFuture<String> failed = executor.execute(PgEndpoint.CONFIRM, () -> {
+            throw new PgUnavailableException("CONFIRM bulkhead is full");
+        });
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(PgUnavailableException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
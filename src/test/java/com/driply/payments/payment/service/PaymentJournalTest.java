@@ -0,0 +1,83 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.payment.dto.PaymentRecord;
+import com.driply.payments.payment.entity.PaymentMethod;
+import com.driply.payments.payment.entity.PaymentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentJournalTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rotatedSegmentContainsAppendedRecords() throws Exception {
+        try (PaymentJournal journal = new PaymentJournal(directory, objectMapper, false)) {
+            journal.append(record("pk-1"));
+            journal.append(record("pk-2"));
+            Path segment = journal.rotate();
+            journal.append(record("pk-3"));
+
+            assertThat(journal.read(segment)).extracting(PaymentRecord::paymentKey).containsExactly("pk-1", "pk-2");
+            assertThat(journal.segments()).containsExactly(segment);
+        }
+    }
+
+    @Test
+    void leftoverSegmentsAreRecoveredAndTruncatedLinesSkipped() throws Exception {
+        Path segment;
+        try (PaymentJournal journal = new PaymentJournal(directory, objectMapper, false)) {
+            journal.append(record("pk-1"));
+            segment = journal.rotate();
+        }
+        Files.writeString(segment, "{\"orderId\":\"ord", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (PaymentJournal journal = new PaymentJournal(directory, objectMapper, false)) {
+            List<Path> segments = journal.segments();
+            assertThat(segments).containsExactly(segment);
+            assertThat(journal.read(segment)).extracting(PaymentRecord::paymentKey).containsExactly("pk-1");
+
+            journal.append(record("pk-2"));
+            assertThat(journal.rotate()).isNotEqualTo(segment);
+        }
+    }
+
+    @Test
+    void segmentsWrittenBeforeMinorUnitAmountsAreStillReadable() throws Exception {
+        Path segment;
+        try (PaymentJournal journal = new PaymentJournal(directory, objectMapper, false)) {
+            journal.append(record("pk-0"));
+            segment = journal.rotate();
+        }
+        Files.writeString(segment, """
+                {"orderId":"order-1","paymentKey":"pk-1","paymentProvider":"TOSS","totalAmount":1000.0,"status":"DONE",\
+                "requestedAt":"2026-01-01T00:00:00+09:00","approvedAt":"2026-01-01T00:00:01+09:00","responseData":"{}"}
+                """, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (PaymentJournal journal = new PaymentJournal(directory, objectMapper, false)) {
+            PaymentRecord record = journal.read(segment).get(1);
+
+            assertThat(record.totalAmount()).isEqualTo(1000L);
+            assertThat(record.status()).isEqualTo(PaymentStatus.DONE);
+            assertThat(record.toEntity().getCurrency()).isEqualTo("KRW");
+        }
+    }
+
+    private PaymentRecord record(String paymentKey) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return new PaymentRecord("order-" + paymentKey, paymentKey, "TOSS", "default", 1000L, 0L, "KRW", PaymentStatus.DONE, PaymentMethod.CARD, now, now,
+                "{\"paymentKey\":\"" + paymentKey + "\"}");
+    }
+}
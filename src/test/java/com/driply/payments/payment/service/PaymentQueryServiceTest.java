@@ -0,0 +1,127 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.payment.dto.PaymentCursor;
+import com.driply.payments.payment.dto.PaymentPage;
+import com.driply.payments.payment.dto.PaymentSearchCondition;
+import com.driply.payments.payment.dto.PaymentSummary;
+import com.driply.payments.payment.entity.PaymentMethod;
+import com.driply.payments.payment.entity.PaymentStatus;
+import com.driply.payments.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentQueryServiceTest {
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(9));
+
+    private final List<PaymentSummary> payments = new ArrayList<>();
+    private final PaymentQueryService service = new PaymentQueryService(repository());
+
+    @Test
+    void pagesThroughPaymentsWithSameRequestedAtWithoutGapsOrDuplicates() {
+        for (long id = 1; id <= 7; id++) {
+            // 두 건씩 같은 요청 시각을 갖습니다.
+            payments.add(payment(id, id % 2 == 0 ? PaymentStatus.DONE : PaymentStatus.CANCELED, BASE.plusMinutes(id / 2)));
+        }
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaymentPage page = service.search(new PaymentSearchCondition(null, null, null, null, null, null), cursor, 3);
+            page.items().forEach(payment -> visited.add(payment.paymentId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(visited).containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void appliesConditionsAndReturnsNoCursorOnLastPage() {
+        for (long id = 1; id <= 6; id++) {
+            payments.add(payment(id, id % 2 == 0 ? PaymentStatus.DONE : PaymentStatus.CANCELED, BASE.plusMinutes(id)));
+        }
+
+        PaymentPage page = service.search(PaymentSearchCondition.of(null, "done", null, null, BASE.plusMinutes(2), BASE.plusMinutes(6)), null, 3);
+
+        assertThat(page.items()).extracting(PaymentSummary::paymentId).containsExactly(4L, 2L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsInvalidCursorAndPageSize() {
+        PaymentSearchCondition condition = new PaymentSearchCondition(null, null, null, null, null, null);
+
+        assertThatThrownBy(() -> service.search(condition, "not-a-cursor", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(condition, null, PaymentQueryService.MAX_PAGE_SIZE + 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PaymentSearchCondition(null, null, null, null, BASE, BASE)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PaymentSearchCondition.of(null, "paid", null, null, null, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void scopesSearchAndLookupToMerchant() {
+        payments.add(payment(1, "default", BASE));
+        payments.add(payment(2, "other", BASE.plusMinutes(1)));
+
+        PaymentPage page = service.search(new PaymentSearchCondition(null, null, null, "default", null, null), null, 10);
+
+        assertThat(page.items()).extracting(PaymentSummary::paymentId).containsExactly(1L);
+        assertThat(service.find("key-2", "other").paymentId()).isEqualTo(2L);
+        assertThat(service.find("key-2", null).paymentId()).isEqualTo(2L);
+        assertThatThrownBy(() -> service.find("key-2", "default")).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        PaymentCursor cursor = new PaymentCursor(BASE.plusNanos(123_000), 42L);
+
+        assertThat(PaymentCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(PaymentCursor.decode(null)).isNull();
+    }
+
+    private static PaymentSummary payment(long id, PaymentStatus status, OffsetDateTime requestedAt) {
+        return new PaymentSummary(id, "order-" + id, "key-" + id, "TOSS", "default", 1000L, 0L, "KRW", status, PaymentMethod.CARD, requestedAt, null);
+    }
+
+    private static PaymentSummary payment(long id, String merchant, OffsetDateTime requestedAt) {
+        return new PaymentSummary(id, "order-" + id, "key-" + id, "TOSS", merchant, 1000L, 0L, "KRW", PaymentStatus.DONE, PaymentMethod.CARD, requestedAt,
+                null);
+    }
+
+    /**
+     * PaymentQueryRepositoryImpl과 같은 조건과 정렬 순서로 메모리의 결제를 조회합니다.
+     */
+    private PaymentRepository repository() {
+        Comparator<PaymentSummary> order = Comparator.comparing(PaymentSummary::requestedAt)
+                .thenComparing(PaymentSummary::paymentId)
+                .reversed();
+        return (PaymentRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PaymentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "search" -> {
+                        PaymentSearchCondition condition = (PaymentSearchCondition) args[0];
+                        PaymentCursor cursor = (PaymentCursor) args[1];
+                        yield payments.stream()
+                                .filter(p -> condition.status() == null || condition.status() == p.status())
+                                .filter(p -> condition.merchant() == null || condition.merchant().equals(p.merchant()))
+                                .filter(p -> condition.from() == null || !p.requestedAt().isBefore(condition.from()))
+                                .filter(p -> condition.to() == null || p.requestedAt().isBefore(condition.to()))
+                                .filter(p -> cursor == null || order.compare(p, new PaymentSummary(cursor.paymentId(), null, null, null, null, 0L, 0L, null, null, null, cursor.requestedAt(), null)) > 0)
+                                .sorted(order)
+                                .limit((int) args[2])
+                                .toList();
+                    }
+                    case "findSummaryByPaymentKey" -> payments.stream()
+                            .filter(p -> p.paymentKey().equals(args[0]))
+                            .findFirst();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,140 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.WriteBehindProperties;
+import com.driply.payments.payment.dto.PaymentRecord;
+import com.driply.payments.payment.entity.Payment;
+import com.driply.payments.payment.entity.PaymentMethod;
+import com.driply.payments.payment.entity.PaymentStatus;
+import com.driply.payments.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentWriteBehindTest {
+    private final Map<String, Payment> stored = new ConcurrentHashMap<>();
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+    private final List<PaymentWriteBehind> started = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (PaymentWriteBehind writeBehind : started) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void badRecordIsDeadLetteredWithoutBlockingRestOfBatch() throws Exception {
+        rejected.add("pk-bad");
+        PaymentWriteBehind writeBehind = start();
+
+        writeBehind.submit(record("pk-1"));
+        writeBehind.submit(record("pk-bad"));
+        writeBehind.submit(record("pk-2"));
+        waitUntil(() -> writeBehind.stats().deadLettered() == 1 && journalSegments().isEmpty());
+
+        assertThat(stored).containsOnlyKeys("pk-1", "pk-2");
+        assertThat(writeBehind.stats().deadLetterSegments()).isEqualTo(1);
+        try (PaymentJournal deadLetters = new PaymentJournal(directory.resolve("dead-letter"), JsonUtil.objectMapper(), false)) {
+            List<Path> segments = deadLetters.segments();
+            assertThat(segments).hasSize(1);
+            assertThat(deadLetters.read(segments.get(0))).extracting(PaymentRecord::paymentKey).containsExactly("pk-bad");
+        }
+    }
+
+    @Test
+    void unreadableSegmentIsQuarantinedAndRecoveryContinues() throws Exception {
+        try (PaymentJournal journal = new PaymentJournal(directory, JsonUtil.objectMapper(), false)) {
+            journal.append(record("pk-0"));
+            Path unreadable = journal.rotate();
+            Files.write(unreadable, new byte[]{(byte) 0xC3, (byte) 0x28, '\n'});
+            journal.append(record("pk-1"));
+            journal.rotate();
+        }
+
+        PaymentWriteBehind writeBehind = start();
+        waitUntil(() -> stored.containsKey("pk-1") && journalSegments().isEmpty());
+
+        assertThat(writeBehind.stats().deadLetterSegments()).isEqualTo(1);
+    }
+
+    private PaymentWriteBehind start() throws Exception {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setJournalDir(directory.toString());
+        properties.setFlushInterval(Duration.ofMillis(10));
+        properties.setMaxAttempts(3);
+        PaymentWriteBehind writeBehind = new PaymentWriteBehind(paymentRepository(), properties, JsonUtil.objectMapper());
+        writeBehind.start();
+        started.add(writeBehind);
+        return writeBehind;
+    }
+
+    private List<Path> journalSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static PaymentRecord record(String paymentKey) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return new PaymentRecord("order-" + paymentKey, paymentKey, "TOSS", "default", 1000L, 0L, "KRW", PaymentStatus.DONE, PaymentMethod.CARD, now, now,
+                "{}");
+    }
+
+    @SuppressWarnings("unchecked")
+    private PaymentRepository paymentRepository() {
+        return (PaymentRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PaymentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findExistingPaymentKeys" -> ((Collection<String>) args[0]).stream()
+                            .filter(stored::containsKey)
+                            .collect(Collectors.toSet());
+                    case "saveAll" -> {
+                        List<Payment> payments = new ArrayList<>();
+                        for (Payment payment : (Iterable<Payment>) args[0]) {
+                            if (rejected.contains(payment.getPaymentKey())) {
+                                throw new IllegalStateException("constraint violation");
+                            }
+                            payments.add(payment);
+                        }
+                        payments.forEach(payment -> stored.put(payment.getPaymentKey(), payment));
+                        yield payments;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.driply.payments.payment.service;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.PgClientProperties;
+import com.driply.payments.payment.client.PgClient;
+import com.driply.payments.payment.client.PgClientStats;
+import com.driply.payments.payment.client.PgEndpoint;
+import com.driply.payments.payment.client.PgResponseHandler;
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.paymentDTO;
+import com.driply.payments.payment.metrics.PaymentMetrics;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TossPaymentServiceTest {
+
+    @Test
+    void sendsEveryRequestToConfiguredBaseUrl() throws IOException {
+        RecordingPgClient pgClient = new RecordingPgClient();
+        PgClientProperties properties = new PgClientProperties();
+        properties.setBaseUrl("http://127.0.0.1:9090");
+        TossPaymentService service = new TossPaymentService(JsonUtil.objectMapper(), pgClient,
+                new PaymentMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()), properties);
+        PaymentCredentials credentials = service.credentials("default", "test_sk");
+
+        service.confirm(credentials, paymentDTO.builder().paymentKey("pk").orderId("order-1").amount(1_000L).build());
+        service.confirmBrandpay(credentials, paymentDTO.builder().paymentKey("pk").orderId("order-2").amount(1_000L).customerKey("c").build());
+        service.confirmBilling(credentials, "bk-1", BillingDTO.builder().customerKey("c").orderId("order-3").amount(1_000L).build());
+        service.issueBillingKey(credentials, BillingKeyDTO.builder().authKey("auth").customerKey("c").build());
+        service.issueAccessToken(credentials, AccessTokenDTO.builder().grantType("AuthorizationCode").customerKey("c").code("code").build());
+        service.findPaymentByOrderId(credentials, "order 4");
+        service.findPayment(credentials, "pk-4");
+
+        assertThat(pgClient.urls).containsExactly(
+                "http://127.0.0.1:9090/v1/payments/confirm",
+                "http://127.0.0.1:9090/v1/brandpay/payments/confirm",
+                "http://127.0.0.1:9090/v1/billing/bk-1",
+                "http://127.0.0.1:9090/v1/billing/authorizations/issue",
+                "http://127.0.0.1:9090/v1/brandpay/authorizations/access-token",
+                "http://127.0.0.1:9090/v1/payments/orders/order+4",
+                "http://127.0.0.1:9090/v1/payments/pk-4");
+        assertThat(pgClient.idempotencyKeys).containsExactly("order-1:pk:1000", "order-2:pk:1000", "order-3:c:1000", "auth", null, null, null);
+    }
+
+    @Test
+    void retryWithNewPaymentKeyOnSameOrderGetsNewIdempotencyKey() throws IOException {
+        RecordingPgClient pgClient = new RecordingPgClient();
+        TossPaymentService service = new TossPaymentService(JsonUtil.objectMapper(), pgClient,
+                new PaymentMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()), new PgClientProperties());
+        PaymentCredentials credentials = service.credentials("default", "test_sk");
+
+        service.confirm(credentials, paymentDTO.builder().paymentKey("pk-1").orderId("order-1").amount(1_000L).build());
+        service.confirm(credentials, paymentDTO.builder().paymentKey("pk-2").orderId("order-1").amount(1_000L).build());
+        service.confirm(credentials, paymentDTO.builder().paymentKey("pk-2").orderId("order-1").amount(1_000L).build());
+
+        assertThat(pgClient.idempotencyKeys).containsExactly("order-1:pk-1:1000", "order-1:pk-2:1000", "order-1:pk-2:1000");
+    }
+
+    @Test
+    void defaultsToTossPaymentsApi() {
+        assertThat(new PgClientProperties().getBaseUrl()).isEqualTo("https://api.tosspayments.com");
+    }
+
+    private static class RecordingPgClient implements PgClient {
+        private final List<String> urls = new ArrayList<>();
+        private final List<String> idempotencyKeys = new ArrayList<>();
+
+        @Override
+        public <T> T post(PgEndpoint endpoint, String url, String authorization, String idempotencyKey, byte[] body,
+                          PgResponseHandler<T> handler) throws IOException {
+            urls.add(url);
+            idempotencyKeys.add(idempotencyKey);
+            return handler.handle(200, new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public <T> T get(PgEndpoint endpoint, String url, String authorization, PgResponseHandler<T> handler) throws IOException {
+            urls.add(url);
+            idempotencyKeys.add(null);
+            return handler.handle(200, new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public PgClientStats stats() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.driply.payments.payment.strategy;
+
+import com.driply.payments.config.PaymentRoutingProperties;
+import com.driply.payments.payment.dto.AccessTokenDTO;
+import com.driply.payments.payment.dto.AccessTokenResponse;
+import com.driply.payments.payment.dto.BillingDTO;
+import com.driply.payments.payment.dto.BillingKeyDTO;
+import com.driply.payments.payment.dto.BillingKeyResponse;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.dto.paymentDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentRouterTest {
+
+    private final StubStrategy toss = new StubStrategy("TOSS");
+    private final StubStrategy other = new StubStrategy("OTHER");
+
+    @Test
+    void resolvesDefaultsAndPrebuildsCredentialsPerRoute() {
+        PaymentRouter router = new PaymentRouter(List.of(toss, other), properties());
+
+        PaymentTarget widget = router.route(PaymentRoute.WIDGET_CONFIRM, null, null);
+        PaymentTarget payment = router.route(PaymentRoute.PAYMENT_CONFIRM, null, null);
+
+        assertThat(widget.strategy()).isSameAs(toss);
+        assertThat(widget.credentials().authorization()).isEqualTo("widget_sk");
+        assertThat(payment.credentials().authorization()).isEqualTo("api_sk");
+        assertThat(router.route(PaymentRoute.PAYMENT_CONFIRM, null, null)).isSameAs(payment);
+    }
+
+    @Test
+    void routesByProviderAndMerchant() {
+        PaymentRouter router = new PaymentRouter(List.of(toss, other), properties());
+
+        PaymentTarget target = router.route(PaymentRoute.BILLING, "other", "cafe");
+
+        assertThat(target.strategy()).isSameAs(other);
+        assertThat(target.credentials().merchant()).isEqualTo("cafe");
+        assertThat(target.credentials().authorization()).isEqualTo("cafe_api_sk");
+    }
+
+    @Test
+    void rejectsUnknownRoutes() {
+        PaymentRouter router = new PaymentRouter(List.of(toss, other), properties());
+
+        assertThatThrownBy(() -> router.route(PaymentRoute.BILLING, "toss", "unknown"))
+                .isInstanceOf(PaymentRouteNotFoundException.class);
+        assertThatThrownBy(() -> router.route(PaymentRoute.WIDGET_CONFIRM, "other", "cafe"))
+                .isInstanceOf(PaymentRouteNotFoundException.class);
+    }
+
+    @Test
+    void failsAtStartupWhenProviderHasNoStrategy() {
+        assertThatThrownBy(() -> new PaymentRouter(List.of(toss), properties()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private PaymentRoutingProperties properties() {
+        PaymentRoutingProperties properties = new PaymentRoutingProperties();
+        properties.setMerchants(Map.of(
+                "default", Map.of("toss", keys("api_sk", "widget_sk")),
+                "cafe", Map.of("other", keys("cafe_api_sk", null))));
+        return properties;
+    }
+
+    private PaymentRoutingProperties.SecretKeys keys(String api, String widget) {
+        PaymentRoutingProperties.SecretKeys keys = new PaymentRoutingProperties.SecretKeys();
+        keys.setApiSecretKey(api);
+        keys.setWidgetSecretKey(widget);
+        return keys;
+    }
+
+    private record StubStrategy(String provider) implements PaymentStrategy {
+        @Override
+        public PaymentCredentials credentials(String merchant, String secretKey) {
+            return new PaymentCredentials(merchant, secretKey);
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirm(PaymentCredentials credentials, paymentDTO request) {
+            return null;
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirmBilling(PaymentCredentials credentials, String billingKey, BillingDTO request) {
+            return null;
+        }
+
+        @Override
+        public PgResponse<BillingKeyResponse> issueBillingKey(PaymentCredentials credentials, BillingKeyDTO request) {
+            return null;
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> confirmBrandpay(PaymentCredentials credentials, paymentDTO request) {
+            return null;
+        }
+
+        @Override
+        public PgResponse<AccessTokenResponse> issueAccessToken(PaymentCredentials credentials, AccessTokenDTO request) {
+            return null;
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> findPaymentByOrderId(PaymentCredentials credentials, String orderId) {
+            return null;
+        }
+
+        @Override
+        public PgResponse<PaymentResponse> findPayment(PaymentCredentials credentials, String paymentKey) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.driply.payments.payment.webhook;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsAppendedEventsAcrossSegments() throws IOException {
+        WebhookLog log = new WebhookLog(dir, 64, false);
+        WebhookLog.Reader reader = log.reader(log.start());
+        for (int i = 0; i < 10; i++) {
+            log.append(("event-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(readAll(reader)).containsExactly(
+                "event-0", "event-1", "event-2", "event-3", "event-4", "event-5", "event-6", "event-7", "event-8", "event-9");
+        assertThat(reader.next()).isNull();
+
+        log.append("event-10".getBytes(StandardCharsets.UTF_8));
+        assertThat(readAll(reader)).containsExactly("event-10");
+        log.close();
+    }
+
+    @Test
+    void resumesFromPositionAfterRestartAndStopsAtTornRecord() throws IOException {
+        WebhookLog log = new WebhookLog(dir, 1024, false);
+        log.append("first".getBytes(StandardCharsets.UTF_8));
+        LogPosition second = log.append("second".getBytes(StandardCharsets.UTF_8));
+        LogPosition third = log.append("third".getBytes(StandardCharsets.UTF_8));
+        log.close();
+        // 길이만 기록되고 내용이 손상된 마지막 기록을 만듭니다.
+        try (RandomAccessFile file = new RandomAccessFile(segment(0).toFile(), "rw")) {
+            file.seek(third.offset() + 8);
+            file.write('X');
+        }
+
+        WebhookLog restarted = new WebhookLog(dir, 1024, false);
+        WebhookLog.Reader reader = restarted.reader(LogPosition.parse(second.toString()));
+        restarted.append("after-restart".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(readAll(reader)).containsExactly("second", "after-restart");
+        restarted.close();
+    }
+
+    private List<String> readAll(WebhookLog.Reader reader) throws IOException {
+        List<String> events = new ArrayList<>();
+        WebhookLog.Entry entry;
+        while ((entry = reader.next()) != null) {
+            events.add(new String(entry.payload(), StandardCharsets.UTF_8));
+        }
+        return events;
+    }
+
+    private Path segment(int index) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList().get(index);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.driply.payments.payment.webhook;
+
+import com.driply.payments.common.JsonUtil;
+import com.driply.payments.config.PaymentRoutingProperties;
+import com.driply.payments.config.WebhookProperties;
+import com.driply.payments.payment.dto.PaymentResponse;
+import com.driply.payments.payment.dto.PgResponse;
+import com.driply.payments.payment.entity.Payment;
+import com.driply.payments.payment.entity.PaymentRawResponse;
+import com.driply.payments.payment.entity.PaymentStatus;
+import com.driply.payments.payment.repository.PaymentRepository;
+import com.driply.payments.payment.strategy.PaymentCredentials;
+import com.driply.payments.payment.strategy.PaymentRouter;
+import com.driply.payments.payment.strategy.PaymentStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebhookProcessorTest {
+    private final Map<String, Payment> payments = new ConcurrentHashMap<>();
+    private final Map<String, PaymentResponse> pgPayments = new ConcurrentHashMap<>();
+    private volatile boolean pgUnavailable;
+    private int maxAttempts = 1_000;
+    private int queueCapacity = 1_000;
+
+    @TempDir
+    Path dir;
+
+    private WebhookProcessor processor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (processor != null) {
+            processor.stop();
+        }
+    }
+
+    @Test
+    void appliesEventsInOrderAndIgnoresDuplicatesAndStaleStatuses() throws Exception {
+        payments.put("order-1", payment("order-1", "WAITING_FOR_DEPOSIT", "secret-1"));
+        pgPayments.put("key-order-1", pgPayment("order-1", "DONE", null));
+        processor = start();
+
+        assertThat(processor.accept(deposit("order-1", "DONE", "secret-1"), "tx-1")).isTrue();
+        processor.accept(deposit("order-1", "DONE", "secret-1"), "tx-1");
+        processor.accept(deposit("order-1", "WAITING_FOR_DEPOSIT", "secret-1"), "tx-2");
+        processor.accept(deposit("order-1", "CANCELED", "wrong-secret"), "tx-3");
+
+        waitFor(() -> {
+            WebhookStats current = processor.stats();
+            return current.applied() + current.duplicates() + current.unchanged() + current.rejected() == 4;
+        });
+        WebhookStats stats = processor.stats();
+        assertThat(stats.applied()).isEqualTo(1);
+        assertThat(stats.duplicates()).isEqualTo(1);
+        assertThat(stats.unchanged()).isEqualTo(1);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(payments.get("order-1").getStatus()).isEqualTo(PaymentStatus.DONE);
+    }
+
+    @Test
+    void rejectsEventsUntilPaymentIsStored() throws Exception {
+        pgPayments.put("key-order-2", pgPayment("order-2", "DONE", OffsetDateTime.parse("2026-01-01T00:00:01+09:00")));
+        processor = start();
+        byte[] body = """
+                {"eventType":"PAYMENT_STATUS_CHANGED","createdAt":"2026-01-01T00:00:00.000000",
+                 "data":{"orderId":"order-2","paymentKey":"key-order-2","status":"DONE","approvedAt":"2026-01-01T00:00:01+09:00"}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> processor.accept(body, "tx-2")).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> processor.accept(deposit("order-2", "DONE", "secret-2"), null)).isInstanceOf(NoSuchElementException.class);
+        assertThat(processor.stats().received()).isZero();
+        assertThat(processor.stats().unmatched()).isEqualTo(2);
+
+        payments.put("order-2", payment("order-2", "IN_PROGRESS", null));
+        assertThat(processor.accept(body, "tx-2")).isTrue();
+        waitFor(() -> processor.stats().applied() == 1);
+        assertThat(payments.get("order-2").getApprovedAt()).isEqualTo(OffsetDateTime.parse("2026-01-01T00:00:01+09:00"));
+    }
+
+    @Test
+    void retriesWhilePgIsUnavailable() throws Exception {
+        payments.put("order-7", payment("order-7", "IN_PROGRESS", null));
+        pgPayments.put("key-order-7", pgPayment("order-7", "DONE", null));
+        pgUnavailable = true;
+        processor = start();
+        processor.accept(statusChanged("order-7", "DONE"), null);
+
+        waitFor(() -> processor.stats().retries() > 0);
+        pgUnavailable = false;
+
+        waitFor(() -> processor.stats().applied() == 1);
+        assertThat(processor.stats().deadLettered()).isZero();
+        assertThat(payments.get("order-7").getStatus()).isEqualTo(PaymentStatus.DONE);
+    }
+
+    @Test
+    void deadLettersEventsThatKeepFailingAndMovesOn() throws Exception {
+        payments.put("order-8", payment("order-8", "IN_PROGRESS", null));
+        pgPayments.put("key-order-8", pgPayment("order-8", "DONE", null));
+        pgUnavailable = true;
+        maxAttempts = 3;
+        processor = start();
+        processor.accept(statusChanged("order-8", "DONE"), "tx-8");
+
+        waitFor(() -> processor.stats().deadLettered() == 1);
+        assertThat(processor.stats().retries()).isEqualTo(2);
+        assertThat(Files.readString(dir.resolve("dead-letter.jsonl"))).contains("order-8");
+
+        pgUnavailable = false;
+        processor.accept(statusChanged("order-8", "DONE"), "tx-9");
+        waitFor(() -> processor.stats().applied() == 1);
+        assertThat(payments.get("order-8").getStatus()).isEqualTo(PaymentStatus.DONE);
+    }
+
+    @Test
+    void replayStopsInsteadOfBlockingWhenQueuesAreFull() throws Exception {
+        payments.put("order-9", payment("order-9", "IN_PROGRESS", null));
+        pgPayments.put("key-order-9", pgPayment("order-9", "DONE", null));
+        pgUnavailable = true;
+        queueCapacity = 1;
+        processor = start();
+        processor.accept(statusChanged("order-9", "DONE"), "tx-10");
+        processor.accept(statusChanged("order-9", "DONE"), "tx-11");
+        processor.accept(statusChanged("order-9", "DONE"), "tx-12");
+        waitFor(() -> processor.stats().retries() > 0);
+
+        assertThatThrownBy(() -> processor.replay(Instant.EPOCH))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("replayed 0 events");
+    }
+
+    @Test
+    void reprocessesUncommittedEventsAfterRestartAndOnReplay() throws Exception {
+        payments.put("order-3", payment("order-3", "WAITING_FOR_DEPOSIT", "secret-3"));
+        pgPayments.put("key-order-3", pgPayment("order-3", "DONE", null));
+        pgUnavailable = true;
+        processor = start();
+        processor.accept(deposit("order-3", "DONE", "secret-3"), null);
+        waitFor(() -> processor.stats().retries() > 0);
+        processor.stop();
+        processor = null;
+
+        pgUnavailable = false;
+        processor = start();
+        waitFor(() -> processor.stats().applied() == 1);
+
+        payments.put("order-3", payment("order-3", "WAITING_FOR_DEPOSIT", "secret-3"));
+        assertThat(processor.replay(Instant.EPOCH)).isEqualTo(1);
+        waitFor(() -> processor.stats().applied() == 2);
+        assertThat(payments.get("order-3").getStatus()).isEqualTo(PaymentStatus.DONE);
+    }
+
+    @Test
+    void appliesStatusFromPgInsteadOfWebhookBody() throws Exception {
+        payments.put("order-4", payment("order-4", "IN_PROGRESS", null));
+        payments.put("order-5", payment("order-5", "WAITING_FOR_DEPOSIT", "secret-5"));
+        payments.put("order-6", payment("order-6", "IN_PROGRESS", null));
+        pgPayments.put("key-order-4", pgPayment("order-4", "DONE", null));
+        pgPayments.put("key-order-5", pgPayment("order-5", "DONE", null));
+        processor = start();
+
+        processor.accept(statusChanged("order-4", "CANCELED"), "tx-4");
+        processor.accept(deposit("order-5", "DONE", null), "tx-5");
+        processor.accept(statusChanged("order-6", "DONE"), "tx-6");
+
+        waitFor(() -> processor.stats().applied() + processor.stats().rejected() == 3);
+        assertThat(processor.stats().applied()).isEqualTo(1);
+        assertThat(payments.get("order-4").getStatus()).isEqualTo(PaymentStatus.DONE);
+        assertThat(payments.get("order-5").getStatus()).isEqualTo(PaymentStatus.WAITING_FOR_DEPOSIT);
+        assertThat(payments.get("order-6").getStatus()).isEqualTo(PaymentStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void rejectsMalformedBodiesAndIgnoresUnrelatedEvents() throws Exception {
+        processor = start();
+
+        assertThatThrownBy(() -> processor.accept("not-json".getBytes(StandardCharsets.UTF_8), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(processor.accept("{\"eventType\":\"PAYOUT_STATUS_CHANGED\",\"data\":{}}".getBytes(StandardCharsets.UTF_8), null)).isFalse();
+        assertThat(processor.stats().ignored()).isEqualTo(1);
+        assertThat(processor.stats().received()).isZero();
+    }
+
+    private WebhookProcessor start() throws IOException {
+        WebhookProperties properties = new WebhookProperties();
+        properties.setLogDir(dir.toString());
+        properties.setWorkers(2);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setMissingPaymentAttempts(1_000);
+        properties.setMaxAttempts(maxAttempts);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setReplayQueueTimeout(Duration.ofMillis(50));
+        properties.setCheckpointInterval(Duration.ofMillis(20));
+        WebhookEventApplier applier = new WebhookEventApplier(repository(), router(), TransactionOperations.withoutTransaction());
+        WebhookProcessor webhookProcessor = new WebhookProcessor(properties, applier, JsonUtil.objectMapper());
+        webhookProcessor.start();
+        return webhookProcessor;
+    }
+
+    private static byte[] deposit(String orderId, String status, String secret) {
+        String body = secret == null
+                ? "{\"createdAt\":\"2026-01-01T00:00:00.000000\",\"orderId\":\"%s\",\"status\":\"%s\"}".formatted(orderId, status)
+                : "{\"createdAt\":\"2026-01-01T00:00:00.000000\",\"orderId\":\"%s\",\"status\":\"%s\",\"secret\":\"%s\"}".formatted(orderId, status, secret);
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] statusChanged(String orderId, String status) {
+        return """
+                {"eventType":"PAYMENT_STATUS_CHANGED","createdAt":"2026-01-01T00:00:00.000000",
+                 "data":{"orderId":"%s","paymentKey":"key-%s","status":"%s"}}
+                """.formatted(orderId, orderId, status).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static PaymentResponse pgPayment(String orderId, String status, OffsetDateTime approvedAt) {
+        return new PaymentResponse("key-" + orderId, orderId, status, "카드", "KRW", BigDecimal.valueOf(1000), BigDecimal.valueOf(1000),
+                OffsetDateTime.now(), approvedAt);
+    }
+
+    private static Payment payment(String orderId, String status, String secret) {
+        return Payment.builder()
+                .orderId(orderId)
+                .paymentKey("key-" + orderId)
+                .paymentProvider("TOSS")
+                .totalAmount(1000L)
+                .currency("KRW")
+                .status(PaymentStatus.of(status))
+                .requestedAt(OffsetDateTime.now())
+                .rawResponse(PaymentRawResponse.builder()
+                        .body(secret == null ? "{}" : "{\"secret\":\"" + secret + "\"}")
+                        .build())
+                .build();
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out: " + processor.stats());
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * pgPayments에 있는 결제만 조회되는 PG사로 라우팅합니다. 없는 결제는 404로, pgUnavailable이라면 503으로 응답합니다.
+     */
+    private PaymentRouter router() {
+        PaymentStrategy strategy = (PaymentStrategy) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PaymentStrategy.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "provider" -> "TOSS";
+                    case "credentials" -> new PaymentCredentials((String) args[0], "Basic dGVzdDo=");
+                    case "findPayment" -> {
+                        if (pgUnavailable) {
+                            yield new PgResponse<>(503, new byte[0], null);
+                        }
+                        PaymentResponse payment = pgPayments.get((String) args[1]);
+                        yield payment == null
+                                ? new PgResponse<>(404, "{\"code\":\"NOT_FOUND_PAYMENT\"}".getBytes(StandardCharsets.UTF_8), null)
+                                : new PgResponse<>(200, "{}".getBytes(StandardCharsets.UTF_8), payment);
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        PaymentRoutingProperties.SecretKeys keys = new PaymentRoutingProperties.SecretKeys();
+        keys.setApiSecretKey("test_sk");
+        PaymentRoutingProperties properties = new PaymentRoutingProperties();
+        properties.setMerchants(Map.of("default", Map.of("TOSS", keys)));
+        return new PaymentRouter(List.of(strategy), properties);
+    }
+
+    private PaymentRepository repository() {
+        return (PaymentRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PaymentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findFirstByOrderIdOrderByPaymentIdDesc" -> Optional.ofNullable(payments.get((String) args[0]));
+                    case "findByPaymentKey" -> payments.values().stream()
+                            .filter(payment -> payment.getPaymentKey().equals(args[0]))
+                            .findFirst();
+                    case "existsByOrderId" -> payments.containsKey((String) args[0]);
+                    case "existsByPaymentKey" -> payments.values().stream()
+                            .anyMatch(payment -> payment.getPaymentKey().equals(args[0]));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}